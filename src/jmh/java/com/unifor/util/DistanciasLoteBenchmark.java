@@ -0,0 +1,80 @@
+package com.unifor.util;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compara os caminhos escalar e vetorial de {@link DistanciasLote}: distâncias de uma
+ * origem a um bloco de pontos e busca do mais próximo com máscaras de capacidade e
+ * autonomia.
+ *
+ * Executar com "mvn -Pjmh verify -Djmh.filtro=DistanciasLote".
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+public class DistanciasLoteBenchmark {
+
+    @Param({"64", "1024", "16384"})
+    private int pontos;
+
+    private double[] x;
+    private double[] y;
+    private double[] demandas;
+    private double[] retornos;
+    private double[] destino;
+
+    @Setup
+    public void preparar() {
+        SplittableRandom aleatorio = new SplittableRandom(42);
+        x = new double[pontos];
+        y = new double[pontos];
+        demandas = new double[pontos];
+        retornos = new double[pontos];
+        destino = new double[pontos];
+
+        for (int i = 0; i < pontos; i++) {
+            x[i] = aleatorio.nextDouble(-50, 50);
+            y[i] = aleatorio.nextDouble(-50, 50);
+            demandas[i] = aleatorio.nextDouble(1, 30);
+            retornos[i] = Distancia.calcularDistanciaEuclidiana(0, 0, x[i], y[i]);
+        }
+    }
+
+    @Benchmark
+    public double[] distanciasEscalar() {
+        DistanciasLote.distanciasEscalar(3.5, -7.25, x, y, 0, pontos, destino);
+        return destino;
+    }
+
+    @Benchmark
+    public double[] distanciasVetorial() {
+        DistanciasLoteVetorial.distancias(3.5, -7.25, x, y, 0, pontos, destino);
+        return destino;
+    }
+
+    @Benchmark
+    public int maisProximoViavelEscalar() {
+        return DistanciasLote.maisProximoViavelEscalar(3.5, -7.25, x, y, demandas, retornos, 0, pontos, 12, 90);
+    }
+
+    @Benchmark
+    public int maisProximoViavelVetorial() {
+        return DistanciasLoteVetorial.maisProximoViavel(3.5, -7.25, x, y, demandas, retornos, 0, pontos, 12, 90);
+    }
+}
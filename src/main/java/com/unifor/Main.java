@@ -3,6 +3,7 @@ package com.unifor;
 import java.util.ArrayList;
 import java.util.List;
 
+import com.unifor.algorithm.LimiteInferior;
 import com.unifor.algorithm.Roteirizador;
 import com.unifor.model.Central;
 import com.unifor.model.Cliente;
@@ -108,21 +109,16 @@ public class Main {
                 pontoCentral.getX(), pontoCentral.getY());
             System.out.println();
             
-            Ponto pontoAnterior = pontoCentral;
-            
             for (int i = 0; i < clientesAtendidos.size(); i++) {
                 Cliente cliente = clientesAtendidos.get(i);
                 Ponto locCliente = cliente.getLocalizacao();
                 
-                // Calcular distância do ponto anterior até este cliente
-                double distancia = Math.sqrt(
-                    Math.pow(locCliente.getX() - pontoAnterior.getX(), 2) + 
-                    Math.pow(locCliente.getY() - pontoAnterior.getY(), 2)
-                );
+                // Distância do ponto anterior até este cliente (já calculada pelo roteirizador)
+                double distancia = rota.getDistanciaTrecho(i);
                 
                 System.out.printf("%d. Cliente [%d] | Prioridade: %d | Local: (%.1f, %.1f) | Carga: %.1f kg | Dist: %.2f km%n",
                     contadorGlobal,
-                    clientes.indexOf(cliente) + 1,  // ID baseado na posição original
+                    rota.getIndiceCliente(i) + 1,  // ID baseado na posição original
                     cliente.getPrioridade(),
                     locCliente.getX(),
                     locCliente.getY(),
@@ -130,7 +126,6 @@ public class Main {
                     distancia
                 );
                 
-                pontoAnterior = locCliente;
                 contadorGlobal++;
             }
             
@@ -156,6 +151,12 @@ public class Main {
         System.out.println("════════════════════════════════════════");
         System.out.printf("Total de Viagens Realizadas: %d%n", rotas.size());
         System.out.printf("Distância Total Percorrida: %.2f km%n", distanciaTotalGeral);
+        
+        // Qualidade da solução: gap em relação ao limite inferior de distância
+        LimiteInferior limite = LimiteInferior.calcular(clientes, veiculo, pontoCentral);
+        System.out.printf("Limite Inferior de Distância: %.2f km (gap de %.1f%%)%n",
+            limite.getDistancia(), limite.gapPercentual(distanciaTotalGeral));
+        System.out.printf("Mínimo de Viagens Possível: %d%n", limite.getViagens());
         System.out.printf("Carga Total Entregue: %.2f kg%n", cargaTotalGeral);
         System.out.printf("Capacidade do Veículo: %.2f kg%n", veiculo.getCapacidadeMaxima());
         System.out.printf("Autonomia do Veículo: %.2f km%n", veiculo.getAutonomiaMaxima());
@@ -0,0 +1,595 @@
+package com.unifor.algorithm;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import com.unifor.model.Cliente;
+import com.unifor.model.PlanoRotas;
+import com.unifor.model.Ponto;
+import com.unifor.model.Rota;
+import com.unifor.model.Veiculo;
+import com.unifor.util.ProvedorDistancia;
+import com.unifor.util.ProvedorEuclidiano;
+import com.unifor.util.TabelaDistancias;
+
+/**
+ * Pós-processamento que minimiza o número de viagens e equilibra carga e distância entre elas.
+ *
+ * A heurística gulosa enche cada viagem até não caber mais ninguém, então as últimas viagens
+ * costumam sair quase vazias. Este pós-processamento trabalha em duas fases:
+ *
+ * 1. Eliminação de viagens: da viagem mais leve para a mais pesada, tenta redistribuir todos
+ *    os clientes da viagem entre as demais (inserção mais barata junto a um vizinho). Se algum
+ *    cliente não couber, a viagem é restaurada. Para assim que o número de viagens atinge o
+ *    limite inferior do empacotamento, ⌈demanda total / capacidade⌉, pois nenhuma solução
+ *    usa menos viagens que isso.
+ * 2. Equilíbrio: realoca clientes entre viagens vizinhas enquanto a soma dos quadrados das
+ *    cargas e distâncias (normalizadas por capacidade e autonomia) diminuir, com o aumento
+ *    de distância total limitado por {@link #setToleranciaDistancia(double)}.
+ *
+ * As duas fases só consideram posições junto aos k vizinhos de cada cliente, e capacidade e
+ * autonomia são checadas em O(1) pelos totais de cada viagem: cada passada custa O(n·k),
+ * próximo de linear mesmo com 100 mil clientes.
+ */
+public class BalanceadorViagens {
+
+    // Vizinhos por cliente considerados nas realocações
+    private static final int VIZINHOS_PADRAO = 10;
+
+    // Passadas máximas de cada fase
+    private static final int PASSADAS_ELIMINACAO = 3;
+    private static final int PASSADAS_EQUILIBRIO = 5;
+
+    // Viagens mais leves consideradas por inteiro como destino na eliminação
+    private static final int VIAGENS_FOLGADAS = 8;
+
+    private static final double EPSILON = 1e-9;
+
+    private final ProvedorDistancia provedorDistancia;
+    private double toleranciaDistancia = 0.02;
+    private int vizinhos = VIZINHOS_PADRAO;
+
+    /**
+     * Construtor padrão (distância Euclidiana).
+     */
+    public BalanceadorViagens() {
+        this(new ProvedorEuclidiano());
+    }
+
+    /**
+     * Construtor com provedor de distâncias (o mesmo usado pelo Roteirizador).
+     *
+     * @param provedorDistancia Fonte das distâncias
+     * @throws IllegalArgumentException se o provedor for nulo
+     */
+    public BalanceadorViagens(ProvedorDistancia provedorDistancia) {
+        if (provedorDistancia == null) {
+            throw new IllegalArgumentException("O provedor de distâncias não pode ser nulo");
+        }
+        this.provedorDistancia = provedorDistancia;
+    }
+
+    /**
+     * Limite inferior do número de viagens pela capacidade (empacotamento):
+     * ⌈demanda total / capacidade⌉.
+     *
+     * @param clientes Lista de clientes (nulos são ignorados)
+     * @param capacidade Capacidade do veículo
+     * @return Número mínimo de viagens de qualquer solução
+     */
+    public static int limiteInferiorViagens(List<Cliente> clientes, double capacidade) {
+        double demandaTotal = 0.0;
+        int validos = 0;
+        for (Cliente cliente : clientes) {
+            if (cliente != null && cliente.getLocalizacao() != null) {
+                demandaTotal += cliente.getDemandaCarga();
+                validos++;
+            }
+        }
+        if (validos == 0) {
+            return 0;
+        }
+        // Folga relativa contra arredondamento (ex.: 3,0000000001 viagens)
+        return Math.max(1, (int) Math.ceil(demandaTotal / capacidade - EPSILON));
+    }
+
+    /**
+     * Equilibra uma lista de rotas calculada pelo Roteirizador.
+     *
+     * @param rotas Rotas do dia (visões de um mesmo {@link PlanoRotas})
+     * @param veiculo Veículo que realizará as entregas
+     * @param central Ponto da central de distribuição
+     * @return Nova lista de rotas
+     * @throws IllegalArgumentException se as rotas não vierem de um mesmo plano
+     */
+    public List<Rota> balancear(List<Rota> rotas, Veiculo veiculo, Ponto central) {
+        if (rotas == null || rotas.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        PlanoRotas plano = rotas.get(0).getPlano();
+        for (Rota rota : rotas) {
+            if (plano == null || rota.getPlano() != plano) {
+                throw new IllegalArgumentException("As rotas devem ter sido calculadas juntas pelo Roteirizador");
+            }
+        }
+        return new ArrayList<>(balancear(plano, veiculo, central).getRotas());
+    }
+
+    /**
+     * Equilibra um plano calculado pelo Roteirizador.
+     *
+     * @param plano Plano do dia
+     * @param veiculo Veículo que realizará as entregas
+     * @param central Ponto da central de distribuição
+     * @return Novo plano, com no máximo o mesmo número de viagens
+     */
+    public PlanoRotas balancear(PlanoRotas plano, Veiculo veiculo, Ponto central) {
+        List<Cliente> clientes = plano.getClientes();
+        if (clientes == null || plano.getQuantidadeViagens() < 2) {
+            return plano;
+        }
+
+        return balancear(plano, provedorDistancia.vincular(central, clientes), veiculo);
+    }
+
+    /**
+     * Equilibra um plano sobre uma tabela já vinculada ao cenário.
+     *
+     * @param plano Plano do dia (com ao menos uma viagem)
+     * @param tabela Tabela de distâncias do cenário
+     * @param veiculo Veículo que realizará as entregas
+     * @return Novo plano
+     */
+    PlanoRotas balancear(PlanoRotas plano, TabelaDistancias tabela, Veiculo veiculo) {
+        List<Cliente> clientes = plano.getClientes();
+        double[] demandas = new double[clientes.size()];
+        for (int i = 0; i < clientes.size(); i++) {
+            if (clientes.get(i) != null) {
+                demandas[i] = clientes.get(i).getDemandaCarga();
+            }
+        }
+
+        SolucaoRotas solucao = SolucaoRotas.dePlano(plano, tabela, demandas,
+                                                    veiculo.getCapacidadeMaxima(), veiculo.getAutonomiaMaxima());
+        balancear(solucao, ConstrutorGrafoVizinhanca.construir(clientes, vizinhos),
+                  limiteInferiorViagens(clientes, veiculo.getCapacidadeMaxima()));
+        return solucao.paraPlano(clientes);
+    }
+
+    /**
+     * Executa as duas fases sobre a solução (alterada no lugar).
+     *
+     * @param solucao Solução a equilibrar
+     * @param grafo Vizinhos candidatos de cada cliente
+     * @param limiteInferior Número mínimo de viagens possível
+     */
+    void balancear(SolucaoRotas solucao, GrafoVizinhanca grafo, int limiteInferior) {
+        eliminarViagens(solucao, grafo, limiteInferior);
+        equilibrar(solucao, grafo);
+        solucao.compactar();
+    }
+
+    // ------------------------------------------------------------------
+    // Fase 1: eliminação de viagens
+    // ------------------------------------------------------------------
+
+    private void eliminarViagens(SolucaoRotas solucao, GrafoVizinhanca grafo, int limiteInferior) {
+        RegistroMovimentos registro = new RegistroMovimentos();
+        int[] clientesViagem = new int[16];
+
+        for (int passada = 0; passada < PASSADAS_ELIMINACAO; passada++) {
+            solucao.compactar();
+            int viagens = solucao.getQuantidadeViagens();
+            if (viagens <= limiteInferior) {
+                return;
+            }
+
+            // Da viagem mais leve para a mais pesada
+            int[] ordem = new int[viagens];
+            double[] cargas = new double[viagens];
+            for (int v = 0; v < viagens; v++) {
+                ordem[v] = v;
+                cargas[v] = solucao.getCarga(v);
+            }
+            Ordenacao.mergeSortIndices(ordem, cargas);
+
+            boolean eliminou = false;
+            for (int v : ordem) {
+                if (viagens <= limiteInferior) {
+                    return;
+                }
+                int tamanho = solucao.getTamanho(v);
+                if (tamanho == 0) {
+                    continue;
+                }
+
+                if (clientesViagem.length < tamanho) {
+                    clientesViagem = new int[tamanho];
+                }
+                for (int i = 0; i < tamanho; i++) {
+                    clientesViagem[i] = solucao.getCliente(v, i);
+                }
+
+                if (esvaziar(solucao, grafo, v, clientesViagem, tamanho, ordem, registro)) {
+                    viagens--;
+                    eliminou = true;
+                }
+            }
+
+            if (!eliminou) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Move todos os clientes da viagem para outras; se algum não couber, desfaz tudo.
+     *
+     * Cada cliente vai para a posição mais barata junto a um vizinho. Como a gulosa enche as
+     * viagens na ordem, a folga costuma estar concentrada nas últimas viagens, que nem sempre
+     * são vizinhas: as viagens mais leves também são examinadas por inteiro. Por fim, um
+     * cliente ainda pode entrar em uma viagem vizinha que abra espaço repassando um de seus
+     * clientes para uma terceira viagem (cadeia de profundidade 1).
+     *
+     * @param clientesViagem Clientes da viagem, na ordem original
+     * @param viagensPorCarga Viagens por carga crescente no início da passada
+     * @return true se a viagem ficou vazia
+     */
+    private boolean esvaziar(SolucaoRotas solucao, GrafoVizinhanca grafo, int viagem,
+                             int[] clientesViagem, int tamanho, int[] viagensPorCarga, RegistroMovimentos registro) {
+        registro.limpar();
+
+        for (int i = 0; i < tamanho; i++) {
+            int cliente = clientesViagem[i];
+            long insercao = melhorInsercao(solucao, grafo, cliente, viagem, viagem);
+            if (insercao < 0) {
+                insercao = melhorInsercaoFolgadas(solucao, cliente, viagem, viagem, viagensPorCarga);
+            }
+            if (insercao < 0) {
+                insercao = abrirEspaco(solucao, grafo, cliente, viagem, viagensPorCarga, registro);
+            }
+            if (insercao < 0) {
+                registro.desfazer(solucao, 0);
+                return false;
+            }
+            registro.mover(solucao, cliente, (int) (insercao >>> 32), (int) insercao);
+        }
+
+        registro.recalcularDistancias(solucao);
+        return true;
+    }
+
+    /**
+     * Procura uma viagem vizinha que receba o cliente depois de repassar um dos seus.
+     *
+     * @return (viagem << 32) | posição do cliente, com o repasse já aplicado, ou -1
+     */
+    private static long abrirEspaco(SolucaoRotas solucao, GrafoVizinhanca grafo, int cliente, int viagem,
+                                    int[] viagensPorCarga, RegistroMovimentos registro) {
+        for (int ordem = 0; ordem < grafo.getK(); ordem++) {
+            int candidato = grafo.vizinho(cliente, ordem);
+            if (candidato == GrafoVizinhanca.SEM_VIZINHO) {
+                break;
+            }
+
+            int destino = solucao.getViagem(candidato);
+            if (destino == SolucaoRotas.FORA || destino == viagem) {
+                continue;
+            }
+
+            // Só vale repassar quem libera carga suficiente para o cliente
+            double excesso = solucao.getCarga(destino) + solucao.getDemanda(cliente) - solucao.getCapacidade();
+            if (solucao.getDemanda(candidato) < excesso) {
+                continue;
+            }
+
+            long repasse = melhorInsercao(solucao, grafo, candidato, viagem, destino);
+            if (repasse < 0) {
+                repasse = melhorInsercaoFolgadas(solucao, candidato, viagem, destino, viagensPorCarga);
+            }
+            if (repasse < 0) {
+                continue;
+            }
+
+            int marca = registro.getTamanho();
+            registro.mover(solucao, candidato, (int) (repasse >>> 32), (int) repasse);
+            long insercao = melhorInsercaoNaViagem(solucao, grafo, cliente, destino);
+            if (insercao >= 0) {
+                return insercao;
+            }
+            registro.desfazer(solucao, marca);
+        }
+        return -1;
+    }
+
+    /**
+     * Inserção viável mais barata do cliente junto a um vizinho, fora das viagens excluídas.
+     *
+     * @return (viagem << 32) | posição, ou -1 se nenhuma posição for viável
+     */
+    private static long melhorInsercao(SolucaoRotas solucao, GrafoVizinhanca grafo, int cliente,
+                                       int excluida, int outraExcluida) {
+        long melhor = -1;
+        double menorCusto = Double.MAX_VALUE;
+
+        for (int ordem = 0; ordem < grafo.getK(); ordem++) {
+            int vizinho = grafo.vizinho(cliente, ordem);
+            if (vizinho == GrafoVizinhanca.SEM_VIZINHO) {
+                break;
+            }
+
+            int viagem = solucao.getViagem(vizinho);
+            if (viagem == SolucaoRotas.FORA || viagem == excluida || viagem == outraExcluida
+                    || !solucao.cabe(viagem, cliente)) {
+                continue;
+            }
+
+            int posicaoVizinho = solucao.getPosicao(vizinho);
+            for (int posicao = posicaoVizinho; posicao <= posicaoVizinho + 1; posicao++) {
+                double custo = solucao.custoInsercao(viagem, posicao, cliente);
+                if (custo < menorCusto && solucao.getDistancia(viagem) + custo <= solucao.getAutonomia()) {
+                    menorCusto = custo;
+                    melhor = ((long) viagem << 32) | posicao;
+                }
+            }
+        }
+
+        return melhor;
+    }
+
+    /**
+     * Inserção viável mais barata do cliente em qualquer posição das viagens mais leves.
+     *
+     * @return (viagem << 32) | posição, ou -1 se nenhuma posição for viável
+     */
+    private static long melhorInsercaoFolgadas(SolucaoRotas solucao, int cliente, int excluida,
+                                               int outraExcluida, int[] viagensPorCarga) {
+        long melhor = -1;
+        double menorCusto = Double.MAX_VALUE;
+
+        int examinadas = 0;
+        for (int i = 0; i < viagensPorCarga.length && examinadas < VIAGENS_FOLGADAS; i++) {
+            int viagem = viagensPorCarga[i];
+            if (viagem == excluida || viagem == outraExcluida || solucao.getTamanho(viagem) == 0) {
+                continue;
+            }
+            examinadas++;
+            if (!solucao.cabe(viagem, cliente)) {
+                continue;
+            }
+
+            for (int posicao = 0; posicao <= solucao.getTamanho(viagem); posicao++) {
+                double custo = solucao.custoInsercao(viagem, posicao, cliente);
+                if (custo < menorCusto && solucao.getDistancia(viagem) + custo <= solucao.getAutonomia()) {
+                    menorCusto = custo;
+                    melhor = ((long) viagem << 32) | posicao;
+                }
+            }
+        }
+        return melhor;
+    }
+
+    /**
+     * Inserção viável mais barata do cliente na viagem informada, junto a um vizinho dele.
+     *
+     * @return (viagem << 32) | posição, ou -1 se nenhuma posição for viável
+     */
+    private static long melhorInsercaoNaViagem(SolucaoRotas solucao, GrafoVizinhanca grafo, int cliente,
+                                               int viagem) {
+        if (!solucao.cabe(viagem, cliente)) {
+            return -1;
+        }
+
+        long melhor = -1;
+        double menorCusto = Double.MAX_VALUE;
+        for (int ordem = 0; ordem < grafo.getK(); ordem++) {
+            int vizinho = grafo.vizinho(cliente, ordem);
+            if (vizinho == GrafoVizinhanca.SEM_VIZINHO) {
+                break;
+            }
+            if (solucao.getViagem(vizinho) != viagem) {
+                continue;
+            }
+
+            int posicaoVizinho = solucao.getPosicao(vizinho);
+            for (int posicao = posicaoVizinho; posicao <= posicaoVizinho + 1; posicao++) {
+                double custo = solucao.custoInsercao(viagem, posicao, cliente);
+                if (custo < menorCusto && solucao.getDistancia(viagem) + custo <= solucao.getAutonomia()) {
+                    menorCusto = custo;
+                    melhor = ((long) viagem << 32) | posicao;
+                }
+            }
+        }
+        return melhor;
+    }
+
+    /**
+     * Movimentos aplicados durante uma tentativa de eliminação, para desfazer em ordem inversa.
+     */
+    private static final class RegistroMovimentos {
+        private int[] clientes = new int[16];
+        private int[] origens = new int[16];
+        private int[] posicoes = new int[16];
+        private int[] destinos = new int[16];
+        private int tamanho;
+
+        void limpar() {
+            tamanho = 0;
+        }
+
+        int getTamanho() {
+            return tamanho;
+        }
+
+        void mover(SolucaoRotas solucao, int cliente, int destino, int posicao) {
+            if (tamanho == clientes.length) {
+                clientes = Arrays.copyOf(clientes, tamanho * 2);
+                origens = Arrays.copyOf(origens, tamanho * 2);
+                posicoes = Arrays.copyOf(posicoes, tamanho * 2);
+                destinos = Arrays.copyOf(destinos, tamanho * 2);
+            }
+            clientes[tamanho] = cliente;
+            origens[tamanho] = solucao.getViagem(cliente);
+            posicoes[tamanho] = solucao.getPosicao(cliente);
+            destinos[tamanho] = destino;
+            tamanho++;
+
+            solucao.remover(cliente);
+            solucao.inserir(destino, posicao, cliente);
+        }
+
+        /**
+         * Desfaz os movimentos a partir da marca, do mais recente ao mais antigo.
+         */
+        void desfazer(SolucaoRotas solucao, int marca) {
+            for (int i = tamanho - 1; i >= marca; i--) {
+                solucao.remover(clientes[i]);
+                solucao.inserir(origens[i], posicoes[i], clientes[i]);
+            }
+            if (marca == 0) {
+                recalcularDistancias(solucao);
+            }
+            tamanho = marca;
+        }
+
+        /**
+         * Recalcula do zero as viagens tocadas (elimina o erro acumulado pelos deltas).
+         */
+        void recalcularDistancias(SolucaoRotas solucao) {
+            for (int i = 0; i < tamanho; i++) {
+                solucao.recalcularDistancia(origens[i]);
+                solucao.recalcularDistancia(destinos[i]);
+            }
+        }
+    }
+
+    // ------------------------------------------------------------------
+    // Fase 2: equilíbrio de carga e distância
+    // ------------------------------------------------------------------
+
+    private void equilibrar(SolucaoRotas solucao, GrafoVizinhanca grafo) {
+        double capacidade = solucao.getCapacidade();
+        double autonomia = solucao.getAutonomia();
+        double orcamento = toleranciaDistancia * solucao.getDistanciaTotal();
+
+        for (int passada = 0; passada < PASSADAS_EQUILIBRIO; passada++) {
+            boolean moveu = false;
+
+            for (int cliente = 0; cliente < solucao.getQuantidadeClientes(); cliente++) {
+                int origem = solucao.getViagem(cliente);
+                if (origem == SolucaoRotas.FORA) {
+                    continue;
+                }
+
+                double demanda = solucao.getDemanda(cliente);
+                double ganho = solucao.ganhoRemocao(cliente);
+                double cargaOrigem = solucao.getCarga(origem);
+                double distanciaOrigem = solucao.getDistancia(origem);
+
+                int melhorViagem = -1;
+                int melhorPosicao = 0;
+                double melhorVariacao = -EPSILON;
+                double melhorAcrescimo = 0.0;
+
+                for (int ordem = 0; ordem < grafo.getK(); ordem++) {
+                    int vizinho = grafo.vizinho(cliente, ordem);
+                    if (vizinho == GrafoVizinhanca.SEM_VIZINHO) {
+                        break;
+                    }
+
+                    int destino = solucao.getViagem(vizinho);
+                    if (destino == SolucaoRotas.FORA || destino == origem || !solucao.cabe(destino, cliente)) {
+                        continue;
+                    }
+
+                    double cargaDestino = solucao.getCarga(destino);
+                    double distanciaDestino = solucao.getDistancia(destino);
+                    int posicaoVizinho = solucao.getPosicao(vizinho);
+
+                    for (int posicao = posicaoVizinho; posicao <= posicaoVizinho + 1; posicao++) {
+                        double custo = solucao.custoInsercao(destino, posicao, cliente);
+                        double acrescimo = custo - ganho;
+                        if (distanciaDestino + custo > autonomia || acrescimo > orcamento) {
+                            continue;
+                        }
+
+                        // Variação da soma dos quadrados normalizados (menor = mais equilibrado)
+                        double variacao = variacaoQuadrados(cargaOrigem, cargaDestino, demanda, demanda, capacidade)
+                            + variacaoQuadrados(distanciaOrigem, distanciaDestino, ganho, custo, autonomia);
+                        if (variacao < melhorVariacao) {
+                            melhorVariacao = variacao;
+                            melhorViagem = destino;
+                            melhorPosicao = posicao;
+                            melhorAcrescimo = acrescimo;
+                        }
+                    }
+                }
+
+                if (melhorViagem >= 0) {
+                    solucao.remover(cliente);
+                    // A viagem destino é outra: remover o cliente não desloca as posições dela
+                    solucao.inserir(melhorViagem, melhorPosicao, cliente);
+                    solucao.recalcularDistancia(origem);
+                    solucao.recalcularDistancia(melhorViagem);
+                    orcamento -= melhorAcrescimo;
+                    moveu = true;
+                }
+            }
+
+            if (!moveu) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Variação de a² + b² quando a perde {@code saida} e b ganha {@code entrada}, normalizada.
+     */
+    private static double variacaoQuadrados(double a, double b, double saida, double entrada, double escala) {
+        double novoA = (a - saida) / escala;
+        double novoB = (b + entrada) / escala;
+        double antigoA = a / escala;
+        double antigoB = b / escala;
+        return novoA * novoA + novoB * novoB - antigoA * antigoA - antigoB * antigoB;
+    }
+
+    public ProvedorDistancia getProvedorDistancia() {
+        return provedorDistancia;
+    }
+
+    public double getToleranciaDistancia() {
+        return toleranciaDistancia;
+    }
+
+    /**
+     * Define quanto a fase de equilíbrio pode aumentar a distância total.
+     *
+     * @param toleranciaDistancia Aumento máximo relativo (ex.: 0,02 = 2%)
+     * @throws IllegalArgumentException se o valor for negativo ou não numérico
+     */
+    public void setToleranciaDistancia(double toleranciaDistancia) {
+        if (!(toleranciaDistancia >= 0)) {
+            throw new IllegalArgumentException("A tolerância de distância não pode ser negativa");
+        }
+        this.toleranciaDistancia = toleranciaDistancia;
+    }
+
+    public int getVizinhos() {
+        return vizinhos;
+    }
+
+    /**
+     * Define quantos vizinhos de cada cliente são considerados nas realocações.
+     *
+     * @param vizinhos Vizinhos por cliente
+     * @throws IllegalArgumentException se o valor não for positivo
+     */
+    public void setVizinhos(int vizinhos) {
+        if (vizinhos <= 0) {
+            throw new IllegalArgumentException("O número de vizinhos deve ser positivo");
+        }
+        this.vizinhos = vizinhos;
+    }
+}
@@ -0,0 +1,520 @@
+package com.unifor.algorithm;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Uma busca ALNS (Adaptive Large Neighborhood Search) confinada a uma thread.
+ *
+ * Cada iteração destrói parte da solução atual (remove q clientes) e a reconstrói
+ * reinserindo os removidos; a nova solução é aceita pelo critério de recozimento simulado.
+ * Os operadores são sorteados por roleta, com pesos ajustados a cada segmento de
+ * {@value #TAMANHO_SEGMENTO} iterações conforme o sucesso recente (Ropke e Pisinger, 2006).
+ *
+ * Remoção: aleatória, pior (torneio entre amostras pelo ganho de remoção) e relacionada
+ * (cliente semente e seus vizinhos no {@link GrafoVizinhanca}).
+ * Inserção: gulosa (menor acréscimo primeiro) e por arrependimento (maior diferença entre
+ * a melhor e a segunda melhor viagem primeiro).
+ *
+ * As posições de inserção são granulares (antes ou depois de um vizinho do cliente, ou em
+ * uma viagem nova), e capacidade e autonomia são checadas em O(1) pelos totais mantidos
+ * por {@link SolucaoRotas}. Uma solução rejeitada é desfeita pelo registro das operações,
+ * sem copiar a solução inteira a cada iteração.
+ */
+final class BuscaALNS {
+
+    static final int TAMANHO_SEGMENTO = 100;
+
+    // Operadores de remoção
+    private static final int REMOCAO_ALEATORIA = 0;
+    private static final int REMOCAO_PIOR = 1;
+    private static final int REMOCAO_RELACIONADA = 2;
+
+    // Operadores de inserção
+    private static final int INSERCAO_GULOSA = 0;
+    private static final int INSERCAO_ARREPENDIMENTO = 1;
+
+    // Pontuação dos operadores (nova melhor global, melhor que a atual, piora aceita)
+    private static final double PONTOS_MELHOR_GLOBAL = 33.0;
+    private static final double PONTOS_MELHOR_ATUAL = 9.0;
+    private static final double PONTOS_ACEITA = 13.0;
+    private static final double REACAO = 0.1;
+    private static final double PESO_MINIMO = 0.05;
+
+    // Recozimento: piora de 5% sobre a parte destruída aceita com 50% no início,
+    // temperatura caindo geometricamente até um milésimo da inicial
+    private static final double PIORA_INICIAL = 0.05;
+    private static final double RESFRIAMENTO_FINAL = 1e-3;
+
+    // Limites do número de clientes removidos por iteração
+    private static final int REMOCAO_MINIMA = 4;
+    private static final int REMOCAO_MAXIMA = 60;
+    private static final double FRACAO_REMOCAO_MAXIMA = 0.3;
+
+    // Amostras por torneio na remoção pior
+    private static final int AMOSTRA_PIOR = 8;
+
+    private static final double EPSILON = 1e-9;
+
+    // Tipos de operação no registro de desfazer
+    private static final byte OPERACAO_REMOCAO = 0;
+    private static final byte OPERACAO_INSERCAO = 1;
+
+    private final GrafoVizinhanca grafo;
+    private final SplittableRandom aleatorio;
+    private final int[] clientesValidos;
+    private final int remocaoMinima;
+    private final int remocaoMaxima;
+
+    private SolucaoRotas atual;
+    private double distanciaAtual;
+    private SolucaoRotas melhor;
+    private double distanciaMelhor;
+    private double temperaturaInicial;
+
+    private final double[] pesosRemocao = {1.0, 1.0, 1.0};
+    private final double[] pesosInsercao = {1.0, 1.0};
+    private final double[] pontosRemocao = new double[3];
+    private final double[] pontosInsercao = new double[2];
+    private final int[] usosRemocao = new int[3];
+    private final int[] usosInsercao = new int[2];
+    private long iteracoes;
+
+    // Clientes removidos na iteração (também usado como fila na remoção relacionada)
+    private final int[] removidos;
+    private int quantidadeRemovidos;
+
+    // Registro de desfazer da iteração
+    private byte[] registroTipo = new byte[64];
+    private int[] registroCliente = new int[64];
+    private int[] registroViagem = new int[64];
+    private int[] registroPosicao = new int[64];
+    private int tamanhoRegistro;
+
+    // Viagens alteradas na iteração e suas distâncias antes da alteração
+    private int[] marcaViagem = new int[64];
+    private double[] distanciaAnterior = new double[64];
+    private int[] viagensTocadas = new int[64];
+    private int quantidadeTocadas;
+    private int marcaAtual;
+
+    // Resultado de avaliarInsercao
+    private int insercaoViagem;
+    private int insercaoPosicao;
+    private double insercaoCusto;
+    private double insercaoSegundoCusto;
+
+    /**
+     * @param inicial Solução inicial (passa a pertencer a esta busca)
+     * @param grafo Vizinhos candidatos de cada cliente
+     * @param aleatorio Gerador exclusivo desta busca
+     * @param clientesValidos Clientes presentes na solução
+     */
+    BuscaALNS(SolucaoRotas inicial, GrafoVizinhanca grafo, SplittableRandom aleatorio, int[] clientesValidos) {
+        this.grafo = grafo;
+        this.aleatorio = aleatorio;
+        this.clientesValidos = clientesValidos;
+
+        int n = clientesValidos.length;
+        this.remocaoMaxima = Math.max(1, Math.min(REMOCAO_MAXIMA, Math.min(n, (int) (FRACAO_REMOCAO_MAXIMA * n))));
+        this.remocaoMinima = Math.min(REMOCAO_MINIMA, remocaoMaxima);
+        this.removidos = new int[remocaoMaxima];
+
+        adotar(inicial);
+        double custoMedioCliente = n > 0 ? distanciaAtual / n : 0.0;
+        double removidosMedio = 0.5 * (remocaoMinima + remocaoMaxima);
+        this.temperaturaInicial = PIORA_INICIAL * custoMedioCliente * removidosMedio / Math.log(2.0);
+    }
+
+    /**
+     * Substitui a solução atual e a melhor desta busca (ex.: pela melhor global).
+     *
+     * @param solucao Solução adotada (passa a pertencer a esta busca)
+     */
+    void adotar(SolucaoRotas solucao) {
+        this.atual = solucao;
+        this.distanciaAtual = solucao.getDistanciaTotal();
+        this.melhor = solucao.copiar();
+        this.distanciaMelhor = distanciaAtual;
+    }
+
+    SolucaoRotas getMelhor() {
+        return melhor;
+    }
+
+    double getDistanciaMelhor() {
+        return distanciaMelhor;
+    }
+
+    long getIteracoes() {
+        return iteracoes;
+    }
+
+    /**
+     * Executa uma iteração de destruição e reparo.
+     *
+     * @param progresso Fração já consumida do orçamento (0 a 1), que define a temperatura
+     * @return true se a iteração encontrou uma nova melhor solução desta busca
+     */
+    boolean iterar(double progresso) {
+        if (clientesValidos.length == 0) {
+            return false;
+        }
+
+        int q = remocaoMinima + aleatorio.nextInt(remocaoMaxima - remocaoMinima + 1);
+        int remocao = roleta(pesosRemocao);
+        int insercao = roleta(pesosInsercao);
+
+        iniciarRegistro();
+        switch (remocao) {
+            case REMOCAO_PIOR:
+                removerPiores(q);
+                break;
+            case REMOCAO_RELACIONADA:
+                removerRelacionados(q);
+                break;
+            case REMOCAO_ALEATORIA:
+            default:
+                removerAleatorios(q);
+                break;
+        }
+
+        if (insercao == INSERCAO_ARREPENDIMENTO) {
+            inserirPorArrependimento();
+        } else {
+            inserirGuloso();
+        }
+
+        double nova = distanciaAtual + recalcularTocadas();
+        double temperatura = temperaturaInicial * Math.pow(RESFRIAMENTO_FINAL, Math.min(1.0, progresso));
+        double pontos = 0.0;
+        boolean novaMelhor = false;
+
+        if (nova < distanciaMelhor - EPSILON) {
+            pontos = PONTOS_MELHOR_GLOBAL;
+            distanciaAtual = nova;
+            melhor = atual.copiar();
+            distanciaMelhor = nova;
+            novaMelhor = true;
+        } else if (nova < distanciaAtual - EPSILON) {
+            pontos = PONTOS_MELHOR_ATUAL;
+            distanciaAtual = nova;
+        } else if (temperatura > 0 && aleatorio.nextDouble() < Math.exp((distanciaAtual - nova) / temperatura)) {
+            pontos = PONTOS_ACEITA;
+            distanciaAtual = nova;
+        } else {
+            desfazer();
+        }
+
+        pontosRemocao[remocao] += pontos;
+        pontosInsercao[insercao] += pontos;
+        usosRemocao[remocao]++;
+        usosInsercao[insercao]++;
+
+        if (++iteracoes % TAMANHO_SEGMENTO == 0) {
+            atualizarPesos(pesosRemocao, pontosRemocao, usosRemocao);
+            atualizarPesos(pesosInsercao, pontosInsercao, usosInsercao);
+            atual.compactar();  // Viagens esvaziadas pela busca (registro está vazio aqui)
+            distanciaAtual = atual.getDistanciaTotal();
+        }
+
+        return novaMelhor;
+    }
+
+    // ------------------------------------------------------------------
+    // Remoção
+    // ------------------------------------------------------------------
+
+    private void removerAleatorios(int q) {
+        while (quantidadeRemovidos < q) {
+            int cliente = clientesValidos[aleatorio.nextInt(clientesValidos.length)];
+            if (atual.getViagem(cliente) != SolucaoRotas.FORA) {
+                remover(cliente);
+            }
+        }
+    }
+
+    /**
+     * Remove, por torneio entre amostras aleatórias, os clientes cuja retirada mais economiza
+     * (evita ordenar todos os clientes a cada iteração).
+     */
+    private void removerPiores(int q) {
+        while (quantidadeRemovidos < q) {
+            int escolhido = -1;
+            double maiorGanho = Double.NEGATIVE_INFINITY;
+
+            for (int a = 0; a < AMOSTRA_PIOR; a++) {
+                int cliente = clientesValidos[aleatorio.nextInt(clientesValidos.length)];
+                if (atual.getViagem(cliente) == SolucaoRotas.FORA) {
+                    continue;
+                }
+                double ganho = atual.ganhoRemocao(cliente);
+                if (ganho > maiorGanho) {
+                    maiorGanho = ganho;
+                    escolhido = cliente;
+                }
+            }
+
+            if (escolhido >= 0) {
+                remover(escolhido);
+            }
+        }
+    }
+
+    /**
+     * Remove um cliente semente e, em largura, seus vizinhos espaciais ainda presentes.
+     */
+    private void removerRelacionados(int q) {
+        int proximoDaFila = 0;
+
+        while (quantidadeRemovidos < q) {
+            if (proximoDaFila == quantidadeRemovidos) {
+                // Fila vazia: nova semente aleatória
+                int semente = clientesValidos[aleatorio.nextInt(clientesValidos.length)];
+                if (atual.getViagem(semente) != SolucaoRotas.FORA) {
+                    remover(semente);
+                }
+                continue;
+            }
+
+            int origem = removidos[proximoDaFila++];
+            for (int ordem = 0; ordem < grafo.getK() && quantidadeRemovidos < q; ordem++) {
+                int vizinho = grafo.vizinho(origem, ordem);
+                if (vizinho == GrafoVizinhanca.SEM_VIZINHO) {
+                    break;
+                }
+                if (atual.getViagem(vizinho) != SolucaoRotas.FORA) {
+                    remover(vizinho);
+                }
+            }
+        }
+    }
+
+    private void remover(int cliente) {
+        int viagem = atual.getViagem(cliente);
+        tocar(viagem);
+        registrar(OPERACAO_REMOCAO, cliente, viagem, atual.getPosicao(cliente));
+        atual.remover(cliente);
+        removidos[quantidadeRemovidos++] = cliente;
+    }
+
+    // ------------------------------------------------------------------
+    // Inserção
+    // ------------------------------------------------------------------
+
+    /**
+     * Insere primeiro, a cada rodada, o cliente removido de menor acréscimo de distância.
+     */
+    private void inserirGuloso() {
+        while (quantidadeRemovidos > 0) {
+            int escolhido = -1;
+            int viagem = -1;
+            int posicao = 0;
+            double menorCusto = Double.MAX_VALUE;
+
+            for (int i = 0; i < quantidadeRemovidos; i++) {
+                avaliarInsercao(removidos[i]);
+                if (insercaoCusto < menorCusto) {
+                    menorCusto = insercaoCusto;
+                    escolhido = i;
+                    viagem = insercaoViagem;
+                    posicao = insercaoPosicao;
+                }
+            }
+
+            inserirRemovido(escolhido, viagem, posicao);
+        }
+    }
+
+    /**
+     * Insere primeiro, a cada rodada, o cliente com maior arrependimento (diferença entre a
+     * segunda melhor e a melhor viagem); quem só cabe em um lugar tem prioridade máxima.
+     */
+    private void inserirPorArrependimento() {
+        while (quantidadeRemovidos > 0) {
+            int escolhido = -1;
+            int viagem = -1;
+            int posicao = 0;
+            double maiorArrependimento = Double.NEGATIVE_INFINITY;
+            double custoEscolhido = Double.MAX_VALUE;
+
+            for (int i = 0; i < quantidadeRemovidos; i++) {
+                avaliarInsercao(removidos[i]);
+                double arrependimento = insercaoSegundoCusto - insercaoCusto;
+
+                if (arrependimento > maiorArrependimento
+                        || (arrependimento == maiorArrependimento && insercaoCusto < custoEscolhido)) {
+                    maiorArrependimento = arrependimento;
+                    custoEscolhido = insercaoCusto;
+                    escolhido = i;
+                    viagem = insercaoViagem;
+                    posicao = insercaoPosicao;
+                }
+            }
+
+            inserirRemovido(escolhido, viagem, posicao);
+        }
+    }
+
+    /**
+     * Calcula a melhor inserção viável do cliente e o custo da melhor em outra viagem.
+     *
+     * Candidatas: antes e depois de cada vizinho presente na solução, mais uma viagem nova
+     * (sempre viável: a validação do cenário garante ida e volta de cada cliente).
+     */
+    private void avaliarInsercao(int cliente) {
+        int no = cliente + 1;
+        insercaoViagem = -1;
+        insercaoPosicao = 0;
+        insercaoCusto = atual.distancia(0, no) + atual.distancia(no, 0);
+        insercaoSegundoCusto = Double.MAX_VALUE;
+
+        for (int ordem = 0; ordem < grafo.getK(); ordem++) {
+            int vizinho = grafo.vizinho(cliente, ordem);
+            if (vizinho == GrafoVizinhanca.SEM_VIZINHO) {
+                break;
+            }
+
+            int viagem = atual.getViagem(vizinho);
+            if (viagem == SolucaoRotas.FORA || !atual.cabe(viagem, cliente)) {
+                continue;
+            }
+
+            int posicaoVizinho = atual.getPosicao(vizinho);
+            for (int posicao = posicaoVizinho; posicao <= posicaoVizinho + 1; posicao++) {
+                double custo = atual.custoInsercao(viagem, posicao, cliente);
+                if (atual.getDistancia(viagem) + custo > atual.getAutonomia()) {
+                    continue;
+                }
+
+                if (custo < insercaoCusto) {
+                    if (viagem != insercaoViagem) {
+                        insercaoSegundoCusto = insercaoCusto;
+                    }
+                    insercaoCusto = custo;
+                    insercaoViagem = viagem;
+                    insercaoPosicao = posicao;
+                } else if (viagem != insercaoViagem && custo < insercaoSegundoCusto) {
+                    insercaoSegundoCusto = custo;
+                }
+            }
+        }
+    }
+
+    /**
+     * Insere o i-ésimo removido na posição informada (viagem -1 = viagem nova).
+     */
+    private void inserirRemovido(int i, int viagem, int posicao) {
+        int cliente = removidos[i];
+        removidos[i] = removidos[--quantidadeRemovidos];
+
+        if (viagem < 0) {
+            viagem = atual.novaViagem();
+            posicao = 0;
+        }
+
+        tocar(viagem);
+        registrar(OPERACAO_INSERCAO, cliente, viagem, posicao);
+        atual.inserir(viagem, posicao, cliente);
+    }
+
+    // ------------------------------------------------------------------
+    // Registro, desfazer e pesos
+    // ------------------------------------------------------------------
+
+    private void iniciarRegistro() {
+        tamanhoRegistro = 0;
+        quantidadeTocadas = 0;
+        quantidadeRemovidos = 0;
+        marcaAtual++;
+    }
+
+    private void registrar(byte tipo, int cliente, int viagem, int posicao) {
+        if (tamanhoRegistro == registroTipo.length) {
+            int capacidade = tamanhoRegistro * 2;
+            registroTipo = Arrays.copyOf(registroTipo, capacidade);
+            registroCliente = Arrays.copyOf(registroCliente, capacidade);
+            registroViagem = Arrays.copyOf(registroViagem, capacidade);
+            registroPosicao = Arrays.copyOf(registroPosicao, capacidade);
+        }
+        registroTipo[tamanhoRegistro] = tipo;
+        registroCliente[tamanhoRegistro] = cliente;
+        registroViagem[tamanhoRegistro] = viagem;
+        registroPosicao[tamanhoRegistro] = posicao;
+        tamanhoRegistro++;
+    }
+
+    /**
+     * Marca a viagem como alterada nesta iteração, guardando sua distância original.
+     */
+    private void tocar(int viagem) {
+        if (viagem >= marcaViagem.length) {
+            int capacidade = Math.max(viagem + 1, marcaViagem.length * 2);
+            marcaViagem = Arrays.copyOf(marcaViagem, capacidade);
+            distanciaAnterior = Arrays.copyOf(distanciaAnterior, capacidade);
+        }
+        if (marcaViagem[viagem] != marcaAtual) {
+            marcaViagem[viagem] = marcaAtual;
+            distanciaAnterior[viagem] = atual.getDistancia(viagem);
+            if (quantidadeTocadas == viagensTocadas.length) {
+                viagensTocadas = Arrays.copyOf(viagensTocadas, quantidadeTocadas * 2);
+            }
+            viagensTocadas[quantidadeTocadas++] = viagem;
+        }
+    }
+
+    /**
+     * Recalcula exatamente as viagens alteradas e retorna a variação da distância total.
+     */
+    private double recalcularTocadas() {
+        double delta = 0.0;
+        for (int i = 0; i < quantidadeTocadas; i++) {
+            int viagem = viagensTocadas[i];
+            atual.recalcularDistancia(viagem);
+            delta += atual.getDistancia(viagem) - distanciaAnterior[viagem];
+        }
+        return delta;
+    }
+
+    /**
+     * Desfaz as operações da iteração em ordem inversa.
+     */
+    private void desfazer() {
+        for (int i = tamanhoRegistro - 1; i >= 0; i--) {
+            if (registroTipo[i] == OPERACAO_INSERCAO) {
+                atual.remover(registroCliente[i]);
+            } else {
+                atual.inserir(registroViagem[i], registroPosicao[i], registroCliente[i]);
+            }
+        }
+        for (int i = 0; i < quantidadeTocadas; i++) {
+            atual.recalcularDistancia(viagensTocadas[i]);
+        }
+    }
+
+    private int roleta(double[] pesos) {
+        double total = 0.0;
+        for (double peso : pesos) {
+            total += peso;
+        }
+
+        double sorteio = aleatorio.nextDouble() * total;
+        for (int i = 0; i < pesos.length - 1; i++) {
+            sorteio -= pesos[i];
+            if (sorteio < 0) {
+                return i;
+            }
+        }
+        return pesos.length - 1;
+    }
+
+    private static void atualizarPesos(double[] pesos, double[] pontos, int[] usos) {
+        for (int i = 0; i < pesos.length; i++) {
+            if (usos[i] > 0) {
+                pesos[i] = Math.max(PESO_MINIMO, (1.0 - REACAO) * pesos[i] + REACAO * pontos[i] / usos[i]);
+            }
+            pontos[i] = 0.0;
+            usos[i] = 0;
+        }
+    }
+}
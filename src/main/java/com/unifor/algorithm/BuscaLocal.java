@@ -0,0 +1,172 @@
+package com.unifor.algorithm;
+
+/**
+ * Busca local por primeira melhoria sobre uma {@link SolucaoRotas}.
+ *
+ * Movimentos:
+ * - Realocação: retira um cliente e o reinsere antes ou depois de um dos seus vizinhos,
+ *   na mesma viagem ou em outra (respeitando capacidade e autonomia da viagem destino)
+ * - 2-opt: inverte o trecho de uma viagem entre um cliente e um vizinho dela
+ *
+ * As duas vizinhanças são granulares: só vizinhos do {@link GrafoVizinhanca} são
+ * considerados, o que mantém cada passada em O(n·k) mesmo com centenas de milhares de
+ * clientes. O prazo é conferido a cada cliente, então a busca pode ser interrompida a
+ * qualquer momento deixando a solução válida.
+ */
+final class BuscaLocal {
+
+    // Melhoria mínima para aceitar um movimento (evita ciclos por arredondamento)
+    private static final double EPSILON = 1e-9;
+
+    private final SolucaoRotas solucao;
+    private final GrafoVizinhanca grafo;
+
+    /**
+     * @param solucao Solução a melhorar (alterada no lugar)
+     * @param grafo Vizinhos candidatos de cada cliente
+     */
+    BuscaLocal(SolucaoRotas solucao, GrafoVizinhanca grafo) {
+        this.solucao = solucao;
+        this.grafo = grafo;
+    }
+
+    /**
+     * Executa passadas até não haver movimento de melhoria ou o prazo acabar.
+     *
+     * @param prazoNanos Instante limite em {@link System#nanoTime()}
+     * @return true se atingiu um ótimo local antes do prazo
+     */
+    boolean otimizar(long prazoNanos) {
+        while (System.nanoTime() < prazoNanos) {
+            if (!executarPassada(prazoNanos)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Tenta um movimento de melhoria para cada cliente da solução.
+     *
+     * @param prazoNanos Instante limite em {@link System#nanoTime()}
+     * @return true se algum movimento foi aplicado
+     */
+    boolean executarPassada(long prazoNanos) {
+        boolean melhorou = false;
+
+        for (int cliente = 0; cliente < solucao.getQuantidadeClientes(); cliente++) {
+            if (System.nanoTime() >= prazoNanos) {
+                break;
+            }
+            if (solucao.getViagem(cliente) == SolucaoRotas.FORA) {
+                continue;
+            }
+            if (realocar(cliente) || doisOpt(cliente)) {
+                melhorou = true;
+            }
+        }
+
+        return melhorou;
+    }
+
+    /**
+     * Reinsere o cliente junto ao primeiro vizinho onde a distância total diminui.
+     */
+    private boolean realocar(int cliente) {
+        int viagemOrigem = solucao.getViagem(cliente);
+        double ganho = solucao.ganhoRemocao(cliente);
+        int no = cliente + 1;
+
+        for (int ordem = 0; ordem < grafo.getK(); ordem++) {
+            int vizinho = grafo.vizinho(cliente, ordem);
+            if (vizinho == GrafoVizinhanca.SEM_VIZINHO) {
+                break;
+            }
+
+            int viagem = solucao.getViagem(vizinho);
+            if (viagem == SolucaoRotas.FORA) {
+                continue;
+            }
+
+            boolean mesmaViagem = viagem == viagemOrigem;
+            if (!mesmaViagem && !solucao.cabe(viagem, cliente)) {
+                continue;
+            }
+
+            // Antes do vizinho (lado 0) ou depois dele (lado 1)
+            for (int lado = 0; lado <= 1; lado++) {
+                int posicaoVizinho = solucao.getPosicao(vizinho);
+                int anterior = lado == 0 ? vizinhoPulando(viagem, posicaoVizinho, -1, cliente) : vizinho + 1;
+                int seguinte = lado == 0 ? vizinho + 1 : vizinhoPulando(viagem, posicaoVizinho, +1, cliente);
+
+                double acrescimo = solucao.distancia(anterior, no) + solucao.distancia(no, seguinte)
+                                 - solucao.distancia(anterior, seguinte);
+                if (acrescimo - ganho >= -EPSILON) {
+                    continue;
+                }
+                if (!mesmaViagem && solucao.getDistancia(viagem) + acrescimo > solucao.getAutonomia()) {
+                    continue;
+                }
+
+                solucao.remover(cliente);
+                int posicao = solucao.getPosicao(vizinho) + lado;
+                solucao.inserir(viagem, posicao, cliente);
+                solucao.recalcularDistancia(viagem);
+                if (!mesmaViagem) {
+                    solucao.recalcularDistancia(viagemOrigem);
+                }
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Local (índice na tabela) adjacente a uma posição da viagem, ignorando o cliente que
+     * será retirado.
+     */
+    private int vizinhoPulando(int viagem, int posicao, int direcao, int ignorado) {
+        int p = posicao + direcao;
+        int local = solucao.local(viagem, p);
+        if (local == ignorado + 1) {
+            local = solucao.local(viagem, p + direcao);
+        }
+        return local;
+    }
+
+    /**
+     * Liga o cliente diretamente a um vizinho da mesma viagem invertendo o trecho entre eles.
+     */
+    private boolean doisOpt(int cliente) {
+        int viagem = solucao.getViagem(cliente);
+
+        for (int ordem = 0; ordem < grafo.getK(); ordem++) {
+            int vizinho = grafo.vizinho(cliente, ordem);
+            if (vizinho == GrafoVizinhanca.SEM_VIZINHO) {
+                break;
+            }
+            if (solucao.getViagem(vizinho) != viagem) {
+                continue;
+            }
+
+            int i = solucao.getPosicao(cliente);
+            int j = solucao.getPosicao(vizinho);
+
+            // Nova aresta cliente→vizinho (vizinho depois) ou vizinho→cliente (vizinho antes)
+            int inicio = j > i ? i + 1 : j;
+            int fim = j > i ? j : i - 1;
+            if (fim <= inicio) {
+                continue;
+            }
+
+            if (solucao.deltaInversao(viagem, inicio, fim) < -EPSILON) {
+                solucao.inverter(viagem, inicio, fim);
+                solucao.recalcularDistancia(viagem);
+                return true;
+            }
+        }
+
+        return false;
+    }
+}
@@ -0,0 +1,161 @@
+package com.unifor.algorithm;
+
+import java.util.Arrays;
+
+import com.unifor.util.ProvedorEuclidiano;
+
+/**
+ * Busca exata do cliente pendente viável mais próximo, para distâncias Euclidianas.
+ *
+ * Os clientes ficam em uma {@link GradeUniforme}; cada célula guarda quantos clientes
+ * ainda estão pendentes, e a busca percorre anéis de células ao redor do local atual até
+ * que nenhum anel restante possa conter um cliente mais próximo que o melhor encontrado.
+ * O resultado é idêntico ao da varredura completa (inclusive o desempate pela ordem de
+ * prioridade), mas o custo depende da vizinhança e não do total de pendentes.
+ *
+ * Quando a vizinhança está quase vazia (fim do dia, poucos pendentes espalhados), percorrer
+ * anéis vazios custaria mais do que a própria varredura: nesse caso a busca desiste e
+ * devolve {@link #DESISTIU}, e o chamador faz a varredura completa.
+ */
+final class BuscaPendentes {
+
+    /** Resultado quando a busca por anéis ficaria mais cara que a varredura completa. */
+    static final int DESISTIU = -2;
+
+    // Folga relativa no critério de parada (arredondamento da geometria das células)
+    private static final double MARGEM = 1e-9;
+
+    private final ProvedorEuclidiano.TabelaEuclidiana tabela;
+    private final GradeUniforme grade;
+    private final int[] celulaDoCliente;
+    private final int[] pendentesNaCelula;
+    private final int[] pendentesIniciais;
+
+    /**
+     * Constrói o índice com todos os clientes informados como pendentes.
+     *
+     * @param tabela Tabela Euclidiana do cenário (índice 0 = central, i + 1 = cliente i)
+     * @param clientes Índices dos clientes a indexar
+     * @param quantidadeClientes Número total de clientes do cenário
+     */
+    BuscaPendentes(ProvedorEuclidiano.TabelaEuclidiana tabela, int[] clientes, int quantidadeClientes) {
+        this.tabela = tabela;
+
+        double[] x = new double[quantidadeClientes];
+        double[] y = new double[quantidadeClientes];
+        Arrays.fill(x, Double.NaN);
+        Arrays.fill(y, Double.NaN);
+        for (int cliente : clientes) {
+            x[cliente] = tabela.getX(cliente + 1);
+            y[cliente] = tabela.getY(cliente + 1);
+        }
+
+        this.grade = new GradeUniforme(x, y);
+        this.celulaDoCliente = new int[quantidadeClientes];
+        this.pendentesNaCelula = new int[grade.getColunas() * grade.getLinhas()];
+
+        for (int cliente : clientes) {
+            int celula = grade.linha(y[cliente]) * grade.getColunas() + grade.coluna(x[cliente]);
+            celulaDoCliente[cliente] = celula;
+            pendentesNaCelula[celula]++;
+        }
+        this.pendentesIniciais = pendentesNaCelula.clone();
+    }
+
+    /**
+     * Marca novamente todos os clientes indexados como pendentes.
+     */
+    void reiniciar() {
+        System.arraycopy(pendentesIniciais, 0, pendentesNaCelula, 0, pendentesIniciais.length);
+    }
+
+    /**
+     * Marca um cliente como atendido.
+     *
+     * @param cliente Índice do cliente
+     */
+    void remover(int cliente) {
+        pendentesNaCelula[celulaDoCliente[cliente]]--;
+    }
+
+    /**
+     * Busca o cliente pendente mais próximo do local atual que caiba no veículo e permita
+     * voltar à central com a autonomia restante.
+     *
+     * @param localAtual Índice (na tabela) do local atual
+     * @param naoVisitados Clientes pendentes (para o desempate por prioridade)
+     * @param demandas Demanda de cada cliente
+     * @param cargaAtual Carga atual do veículo
+     * @param capacidadeMaxima Capacidade máxima do veículo
+     * @param autonomiaRestante Autonomia restante do veículo
+     * @return Índice do cliente, -1 se nenhum for viável, ou {@link #DESISTIU}
+     */
+    int buscar(int localAtual, ListaNaoVisitados naoVisitados, double[] demandas,
+               double cargaAtual, double capacidadeMaxima, double autonomiaRestante) {
+        double ox = tabela.getX(localAtual);
+        double oy = tabela.getY(localAtual);
+        int colunas = grade.getColunas();
+        int linhas = grade.getLinhas();
+        int cx = grade.coluna(ox);
+        int cy = grade.linha(oy);
+        int raioMaximo = Math.max(colunas, linhas);
+
+        // Orçamento de células: acima disso a varredura da lista sai mais barata
+        long limiteCelulas = 4L * naoVisitados.tamanho() + 64;
+        long celulasVisitadas = 0;
+
+        int melhor = -1;
+        double menor = Double.MAX_VALUE;
+
+        for (int raio = 0; raio <= raioMaximo; raio++) {
+            int y0 = cy - raio, y1 = cy + raio;
+            int x0 = cx - raio, x1 = cx + raio;
+
+            for (int celulaY = Math.max(0, y0); celulaY <= Math.min(linhas - 1, y1); celulaY++) {
+                boolean bordaHorizontal = (celulaY == y0 || celulaY == y1);
+                // Nas linhas internas do anel só as colunas das extremidades são novas
+                int passo = bordaHorizontal ? 1 : Math.max(1, x1 - x0);
+
+                for (int celulaX = x0; celulaX <= x1; celulaX += passo) {
+                    if (celulaX < 0 || celulaX >= colunas) {
+                        continue;
+                    }
+
+                    int celula = celulaY * colunas + celulaX;
+                    celulasVisitadas++;
+                    if (pendentesNaCelula[celula] == 0) {
+                        continue;
+                    }
+
+                    for (int p = grade.getInicioCelula(celula); p < grade.getFimCelula(celula); p++) {
+                        int cliente = grade.getIndicePonto(p);
+                        if (!naoVisitados.contem(cliente) || cargaAtual + demandas[cliente] > capacidadeMaxima) {
+                            continue;
+                        }
+
+                        double distancia = tabela.distancia(localAtual, cliente + 1);
+                        boolean maisProximo = distancia < menor
+                            || (distancia == menor && melhor >= 0
+                                && naoVisitados.posicaoNaOrdem(cliente) < naoVisitados.posicaoNaOrdem(melhor));
+
+                        if (maisProximo && distancia + tabela.distancia(cliente + 1, 0) <= autonomiaRestante) {
+                            menor = distancia;
+                            melhor = cliente;
+                        }
+                    }
+                }
+            }
+
+            // Clientes de anéis mais externos estão a pelo menos raio × tamanhoCelula
+            double alcance = raio * grade.getTamanhoCelula();
+            if (melhor >= 0 && menor < alcance * (1.0 - MARGEM)) {
+                return melhor;
+            }
+            if (celulasVisitadas > limiteCelulas) {
+                return DESISTIU;
+            }
+        }
+
+        return melhor;
+    }
+}
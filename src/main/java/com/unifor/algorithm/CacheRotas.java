@@ -0,0 +1,257 @@
+package com.unifor.algorithm;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.unifor.model.Cliente;
+import com.unifor.model.PlanoRotas;
+import com.unifor.model.Ponto;
+import com.unifor.model.Rota;
+import com.unifor.model.Veiculo;
+
+/**
+ * Cache LRU (Least Recently Used) de resultados de roteirização.
+ *
+ * Cada cenário é identificado por uma impressão digital de 64 bits calculada a partir
+ * das coordenadas, demandas (entrega e coleta) e prioridades dos clientes (na ordem recebida), dos limites
+ * do veículo e da posição da central, mais as opções do Roteirizador que mudam o resultado
+ * (vizinhos candidatos e minimização de viagens). Cenários idênticos com as mesmas opções
+ * reaproveitam a lista de rotas já calculada sem executar novamente a heurística.
+ *
+ * O cache guarda o plano compacto ({@link PlanoRotas}, imutável) de cada cenário, e cada
+ * acerto recebe uma lista imutável de rotas novas sobre ele: alterar uma rota recebida
+ * (o que a desvincula do plano) não afeta os acertos seguintes. Junto do plano pode ficar
+ * o {@link LimiteInferior} do cenário, para que um acerto não pague de novo a árvore
+ * geradora mínima do gap.
+ */
+public class CacheRotas {
+
+    private final int capacidade;
+    private final Map<Long, Entrada> entradas;
+
+    // Estatísticas de uso
+    private long acertos;
+    private long falhas;
+    private long remocoes;
+
+    /**
+     * Construtor com capacidade máxima.
+     *
+     * @param capacidade Número máximo de cenários mantidos no cache
+     * @throws IllegalArgumentException se a capacidade não for positiva
+     */
+    public CacheRotas(int capacidade) {
+        if (capacidade <= 0) {
+            throw new IllegalArgumentException("A capacidade do cache deve ser positiva");
+        }
+
+        this.capacidade = capacidade;
+
+        // accessOrder = true: a iteração segue do menos para o mais recentemente usado
+        this.entradas = new LinkedHashMap<Long, Entrada>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Entrada> maisAntiga) {
+                if (size() > CacheRotas.this.capacidade) {
+                    remocoes++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Busca as rotas de um cenário já calculado.
+     *
+     * @param impressaoDigital Impressão digital do cenário
+     * @return Lista imutável de rotas novas, ou null se o cenário não estiver no cache
+     */
+    public synchronized List<Rota> buscar(long impressaoDigital) {
+        Entrada entrada = entradas.get(impressaoDigital);
+
+        if (entrada == null) {
+            falhas++;
+            return null;
+        }
+
+        acertos++;
+        return entrada.plano.criarRotas();
+    }
+
+    /**
+     * Armazena o plano de um cenário, removendo o cenário menos usado se o cache estiver cheio.
+     *
+     * @param impressaoDigital Impressão digital do cenário
+     * @param plano Plano calculado para o cenário
+     * @return Lista imutável de rotas novas sobre o plano armazenado
+     */
+    public synchronized List<Rota> armazenar(long impressaoDigital, PlanoRotas plano) {
+        entradas.put(impressaoDigital, new Entrada(plano));
+        return plano.criarRotas();
+    }
+
+    /**
+     * Busca o limite inferior guardado junto do plano de um cenário (não conta nas estatísticas).
+     *
+     * @param impressaoDigital Impressão digital do cenário
+     * @return Limite guardado, ou null se o cenário não estiver no cache ou ainda não tiver limite
+     */
+    public synchronized LimiteInferior buscarLimite(long impressaoDigital) {
+        Entrada entrada = entradas.get(impressaoDigital);
+        return entrada != null ? entrada.limite : null;
+    }
+
+    /**
+     * Guarda o limite inferior de um cenário junto do seu plano; sem plano no cache, nada é guardado.
+     *
+     * @param impressaoDigital Impressão digital do cenário
+     * @param limite Limite calculado para o cenário
+     */
+    public synchronized void armazenarLimite(long impressaoDigital, LimiteInferior limite) {
+        Entrada entrada = entradas.get(impressaoDigital);
+        if (entrada != null) {
+            entrada.limite = limite;
+        }
+    }
+
+    /**
+     * Remove todos os cenários do cache (as estatísticas são mantidas).
+     */
+    public synchronized void limpar() {
+        entradas.clear();
+    }
+
+    public int getCapacidade() {
+        return capacidade;
+    }
+
+    public synchronized int getTamanho() {
+        return entradas.size();
+    }
+
+    public synchronized long getAcertos() {
+        return acertos;
+    }
+
+    public synchronized long getFalhas() {
+        return falhas;
+    }
+
+    public synchronized long getRemocoes() {
+        return remocoes;
+    }
+
+    /**
+     * Retorna a fração de buscas atendidas pelo cache.
+     *
+     * @return Taxa de acertos entre 0.0 e 1.0 (0.0 se nenhuma busca foi feita)
+     */
+    public synchronized double getTaxaAcertos() {
+        long total = acertos + falhas;
+        return total > 0 ? (double) acertos / total : 0.0;
+    }
+
+    /**
+     * Calcula a impressão digital de 64 bits de um cenário de roteirização.
+     *
+     * A ordem dos clientes faz parte da impressão digital, pois ela influencia o desempate
+     * da heurística gulosa. A carga atual e a autonomia restante do veículo não entram no
+     * cálculo, já que o Roteirizador as reinicia a cada viagem.
+     *
+     * @param clientes Lista de clientes
+     * @param veiculo Veículo com as restrições
+     * @param central Ponto da central de distribuição
+     * @return Impressão digital do cenário
+     */
+    public static long calcularImpressaoDigital(List<Cliente> clientes, Veiculo veiculo, Ponto central) {
+        return calcularImpressaoDigital(clientes, veiculo, central, 0, false);
+    }
+
+    /**
+     * Calcula a chave de cache de um cenário com as opções do Roteirizador que mudam o resultado.
+     *
+     * Com as opções padrão (sem grafo de candidatos, sem minimizar viagens) a chave é a
+     * impressão digital de {@link #calcularImpressaoDigital(List, Veiculo, Ponto)}.
+     *
+     * @param clientes Lista de clientes
+     * @param veiculo Veículo com as restrições
+     * @param central Ponto da central de distribuição
+     * @param vizinhosCandidatos Vizinhos por cliente no grafo de candidatos (0 = sem grafo)
+     * @param minimizarViagens Se o plano passa pela minimização de viagens
+     * @return Impressão digital do cenário com as opções
+     */
+    public static long calcularImpressaoDigital(List<Cliente> clientes, Veiculo veiculo, Ponto central,
+                                                int vizinhosCandidatos, boolean minimizarViagens) {
+        long hash = misturar(0x5375446C76727955L ^ clientes.size());
+
+        hash = combinar(hash, veiculo.getCapacidadeMaxima());
+        hash = combinar(hash, veiculo.getAutonomiaMaxima());
+        hash = combinar(hash, central.getX());
+        hash = combinar(hash, central.getY());
+
+        for (int i = 0; i < clientes.size(); i++) {
+            Cliente cliente = clientes.get(i);
+
+            if (cliente == null || cliente.getLocalizacao() == null) {
+                hash = misturar(hash + 0x9E3779B97F4A7C15L);
+                continue;
+            }
+
+            hash = combinar(hash, cliente.getLocalizacao().getX());
+            hash = combinar(hash, cliente.getLocalizacao().getY());
+            hash = combinar(hash, cliente.getDemandaCarga());
+            if (cliente.getDemandaColeta() != 0) {
+                // Só entra quando há coleta: cenários só de entrega mantêm a mesma impressão digital
+                hash = combinar(hash, cliente.getDemandaColeta());
+            }
+            hash = misturar(hash ^ cliente.getPrioridade());
+        }
+
+        // OPÇÕES: só entram quando diferem do padrão
+        if (vizinhosCandidatos != 0) {
+            hash = misturar(hash ^ (0x766B4E4E00000000L | vizinhosCandidatos));
+        }
+        if (minimizarViagens) {
+            hash = misturar(hash ^ 0x6D696E5669616765L);
+        }
+        return hash;
+    }
+
+    /**
+     * Plano de um cenário e, quando já calculado, o seu limite inferior (acesso sincronizado pelo cache).
+     */
+    private static final class Entrada {
+        final PlanoRotas plano;
+        LimiteInferior limite;
+
+        Entrada(PlanoRotas plano) {
+            this.plano = plano;
+        }
+    }
+
+    /**
+     * Incorpora um valor double à impressão digital.
+     *
+     * @param hash Impressão digital parcial
+     * @param valor Valor a incorporar
+     * @return Nova impressão digital parcial
+     */
+    private static long combinar(long hash, double valor) {
+        return misturar(hash ^ Double.doubleToLongBits(valor));
+    }
+
+    /**
+     * Função de mistura do SplitMix64: espalha cada bit de entrada por toda a saída.
+     *
+     * @param z Valor de entrada
+     * @return Valor misturado
+     */
+    private static long misturar(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,23 @@
+package com.unifor.algorithm;
+
+/**
+ * Cliente (ou pedido) que nenhuma viagem consegue atender: demanda acima da capacidade do
+ * veículo ou ida e volta acima da autonomia.
+ *
+ * É uma RuntimeException, como as demais falhas do cálculo; quem precisa distinguir a
+ * inviabilidade do cenário de uma falha interna (o serviço HTTP, por exemplo) captura esta
+ * classe.
+ */
+public class ClienteInviavelException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Construtor com a mensagem que identifica o cliente e a restrição violada.
+     *
+     * @param mensagem Descrição da inviabilidade
+     */
+    public ClienteInviavelException(String mensagem) {
+        super(mensagem);
+    }
+}
@@ -0,0 +1,118 @@
+package com.unifor.algorithm;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import com.unifor.model.Cliente;
+
+/**
+ * Constrói o {@link GrafoVizinhanca} (k vizinhos mais próximos de cada cliente).
+ *
+ * Os clientes são distribuídos em uma grade uniforme com cerca de dois clientes por célula.
+ * A busca de cada cliente percorre anéis de células ao redor da sua, do mais interno para
+ * o mais externo, e para assim que nenhum anel ainda não visitado puder conter um vizinho
+ * mais próximo que o k-ésimo encontrado. Em distribuições urbanas típicas isso resulta em
+ * tempo O(n·k·log k), e as consultas são divididas em blocos processados em paralelo
+ * por todos os núcleos disponíveis.
+ */
+public class ConstrutorGrafoVizinhanca {
+
+    // Número de clientes por bloco de trabalho paralelo
+    private static final int TAMANHO_BLOCO = 1024;
+
+    /**
+     * Construtor privado para evitar instanciação.
+     */
+    private ConstrutorGrafoVizinhanca() {
+        throw new UnsupportedOperationException("Classe utilitária não pode ser instanciada");
+    }
+
+    /**
+     * Constrói o grafo de vizinhança de uma lista de clientes (distância Euclidiana).
+     *
+     * Clientes nulos ou sem localização não recebem vizinhos e não aparecem como vizinhos.
+     *
+     * @param clientes Lista de clientes
+     * @param k Número de vizinhos por cliente
+     * @return Grafo de vizinhança indexado pela posição na lista
+     * @throws IllegalArgumentException se a lista for nula ou k não for positivo
+     */
+    public static GrafoVizinhanca construir(List<Cliente> clientes, int k) {
+        if (clientes == null) {
+            throw new IllegalArgumentException("A lista de clientes não pode ser nula");
+        }
+
+        double[] x = new double[clientes.size()];
+        double[] y = new double[clientes.size()];
+
+        for (int i = 0; i < clientes.size(); i++) {
+            Cliente cliente = clientes.get(i);
+            if (cliente == null || cliente.getLocalizacao() == null) {
+                x[i] = Double.NaN;
+                y[i] = Double.NaN;
+            } else {
+                x[i] = cliente.getLocalizacao().getX();
+                y[i] = cliente.getLocalizacao().getY();
+            }
+        }
+
+        return construir(x, y, k);
+    }
+
+    /**
+     * Constrói o grafo de vizinhança a partir de coordenadas em estrutura de arrays.
+     *
+     * Coordenadas NaN marcam posições inválidas, que ficam fora do grafo.
+     *
+     * @param x Coordenadas X dos clientes
+     * @param y Coordenadas Y dos clientes
+     * @param k Número de vizinhos por cliente
+     * @return Grafo de vizinhança
+     * @throws IllegalArgumentException se os vetores forem inconsistentes, k não for positivo
+     *         ou o grafo (n × k entradas) não couber em um array
+     */
+    public static GrafoVizinhanca construir(double[] x, double[] y, int k) {
+        if (x == null || y == null || x.length != y.length) {
+            throw new IllegalArgumentException("Os vetores de coordenadas devem ter o mesmo tamanho");
+        }
+        if (k <= 0) {
+            throw new IllegalArgumentException("O número de vizinhos deve ser positivo");
+        }
+
+        int n = x.length;
+        int entradas;
+        try {
+            entradas = Math.multiplyExact(n, k);
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Grafo de vizinhança grande demais: " + n + " clientes × "
+                                               + k + " vizinhos excede o tamanho máximo de um array", e);
+        }
+        int[] vizinhos = new int[entradas];
+        float[] distancias = new float[entradas];
+        Arrays.fill(vizinhos, GrafoVizinhanca.SEM_VIZINHO);
+        Arrays.fill(distancias, Float.POSITIVE_INFINITY);
+
+        GradeUniforme grade = new GradeUniforme(x, y);
+
+        if (grade.getQuantidadePontos() > 1) {
+            int blocos = (n + TAMANHO_BLOCO - 1) / TAMANHO_BLOCO;
+
+            IntStream.range(0, blocos).parallel().forEach(bloco -> {
+                // Heap de trabalho confinado ao bloco (sem contenção entre threads)
+                int[] heapIndices = new int[k];
+                double[] heapDistancias = new double[k];
+
+                int fim = Math.min(n, (bloco + 1) * TAMANHO_BLOCO);
+                for (int i = bloco * TAMANHO_BLOCO; i < fim; i++) {
+                    if (!Double.isNaN(x[i]) && !Double.isNaN(y[i])) {
+                        grade.buscarVizinhos(i, x[i], y[i], k, heapIndices, heapDistancias,
+                                             vizinhos, distancias);
+                    }
+                }
+            });
+        }
+
+        return new GrafoVizinhanca(n, k, vizinhos, distancias);
+    }
+}
@@ -0,0 +1,367 @@
+package com.unifor.algorithm;
+
+import java.util.Arrays;
+
+/**
+ * Grade uniforme em formato compacto (CSR): os pontos de cada célula ficam contíguos.
+ *
+ * Cada célula tem área para cerca de dois pontos. Usada para a busca dos k vizinhos mais
+ * próximos ({@link ConstrutorGrafoVizinhanca}) e para a busca do cliente pendente mais
+ * próximo ({@link BuscaPendentes}). Posições com coordenada NaN ficam fora da grade.
+ */
+final class GradeUniforme {
+    private final double minX;
+    private final double minY;
+    private final double tamanhoCelula;
+    private final int colunas;
+    private final int linhas;
+    private final int quantidadePontos;
+
+    // inicioCelula[c] .. inicioCelula[c + 1] delimitam os pontos da célula c
+    private final int[] inicioCelula;
+    private final int[] indicePonto;
+    private final double[] xPonto;
+    private final double[] yPonto;
+
+    GradeUniforme(double[] x, double[] y) {
+        double menorX = Double.POSITIVE_INFINITY, maiorX = Double.NEGATIVE_INFINITY;
+        double menorY = Double.POSITIVE_INFINITY, maiorY = Double.NEGATIVE_INFINITY;
+        int validos = 0;
+
+        for (int i = 0; i < x.length; i++) {
+            if (Double.isNaN(x[i]) || Double.isNaN(y[i])) {
+                continue;
+            }
+            menorX = Math.min(menorX, x[i]);
+            maiorX = Math.max(maiorX, x[i]);
+            menorY = Math.min(menorY, y[i]);
+            maiorY = Math.max(maiorY, y[i]);
+            validos++;
+        }
+
+        this.quantidadePontos = validos;
+        this.minX = validos > 0 ? menorX : 0.0;
+        this.minY = validos > 0 ? menorY : 0.0;
+
+        double largura = validos > 0 ? maiorX - menorX : 0.0;
+        double altura = validos > 0 ? maiorY - menorY : 0.0;
+
+        // Célula com área para ~2 pontos; se os pontos forem colineares, dividir o maior lado
+        double tamanho = Math.sqrt(largura * altura * 2.0 / Math.max(1, validos));
+        if (!(tamanho > 0)) {
+            tamanho = Math.max(largura, altura) * 2.0 / Math.max(1, validos);
+        }
+        if (!(tamanho > 0)) {
+            tamanho = 1.0;
+        }
+
+        // Limitar o número de células a ~4 por ponto (pontos muito alongados)
+        long colunasLong = (long) (largura / tamanho) + 1;
+        long linhasLong = (long) (altura / tamanho) + 1;
+        long limite = 4L * validos + 16;
+        if (colunasLong * linhasLong > limite) {
+            tamanho *= Math.sqrt((double) colunasLong * linhasLong / limite);
+            colunasLong = (long) (largura / tamanho) + 1;
+            linhasLong = (long) (altura / tamanho) + 1;
+        }
+
+        this.tamanhoCelula = tamanho;
+        this.colunas = (int) colunasLong;
+        this.linhas = (int) linhasLong;
+
+        // Contagem por célula e soma prefixada
+        int[] celulaDoPonto = new int[x.length];
+        this.inicioCelula = new int[colunas * linhas + 1];
+
+        for (int i = 0; i < x.length; i++) {
+            if (Double.isNaN(x[i]) || Double.isNaN(y[i])) {
+                celulaDoPonto[i] = -1;
+                continue;
+            }
+            int celula = linha(y[i]) * colunas + coluna(x[i]);
+            celulaDoPonto[i] = celula;
+            inicioCelula[celula + 1]++;
+        }
+
+        for (int c = 0; c < colunas * linhas; c++) {
+            inicioCelula[c + 1] += inicioCelula[c];
+        }
+
+        this.indicePonto = new int[validos];
+        this.xPonto = new double[validos];
+        this.yPonto = new double[validos];
+        int[] proximaPosicao = Arrays.copyOf(inicioCelula, colunas * linhas);
+
+        for (int i = 0; i < x.length; i++) {
+            if (celulaDoPonto[i] < 0) {
+                continue;
+            }
+            int posicao = proximaPosicao[celulaDoPonto[i]]++;
+            indicePonto[posicao] = i;
+            xPonto[posicao] = x[i];
+            yPonto[posicao] = y[i];
+        }
+    }
+
+    int getQuantidadePontos() {
+        return quantidadePontos;
+    }
+
+    double getTamanhoCelula() {
+        return tamanhoCelula;
+    }
+
+    int getColunas() {
+        return colunas;
+    }
+
+    int getLinhas() {
+        return linhas;
+    }
+
+    /**
+     * Posição inicial (em {@link #getIndicePonto(int)}) dos pontos de uma célula.
+     */
+    int getInicioCelula(int celula) {
+        return inicioCelula[celula];
+    }
+
+    /**
+     * Posição final (exclusiva) dos pontos de uma célula.
+     */
+    int getFimCelula(int celula) {
+        return inicioCelula[celula + 1];
+    }
+
+    int getIndicePonto(int posicao) {
+        return indicePonto[posicao];
+    }
+
+    int coluna(double valorX) {
+        return Math.min(colunas - 1, (int) ((valorX - minX) / tamanhoCelula));
+    }
+
+    int linha(double valorY) {
+        return Math.min(linhas - 1, (int) ((valorY - minY) / tamanhoCelula));
+    }
+
+    /**
+     * Busca o ponto da grade mais próximo de um local qualquer (dentro ou fora da grade).
+     *
+     * O local é trazido para a célula mais próxima da borda; como a distância até um anel
+     * de células só aumenta para locais fora da grade, o critério de parada continua exato.
+     *
+     * @return Índice do ponto mais próximo (empate: o de menor índice), ou -1 se a grade estiver vazia
+     */
+    int buscarMaisProximo(double ox, double oy) {
+        if (quantidadePontos == 0) {
+            return -1;
+        }
+
+        int cx = Math.max(0, coluna(ox));
+        int cy = Math.max(0, linha(oy));
+        int melhor = -1;
+        double melhorD2 = Double.POSITIVE_INFINITY;
+        int raioMaximo = Math.max(colunas, linhas);
+
+        for (int raio = 0; raio <= raioMaximo; raio++) {
+            int y0 = cy - raio, y1 = cy + raio;
+            int x0 = cx - raio, x1 = cx + raio;
+
+            for (int celulaY = Math.max(0, y0); celulaY <= Math.min(linhas - 1, y1); celulaY++) {
+                boolean bordaHorizontal = (celulaY == y0 || celulaY == y1);
+                int passo = bordaHorizontal ? 1 : Math.max(1, x1 - x0);
+
+                for (int celulaX = x0; celulaX <= x1; celulaX += passo) {
+                    if (celulaX < 0 || celulaX >= colunas) {
+                        continue;
+                    }
+
+                    int celula = celulaY * colunas + celulaX;
+                    for (int p = inicioCelula[celula]; p < inicioCelula[celula + 1]; p++) {
+                        double dx = xPonto[p] - ox;
+                        double dy = yPonto[p] - oy;
+                        double d2 = dx * dx + dy * dy;
+                        if (d2 < melhorD2 || (d2 == melhorD2 && indicePonto[p] < melhor)) {
+                            melhorD2 = d2;
+                            melhor = indicePonto[p];
+                        }
+                    }
+                }
+            }
+
+            double alcance = raio * tamanhoCelula;
+            // Estrito: um ponto empatado em anel mais externo ainda pode ter índice menor
+            if (melhor >= 0 && melhorD2 < alcance * alcance) {
+                break;
+            }
+        }
+        return melhor;
+    }
+
+    /**
+     * Busca o ponto mais próximo de um local entre os que têm rótulo diferente do informado
+     * (ex.: pontos de outro componente na árvore geradora mínima).
+     *
+     * @param ox Coordenada X do local
+     * @param oy Coordenada Y do local
+     * @param rotulos Rótulo de cada ponto, por índice
+     * @param rotulo Rótulo a ignorar
+     * @param limiteD2 Só interessam pontos com quadrado da distância abaixo deste valor
+     * @return Índice do ponto mais próximo (empate: o de menor índice), ou -1 se nenhum estiver abaixo do limite
+     */
+    int buscarMaisProximoComOutroRotulo(double ox, double oy, int[] rotulos, int rotulo, double limiteD2) {
+        int cx = coluna(ox);
+        int cy = linha(oy);
+        int melhor = -1;
+        double melhorD2 = limiteD2;
+        int raioMaximo = Math.max(colunas, linhas);
+
+        for (int raio = 0; raio <= raioMaximo; raio++) {
+            // Pontos de anéis mais externos estão a pelo menos (raio - 1) × tamanhoCelula
+            double alcance = Math.max(0, raio - 1) * tamanhoCelula;
+            if (alcance * alcance > melhorD2) {
+                break;
+            }
+
+            int y0 = cy - raio, y1 = cy + raio;
+            int x0 = cx - raio, x1 = cx + raio;
+
+            for (int celulaY = Math.max(0, y0); celulaY <= Math.min(linhas - 1, y1); celulaY++) {
+                boolean bordaHorizontal = (celulaY == y0 || celulaY == y1);
+                int passo = bordaHorizontal ? 1 : Math.max(1, x1 - x0);
+
+                for (int celulaX = x0; celulaX <= x1; celulaX += passo) {
+                    if (celulaX < 0 || celulaX >= colunas) {
+                        continue;
+                    }
+
+                    int celula = celulaY * colunas + celulaX;
+                    for (int p = inicioCelula[celula]; p < inicioCelula[celula + 1]; p++) {
+                        int candidato = indicePonto[p];
+                        if (rotulos[candidato] == rotulo) {
+                            continue;
+                        }
+                        double dx = xPonto[p] - ox;
+                        double dy = yPonto[p] - oy;
+                        double d2 = dx * dx + dy * dy;
+                        if (d2 < melhorD2 || (d2 == melhorD2 && melhor >= 0 && candidato < melhor)) {
+                            melhorD2 = d2;
+                            melhor = candidato;
+                        }
+                    }
+                }
+            }
+        }
+        return melhor;
+    }
+
+    /**
+     * Busca os k vizinhos mais próximos de um ponto e grava o resultado ordenado.
+     */
+    void buscarVizinhos(int origem, double ox, double oy, int k,
+                        int[] heapIndices, double[] heapDistancias,
+                        int[] vizinhos, float[] distancias) {
+        int cx = coluna(ox);
+        int cy = linha(oy);
+        int tamanhoHeap = 0;
+        int raioMaximo = Math.max(colunas, linhas);
+
+        for (int raio = 0; raio <= raioMaximo; raio++) {
+            int y0 = cy - raio, y1 = cy + raio;
+            int x0 = cx - raio, x1 = cx + raio;
+
+            for (int celulaY = Math.max(0, y0); celulaY <= Math.min(linhas - 1, y1); celulaY++) {
+                boolean bordaHorizontal = (celulaY == y0 || celulaY == y1);
+                // Nas linhas internas do anel só as colunas das extremidades são novas
+                int passo = bordaHorizontal ? 1 : Math.max(1, x1 - x0);
+
+                for (int celulaX = x0; celulaX <= x1; celulaX += passo) {
+                    if (celulaX < 0 || celulaX >= colunas) {
+                        continue;
+                    }
+
+                    int celula = celulaY * colunas + celulaX;
+                    for (int p = inicioCelula[celula]; p < inicioCelula[celula + 1]; p++) {
+                        int candidato = indicePonto[p];
+                        if (candidato == origem) {
+                            continue;
+                        }
+
+                        double dx = xPonto[p] - ox;
+                        double dy = yPonto[p] - oy;
+                        double d2 = dx * dx + dy * dy;
+
+                        if (tamanhoHeap < k) {
+                            subirHeap(heapIndices, heapDistancias, tamanhoHeap++, candidato, d2);
+                        } else if (d2 < heapDistancias[0]) {
+                            descerHeap(heapIndices, heapDistancias, tamanhoHeap, candidato, d2);
+                        }
+                    }
+                }
+            }
+
+            // Pontos de anéis mais externos estão a pelo menos raio × tamanhoCelula
+            double alcance = raio * tamanhoCelula;
+            if (tamanhoHeap == k && heapDistancias[0] <= alcance * alcance) {
+                break;
+            }
+        }
+
+        // Esvaziar o heap de máximo do fim para o início: resultado em ordem crescente
+        int base = origem * k;
+        while (tamanhoHeap > 0) {
+            int ultimo = tamanhoHeap - 1;
+            vizinhos[base + ultimo] = heapIndices[0];
+            distancias[base + ultimo] = (float) Math.sqrt(heapDistancias[0]);
+
+            int indiceFinal = heapIndices[ultimo];
+            double distanciaFinal = heapDistancias[ultimo];
+            tamanhoHeap--;
+            if (tamanhoHeap > 0) {
+                descerHeap(heapIndices, heapDistancias, tamanhoHeap, indiceFinal, distanciaFinal);
+            }
+        }
+    }
+
+    /**
+     * Insere um elemento na posição livre do heap de máximo e o sobe até o lugar correto.
+     */
+    private static void subirHeap(int[] indices, double[] chaves, int posicao, int indice, double chave) {
+        while (posicao > 0) {
+            int pai = (posicao - 1) >>> 1;
+            if (chaves[pai] >= chave) {
+                break;
+            }
+            indices[posicao] = indices[pai];
+            chaves[posicao] = chaves[pai];
+            posicao = pai;
+        }
+        indices[posicao] = indice;
+        chaves[posicao] = chave;
+    }
+
+    /**
+     * Substitui a raiz do heap de máximo pelo elemento informado e o desce até o lugar correto.
+     */
+    private static void descerHeap(int[] indices, double[] chaves, int tamanho, int indice, double chave) {
+        int posicao = 0;
+        while (true) {
+            int filho = 2 * posicao + 1;
+            if (filho >= tamanho) {
+                break;
+            }
+            if (filho + 1 < tamanho && chaves[filho + 1] > chaves[filho]) {
+                filho++;
+            }
+            if (chaves[filho] <= chave) {
+                break;
+            }
+            indices[posicao] = indices[filho];
+            chaves[posicao] = chaves[filho];
+            posicao = filho;
+        }
+        indices[posicao] = indice;
+        chaves[posicao] = chave;
+    }
+}
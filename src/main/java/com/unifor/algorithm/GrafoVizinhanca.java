@@ -0,0 +1,91 @@
+package com.unifor.algorithm;
+
+/**
+ * Grafo esparso de candidatos: para cada cliente, os k clientes mais próximos e suas distâncias.
+ *
+ * Substitui a matriz completa n × n quando o número de clientes torna a matriz inviável
+ * (memória O(n·k) em vez de O(n²)). Os vizinhos de cada cliente ficam em ordem crescente
+ * de distância, armazenados em dois vetores primitivos contíguos:
+ * as posições [i·k, i·k + k) pertencem ao cliente i.
+ *
+ * Instâncias são criadas por {@link ConstrutorGrafoVizinhanca} e são imutáveis.
+ */
+public class GrafoVizinhanca {
+
+    /** Marcador de posição sem vizinho (cliente com menos de k vizinhos válidos). */
+    public static final int SEM_VIZINHO = -1;
+
+    private final int quantidadeClientes;
+    private final int k;
+    private final int[] vizinhos;
+    private final float[] distancias;
+
+    /**
+     * Construtor com os vetores já preenchidos.
+     *
+     * @param quantidadeClientes Número de clientes
+     * @param k Número de vizinhos por cliente
+     * @param vizinhos Índices dos vizinhos (n·k posições)
+     * @param distancias Distâncias correspondentes (n·k posições)
+     */
+    GrafoVizinhanca(int quantidadeClientes, int k, int[] vizinhos, float[] distancias) {
+        this.quantidadeClientes = quantidadeClientes;
+        this.k = k;
+        this.vizinhos = vizinhos;
+        this.distancias = distancias;
+    }
+
+    public int getQuantidadeClientes() {
+        return quantidadeClientes;
+    }
+
+    public int getK() {
+        return k;
+    }
+
+    /**
+     * Retorna o r-ésimo vizinho mais próximo de um cliente.
+     *
+     * @param cliente Índice do cliente
+     * @param ordem Ordem do vizinho (0 = mais próximo)
+     * @return Índice do vizinho, ou {@link #SEM_VIZINHO}
+     */
+    public int vizinho(int cliente, int ordem) {
+        return vizinhos[cliente * k + ordem];
+    }
+
+    /**
+     * Retorna a distância até o r-ésimo vizinho mais próximo de um cliente.
+     *
+     * @param cliente Índice do cliente
+     * @param ordem Ordem do vizinho (0 = mais próximo)
+     * @return Distância até o vizinho (infinita se não houver vizinho)
+     */
+    public float distancia(int cliente, int ordem) {
+        return distancias[cliente * k + ordem];
+    }
+
+    /**
+     * Retorna quantos vizinhos válidos um cliente possui (no máximo k).
+     *
+     * @param cliente Índice do cliente
+     * @return Número de vizinhos válidos
+     */
+    public int grau(int cliente) {
+        int base = cliente * k;
+        int grau = 0;
+        while (grau < k && vizinhos[base + grau] != SEM_VIZINHO) {
+            grau++;
+        }
+        return grau;
+    }
+
+    /**
+     * Estima a memória ocupada pelos vetores do grafo.
+     *
+     * @return Tamanho aproximado em bytes
+     */
+    public long getTamanhoEmBytes() {
+        return (long) vizinhos.length * Integer.BYTES + (long) distancias.length * Float.BYTES;
+    }
+}
@@ -0,0 +1,102 @@
+package com.unifor.algorithm;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import com.unifor.model.PlanoRotas;
+
+/**
+ * Gravação periódica dos pontos de controle de uma {@link OtimizacaoContinua}.
+ *
+ * Roda em uma thread própria agendada: a cada intervalo lê a melhor solução publicada (um
+ * plano imutável, obtido por uma leitura volátil) e grava o ponto de controle se ela mudou
+ * desde a última gravação ou se o tempo consumido avançou pelo menos um intervalo (para que
+ * uma retomada não repita tempo já gasto). A thread da otimização nunca espera pela escrita;
+ * falhas de escrita ficam em {@link OtimizacaoContinua#getFalhaPontoControle()}.
+ */
+final class GravadorPontoControle {
+
+    private final Path arquivo;
+    private final long impressaoDigital;
+    private final long semente;
+    private final OtimizacaoContinua otimizacao;
+    private final long consumidoAntesMillis;
+    private final long inicioNanos;
+    private final ScheduledExecutorService agendador;
+
+    // Último plano e tempo consumido gravados (só acessados pela thread do agendador)
+    private PlanoRotas gravado;
+    private long consumidoGravado = -1;
+    private long intervaloMillis;
+
+    /**
+     * @param arquivo Destino dos pontos de controle
+     * @param impressaoDigital Impressão digital do cenário
+     * @param semente Semente do ALNS nesta execução
+     * @param otimizacao Otimização acompanhada
+     * @param consumidoAntesMillis Orçamento já consumido por execuções anteriores (retomada)
+     * @param inicioNanos Início desta execução em {@link System#nanoTime()}
+     */
+    GravadorPontoControle(Path arquivo, long impressaoDigital, long semente, OtimizacaoContinua otimizacao,
+                          long consumidoAntesMillis, long inicioNanos) {
+        this.arquivo = arquivo;
+        this.impressaoDigital = impressaoDigital;
+        this.semente = semente;
+        this.otimizacao = otimizacao;
+        this.consumidoAntesMillis = consumidoAntesMillis;
+        this.inicioNanos = inicioNanos;
+        this.agendador = Executors.newSingleThreadScheduledExecutor(tarefa -> {
+            Thread thread = new Thread(tarefa, "ponto-controle");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Começa as gravações periódicas.
+     *
+     * @param intervaloMillis Intervalo entre verificações
+     */
+    void iniciar(long intervaloMillis) {
+        this.intervaloMillis = intervaloMillis;
+        agendador.scheduleWithFixedDelay(() -> gravar(false), intervaloMillis, intervaloMillis,
+                                         TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Encerra as gravações periódicas e grava o estado final (chamado ao fim da otimização).
+     */
+    void encerrar() {
+        agendador.execute(() -> gravar(true));
+        agendador.shutdown();
+        try {
+            agendador.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * @param sempre Gravar mesmo sem nova melhor solução (atualiza o tempo consumido)
+     */
+    private void gravar(boolean sempre) {
+        PlanoRotas plano = otimizacao.getMelhorPlano();
+        long consumido = consumidoAntesMillis + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicioNanos);
+        if (plano == gravado && consumido - consumidoGravado < intervaloMillis && !sempre) {
+            return;
+        }
+
+        try {
+            PontoControle.capturar(impressaoDigital, otimizacao.getFase(), otimizacao.getMelhorias(),
+                                   consumido, semente, plano).gravar(arquivo);
+            gravado = plano;
+            consumidoGravado = consumido;
+        } catch (IOException e) {
+            // Falha de escrita não interrompe a otimização; a próxima verificação tenta de novo
+            otimizacao.registrarFalhaPontoControle(e);
+        }
+    }
+}
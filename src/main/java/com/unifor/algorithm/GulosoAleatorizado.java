@@ -0,0 +1,318 @@
+package com.unifor.algorithm;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+import com.unifor.model.Cliente;
+import com.unifor.model.PlanoRotas;
+import com.unifor.util.ProvedorEuclidiano;
+import com.unifor.util.TabelaDistancias;
+
+/**
+ * Construção gulosa aleatorizada (vizinho mais próximo com ruído nas distâncias).
+ *
+ * Em cada passo os candidatos viáveis competem pela distância multiplicada por
+ * (1 + tolerância × u), com u sorteado em [0, 1): o mais próximo continua sendo o mais
+ * provável, e só candidatos a menos de (1 + tolerância) × a menor distância têm chance.
+ * Durante a viagem os candidatos são os vizinhos do {@link GrafoVizinhanca}; no início
+ * dela, os pendentes mais próximos da central. Sem vizinho viável, o passo volta à escolha
+ * exata do {@link Roteirizador}.
+ *
+ * Uma instância é o estado de trabalho de uma única thread: a lista de pendentes, a busca
+ * espacial e os vetores da solução são reaproveitados entre construções, sem alocação por
+ * partida e sem compartilhamento entre threads. Os dados do cenário ({@link Cenario}) são
+ * somente leitura e compartilhados por todas as instâncias.
+ */
+final class GulosoAleatorizado {
+
+    /**
+     * Dados do cenário compartilhados (somente leitura) pelas threads de trabalho.
+     */
+    static final class Cenario {
+        final TabelaDistancias tabela;
+        final double[] demandas;
+        final int[] ordem;
+        final int[] ordemPartida;
+        final int[] ordemDemanda;
+        final GrafoVizinhanca grafo;
+        final double capacidade;
+        final double autonomia;
+        final double tolerancia;
+        final boolean buscaEspacial;
+
+        /**
+         * @param tabela Tabela de distâncias (índice 0 = central)
+         * @param demandas Demanda de cada cliente
+         * @param ordem Clientes válidos em ordem de prioridade
+         * @param ordemPartida Clientes válidos por distância crescente à central
+         * @param ordemDemanda Clientes válidos por demanda crescente
+         * @param grafo Vizinhos candidatos de cada cliente
+         * @param capacidade Capacidade máxima do veículo
+         * @param autonomia Autonomia máxima do veículo
+         * @param tolerancia Amplitude relativa do ruído nas distâncias
+         * @param buscaEspacial Se cada thread deve usar a busca espacial exata
+         */
+        Cenario(TabelaDistancias tabela, double[] demandas, int[] ordem, int[] ordemPartida, int[] ordemDemanda,
+                GrafoVizinhanca grafo, double capacidade, double autonomia, double tolerancia,
+                boolean buscaEspacial) {
+            this.tabela = tabela;
+            this.demandas = demandas;
+            this.ordem = ordem;
+            this.ordemPartida = ordemPartida;
+            this.ordemDemanda = ordemDemanda;
+            this.grafo = grafo;
+            this.capacidade = capacidade;
+            this.autonomia = autonomia;
+            this.tolerancia = tolerancia;
+            this.buscaEspacial = buscaEspacial;
+        }
+    }
+
+    private final Cenario cenario;
+    private final ListaNaoVisitados naoVisitados;
+    private final BuscaPendentes busca;
+
+    // Candidatos do passo atual
+    private final int[] candidatos;
+    private final double[] distanciasCandidatos;
+
+    // Solução em construção e melhor solução desta thread (trocadas sem cópia)
+    private int[] paradas;
+    private int[] inicioViagem;
+    private int quantidadeViagens;
+    private int[] melhoresParadas;
+    private int[] melhorInicioViagem;
+    private int melhorQuantidadeViagens;
+    private double melhorDistancia = Double.POSITIVE_INFINITY;
+    private int melhorPartida = -1;
+
+    /**
+     * Cria o estado de trabalho de uma thread.
+     *
+     * @param cenario Dados compartilhados do cenário
+     */
+    GulosoAleatorizado(Cenario cenario) {
+        int n = cenario.demandas.length;
+        this.cenario = cenario;
+        this.naoVisitados = new ListaNaoVisitados(cenario.ordem, n);
+        this.busca = cenario.buscaEspacial
+            ? new BuscaPendentes((ProvedorEuclidiano.TabelaEuclidiana) cenario.tabela, cenario.ordem, n)
+            : null;
+        this.candidatos = new int[Math.max(1, cenario.grafo.getK())];
+        this.distanciasCandidatos = new double[candidatos.length];
+        this.paradas = new int[cenario.ordem.length];
+        this.inicioViagem = new int[cenario.ordem.length + 1];
+        this.melhoresParadas = new int[cenario.ordem.length];
+        this.melhorInicioViagem = new int[cenario.ordem.length + 1];
+    }
+
+    /**
+     * Executa uma construção e a guarda se for a melhor desta thread.
+     *
+     * @param partida Número da partida (desempate: vence a menor)
+     * @param aleatorio Gerador exclusivo desta partida
+     * @return Distância total da solução construída
+     */
+    double executar(int partida, SplittableRandom aleatorio) {
+        double distancia = construir(aleatorio);
+
+        if (distancia < melhorDistancia || (distancia == melhorDistancia && partida < melhorPartida)) {
+            int[] temp = melhoresParadas;
+            melhoresParadas = paradas;
+            paradas = temp;
+
+            temp = melhorInicioViagem;
+            melhorInicioViagem = inicioViagem;
+            inicioViagem = temp;
+
+            melhorQuantidadeViagens = quantidadeViagens;
+            melhorDistancia = distancia;
+            melhorPartida = partida;
+        }
+        return distancia;
+    }
+
+    double getMelhorDistancia() {
+        return melhorDistancia;
+    }
+
+    int getMelhorPartida() {
+        return melhorPartida;
+    }
+
+    /**
+     * Converte a melhor solução desta thread em plano compacto.
+     *
+     * @param clientes Lista de clientes do cenário
+     * @return Plano de rotas
+     */
+    PlanoRotas melhorPlano(List<Cliente> clientes) {
+        TabelaDistancias tabela = cenario.tabela;
+        PlanoRotas.Construtor plano = new PlanoRotas.Construtor(clientes, clientes.size());
+
+        for (int v = 0; v < melhorQuantidadeViagens; v++) {
+            int anterior = 0;
+            for (int p = melhorInicioViagem[v]; p < melhorInicioViagem[v + 1]; p++) {
+                int cliente = melhoresParadas[p];
+                plano.adicionarParada(cliente, tabela.distancia(anterior, cliente + 1), cenario.demandas[cliente]);
+                anterior = cliente + 1;
+            }
+            plano.fecharViagem(tabela.distancia(anterior, 0));
+        }
+        return plano.construir();
+    }
+
+    /**
+     * Constrói uma solução completa nos vetores de trabalho.
+     *
+     * @return Distância total
+     */
+    private double construir(SplittableRandom aleatorio) {
+        TabelaDistancias tabela = cenario.tabela;
+        double[] demandas = cenario.demandas;
+        int[] ordemPartida = cenario.ordemPartida;
+        int[] ordemDemanda = cenario.ordemDemanda;
+
+        naoVisitados.reiniciar(cenario.ordem);
+        if (busca != null) {
+            busca.reiniciar();
+        }
+
+        int proximaPartida = 0;
+        int menorDemanda = 0;
+        int quantidadeParadas = 0;
+        double total = 0.0;
+        quantidadeViagens = 0;
+        inicioViagem[0] = 0;
+
+        while (!naoVisitados.isEmpty()) {
+            double carga = 0.0;
+            double autonomiaRestante = cenario.autonomia;
+            int localAtual = 0;
+
+            while (!naoVisitados.isEmpty()) {
+                int escolhido;
+                if (localAtual == 0) {
+                    while (!naoVisitados.contem(ordemPartida[proximaPartida])) {
+                        proximaPartida++;
+                    }
+                    escolhido = sortearPartida(proximaPartida, aleatorio);
+                } else {
+                    while (!naoVisitados.contem(ordemDemanda[menorDemanda])) {
+                        menorDemanda++;
+                    }
+                    if (carga + demandas[ordemDemanda[menorDemanda]] > cenario.capacidade) {
+                        break;
+                    }
+                    escolhido = sortearVizinho(localAtual, carga, autonomiaRestante, aleatorio);
+                    if (escolhido < 0) {
+                        escolhido = Roteirizador.encontrarVizinhoMaisProximo(localAtual, naoVisitados, demandas,
+                                                                             carga, cenario.capacidade,
+                                                                             autonomiaRestante, tabela, null, busca);
+                    }
+                }
+
+                if (escolhido < 0) {
+                    break;
+                }
+
+                double trecho = tabela.distancia(localAtual, escolhido + 1);
+                paradas[quantidadeParadas++] = escolhido;
+                total += trecho;
+                carga += demandas[escolhido];
+                autonomiaRestante -= trecho;
+                localAtual = escolhido + 1;
+
+                naoVisitados.remover(escolhido);
+                if (busca != null) {
+                    busca.remover(escolhido);
+                }
+            }
+
+            if (localAtual != 0) {
+                total += tabela.distancia(localAtual, 0);
+                quantidadeViagens++;
+                inicioViagem[quantidadeViagens] = quantidadeParadas;
+            }
+        }
+
+        return total;
+    }
+
+    /**
+     * Sorteia o primeiro cliente da viagem entre os pendentes mais próximos da central.
+     * Todo cliente é viável com o veículo vazio (garantido pela validação do cenário).
+     */
+    private int sortearPartida(int inicio, SplittableRandom aleatorio) {
+        int[] ordemPartida = cenario.ordemPartida;
+        double limite = cenario.tabela.distancia(0, ordemPartida[inicio] + 1) * (1.0 + cenario.tolerancia);
+        int quantidade = 0;
+
+        // Examina no máximo 4 posições por vaga (clientes já visitados são pulados)
+        int fim = Math.min(ordemPartida.length, inicio + 4 * candidatos.length);
+        for (int i = inicio; i < fim && quantidade < candidatos.length; i++) {
+            int cliente = ordemPartida[i];
+            if (!naoVisitados.contem(cliente)) {
+                continue;
+            }
+            double distancia = cenario.tabela.distancia(0, cliente + 1);
+            if (distancia > limite) {
+                break;
+            }
+            candidatos[quantidade] = cliente;
+            distanciasCandidatos[quantidade] = distancia;
+            quantidade++;
+        }
+
+        return sortear(quantidade, aleatorio);
+    }
+
+    /**
+     * Sorteia o próximo cliente entre os vizinhos viáveis do local atual.
+     *
+     * @return Cliente sorteado, ou -1 se nenhum vizinho for viável
+     */
+    private int sortearVizinho(int localAtual, double carga, double autonomiaRestante, SplittableRandom aleatorio) {
+        GrafoVizinhanca grafo = cenario.grafo;
+        TabelaDistancias tabela = cenario.tabela;
+        int clienteAtual = localAtual - 1;
+        int quantidade = 0;
+
+        for (int ordem = 0; ordem < grafo.getK(); ordem++) {
+            int vizinho = grafo.vizinho(clienteAtual, ordem);
+            if (vizinho == GrafoVizinhanca.SEM_VIZINHO) {
+                break;
+            }
+            if (!naoVisitados.contem(vizinho) || carga + cenario.demandas[vizinho] > cenario.capacidade) {
+                continue;
+            }
+
+            double distancia = tabela.distancia(localAtual, vizinho + 1);
+            if (distancia + tabela.distancia(vizinho + 1, 0) > autonomiaRestante) {
+                continue;
+            }
+
+            candidatos[quantidade] = vizinho;
+            distanciasCandidatos[quantidade] = distancia;
+            quantidade++;
+        }
+
+        return quantidade == 0 ? -1 : sortear(quantidade, aleatorio);
+    }
+
+    /**
+     * Escolhe entre os candidatos o de menor distância com ruído multiplicativo.
+     */
+    private int sortear(int quantidade, SplittableRandom aleatorio) {
+        int escolhido = -1;
+        double menorRuidoso = Double.MAX_VALUE;
+        for (int i = 0; i < quantidade; i++) {
+            double ruidoso = distanciasCandidatos[i] * (1.0 + cenario.tolerancia * aleatorio.nextDouble());
+            if (ruidoso < menorRuidoso) {
+                menorRuidoso = ruidoso;
+                escolhido = candidatos[i];
+            }
+        }
+        return escolhido;
+    }
+}
@@ -0,0 +1,259 @@
+package com.unifor.algorithm;
+
+import java.util.Arrays;
+import java.util.List;
+
+import com.unifor.model.Cliente;
+import com.unifor.model.Ponto;
+import com.unifor.model.Veiculo;
+import com.unifor.util.Distancia;
+
+/**
+ * Limites inferiores para a distância total e o número de viagens de qualquer solução de
+ * um cenário, usados para medir a distância de um plano ao ótimo (gap).
+ *
+ * Limites de distância (Euclidianos; com distâncias da malha viária, que nunca são menores
+ * que a linha reta, continuam válidos):
+ * - Árvore geradora mínima: as viagens juntas formam um grafo conexo que passa pela central
+ *   e por todos os clientes, então custam pelo menos a árvore geradora mínima desses pontos.
+ * - Radial: uma viagem com carga L vai até o seu cliente mais distante e volta, então custa
+ *   pelo menos 2·Σ d(central, i)·q(i) / L ≥ 2·Σ d(central, i)·q(i) / capacidade; somando as
+ *   viagens, o mesmo vale para o total.
+ *
+ * Limites de viagens: a demanda total dividida pela capacidade e a distância mínima
+ * dividida pela autonomia.
+ *
+ * A árvore é calculada por Borůvka: em cada rodada, cada componente escolhe a aresta mais
+ * curta que sai dele. Para cada ponto, o vizinho mais próximo fora do componente vem dos k
+ * vizinhos pré-calculados ({@link ConstrutorGrafoVizinhanca}) ou, quando todos eles já estão
+ * no mesmo componente, de uma busca por anéis na {@link GradeUniforme} (só para pontos cuja
+ * distância ao k-ésimo vizinho ainda pode melhorar a escolha). O resultado é a árvore exata,
+ * em O(n·k·log n) na prática: cerca de 0,3 s para 100 mil clientes em um núcleo.
+ */
+public final class LimiteInferior {
+
+    // Vizinhos pré-calculados por ponto na árvore geradora mínima
+    private static final int VIZINHOS_ARVORE = 8;
+
+    // Folga relativa contra arredondamento (o limite nunca pode passar do valor exato)
+    private static final double FOLGA = 1e-9;
+
+    private final double arvoreGeradora;
+    private final double radial;
+    private final int viagens;
+
+    private LimiteInferior(double arvoreGeradora, double radial, int viagens) {
+        this.arvoreGeradora = arvoreGeradora;
+        this.radial = radial;
+        this.viagens = viagens;
+    }
+
+    /**
+     * Calcula os limites inferiores de um cenário (clientes nulos ou sem localização são ignorados).
+     *
+     * @param clientes Lista de clientes
+     * @param veiculo Veículo (capacidade e autonomia)
+     * @param central Ponto da central de distribuição
+     * @return Limites do cenário
+     * @throws IllegalArgumentException se algum parâmetro for nulo
+     */
+    public static LimiteInferior calcular(List<Cliente> clientes, Veiculo veiculo, Ponto central) {
+        if (clientes == null || veiculo == null || central == null) {
+            throw new IllegalArgumentException("Os clientes, o veículo e a central não podem ser nulos");
+        }
+
+        // Índice 0 = central, i + 1 = cliente i (NaN para clientes ignorados)
+        double[] x = new double[clientes.size() + 1];
+        double[] y = new double[clientes.size() + 1];
+        x[0] = central.getX();
+        y[0] = central.getY();
+
+        double radial = 0.0;
+        for (int i = 0; i < clientes.size(); i++) {
+            Cliente cliente = clientes.get(i);
+            if (cliente == null || cliente.getLocalizacao() == null) {
+                x[i + 1] = Double.NaN;
+                y[i + 1] = Double.NaN;
+                continue;
+            }
+            x[i + 1] = cliente.getLocalizacao().getX();
+            y[i + 1] = cliente.getLocalizacao().getY();
+            radial += Distancia.calcularDistanciaEuclidiana(x[0], y[0], x[i + 1], y[i + 1]) * cliente.getDemandaCarga();
+        }
+        radial = veiculo.getCapacidadeMaxima() > 0 ? 2.0 * radial / veiculo.getCapacidadeMaxima() : 0.0;
+
+        double arvore = arvoreGeradoraMinima(x, y);
+        double distancia = Math.max(arvore, radial) * (1 - FOLGA);
+
+        int viagens = BalanceadorViagens.limiteInferiorViagens(clientes, veiculo.getCapacidadeMaxima());
+        if (viagens > 0 && veiculo.getAutonomiaMaxima() > 0) {
+            viagens = Math.max(viagens, (int) Math.ceil(distancia / veiculo.getAutonomiaMaxima() - FOLGA));
+        }
+
+        return new LimiteInferior(arvore * (1 - FOLGA), radial * (1 - FOLGA), viagens);
+    }
+
+    /**
+     * Peso da árvore geradora mínima Euclidiana dos pontos (NaN = ponto ignorado).
+     *
+     * @param x Coordenadas X
+     * @param y Coordenadas Y
+     * @return Soma das arestas da árvore (0 para menos de dois pontos)
+     */
+    static double arvoreGeradoraMinima(double[] x, double[] y) {
+        int n = x.length;
+        int validos = 0;
+        for (int i = 0; i < n; i++) {
+            if (!Double.isNaN(x[i])) {
+                validos++;
+            }
+        }
+        if (validos < 2) {
+            return 0.0;
+        }
+
+        int k = Math.min(VIZINHOS_ARVORE, validos - 1);
+        GrafoVizinhanca grafo = ConstrutorGrafoVizinhanca.construir(x, y, k);
+        GradeUniforme grade = new GradeUniforme(x, y);
+
+        int[] pai = new int[n];
+        for (int i = 0; i < n; i++) {
+            pai[i] = i;
+        }
+        int[] componente = new int[n];
+        double[] melhorDistancia = new double[n];
+        int[] melhorOrigem = new int[n];
+        int[] melhorDestino = new int[n];
+        boolean[] semVizinhoFora = new boolean[n];
+
+        double peso = 0.0;
+        int componentes = validos;
+
+        while (componentes > 1) {
+            for (int i = 0; i < n; i++) {
+                componente[i] = Double.isNaN(x[i]) ? -1 : encontrar(pai, i);
+            }
+            Arrays.fill(melhorDistancia, Double.POSITIVE_INFINITY);
+            Arrays.fill(melhorOrigem, -1);
+
+            // 1. Vizinho fora do componente entre os k pré-calculados (ordem crescente de distância)
+            for (int i = 0; i < n; i++) {
+                if (componente[i] < 0) {
+                    continue;
+                }
+                int c = componente[i];
+                semVizinhoFora[i] = true;
+                for (int o = 0; o < grafo.grau(i); o++) {
+                    int j = grafo.vizinho(i, o);
+                    if (componente[j] != c) {
+                        considerar(i, j, Distancia.calcularDistanciaEuclidiana(x[i], y[i], x[j], y[j]), c,
+                                   melhorDistancia, melhorOrigem, melhorDestino);
+                        semVizinhoFora[i] = false;
+                        // Distâncias do grafo são float: conferir também os empatados seguintes
+                        if (o + 1 < grafo.grau(i) && grafo.distancia(i, o + 1) > grafo.distancia(i, o)) {
+                            break;
+                        }
+                    }
+                }
+            }
+
+            // 2. Pontos com todos os vizinhos no próprio componente: busca na grade, se ainda puder melhorar
+            for (int i = 0; i < n; i++) {
+                if (componente[i] < 0 || !semVizinhoFora[i]) {
+                    continue;
+                }
+                int c = componente[i];
+                double alcance = grafo.distancia(i, grafo.grau(i) - 1) * (1 - 1e-6);
+                if (alcance >= melhorDistancia[c]) {
+                    continue;
+                }
+                double limite = melhorDistancia[c];
+                int j = grade.buscarMaisProximoComOutroRotulo(x[i], y[i], componente, c,
+                                                               limite == Double.POSITIVE_INFINITY ? limite : limite * limite);
+                if (j >= 0) {
+                    considerar(i, j, Distancia.calcularDistanciaEuclidiana(x[i], y[i], x[j], y[j]), c,
+                               melhorDistancia, melhorOrigem, melhorDestino);
+                }
+            }
+
+            // 3. Unir cada componente pela sua aresta mais curta (empates já desfeitos por índice)
+            for (int c = 0; c < n; c++) {
+                if (melhorOrigem[c] < 0) {
+                    continue;
+                }
+                int a = encontrar(pai, melhorOrigem[c]);
+                int b = encontrar(pai, melhorDestino[c]);
+                if (a != b) {
+                    pai[Math.max(a, b)] = Math.min(a, b);
+                    peso += melhorDistancia[c];
+                    componentes--;
+                }
+            }
+        }
+        return peso;
+    }
+
+    /**
+     * Atualiza a aresta mais curta do componente c (desempate pelo par de índices, para que
+     * as escolhas de todos os componentes sejam consistentes e não formem ciclos).
+     */
+    private static void considerar(int i, int j, double distancia, int c, double[] melhorDistancia,
+                                   int[] melhorOrigem, int[] melhorDestino) {
+        int menor = Math.min(i, j);
+        int maior = Math.max(i, j);
+        if (distancia < melhorDistancia[c]
+            || (distancia == melhorDistancia[c]
+                && (menor < Math.min(melhorOrigem[c], melhorDestino[c])
+                    || (menor == Math.min(melhorOrigem[c], melhorDestino[c])
+                        && maior < Math.max(melhorOrigem[c], melhorDestino[c]))))) {
+            melhorDistancia[c] = distancia;
+            melhorOrigem[c] = i;
+            melhorDestino[c] = j;
+        }
+    }
+
+    private static int encontrar(int[] pai, int i) {
+        while (pai[i] != i) {
+            pai[i] = pai[pai[i]];
+            i = pai[i];
+        }
+        return i;
+    }
+
+    /**
+     * Retorna o maior limite inferior de distância.
+     *
+     * @return Distância mínima de qualquer solução
+     */
+    public double getDistancia() {
+        return Math.max(arvoreGeradora, radial);
+    }
+
+    public double getArvoreGeradora() {
+        return arvoreGeradora;
+    }
+
+    public double getRadial() {
+        return radial;
+    }
+
+    /**
+     * Retorna o número mínimo de viagens de qualquer solução.
+     *
+     * @return Limite inferior de viagens
+     */
+    public int getViagens() {
+        return viagens;
+    }
+
+    /**
+     * Calcula o gap de uma solução: quanto ela está, no máximo, acima do ótimo.
+     *
+     * @param distanciaTotal Distância total da solução
+     * @return (distância - limite) / limite × 100, ou 0 se o limite for zero
+     */
+    public double gapPercentual(double distanciaTotal) {
+        double limite = getDistancia();
+        return limite > 0 ? (distanciaTotal - limite) * 100.0 / limite : 0.0;
+    }
+}
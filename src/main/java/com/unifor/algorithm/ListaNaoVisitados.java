@@ -0,0 +1,112 @@
+package com.unifor.algorithm;
+
+import java.util.Arrays;
+
+/**
+ * Conjunto de clientes ainda não visitados, mantido em ordem de prioridade.
+ *
+ * Implementado como lista duplamente encadeada sobre vetores primitivos: percorrer segue a
+ * ordem de prioridade (critério de desempate da heurística gulosa), enquanto remover um
+ * cliente e testar se ele ainda está pendente custam O(1), sem alocar objetos.
+ */
+final class ListaNaoVisitados {
+
+    /** Marcador de fim da lista. */
+    static final int FIM = -1;
+
+    private final int[] proximo;
+    private final int[] anterior;
+    private final int[] posicaoNaOrdem;
+    private final boolean[] pendente;
+    private int primeiro;
+    private int tamanho;
+
+    /**
+     * Cria a lista com os clientes na ordem informada.
+     *
+     * @param ordem Índices dos clientes em ordem de prioridade
+     * @param quantidadeClientes Número total de clientes do cenário
+     */
+    ListaNaoVisitados(int[] ordem, int quantidadeClientes) {
+        this.proximo = new int[quantidadeClientes];
+        this.anterior = new int[quantidadeClientes];
+        this.posicaoNaOrdem = new int[quantidadeClientes];
+        this.pendente = new boolean[quantidadeClientes];
+        reiniciar(ordem);
+    }
+
+    /**
+     * Volta ao estado inicial com os clientes na ordem informada, reaproveitando os vetores.
+     *
+     * A ordem pode conter todos os clientes do cenário ou apenas um subconjunto deles: as
+     * marcas da execução anterior são apagadas, então quem ficou de fora não é pendente.
+     *
+     * @param ordem Índices dos clientes em ordem de prioridade
+     */
+    void reiniciar(int[] ordem) {
+        Arrays.fill(pendente, false);
+        Arrays.fill(posicaoNaOrdem, Integer.MAX_VALUE);
+        this.primeiro = ordem.length > 0 ? ordem[0] : FIM;
+        this.tamanho = ordem.length;
+
+        for (int i = 0; i < ordem.length; i++) {
+            int cliente = ordem[i];
+            anterior[cliente] = i > 0 ? ordem[i - 1] : FIM;
+            proximo[cliente] = i + 1 < ordem.length ? ordem[i + 1] : FIM;
+            posicaoNaOrdem[cliente] = i;
+            pendente[cliente] = true;
+        }
+    }
+
+    int primeiro() {
+        return primeiro;
+    }
+
+    int proximo(int cliente) {
+        return proximo[cliente];
+    }
+
+    int tamanho() {
+        return tamanho;
+    }
+
+    boolean isEmpty() {
+        return tamanho == 0;
+    }
+
+    boolean contem(int cliente) {
+        return pendente[cliente];
+    }
+
+    /**
+     * Retorna a posição do cliente na ordem de prioridade original (menor = mais prioritário).
+     *
+     * @param cliente Índice do cliente
+     * @return Posição na ordem
+     */
+    int posicaoNaOrdem(int cliente) {
+        return posicaoNaOrdem[cliente];
+    }
+
+    /**
+     * Remove um cliente pendente da lista.
+     *
+     * @param cliente Índice do cliente
+     */
+    void remover(int cliente) {
+        int antes = anterior[cliente];
+        int depois = proximo[cliente];
+
+        if (antes != FIM) {
+            proximo[antes] = depois;
+        } else {
+            primeiro = depois;
+        }
+        if (depois != FIM) {
+            anterior[depois] = antes;
+        }
+
+        pendente[cliente] = false;
+        tamanho--;
+    }
+}
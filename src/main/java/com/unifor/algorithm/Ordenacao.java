@@ -36,43 +36,201 @@ public class Ordenacao {
     }
 
     /**
-     * Método recursivo do QuickSort.
+     * Ordena índices de clientes por prioridade em ordem decrescente usando o mesmo QuickSort.
      * 
-     * @param clientes Lista de clientes
+     * Produz exatamente a mesma permutação que {@link #quickSort(List)} produziria na lista,
+     * mas sem reordenar objetos: útil quando o chamador trabalha com índices.
+     * 
+     * @param indices Índices a serem ordenados (posições em clientes)
+     * @param clientes Lista de clientes de onde vêm as prioridades
+     * @throws IllegalArgumentException se algum dos parâmetros for nulo
+     */
+    public static void quickSortIndices(int[] indices, List<Cliente> clientes) {
+        if (indices == null || clientes == null) {
+            throw new IllegalArgumentException("Os índices e a lista de clientes não podem ser nulos");
+        }
+
+        if (indices.length == 0) {
+            return;
+        }
+
+        // Copiar prioridades para um vetor primitivo evita acessar a lista a cada comparação
+        int[] prioridades = new int[indices.length];
+        for (int i = 0; i < indices.length; i++) {
+            prioridades[i] = clientes.get(indices[i]).getPrioridade();
+        }
+
+        quickSortIndicesRecursivo(indices, prioridades, 0, indices.length - 1);
+    }
+
+    /**
+     * Ordena índices por prioridade em ordem decrescente, com as prioridades em um vetor
+     * indexado pelo próprio índice (mesma permutação de {@link #quickSortIndices(int[], List)}).
+     * 
+     * @param indices Índices a serem ordenados
+     * @param prioridades Prioridade de cada índice
+     * @throws IllegalArgumentException se algum dos parâmetros for nulo
+     */
+    public static void quickSortIndices(int[] indices, int[] prioridades) {
+        if (indices == null || prioridades == null) {
+            throw new IllegalArgumentException("Os índices e as prioridades não podem ser nulos");
+        }
+
+        if (indices.length == 0) {
+            return;
+        }
+
+        // As prioridades são permutadas junto com os índices: trabalhar sobre uma cópia por posição
+        int[] prioridadesPorPosicao = new int[indices.length];
+        for (int i = 0; i < indices.length; i++) {
+            prioridadesPorPosicao[i] = prioridades[indices[i]];
+        }
+
+        quickSortIndicesRecursivo(indices, prioridadesPorPosicao, 0, indices.length - 1);
+    }
+
+    /**
+     * Método recursivo do QuickSort sobre índices (mesma partição de {@link #quickSortRecursivo}).
+     * 
+     * @param indices Índices a ordenar
+     * @param prioridades Prioridades correspondentes (permutadas junto com os índices)
      * @param inicio Índice inicial
      * @param fim Índice final
      */
-    private static void quickSortRecursivo(List<Cliente> clientes, int inicio, int fim) {
-        if (inicio < fim) {
-            int indicePivo = particionar(clientes, inicio, fim);
-            quickSortRecursivo(clientes, inicio, indicePivo - 1);
-            quickSortRecursivo(clientes, indicePivo + 1, fim);
+    private static void quickSortIndicesRecursivo(int[] indices, int[] prioridades, int inicio, int fim) {
+        while (inicio < fim) {
+            // Pivô: mediana de três (entradas já ordenadas não degeneram)
+            int pivo = medianaDeTres(prioridades[inicio], prioridades[(inicio + fim) >>> 1], prioridades[fim]);
+
+            // Partição em três faixas: [inicio, menor) > pivô, [menor, i) = pivô, (maior, fim] < pivô
+            int menor = inicio, i = inicio, maior = fim;
+            while (i <= maior) {
+                if (prioridades[i] > pivo) {
+                    trocar(indices, prioridades, menor++, i++);
+                } else if (prioridades[i] < pivo) {
+                    trocar(indices, prioridades, i, maior--);
+                } else {
+                    i++;
+                }
+            }
+
+            // Recursão na faixa menor e laço na maior: pilha O(log n)
+            if (menor - inicio < fim - maior) {
+                quickSortIndicesRecursivo(indices, prioridades, inicio, menor - 1);
+                inicio = maior + 1;
+            } else {
+                quickSortIndicesRecursivo(indices, prioridades, maior + 1, fim);
+                fim = menor - 1;
+            }
         }
     }
 
     /**
-     * Particiona a lista e retorna o índice do pivô.
-     * Ordena por prioridade em ordem decrescente (maior prioridade primeiro).
+     * Troca dois índices (e suas prioridades) de posição.
+     */
+    private static void trocar(int[] indices, int[] prioridades, int i, int j) {
+        int tempIndice = indices[i];
+        indices[i] = indices[j];
+        indices[j] = tempIndice;
+
+        int tempPrioridade = prioridades[i];
+        prioridades[i] = prioridades[j];
+        prioridades[j] = tempPrioridade;
+    }
+
+    /**
+     * Método recursivo do QuickSort.
+     * 
+     * Usa partição em três faixas (maiores, iguais e menores que o pivô): as prioridades
+     * assumem poucos valores distintos, e com a partição de duas faixas cada valor repetido
+     * tornava o algoritmo quadrático. O pivô é a mediana de três elementos.
      * 
      * @param clientes Lista de clientes
      * @param inicio Índice inicial
      * @param fim Índice final
-     * @return Índice do pivô após particionamento
      */
-    private static int particionar(List<Cliente> clientes, int inicio, int fim) {
-        Cliente pivo = clientes.get(fim);
-        int i = inicio - 1;
+    private static void quickSortRecursivo(List<Cliente> clientes, int inicio, int fim) {
+        while (inicio < fim) {
+            int pivo = medianaDeTres(clientes.get(inicio).getPrioridade(),
+                                     clientes.get((inicio + fim) >>> 1).getPrioridade(),
+                                     clientes.get(fim).getPrioridade());
 
-        for (int j = inicio; j < fim; j++) {
             // Ordena em ordem decrescente (maior prioridade primeiro)
-            if (clientes.get(j).getPrioridade() > pivo.getPrioridade()) {
-                i++;
-                trocar(clientes, i, j);
+            int menor = inicio, i = inicio, maior = fim;
+            while (i <= maior) {
+                int prioridade = clientes.get(i).getPrioridade();
+                if (prioridade > pivo) {
+                    trocar(clientes, menor++, i++);
+                } else if (prioridade < pivo) {
+                    trocar(clientes, i, maior--);
+                } else {
+                    i++;
+                }
+            }
+
+            // Recursão na faixa menor e laço na maior: pilha O(log n)
+            if (menor - inicio < fim - maior) {
+                quickSortRecursivo(clientes, inicio, menor - 1);
+                inicio = maior + 1;
+            } else {
+                quickSortRecursivo(clientes, maior + 1, fim);
+                fim = menor - 1;
+            }
+        }
+    }
+
+    /**
+     * Retorna a mediana de três valores.
+     */
+    private static int medianaDeTres(int a, int b, int c) {
+        return Math.max(Math.min(a, b), Math.min(Math.max(a, b), c));
+    }
+
+    /**
+     * Ordena índices em ordem crescente de uma chave numérica usando MergeSort.
+     * 
+     * A ordenação é estável: índices com a mesma chave mantêm a ordem relativa de entrada.
+     * 
+     * @param indices Índices a serem ordenados (posições em chaves)
+     * @param chaves Chave de cada índice
+     * @throws IllegalArgumentException se algum dos parâmetros for nulo
+     */
+    public static void mergeSortIndices(int[] indices, double[] chaves) {
+        if (indices == null || chaves == null) {
+            throw new IllegalArgumentException("Os índices e as chaves não podem ser nulos");
+        }
+
+        int n = indices.length;
+        int[] origem = indices;
+        int[] destino = new int[n];
+
+        // MergeSort de baixo para cima: intercala blocos de largura 1, 2, 4, ...
+        for (int largura = 1; largura < n; largura *= 2) {
+            for (int inicio = 0; inicio < n; inicio += 2 * largura) {
+                int meio = Math.min(inicio + largura, n);
+                int fim = Math.min(inicio + 2 * largura, n);
+                int a = inicio, b = meio, k = inicio;
+
+                while (a < meio && b < fim) {
+                    // <= mantém a estabilidade (em empate vem primeiro o da esquerda)
+                    destino[k++] = chaves[origem[a]] <= chaves[origem[b]] ? origem[a++] : origem[b++];
+                }
+                while (a < meio) {
+                    destino[k++] = origem[a++];
+                }
+                while (b < fim) {
+                    destino[k++] = origem[b++];
+                }
             }
+
+            int[] temp = origem;
+            origem = destino;
+            destino = temp;
         }
 
-        trocar(clientes, i + 1, fim);
-        return i + 1;
+        if (origem != indices) {
+            System.arraycopy(origem, 0, indices, 0, n);
+        }
     }
 
     /**
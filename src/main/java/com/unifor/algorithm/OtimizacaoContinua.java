@@ -0,0 +1,225 @@
+package com.unifor.algorithm;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import com.unifor.model.PlanoRotas;
+import com.unifor.model.Rota;
+
+/**
+ * Otimização em andamento no modo "anytime" do {@link Roteirizador}.
+ *
+ * Sempre há uma melhor solução disponível: a gulosa logo na criação e depois cada melhoria
+ * encontrada. As soluções são planos imutáveis trocados atomicamente, então a consulta
+ * ({@link #getMelhoresRotas()}) pode ser feita de qualquer thread a qualquer momento.
+ * Ouvintes registrados com {@link #adicionarOuvinte(Consumer)} recebem cada nova melhor
+ * solução na thread da otimização, e devem ser rápidos (ou repassar o trabalho adiante).
+ */
+public class OtimizacaoContinua {
+
+    private final CopyOnWriteArrayList<Consumer<List<Rota>>> ouvintes = new CopyOnWriteArrayList<>();
+    private final CountDownLatch conclusao = new CountDownLatch(1);
+
+    private volatile PlanoRotas melhorPlano;
+    private volatile double melhorDistancia;
+    private volatile int melhorias;
+    private volatile int fase = PontoControle.FASE_BUSCA_LOCAL;
+    private volatile boolean cancelada;
+    private volatile RuntimeException falha;
+    private volatile IOException falhaPontoControle;
+
+    /**
+     * @param inicial Solução inicial (gulosa)
+     */
+    OtimizacaoContinua(PlanoRotas inicial) {
+        this(inicial, 0);
+    }
+
+    /**
+     * @param inicial Solução inicial (gulosa ou retomada de um ponto de controle)
+     * @param melhorias Melhorias já contadas antes desta execução
+     */
+    OtimizacaoContinua(PlanoRotas inicial, int melhorias) {
+        this.melhorPlano = inicial;
+        this.melhorDistancia = inicial.getDistanciaTotal();
+        this.melhorias = melhorias;
+    }
+
+    /**
+     * Executa o trabalho de melhoria em uma thread daemon; ao terminar (por prazo, ótimo
+     * local, cancelamento ou falha) a otimização é marcada como concluída.
+     *
+     * @param trabalho Laço de melhoria, que publica as soluções por {@link #publicar}
+     */
+    void iniciar(Runnable trabalho) {
+        Thread thread = new Thread(() -> {
+            try {
+                trabalho.run();
+            } catch (RuntimeException e) {
+                falha = e;
+            } finally {
+                concluir();
+            }
+        }, "otimizacao-continua");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Publica um plano se ele for melhor que o atual, avisando os ouvintes.
+     *
+     * @param plano Plano candidato
+     * @return true se o plano passou a ser o melhor
+     */
+    boolean publicar(PlanoRotas plano) {
+        double distancia = plano.getDistanciaTotal();
+
+        synchronized (this) {
+            if (distancia >= melhorDistancia) {
+                return false;
+            }
+            melhorPlano = plano;
+            melhorDistancia = distancia;
+            melhorias++;
+        }
+
+        List<Rota> rotas = plano.getRotas();
+        for (Consumer<List<Rota>> ouvinte : ouvintes) {
+            ouvinte.accept(rotas);
+        }
+        return true;
+    }
+
+    void concluir() {
+        conclusao.countDown();
+    }
+
+    void registrarFalhaPontoControle(IOException e) {
+        falhaPontoControle = e;
+    }
+
+    boolean isCancelada() {
+        return cancelada;
+    }
+
+    void setFase(int fase) {
+        this.fase = fase;
+    }
+
+    /**
+     * Retorna a fase atual da melhoria.
+     *
+     * @return {@link PontoControle#FASE_BUSCA_LOCAL} ou {@link PontoControle#FASE_ALNS}
+     */
+    public int getFase() {
+        return fase;
+    }
+
+    /**
+     * Retorna a melhor solução encontrada até agora.
+     *
+     * @return Lista imutável de rotas
+     */
+    public List<Rota> getMelhoresRotas() {
+        return melhorPlano.getRotas();
+    }
+
+    public PlanoRotas getMelhorPlano() {
+        return melhorPlano;
+    }
+
+    /**
+     * Retorna a distância total (todas as viagens) da melhor solução atual.
+     *
+     * @return Distância total
+     */
+    public double getMelhorDistancia() {
+        return melhorDistancia;
+    }
+
+    /**
+     * Retorna quantas soluções melhores que a anterior já foram publicadas.
+     *
+     * @return Número de melhorias (0 = ainda a gulosa)
+     */
+    public int getMelhorias() {
+        return melhorias;
+    }
+
+    /**
+     * Registra um ouvinte que recebe cada nova melhor solução.
+     *
+     * @param ouvinte Chamado na thread da otimização com a lista imutável de rotas
+     * @throws IllegalArgumentException se o ouvinte for nulo
+     */
+    public void adicionarOuvinte(Consumer<List<Rota>> ouvinte) {
+        if (ouvinte == null) {
+            throw new IllegalArgumentException("O ouvinte não pode ser nulo");
+        }
+        ouvintes.add(ouvinte);
+    }
+
+    public void removerOuvinte(Consumer<List<Rota>> ouvinte) {
+        ouvintes.remove(ouvinte);
+    }
+
+    /**
+     * Retorna a última falha ao gravar um ponto de controle.
+     *
+     * Uma falha de escrita não interrompe a otimização: a gravação é tentada de novo no
+     * intervalo seguinte, e o erro fica disponível aqui para quem acompanha a execução.
+     *
+     * @return Última exceção de escrita, ou null se nenhuma gravação falhou
+     */
+    public IOException getFalhaPontoControle() {
+        return falhaPontoControle;
+    }
+
+    /**
+     * Pede o fim antecipado da otimização; a melhor solução atual é mantida.
+     */
+    public void cancelar() {
+        cancelada = true;
+    }
+
+    public boolean isConcluida() {
+        return conclusao.getCount() == 0;
+    }
+
+    /**
+     * Aguarda o fim da otimização (prazo, ótimo local ou cancelamento).
+     *
+     * @return Melhor solução final
+     * @throws InterruptedException se a thread for interrompida durante a espera
+     * @throws RuntimeException se a otimização falhou
+     */
+    public List<Rota> aguardar() throws InterruptedException {
+        conclusao.await();
+        return resultado();
+    }
+
+    /**
+     * Aguarda o fim da otimização por no máximo o tempo informado.
+     *
+     * @param tempo Tempo máximo de espera
+     * @param unidade Unidade do tempo
+     * @return Melhor solução até o momento (final, se a otimização terminou)
+     * @throws InterruptedException se a thread for interrompida durante a espera
+     * @throws RuntimeException se a otimização falhou
+     */
+    public List<Rota> aguardar(long tempo, TimeUnit unidade) throws InterruptedException {
+        conclusao.await(tempo, unidade);
+        return resultado();
+    }
+
+    private List<Rota> resultado() {
+        if (falha != null) {
+            throw new RuntimeException("Falha na otimização contínua: " + falha.getMessage(), falha);
+        }
+        return getMelhoresRotas();
+    }
+}
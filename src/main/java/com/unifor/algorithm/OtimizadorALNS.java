@@ -0,0 +1,494 @@
+package com.unifor.algorithm;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+
+import com.unifor.model.Cliente;
+import com.unifor.model.PlanoRotas;
+import com.unifor.model.Ponto;
+import com.unifor.model.Rota;
+import com.unifor.model.Veiculo;
+import com.unifor.util.ProvedorDistancia;
+import com.unifor.util.ProvedorEuclidiano;
+import com.unifor.util.TabelaDistancias;
+
+/**
+ * Melhoria de rotas por ALNS (Adaptive Large Neighborhood Search).
+ *
+ * Recebe as rotas produzidas pelo {@link Roteirizador} e as melhora por destruição e reparo
+ * (ver {@link BuscaALNS}), respeitando capacidade e autonomia de cada viagem. Várias buscas
+ * independentes rodam em paralelo, cada uma com seu gerador e sua cópia da solução; a cada
+ * segmento elas oferecem sua melhor solução a um registro global e, periodicamente, uma busca
+ * que ficou para trás passa a trabalhar a partir da melhor global. Ao final a melhor global
+ * ainda passa pela {@link BuscaLocal}.
+ *
+ * Com mais de uma busca paralela o resultado depende do escalonamento das threads; com
+ * uma só busca e sem limite de tempo ele é reprodutível pela semente. No modo determinístico
+ * ({@link #setDeterministico(boolean)}) as buscas avançam em rodadas sincronizadas e o
+ * resultado é reprodutível pela semente com qualquer número de threads.
+ */
+public class OtimizadorALNS {
+
+    // Vizinhos por cliente nas inserções e remoções relacionadas
+    private static final int VIZINHOS_PADRAO = 10;
+
+    // Segmentos entre consultas à melhor solução global
+    private static final int SEGMENTOS_ENTRE_SINCRONIZACOES = 10;
+
+    // Intervalo mínimo entre publicações de melhorias para o ouvinte
+    private static final long INTERVALO_PUBLICACAO_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    // Buscas do modo determinístico quando não configuradas (não pode depender dos núcleos)
+    private static final int BUSCAS_MODO_DETERMINISTICO = 8;
+
+    private final ProvedorDistancia provedorDistancia;
+
+    private int iteracoes = 5000;
+    private long tempoMaximoMillis;
+    private int buscasParalelas;  // 0 = automático
+    private long semente = 42L;
+    private boolean deterministico;
+    private int vizinhos = VIZINHOS_PADRAO;
+
+    /**
+     * Construtor padrão (distância Euclidiana).
+     */
+    public OtimizadorALNS() {
+        this(new ProvedorEuclidiano());
+    }
+
+    /**
+     * Construtor com provedor de distâncias (o mesmo usado pelo Roteirizador).
+     *
+     * @param provedorDistancia Fonte das distâncias
+     * @throws IllegalArgumentException se o provedor for nulo
+     */
+    public OtimizadorALNS(ProvedorDistancia provedorDistancia) {
+        if (provedorDistancia == null) {
+            throw new IllegalArgumentException("O provedor de distâncias não pode ser nulo");
+        }
+        this.provedorDistancia = provedorDistancia;
+    }
+
+    /**
+     * Melhora uma lista de rotas calculada pelo Roteirizador.
+     *
+     * @param rotas Rotas do dia (visões de um mesmo {@link PlanoRotas})
+     * @param veiculo Veículo que realizará as entregas
+     * @param central Ponto da central de distribuição
+     * @return Nova lista de rotas, com distância total menor ou igual
+     * @throws IllegalArgumentException se as rotas não vierem de um mesmo plano
+     */
+    public List<Rota> otimizar(List<Rota> rotas, Veiculo veiculo, Ponto central) {
+        if (rotas == null || rotas.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        PlanoRotas plano = rotas.get(0).getPlano();
+        for (Rota rota : rotas) {
+            if (plano == null || rota.getPlano() != plano) {
+                throw new IllegalArgumentException("As rotas devem ter sido calculadas juntas pelo Roteirizador");
+            }
+        }
+
+        List<Cliente> clientes = plano.getClientes();
+        TabelaDistancias tabela = provedorDistancia.vincular(central, clientes);
+        SolucaoRotas inicial = new SolucaoRotas(tabela, demandasDe(clientes),
+                                                veiculo.getCapacidadeMaxima(), veiculo.getAutonomiaMaxima());
+        for (Rota rota : rotas) {
+            int viagem = inicial.novaViagem();
+            for (int i = 0; i < rota.getNumeroClientes(); i++) {
+                inicial.inserir(viagem, i, rota.getIndiceCliente(i));
+            }
+        }
+
+        return new ArrayList<>(otimizar(clientes, inicial).getRotas());
+    }
+
+    /**
+     * Melhora um plano calculado pelo Roteirizador.
+     *
+     * @param plano Plano do dia
+     * @param veiculo Veículo que realizará as entregas
+     * @param central Ponto da central de distribuição
+     * @return Novo plano, com distância total menor ou igual
+     */
+    public PlanoRotas otimizar(PlanoRotas plano, Veiculo veiculo, Ponto central) {
+        List<Cliente> clientes = plano.getClientes();
+        if (clientes == null || plano.getQuantidadeViagens() == 0) {
+            return plano;
+        }
+
+        TabelaDistancias tabela = provedorDistancia.vincular(central, clientes);
+        SolucaoRotas inicial = SolucaoRotas.dePlano(plano, tabela, demandasDe(clientes),
+                                                    veiculo.getCapacidadeMaxima(), veiculo.getAutonomiaMaxima());
+        PlanoRotas otimizado = otimizar(clientes, inicial);
+        return otimizado.getDistanciaTotal() < plano.getDistanciaTotal() ? otimizado : plano;
+    }
+
+    private PlanoRotas otimizar(List<Cliente> clientes, SolucaoRotas inicial) {
+        long prazo = tempoMaximoMillis > 0
+            ? System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(tempoMaximoMillis)
+            : Long.MAX_VALUE;
+        GrafoVizinhanca grafo = ConstrutorGrafoVizinhanca.construir(clientes, vizinhos);
+
+        return executar(inicial, grafo, iteracoes, prazo, () -> false, null).paraPlano(clientes);
+    }
+
+    /**
+     * Núcleo da otimização, compartilhado com o modo contínuo do Roteirizador.
+     *
+     * @param inicial Solução inicial (não é alterada)
+     * @param grafo Vizinhos candidatos de cada cliente
+     * @param iteracoesPorBusca Iterações de cada busca
+     * @param prazoNanos Instante limite em {@link System#nanoTime()} (Long.MAX_VALUE = sem prazo)
+     * @param cancelada Consultado a cada segmento para encerrar antes
+     * @param aoMelhorar Recebe novas melhores globais (no máximo a cada 100 ms), sempre na thread
+     *        que chamou este método, ou null
+     * @return Melhor solução encontrada
+     */
+    SolucaoRotas executar(SolucaoRotas inicial, GrafoVizinhanca grafo, long iteracoesPorBusca, long prazoNanos,
+                          BooleanSupplier cancelada, Consumer<SolucaoRotas> aoMelhorar) {
+        int[] clientesValidos = clientesPresentes(inicial);
+        MelhorGlobal global = new MelhorGlobal(inicial);
+
+        // Um gerador por busca, derivado em ordem fixa da semente
+        SplittableRandom raiz = new SplittableRandom(semente);
+        SplittableRandom[] geradores = new SplittableRandom[getBuscasParalelas()];
+        for (int b = 0; b < geradores.length; b++) {
+            geradores[b] = raiz.split();
+        }
+
+        long prazoPolimento = prazoNanos;
+        if (deterministico) {
+            executarEmRodadas(inicial, grafo, geradores, clientesValidos, global, iteracoesPorBusca,
+                              cancelada, aoMelhorar);
+            prazoPolimento = Long.MAX_VALUE;
+        } else {
+            executarAssincrono(inicial, grafo, geradores, clientesValidos, global, iteracoesPorBusca,
+                               prazoNanos, cancelada, aoMelhorar);
+        }
+
+        // Polimento final da melhor global
+        SolucaoRotas melhor = global.copiar();
+        new BuscaLocal(melhor, grafo).otimizar(prazoPolimento);
+        melhor.compactar();
+        return melhor.getDistanciaTotal() < global.getDistancia() ? melhor : global.copiar();
+    }
+
+    /**
+     * Buscas independentes que trocam soluções pelo registro global assim que melhoram: o
+     * resultado depende do escalonamento das threads.
+     *
+     * A thread chamadora participa do stream paralelo e sempre executa uma das buscas; só ela
+     * publica a melhor global para {@code aoMelhorar}, entre dois segmentos dessa busca, para
+     * que os ouvintes nunca rodem nas threads do pool.
+     */
+    private static void executarAssincrono(SolucaoRotas inicial, GrafoVizinhanca grafo, SplittableRandom[] geradores,
+                                           int[] clientesValidos, MelhorGlobal global, long iteracoesPorBusca,
+                                           long prazoNanos, BooleanSupplier cancelada,
+                                           Consumer<SolucaoRotas> aoMelhorar) {
+        long inicio = System.nanoTime();
+        Thread chamadora = Thread.currentThread();
+
+        // Estado da publicação, lido e escrito só pela thread chamadora
+        long[] ultimaPublicacao = {inicio};
+        SolucaoRotas[] publicada = {global.obter()};
+
+        IntStream.range(0, geradores.length).parallel().forEach(b -> {
+            BuscaALNS busca = new BuscaALNS(inicial.copiar(), grafo, geradores[b], clientesValidos);
+            double ofertada = busca.getDistanciaMelhor();
+            long segmentos = 0;
+
+            while (busca.getIteracoes() < iteracoesPorBusca) {
+                long agora = System.nanoTime();
+                if (agora >= prazoNanos || cancelada.getAsBoolean()) {
+                    break;
+                }
+
+                double progresso = (double) busca.getIteracoes() / iteracoesPorBusca;
+                if (prazoNanos != Long.MAX_VALUE) {
+                    progresso = Math.max(progresso, (double) (agora - inicio) / (prazoNanos - inicio));
+                }
+
+                executarSegmento(busca, iteracoesPorBusca, progresso);
+                segmentos++;
+
+                // Oferece a melhor desta busca ao registro global
+                if (busca.getDistanciaMelhor() < ofertada) {
+                    ofertada = busca.getDistanciaMelhor();
+                    global.oferecer(busca.getMelhor(), ofertada);
+                }
+
+                // Publica a melhor global (de qualquer busca) na thread chamadora
+                if (aoMelhorar != null && Thread.currentThread() == chamadora
+                        && System.nanoTime() - ultimaPublicacao[0] >= INTERVALO_PUBLICACAO_NANOS) {
+                    SolucaoRotas melhorGlobal = global.obter();
+                    if (melhorGlobal != publicada[0]) {
+                        publicada[0] = melhorGlobal;
+                        ultimaPublicacao[0] = System.nanoTime();
+                        aoMelhorar.accept(melhorGlobal);
+                    }
+                }
+
+                // Busca atrasada recomeça da melhor global
+                if (segmentos % SEGMENTOS_ENTRE_SINCRONIZACOES == 0) {
+                    SolucaoRotas melhorGlobal = global.copiarSeMelhorQue(busca.getDistanciaMelhor());
+                    if (melhorGlobal != null) {
+                        busca.adotar(melhorGlobal);
+                        ofertada = busca.getDistanciaMelhor();
+                    }
+                }
+            }
+
+            global.oferecer(busca.getMelhor(), busca.getDistanciaMelhor());
+        });
+    }
+
+    /**
+     * Modo determinístico: em cada rodada, todas as buscas avançam em paralelo até a próxima
+     * sincronização sem ler nada umas das outras; entre as rodadas, a redução percorre as
+     * buscas em ordem fixa (empates ficam com a de menor índice) e as atrasadas adotam a
+     * melhor global. Nada depende de quais threads executaram quais buscas, nem de quando.
+     */
+    private static void executarEmRodadas(SolucaoRotas inicial, GrafoVizinhanca grafo, SplittableRandom[] geradores,
+                                          int[] clientesValidos, MelhorGlobal global, long iteracoesPorBusca,
+                                          BooleanSupplier cancelada, Consumer<SolucaoRotas> aoMelhorar) {
+        BuscaALNS[] buscas = new BuscaALNS[geradores.length];
+        for (int b = 0; b < buscas.length; b++) {
+            buscas[b] = new BuscaALNS(inicial.copiar(), grafo, geradores[b], clientesValidos);
+        }
+        long ultimaPublicacao = System.nanoTime();
+        boolean ativas = true;
+
+        while (ativas && !cancelada.getAsBoolean()) {
+            IntStream.range(0, buscas.length).parallel().forEach(b -> {
+                BuscaALNS busca = buscas[b];
+                for (int s = 0; s < SEGMENTOS_ENTRE_SINCRONIZACOES && busca.getIteracoes() < iteracoesPorBusca; s++) {
+                    executarSegmento(busca, iteracoesPorBusca, (double) busca.getIteracoes() / iteracoesPorBusca);
+                }
+            });
+
+            SolucaoRotas publicada = null;
+            for (BuscaALNS busca : buscas) {
+                SolucaoRotas guardada = global.oferecer(busca.getMelhor(), busca.getDistanciaMelhor());
+                if (guardada != null) {
+                    publicada = guardada;
+                }
+            }
+            if (publicada != null && aoMelhorar != null
+                    && System.nanoTime() - ultimaPublicacao >= INTERVALO_PUBLICACAO_NANOS) {
+                ultimaPublicacao = System.nanoTime();
+                aoMelhorar.accept(publicada);
+            }
+
+            ativas = false;
+            for (BuscaALNS busca : buscas) {
+                SolucaoRotas melhorGlobal = global.copiarSeMelhorQue(busca.getDistanciaMelhor());
+                if (melhorGlobal != null) {
+                    busca.adotar(melhorGlobal);
+                }
+                ativas |= busca.getIteracoes() < iteracoesPorBusca;
+            }
+        }
+    }
+
+    /**
+     * Executa um segmento de iterações da busca (ou o que faltar do orçamento).
+     */
+    private static void executarSegmento(BuscaALNS busca, long iteracoesPorBusca, double progresso) {
+        for (int i = 0; i < BuscaALNS.TAMANHO_SEGMENTO && busca.getIteracoes() < iteracoesPorBusca; i++) {
+            busca.iterar(progresso);
+        }
+    }
+
+    /**
+     * Melhor solução global compartilhada entre as buscas paralelas.
+     *
+     * As soluções guardadas são cópias que nunca mais são alteradas, então podem ser lidas
+     * fora do bloqueio depois de obtidas.
+     */
+    private static final class MelhorGlobal {
+        private SolucaoRotas solucao;
+        private double distancia;
+
+        MelhorGlobal(SolucaoRotas inicial) {
+            this.solucao = inicial.copiar();
+            this.distancia = inicial.getDistanciaTotal();
+        }
+
+        /**
+         * @return A cópia guardada, se a solução oferecida passou a ser a melhor; senão null
+         */
+        synchronized SolucaoRotas oferecer(SolucaoRotas candidata, double distanciaCandidata) {
+            if (distanciaCandidata >= distancia) {
+                return null;
+            }
+            solucao = candidata.copiar();
+            distancia = distanciaCandidata;
+            return solucao;
+        }
+
+        synchronized SolucaoRotas copiarSeMelhorQue(double referencia) {
+            return distancia < referencia ? solucao.copiar() : null;
+        }
+
+        synchronized SolucaoRotas copiar() {
+            return solucao.copiar();
+        }
+
+        /**
+         * @return A solução guardada, sem cópia (ela é substituída, nunca alterada)
+         */
+        synchronized SolucaoRotas obter() {
+            return solucao;
+        }
+
+        synchronized double getDistancia() {
+            return distancia;
+        }
+    }
+
+    /**
+     * Clientes que fazem parte da solução.
+     */
+    private static int[] clientesPresentes(SolucaoRotas solucao) {
+        int[] presentes = new int[solucao.getQuantidadeClientes()];
+        int quantidade = 0;
+        for (int c = 0; c < presentes.length; c++) {
+            if (solucao.getViagem(c) != SolucaoRotas.FORA) {
+                presentes[quantidade++] = c;
+            }
+        }
+        return Arrays.copyOf(presentes, quantidade);
+    }
+
+    /**
+     * Demanda de cada cliente por índice (zero para clientes nulos).
+     */
+    private static double[] demandasDe(List<Cliente> clientes) {
+        double[] demandas = new double[clientes.size()];
+        for (int i = 0; i < clientes.size(); i++) {
+            Cliente cliente = clientes.get(i);
+            if (cliente != null) {
+                demandas[i] = cliente.getDemandaCarga();
+            }
+        }
+        return demandas;
+    }
+
+    public ProvedorDistancia getProvedorDistancia() {
+        return provedorDistancia;
+    }
+
+    public int getIteracoes() {
+        return iteracoes;
+    }
+
+    /**
+     * Define o número de iterações de cada busca.
+     *
+     * @param iteracoes Iterações por busca
+     * @throws IllegalArgumentException se o valor não for positivo
+     */
+    public void setIteracoes(int iteracoes) {
+        if (iteracoes <= 0) {
+            throw new IllegalArgumentException("O número de iterações deve ser positivo");
+        }
+        this.iteracoes = iteracoes;
+    }
+
+    public long getTempoMaximoMillis() {
+        return tempoMaximoMillis;
+    }
+
+    /**
+     * Define um limite de tempo para a otimização, além do limite de iterações.
+     *
+     * @param tempoMaximoMillis Tempo máximo em milissegundos (0 = sem limite)
+     * @throws IllegalArgumentException se o valor for negativo
+     */
+    public void setTempoMaximoMillis(long tempoMaximoMillis) {
+        if (tempoMaximoMillis < 0) {
+            throw new IllegalArgumentException("O tempo máximo não pode ser negativo");
+        }
+        this.tempoMaximoMillis = tempoMaximoMillis;
+    }
+
+    /**
+     * Retorna o número de buscas: o configurado ou, se não houver, uma por núcleo (no modo
+     * determinístico, um número fixo).
+     *
+     * @return Número de buscas
+     */
+    public int getBuscasParalelas() {
+        if (buscasParalelas > 0) {
+            return buscasParalelas;
+        }
+        return deterministico ? BUSCAS_MODO_DETERMINISTICO : Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * Define quantas buscas independentes rodam em paralelo (padrão: uma por núcleo).
+     *
+     * @param buscasParalelas Número de buscas
+     * @throws IllegalArgumentException se o valor não for positivo
+     */
+    public void setBuscasParalelas(int buscasParalelas) {
+        if (buscasParalelas <= 0) {
+            throw new IllegalArgumentException("O número de buscas paralelas deve ser positivo");
+        }
+        this.buscasParalelas = buscasParalelas;
+    }
+
+    public long getSemente() {
+        return semente;
+    }
+
+    public void setSemente(long semente) {
+        this.semente = semente;
+    }
+
+    public boolean isDeterministico() {
+        return deterministico;
+    }
+
+    /**
+     * Ativa o modo determinístico, para planos reprodutíveis em auditorias.
+     *
+     * O número de buscas passa a ser uma divisão fixa de tarefas (o configurado ou 8, e não
+     * um por núcleo), cada busca com o seu gerador derivado da semente, e as trocas de
+     * soluções entre elas acontecem em rodadas, com redução em ordem fixa. O mesmo plano e
+     * a mesma semente produzem então as mesmas rotas, bit a bit, com qualquer número de
+     * threads. O limite de tempo é ignorado neste modo (só o de iterações vale), porque o
+     * ponto de parada dependeria da velocidade da máquina.
+     *
+     * @param deterministico true para ativar
+     */
+    public void setDeterministico(boolean deterministico) {
+        this.deterministico = deterministico;
+    }
+
+    public int getVizinhos() {
+        return vizinhos;
+    }
+
+    /**
+     * Define quantos vizinhos de cada cliente são considerados nas inserções e remoções.
+     *
+     * @param vizinhos Vizinhos por cliente
+     * @throws IllegalArgumentException se o valor não for positivo
+     */
+    public void setVizinhos(int vizinhos) {
+        if (vizinhos <= 0) {
+            throw new IllegalArgumentException("O número de vizinhos deve ser positivo");
+        }
+        this.vizinhos = vizinhos;
+    }
+}
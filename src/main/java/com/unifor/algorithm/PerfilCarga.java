@@ -0,0 +1,105 @@
+package com.unifor.algorithm;
+
+import java.util.Arrays;
+
+/**
+ * Perfil de carga a bordo ao longo de uma viagem com entregas e coletas.
+ *
+ * Com coletas a carga deixa de ser máxima na saída da central: ela cai a cada entrega e
+ * sobe a cada coleta, e a capacidade precisa valer em todos os pontos da viagem. O perfil
+ * guarda a carga depois de cada parada (posição 0 = saída da central) e os máximos de
+ * prefixo e de sufixo, de modo que a viabilidade de inserir uma parada em qualquer posição
+ * sai em O(1), sem percorrer a viagem:
+ *
+ * - inserir uma parada com entrega e e coleta c depois da posição k soma e a toda a carga
+ *   até k (a carga sai da central) e c a toda a carga depois dela;
+ * - inserir um par coleta/entrega de carga q (coleta depois de i, entrega depois de j ≥ i)
+ *   soma q só ao trecho (i, j], cujo máximo é acumulado enquanto j avança.
+ */
+final class PerfilCarga {
+
+    private double[] carga = new double[16];
+    private double[] maximoPrefixo = new double[16];
+    private double[] maximoSufixo = new double[16];
+    private int paradas;
+
+    /**
+     * Recalcula o perfil a partir da carga de saída e da variação em cada parada.
+     *
+     * @param saida Carga ao sair da central (soma das entregas da viagem)
+     * @param variacoes Variação da carga em cada parada (coletas menos entregas)
+     * @param quantidade Número de paradas
+     */
+    void recalcular(double saida, double[] variacoes, int quantidade) {
+        if (quantidade + 1 > carga.length) {
+            int tamanho = Math.max(quantidade + 1, carga.length * 2);
+            carga = Arrays.copyOf(carga, tamanho);
+            maximoPrefixo = Arrays.copyOf(maximoPrefixo, tamanho);
+            maximoSufixo = Arrays.copyOf(maximoSufixo, tamanho);
+        }
+
+        paradas = quantidade;
+        carga[0] = saida;
+        maximoPrefixo[0] = saida;
+        for (int k = 1; k <= quantidade; k++) {
+            carga[k] = carga[k - 1] + variacoes[k - 1];
+            maximoPrefixo[k] = Math.max(maximoPrefixo[k - 1], carga[k]);
+        }
+        maximoSufixo[quantidade] = carga[quantidade];
+        for (int k = quantidade - 1; k >= 0; k--) {
+            maximoSufixo[k] = Math.max(maximoSufixo[k + 1], carga[k]);
+        }
+    }
+
+    /**
+     * Carga a bordo depois da k-ésima parada (0 = saída da central).
+     */
+    double getCarga(int k) {
+        return carga[k];
+    }
+
+    /**
+     * Maior carga a bordo em toda a viagem.
+     */
+    double getPico() {
+        return maximoPrefixo[paradas];
+    }
+
+    /**
+     * Verifica em O(1) se uma parada cabe depois da posição informada.
+     *
+     * @param posicao Posição após a qual a parada entra (0 = logo após a central)
+     * @param entrega Carga que a parada recebe da central
+     * @param coleta Carga que a parada devolve à central
+     * @param capacidade Capacidade do veículo
+     * @return true se a capacidade é respeitada em toda a viagem
+     */
+    boolean cabeParada(int posicao, double entrega, double coleta, double capacidade) {
+        if (maximoPrefixo[posicao] + entrega > capacidade || carga[posicao] + coleta > capacidade) {
+            return false;
+        }
+        return posicao == paradas || maximoSufixo[posicao + 1] + coleta <= capacidade;
+    }
+
+    /**
+     * Última posição em que a entrega de um par pode entrar, com a coleta depois de i.
+     *
+     * O trecho (i, j] recebe a carga do par; o máximo dele cresce com j, então a primeira
+     * posição inviável encerra a busca. Cada posição custa O(1).
+     *
+     * @param posicaoColeta Posição após a qual a coleta entra
+     * @param cargaPar Carga levada da coleta à entrega
+     * @param capacidade Capacidade do veículo
+     * @return Maior j viável para a entrega, ou -1 se a própria coleta não couber
+     */
+    int limiteEntrega(int posicaoColeta, double cargaPar, double capacidade) {
+        if (carga[posicaoColeta] + cargaPar > capacidade) {
+            return -1;
+        }
+        int j = posicaoColeta;
+        while (j < paradas && carga[j + 1] + cargaPar <= capacidade) {
+            j++;
+        }
+        return j;
+    }
+}
@@ -0,0 +1,261 @@
+package com.unifor.algorithm;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.zip.CRC32;
+
+import com.unifor.model.Cliente;
+import com.unifor.model.PlanoRotas;
+import com.unifor.util.TabelaDistancias;
+
+/**
+ * Ponto de controle de uma otimização contínua, para retomá-la depois de uma parada da JVM.
+ *
+ * Guarda a melhor solução (clientes de cada viagem), os clientes fora dela, a fase da
+ * melhoria, o tempo já consumido do orçamento, o número de melhorias e a semente do ALNS,
+ * junto com a impressão digital do cenário ({@link CacheRotas#calcularImpressaoDigital}),
+ * que impede retomar a partir do arquivo de outro cenário. As distâncias não são gravadas:
+ * o plano é reconstruído sobre a tabela do cenário.
+ *
+ * O estado adaptativo do ALNS (pesos dos operadores e temperatura) também não é gravado:
+ * uma execução retomada na fase de ALNS parte da solução gravada com os pesos iniciais, e o
+ * resfriamento recomeça da temperatura inicial ao longo do orçamento restante, como em uma
+ * nova execução. Assim o formato fica independente dos operadores, ao custo de reaprender
+ * a adaptação após cada retomada.
+ *
+ * Formato (little-endian): número mágico 0x53554443 ("SUDC"), versão, impressão digital,
+ * fase, melhorias, tempo consumido (ms), semente, número de clientes, de viagens e de
+ * paradas, tamanho de cada viagem, índices das paradas, mapa de bits dos clientes fora da
+ * solução e, por fim, o CRC-32 de tudo o que vem antes. A gravação vai para um arquivo
+ * temporário no mesmo diretório, que então substitui o anterior com uma movimentação
+ * atômica: uma interrupção no meio deixa intacto o último ponto de controle completo.
+ */
+public final class PontoControle {
+
+    /** Fase de busca local (realocação e 2-opt até o ótimo local). */
+    public static final int FASE_BUSCA_LOCAL = 0;
+
+    /** Fase de ALNS, depois do ótimo local. */
+    public static final int FASE_ALNS = 1;
+
+    private static final int NUMERO_MAGICO = 0x53554443;
+    private static final int VERSAO = 1;
+
+    private final long impressaoDigital;
+    private final int fase;
+    private final int melhorias;
+    private final long tempoConsumidoMillis;
+    private final long semente;
+    private final int quantidadeClientes;
+    private final int[] tamanhosViagens;
+    private final int[] paradas;
+    private final long[] foraDaSolucao;
+
+    private PontoControle(long impressaoDigital, int fase, int melhorias, long tempoConsumidoMillis, long semente,
+                          int quantidadeClientes, int[] tamanhosViagens, int[] paradas, long[] foraDaSolucao) {
+        this.impressaoDigital = impressaoDigital;
+        this.fase = fase;
+        this.melhorias = melhorias;
+        this.tempoConsumidoMillis = tempoConsumidoMillis;
+        this.semente = semente;
+        this.quantidadeClientes = quantidadeClientes;
+        this.tamanhosViagens = tamanhosViagens;
+        this.paradas = paradas;
+        this.foraDaSolucao = foraDaSolucao;
+    }
+
+    /**
+     * Captura o estado de uma otimização (o plano é imutável, então nada é copiado além
+     * dos índices das paradas).
+     */
+    static PontoControle capturar(long impressaoDigital, int fase, int melhorias, long tempoConsumidoMillis,
+                                  long semente, PlanoRotas plano) {
+        int quantidadeClientes = plano.getClientes() != null ? plano.getClientes().size() : 0;
+        int[] tamanhos = new int[plano.getQuantidadeViagens()];
+        int[] paradas = new int[plano.getQuantidadeParadas()];
+        long[] fora = new long[(quantidadeClientes + 63) >>> 6];
+        for (int c = 0; c < quantidadeClientes; c++) {
+            fora[c >>> 6] |= 1L << c;
+        }
+
+        int p = 0;
+        for (int v = 0; v < tamanhos.length; v++) {
+            tamanhos[v] = plano.getTamanhoViagem(v);
+            for (int i = 0; i < tamanhos[v]; i++) {
+                int cliente = plano.getIndiceCliente(v, i);
+                paradas[p++] = cliente;
+                fora[cliente >>> 6] &= ~(1L << cliente);
+            }
+        }
+        return new PontoControle(impressaoDigital, fase, melhorias, tempoConsumidoMillis, semente,
+                                 quantidadeClientes, tamanhos, paradas, fora);
+    }
+
+    /**
+     * Lê um ponto de controle.
+     *
+     * @param arquivo Caminho do arquivo
+     * @return Ponto de controle lido
+     * @throws IOException se o arquivo não puder ser lido, estiver truncado ou corrompido
+     */
+    public static PontoControle ler(Path arquivo) throws IOException {
+        ByteBuffer dados = ByteBuffer.wrap(Files.readAllBytes(arquivo)).order(ByteOrder.LITTLE_ENDIAN);
+        if (dados.remaining() < 2 * Integer.BYTES || dados.getInt() != NUMERO_MAGICO) {
+            throw new IOException("Arquivo não é um ponto de controle: " + arquivo);
+        }
+        if (dados.getInt() != VERSAO) {
+            throw new IOException("Versão de ponto de controle não suportada: " + arquivo);
+        }
+
+        CRC32 crc = new CRC32();
+        crc.update(dados.array(), 0, dados.limit() - Integer.BYTES);
+        if (dados.limit() < Integer.BYTES || (int) crc.getValue() != dados.getInt(dados.limit() - Integer.BYTES)) {
+            throw new IOException("Ponto de controle corrompido: " + arquivo);
+        }
+
+        try {
+            long impressaoDigital = dados.getLong();
+            int fase = dados.getInt();
+            int melhorias = dados.getInt();
+            long tempoConsumido = dados.getLong();
+            long semente = dados.getLong();
+            int quantidadeClientes = dados.getInt();
+            int[] tamanhos = new int[dados.getInt()];
+            int[] paradas = new int[dados.getInt()];
+            dados.asIntBuffer().get(tamanhos);
+            dados.position(dados.position() + tamanhos.length * Integer.BYTES);
+            dados.asIntBuffer().get(paradas);
+            dados.position(dados.position() + paradas.length * Integer.BYTES);
+            long[] fora = new long[(quantidadeClientes + 63) >>> 6];
+            dados.asLongBuffer().get(fora);
+
+            return new PontoControle(impressaoDigital, fase, melhorias, tempoConsumido, semente,
+                                     quantidadeClientes, tamanhos, paradas, fora);
+        } catch (RuntimeException e) {
+            throw new IOException("Ponto de controle truncado: " + arquivo, e);
+        }
+    }
+
+    /**
+     * Grava o ponto de controle (arquivo temporário + movimentação atômica).
+     */
+    void gravar(Path arquivo) throws IOException {
+        int tamanho = 2 * Integer.BYTES + Long.BYTES + 2 * Integer.BYTES + 2 * Long.BYTES + 3 * Integer.BYTES
+                      + (tamanhosViagens.length + paradas.length) * Integer.BYTES
+                      + foraDaSolucao.length * Long.BYTES + Integer.BYTES;
+        ByteBuffer dados = ByteBuffer.allocate(tamanho).order(ByteOrder.LITTLE_ENDIAN);
+
+        dados.putInt(NUMERO_MAGICO).putInt(VERSAO).putLong(impressaoDigital);
+        dados.putInt(fase).putInt(melhorias).putLong(tempoConsumidoMillis).putLong(semente);
+        dados.putInt(quantidadeClientes).putInt(tamanhosViagens.length).putInt(paradas.length);
+        for (int tamanhoViagem : tamanhosViagens) {
+            dados.putInt(tamanhoViagem);
+        }
+        for (int parada : paradas) {
+            dados.putInt(parada);
+        }
+        for (long bits : foraDaSolucao) {
+            dados.putLong(bits);
+        }
+        CRC32 crc = new CRC32();
+        crc.update(dados.array(), 0, dados.position());
+        dados.putInt((int) crc.getValue());
+        dados.flip();
+
+        Path temporario = arquivo.resolveSibling(arquivo.getFileName() + ".tmp");
+        try (FileChannel canal = FileChannel.open(temporario, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (dados.hasRemaining()) {
+                canal.write(dados);
+            }
+            canal.force(false);
+        }
+        Files.move(temporario, arquivo, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * Reconstrói a solução gravada sobre a tabela de distâncias do cenário.
+     *
+     * @param clientes Lista de clientes do cenário
+     * @param tabela Tabela de distâncias vinculada ao cenário
+     * @param demandas Demanda de cada cliente
+     * @return Plano com as mesmas viagens do ponto de controle
+     * @throws IllegalArgumentException se o ponto de controle não corresponder aos clientes
+     */
+    PlanoRotas reconstruir(List<Cliente> clientes, TabelaDistancias tabela, double[] demandas) {
+        if (clientes.size() != quantidadeClientes) {
+            throw new IllegalArgumentException("O ponto de controle tem " + quantidadeClientes
+                                               + " clientes e o cenário, " + clientes.size());
+        }
+
+        PlanoRotas.Construtor plano = new PlanoRotas.Construtor(clientes, paradas.length);
+        int p = 0;
+        for (int tamanho : tamanhosViagens) {
+            int anterior = 0;
+            for (int i = 0; i < tamanho; i++) {
+                int cliente = paradas[p++];
+                if (cliente < 0 || cliente >= quantidadeClientes) {
+                    throw new IllegalArgumentException("Parada fora do cenário no ponto de controle: " + cliente);
+                }
+                plano.adicionarParada(cliente, tabela.distancia(anterior, cliente + 1), demandas[cliente]);
+                anterior = cliente + 1;
+            }
+            plano.fecharViagem(tabela.distancia(anterior, 0));
+        }
+        return plano.construir();
+    }
+
+    public long getImpressaoDigital() {
+        return impressaoDigital;
+    }
+
+    /**
+     * @return {@link #FASE_BUSCA_LOCAL} ou {@link #FASE_ALNS}
+     */
+    public int getFase() {
+        return fase;
+    }
+
+    public int getMelhorias() {
+        return melhorias;
+    }
+
+    /**
+     * Retorna quanto do orçamento de tempo já foi usado até este ponto de controle.
+     *
+     * @return Tempo consumido em milissegundos (somado entre retomadas)
+     */
+    public long getTempoConsumidoMillis() {
+        return tempoConsumidoMillis;
+    }
+
+    public long getSemente() {
+        return semente;
+    }
+
+    public int getQuantidadeViagens() {
+        return tamanhosViagens.length;
+    }
+
+    public int getQuantidadeParadas() {
+        return paradas.length;
+    }
+
+    /**
+     * Indica se um cliente ficou fora da solução gravada (nulo, sem localização ou ainda
+     * não atendido).
+     *
+     * @param cliente Índice do cliente
+     * @return true se o cliente não está em nenhuma viagem
+     */
+    public boolean isForaDaSolucao(int cliente) {
+        return (foraDaSolucao[cliente >>> 6] & (1L << cliente)) != 0;
+    }
+}
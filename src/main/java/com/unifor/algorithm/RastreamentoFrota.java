@@ -0,0 +1,593 @@
+package com.unifor.algorithm;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+import com.unifor.model.Cliente;
+import com.unifor.model.Ponto;
+import com.unifor.model.Rota;
+import com.unifor.model.Veiculo;
+import com.unifor.util.Distancia;
+
+/**
+ * Acompanhamento da frota em tempo real: recebe as posições dos veículos durante as
+ * viagens e replaneja as paradas restantes de cada viagem a partir da posição atual.
+ *
+ * As posições chegam de qualquer thread por {@link #atualizarPosicao(int, double, double)},
+ * que apenas acrescenta a atualização a uma fila sem bloqueio (ConcurrentLinkedQueue) e
+ * acorda a thread de replanejamento. Essa thread processa as atualizações em ordem de
+ * chegada; cada uma afeta só a viagem do próprio veículo:
+ * 1. o veículo consome autonomia pelo trecho andado desde a posição anterior (o trecho é o
+ *    que de fato foi percorrido: a autonomia restante pode ficar negativa, e o estado indica
+ *    {@link EstadoViagem#isAutonomiaExcedida()});
+ * 2. as paradas alcançadas (dentro do raio de chegada, na ordem prevista) são dadas como
+ *    entregues, e a carga a bordo diminui;
+ * 3. a ordem das paradas restantes é melhorada por 2-opt e realocação, com início fixo na
+ *    posição atual e fim na central (só mudanças que encurtam o trajeto são aceitas, então
+ *    uma viagem viável continua viável).
+ *
+ * O custo de cada atualização depende apenas do número de paradas restantes da viagem, e
+ * não do tamanho da frota. O estado de cada viagem é publicado como um {@link EstadoViagem}
+ * imutável, que pode ser consultado de qualquer thread; ouvintes recebem cada novo estado
+ * na thread de replanejamento e devem ser rápidos. Uma exceção no replanejamento ou em um
+ * ouvinte não interrompe a thread: ela é contada em {@link #getFalhas()} (a última fica em
+ * {@link #getUltimaFalha()}) e o processamento segue com a próxima atualização. As distâncias
+ * são Euclidianas, pois as posições informadas não pertencem a nenhuma tabela de distâncias
+ * do cenário.
+ */
+public class RastreamentoFrota {
+
+    // Raio padrão, em km, dentro do qual o veículo é considerado na parada
+    private static final double RAIO_CHEGADA_PADRAO = 0.05;
+
+    // Passadas de melhoria por atualização (cada passada é O(m²) nas m paradas restantes)
+    private static final int LIMITE_PASSADAS = 8;
+
+    // Melhora mínima para aceitar uma mudança (evita ciclos por arredondamento)
+    private static final double EPSILON = 1e-9;
+
+    private final Ponto central;
+    private final ConcurrentLinkedQueue<Atualizacao> fila = new ConcurrentLinkedQueue<>();
+    private final CopyOnWriteArrayList<Consumer<EstadoViagem>> ouvintes = new CopyOnWriteArrayList<>();
+
+    // Viagens por identificador do veículo (cópia na escrita: o registro é raro)
+    private volatile Viagem[] viagens = new Viagem[0];
+
+    private volatile double raioChegada = RAIO_CHEGADA_PADRAO;
+    private volatile Thread trabalhador;
+    private volatile boolean encerrado;
+
+    // Estatísticas de latência (escritas só pela thread de replanejamento)
+    private volatile long atualizacoesProcessadas;
+    private volatile long latenciaTotalNanos;
+    private volatile long latenciaMaximaNanos;
+    private volatile long falhas;
+    private volatile RuntimeException ultimaFalha;
+
+    /**
+     * @param central Ponto da central de distribuição (fim de todas as viagens)
+     * @throws IllegalArgumentException se a central for nula
+     */
+    public RastreamentoFrota(Ponto central) {
+        if (central == null) {
+            throw new IllegalArgumentException("A central não pode ser nula");
+        }
+        this.central = central;
+    }
+
+    public double getRaioChegada() {
+        return raioChegada;
+    }
+
+    /**
+     * Define a distância a partir da qual o veículo é considerado na próxima parada.
+     *
+     * @param raioChegada Raio em km (não negativo)
+     * @throws IllegalArgumentException se o raio for negativo ou não numérico
+     */
+    public void setRaioChegada(double raioChegada) {
+        if (!(raioChegada >= 0)) {
+            throw new IllegalArgumentException("O raio de chegada não pode ser negativo");
+        }
+        this.raioChegada = raioChegada;
+    }
+
+    /**
+     * Registra uma viagem em andamento, com o veículo saindo da central carregado.
+     *
+     * A partir daqui o veículo é atualizado apenas pela thread de replanejamento
+     * (localização, carga a bordo e autonomia restante); consulte o estado publicado em
+     * vez de lê-lo diretamente.
+     *
+     * @param veiculo Veículo que executa a viagem
+     * @param viagem Viagem com as paradas na ordem planejada
+     * @return Identificador do veículo, usado nas atualizações de posição
+     * @throws IllegalArgumentException se algum parâmetro for nulo
+     */
+    public synchronized int registrarViagem(Veiculo veiculo, Rota viagem) {
+        if (veiculo == null || viagem == null) {
+            throw new IllegalArgumentException("O veículo e a viagem não podem ser nulos");
+        }
+
+        int id = viagens.length;
+        Viagem nova = new Viagem(id, veiculo, viagem.getPontos(), central);
+        Viagem[] ampliadas = Arrays.copyOf(viagens, id + 1);
+        ampliadas[id] = nova;
+        viagens = ampliadas;
+        return id;
+    }
+
+    /**
+     * Informa a posição atual de um veículo (pode ser chamado de qualquer thread, sem bloqueio).
+     *
+     * @param idVeiculo Identificador devolvido por {@link #registrarViagem(Veiculo, Rota)}
+     * @param x Coordenada X
+     * @param y Coordenada Y
+     * @throws IllegalArgumentException se o veículo não estiver registrado
+     */
+    public void atualizarPosicao(int idVeiculo, double x, double y) {
+        if (idVeiculo < 0 || idVeiculo >= viagens.length) {
+            throw new IllegalArgumentException("Veículo não registrado: " + idVeiculo);
+        }
+        fila.offer(new Atualizacao(idVeiculo, x, y, System.nanoTime()));
+
+        Thread thread = trabalhador;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    /**
+     * Inicia a thread de replanejamento (daemon). Chamadas repetidas não têm efeito.
+     */
+    public synchronized void iniciar() {
+        if (trabalhador != null) {
+            return;
+        }
+        encerrado = false;
+        Thread thread = new Thread(this::executar, "rastreamento-frota");
+        thread.setDaemon(true);
+        trabalhador = thread;
+        thread.start();
+    }
+
+    /**
+     * Processa as atualizações já recebidas e encerra a thread de replanejamento.
+     *
+     * @throws InterruptedException se a thread for interrompida durante a espera
+     */
+    public void encerrar() throws InterruptedException {
+        Thread thread;
+        synchronized (this) {
+            thread = trabalhador;
+            encerrado = true;
+        }
+        if (thread != null) {
+            LockSupport.unpark(thread);
+            thread.join();
+        }
+    }
+
+    private void executar() {
+        try {
+            while (true) {
+                Atualizacao atualizacao = fila.poll();
+                if (atualizacao != null) {
+                    processar(atualizacao);
+                } else if (encerrado) {
+                    return;
+                } else {
+                    // Sem atualizações: dorme até ser acordada por atualizarPosicao
+                    LockSupport.parkNanos(this, TimeUnit.MILLISECONDS.toNanos(10));
+                }
+            }
+        } finally {
+            // Também em caso de erro fatal: permite iniciar de novo
+            synchronized (this) {
+                if (trabalhador == Thread.currentThread()) {
+                    trabalhador = null;
+                }
+            }
+        }
+    }
+
+    private void processar(Atualizacao atualizacao) {
+        Viagem viagem = viagens[atualizacao.idVeiculo];
+        EstadoViagem estado;
+        try {
+            estado = viagem.atualizar(atualizacao.x, atualizacao.y, raioChegada);
+        } catch (RuntimeException e) {
+            registrarFalha(e);
+            return;
+        }
+
+        for (Consumer<EstadoViagem> ouvinte : ouvintes) {
+            try {
+                ouvinte.accept(estado);
+            } catch (RuntimeException e) {
+                registrarFalha(e);
+            }
+        }
+
+        long latencia = System.nanoTime() - atualizacao.recebidaNanos;
+        latenciaTotalNanos += latencia;
+        if (latencia > latenciaMaximaNanos) {
+            latenciaMaximaNanos = latencia;
+        }
+        atualizacoesProcessadas++;
+    }
+
+    /**
+     * Retorna o último estado publicado de uma viagem.
+     *
+     * @param idVeiculo Identificador do veículo
+     * @return Estado imutável da viagem
+     * @throws IllegalArgumentException se o veículo não estiver registrado
+     */
+    public EstadoViagem getEstado(int idVeiculo) {
+        Viagem[] atuais = viagens;
+        if (idVeiculo < 0 || idVeiculo >= atuais.length) {
+            throw new IllegalArgumentException("Veículo não registrado: " + idVeiculo);
+        }
+        return atuais[idVeiculo].estado;
+    }
+
+    public int getQuantidadeVeiculos() {
+        return viagens.length;
+    }
+
+    /**
+     * Registra um ouvinte que recebe o novo estado de cada viagem atualizada.
+     *
+     * @param ouvinte Chamado na thread de replanejamento
+     * @throws IllegalArgumentException se o ouvinte for nulo
+     */
+    public void adicionarOuvinte(Consumer<EstadoViagem> ouvinte) {
+        if (ouvinte == null) {
+            throw new IllegalArgumentException("O ouvinte não pode ser nulo");
+        }
+        ouvintes.add(ouvinte);
+    }
+
+    public void removerOuvinte(Consumer<EstadoViagem> ouvinte) {
+        ouvintes.remove(ouvinte);
+    }
+
+    public long getAtualizacoesProcessadas() {
+        return atualizacoesProcessadas;
+    }
+
+    /**
+     * Retorna a latência média entre a chegada de uma atualização e a publicação do novo
+     * estado (espera na fila + replanejamento + ouvintes).
+     *
+     * @return Latência média em nanossegundos (0 se nada foi processado)
+     */
+    public long getLatenciaMediaNanos() {
+        long processadas = atualizacoesProcessadas;
+        return processadas == 0 ? 0 : latenciaTotalNanos / processadas;
+    }
+
+    public long getLatenciaMaximaNanos() {
+        return latenciaMaximaNanos;
+    }
+
+    /**
+     * Retorna quantas exceções (no replanejamento ou nos ouvintes) já foram capturadas.
+     *
+     * @return Número de falhas
+     */
+    public long getFalhas() {
+        return falhas;
+    }
+
+    /**
+     * Retorna a última exceção capturada na thread de replanejamento.
+     *
+     * @return Última falha, ou null se não houve nenhuma
+     */
+    public RuntimeException getUltimaFalha() {
+        return ultimaFalha;
+    }
+
+    private void registrarFalha(RuntimeException e) {
+        ultimaFalha = e;
+        falhas++;
+    }
+
+    /**
+     * Estado publicado de uma viagem após uma atualização de posição.
+     */
+    public static final class EstadoViagem {
+        private final int idVeiculo;
+        private final Ponto localizacao;
+        private final List<Cliente> paradasRestantes;
+        private final double distanciaRestante;
+        private final double cargaAtual;
+        private final double autonomiaRestante;
+
+        private EstadoViagem(int idVeiculo, Ponto localizacao, List<Cliente> paradasRestantes,
+                             double distanciaRestante, double cargaAtual, double autonomiaRestante) {
+            this.idVeiculo = idVeiculo;
+            this.localizacao = localizacao;
+            this.paradasRestantes = paradasRestantes;
+            this.distanciaRestante = distanciaRestante;
+            this.cargaAtual = cargaAtual;
+            this.autonomiaRestante = autonomiaRestante;
+        }
+
+        public int getIdVeiculo() {
+            return idVeiculo;
+        }
+
+        public Ponto getLocalizacao() {
+            return localizacao;
+        }
+
+        /**
+         * Retorna as paradas ainda não atendidas, na ordem replanejada.
+         *
+         * @return Lista imutável de clientes
+         */
+        public List<Cliente> getParadasRestantes() {
+            return paradasRestantes;
+        }
+
+        /**
+         * Retorna a distância da posição atual até a central passando pelas paradas restantes.
+         *
+         * @return Distância restante da viagem
+         */
+        public double getDistanciaRestante() {
+            return distanciaRestante;
+        }
+
+        public double getCargaAtual() {
+            return cargaAtual;
+        }
+
+        /**
+         * Retorna a autonomia restante do veículo.
+         *
+         * @return Autonomia restante (negativa se o veículo já andou além da autonomia máxima)
+         */
+        public double getAutonomiaRestante() {
+            return autonomiaRestante;
+        }
+
+        /**
+         * Indica se o veículo já percorreu mais que a sua autonomia máxima nesta viagem.
+         *
+         * @return true se a autonomia restante ficou negativa
+         */
+        public boolean isAutonomiaExcedida() {
+            return autonomiaRestante < 0;
+        }
+
+        public boolean isConcluida() {
+            return paradasRestantes.isEmpty();
+        }
+    }
+
+    /**
+     * Atualização de posição na fila de entrada.
+     */
+    private static final class Atualizacao {
+        final int idVeiculo;
+        final double x;
+        final double y;
+        final long recebidaNanos;
+
+        Atualizacao(int idVeiculo, double x, double y, long recebidaNanos) {
+            this.idVeiculo = idVeiculo;
+            this.x = x;
+            this.y = y;
+            this.recebidaNanos = recebidaNanos;
+        }
+    }
+
+    /**
+     * Viagem em andamento (alterada só pela thread de replanejamento, exceto {@link #estado}).
+     *
+     * As paradas pendentes ocupam as posições [proxima, total) dos vetores. No replanejamento,
+     * os nós são a posição atual (0), as m paradas pendentes (1..m) e a central (m + 1); as
+     * distâncias entre eles são calculadas uma vez em uma matriz, e os movimentos só permutam
+     * a ordem dos nós.
+     */
+    private static final class Viagem {
+        private final int id;
+        private final Veiculo veiculo;
+        private final Ponto central;
+        private final Cliente[] paradas;
+        private final double[] px;
+        private final double[] py;
+
+        // Vetores de trabalho do replanejamento (reutilizados entre atualizações)
+        private final double[] nx;
+        private final double[] ny;
+        private final double[] distancias;
+        private final int[] ordem;
+        private final Cliente[] copia;
+        private int nos;
+        private int proxima;
+
+        private volatile EstadoViagem estado;
+
+        Viagem(int id, Veiculo veiculo, List<Cliente> pontos, Ponto central) {
+            this.id = id;
+            this.veiculo = veiculo;
+            this.central = central;
+
+            int total = 0;
+            Cliente[] validas = new Cliente[pontos.size()];
+            double carga = 0;
+            for (Cliente cliente : pontos) {
+                if (cliente != null && cliente.getLocalizacao() != null) {
+                    validas[total++] = cliente;
+                    carga += cliente.getDemandaCarga();
+                }
+            }
+
+            this.paradas = Arrays.copyOf(validas, total);
+            this.px = new double[total];
+            this.py = new double[total];
+            for (int i = 0; i < total; i++) {
+                px[i] = paradas[i].getLocalizacao().getX();
+                py[i] = paradas[i].getLocalizacao().getY();
+            }
+            this.nx = new double[total + 2];
+            this.ny = new double[total + 2];
+            this.distancias = new double[(total + 2) * (total + 2)];
+            this.ordem = new int[total + 2];
+            this.copia = new Cliente[total];
+
+            // O veículo sai da central carregado com toda a viagem
+            veiculo.setLocalizacaoAtual(central);
+            veiculo.setCargaAtual(carga);
+            veiculo.setAutonomiaRestante(veiculo.getAutonomiaMaxima());
+            this.estado = publicar();
+        }
+
+        EstadoViagem atualizar(double x, double y, double raioChegada) {
+            Ponto anterior = veiculo.getLocalizacaoAtual();
+            // Subtração direta: consumirAutonomia ignoraria um trecho maior que a autonomia restante
+            double trecho = Distancia.calcularDistanciaEuclidiana(anterior.getX(), anterior.getY(), x, y);
+            veiculo.setAutonomiaRestante(veiculo.getAutonomiaRestante() - trecho);
+            veiculo.setLocalizacaoAtual(new Ponto(x, y));
+
+            // ENTREGAS: paradas alcançadas na ordem prevista
+            while (proxima < paradas.length
+                   && Distancia.calcularDistanciaEuclidiana(x, y, px[proxima], py[proxima]) <= raioChegada) {
+                veiculo.setCargaAtual(Math.max(0, veiculo.getCargaAtual() - paradas[proxima].getDemandaCarga()));
+                proxima++;
+            }
+
+            // REPLANEJAMENTO LOCAL: só as paradas restantes desta viagem
+            int m = paradas.length - proxima;
+            if (m > 1) {
+                replanejar(x, y, m);
+            }
+
+            estado = publicar();
+            return estado;
+        }
+
+        /**
+         * Melhora a ordem das m paradas pendentes por 2-opt e realocação de uma parada.
+         */
+        private void replanejar(double x, double y, int m) {
+            nos = m + 2;
+            nx[0] = x;
+            ny[0] = y;
+            for (int k = 1; k <= m; k++) {
+                nx[k] = px[proxima + k - 1];
+                ny[k] = py[proxima + k - 1];
+            }
+            nx[m + 1] = central.getX();
+            ny[m + 1] = central.getY();
+
+            for (int a = 0; a < nos; a++) {
+                ordem[a] = a;
+                distancias[a * nos + a] = 0;
+                for (int b = a + 1; b < nos; b++) {
+                    double distancia = Distancia.calcularDistanciaEuclidiana(nx[a], ny[a], nx[b], ny[b]);
+                    distancias[a * nos + b] = distancia;
+                    distancias[b * nos + a] = distancia;
+                }
+            }
+
+            boolean melhorou = true;
+            for (int passada = 0; melhorou && passada < LIMITE_PASSADAS; passada++) {
+                melhorou = false;
+
+                // 2-OPT: inverter o trecho [i, j]
+                for (int i = 1; i < m; i++) {
+                    for (int j = i + 1; j <= m; j++) {
+                        double delta = d(i - 1, j) + d(i, j + 1) - d(i - 1, i) - d(j, j + 1);
+                        if (delta < -EPSILON) {
+                            inverter(i, j);
+                            melhorou = true;
+                        }
+                    }
+                }
+
+                // REALOCAÇÃO: mover a parada i para entre k e k + 1
+                for (int i = 1; i <= m; i++) {
+                    double ganhoRemocao = d(i - 1, i) + d(i, i + 1) - d(i - 1, i + 1);
+                    for (int k = 0; k <= m; k++) {
+                        if (k == i || k == i - 1) {
+                            continue;
+                        }
+                        if (d(k, i) + d(i, k + 1) - d(k, k + 1) - ganhoRemocao < -EPSILON) {
+                            mover(i, k);
+                            melhorou = true;
+                            break;
+                        }
+                    }
+                }
+            }
+
+            // Aplicar a nova ordem às paradas pendentes
+            System.arraycopy(paradas, proxima, copia, 0, m);
+            for (int k = 1; k <= m; k++) {
+                int no = ordem[k];
+                px[proxima + k - 1] = nx[no];
+                py[proxima + k - 1] = ny[no];
+                paradas[proxima + k - 1] = copia[no - 1];
+            }
+        }
+
+        /**
+         * Distância entre os nós nas posições a e b da rota.
+         */
+        private double d(int a, int b) {
+            return distancias[ordem[a] * nos + ordem[b]];
+        }
+
+        private void inverter(int i, int j) {
+            for (; i < j; i++, j--) {
+                int temp = ordem[i];
+                ordem[i] = ordem[j];
+                ordem[j] = temp;
+            }
+        }
+
+        /**
+         * Move a posição i para logo depois da posição k (deslocando as intermediárias).
+         */
+        private void mover(int i, int k) {
+            int no = ordem[i];
+            if (k > i) {
+                System.arraycopy(ordem, i + 1, ordem, i, k - i);
+                ordem[k] = no;
+            } else {
+                System.arraycopy(ordem, k + 1, ordem, k + 2, i - k - 1);
+                ordem[k + 1] = no;
+            }
+        }
+
+        private EstadoViagem publicar() {
+            Ponto local = veiculo.getLocalizacaoAtual();
+            double ax = local.getX();
+            double ay = local.getY();
+            double distancia = 0;
+            for (int i = proxima; i < paradas.length; i++) {
+                distancia += Distancia.calcularDistanciaEuclidiana(ax, ay, px[i], py[i]);
+                ax = px[i];
+                ay = py[i];
+            }
+            distancia += Distancia.calcularDistanciaEuclidiana(ax, ay, central.getX(), central.getY());
+
+            List<Cliente> restantes = Collections.unmodifiableList(
+                Arrays.asList(Arrays.copyOfRange(paradas, proxima, paradas.length)));
+            return new EstadoViagem(id, local, restantes, distancia,
+                                    veiculo.getCargaAtual(), veiculo.getAutonomiaRestante());
+        }
+    }
+}
@@ -1,13 +1,30 @@
 package com.unifor.algorithm;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import com.unifor.model.Cliente;
+import com.unifor.model.PlanoRotas;
 import com.unifor.model.Ponto;
 import com.unifor.model.Rota;
+import com.unifor.model.TabelaClientes;
 import com.unifor.model.Veiculo;
-import com.unifor.util.Distancia;
+import com.unifor.util.ProvedorDistancia;
+import com.unifor.util.ProvedorEuclidiano;
+import com.unifor.util.TabelaDistancias;
 
 /**
  * Classe responsável pela roteirização de entregas utilizando heurísticas gulosas.
@@ -17,10 +34,148 @@ import com.unifor.util.Distancia;
  */
 public class Roteirizador {
 
+    // Abaixo disso a varredura simples é mais barata que montar a busca espacial
+    private static final int MINIMO_CLIENTES_BUSCA_ESPACIAL = 64;
+
+    // Capacidade inicial de cada viagem emitida em fluxo (cresce por duplicação)
+    private static final int PARADAS_ESPERADAS_VIAGEM = 16;
+
+    // Vizinhos por cliente na busca local quando não há grafo de candidatos configurado
+    private static final int VIZINHOS_BUSCA_LOCAL = 10;
+
+    // Tarefas das múltiplas partidas (fixo: a divisão não pode depender dos núcleos)
+    private static final int TAREFAS_MULTIPLAS_PARTIDAS = 8;
+
+    // Fonte das distâncias entre central e clientes (Euclidiana por padrão)
+    private final ProvedorDistancia provedorDistancia;
+
+    // Cache opcional de resultados (null = sempre recalcular)
+    private final CacheRotas cache;
+
+    // Vizinhos pré-calculados por cliente na busca gulosa (0 = sempre percorrer todos)
+    private int vizinhosCandidatos;
+
+    // Amplitude do ruído nas distâncias no modo de múltiplas partidas
+    private double toleranciaMultiplasPartidas = 0.1;
+
+    // Pós-processamento de eliminação e equilíbrio de viagens (null = desativado)
+    private BalanceadorViagens balanceador;
+
     /**
-     * Construtor padrão.
+     * Construtor padrão (distância Euclidiana, sem cache de resultados).
      */
     public Roteirizador() {
+        this(new ProvedorEuclidiano(), null);
+    }
+
+    /**
+     * Construtor com cache de resultados.
+     * 
+     * Quando o cache é informado, cenários repetidos recebem uma lista imutável de rotas novas
+     * sobre o plano já calculado, sem executar a heurística novamente (o veículo recebido não
+     * é alterado nesse caso).
+     * 
+     * @param cache Cache de rotas compartilhado, ou null para desativar
+     */
+    public Roteirizador(CacheRotas cache) {
+        this(new ProvedorEuclidiano(), cache);
+    }
+
+    /**
+     * Construtor com provedor de distâncias (ex.: matriz pré-calculada da malha viária).
+     * 
+     * @param provedorDistancia Fonte das distâncias
+     */
+    public Roteirizador(ProvedorDistancia provedorDistancia) {
+        this(provedorDistancia, null);
+    }
+
+    /**
+     * Construtor completo.
+     * 
+     * Um mesmo cache só deve ser compartilhado entre roteirizadores com o mesmo provedor,
+     * pois a impressão digital do cenário não considera a fonte das distâncias.
+     * 
+     * @param provedorDistancia Fonte das distâncias
+     * @param cache Cache de rotas compartilhado, ou null para desativar
+     * @throws IllegalArgumentException se o provedor for nulo
+     */
+    public Roteirizador(ProvedorDistancia provedorDistancia, CacheRotas cache) {
+        if (provedorDistancia == null) {
+            throw new IllegalArgumentException("O provedor de distâncias não pode ser nulo");
+        }
+        this.provedorDistancia = provedorDistancia;
+        this.cache = cache;
+    }
+
+    public ProvedorDistancia getProvedorDistancia() {
+        return provedorDistancia;
+    }
+
+    public CacheRotas getCache() {
+        return cache;
+    }
+
+    public int getVizinhosCandidatos() {
+        return vizinhosCandidatos;
+    }
+
+    /**
+     * Ativa o grafo de candidatos (k vizinhos mais próximos) na busca gulosa.
+     * 
+     * Para cenários grandes, a escolha do próximo cliente passa a consultar apenas os k
+     * vizinhos espaciais do cliente atual, recorrendo à varredura completa só quando nenhum
+     * deles é viável. O resultado é igual ao da varredura completa sempre que o vizinho
+     * viável mais próximo estiver entre os k candidatos; caso contrário é uma aproximação.
+     * Os vizinhos são definidos pela distância Euclidiana, mesmo com outro provedor.
+     * 
+     * @param vizinhosCandidatos Número de vizinhos por cliente (0 desativa)
+     * @throws IllegalArgumentException se o valor for negativo
+     */
+    public void setVizinhosCandidatos(int vizinhosCandidatos) {
+        if (vizinhosCandidatos < 0) {
+            throw new IllegalArgumentException("O número de vizinhos candidatos não pode ser negativo");
+        }
+        this.vizinhosCandidatos = vizinhosCandidatos;
+    }
+
+    public double getToleranciaMultiplasPartidas() {
+        return toleranciaMultiplasPartidas;
+    }
+
+    /**
+     * Define a amplitude do ruído nas partidas aleatorizadas.
+     * 
+     * Com tolerância 0,1 (padrão), cada candidato concorre com a distância multiplicada por
+     * um fator sorteado entre 1 e 1,1: só quem está a menos de 10% do mais próximo pode ser
+     * escolhido no lugar dele. Zero torna as partidas iguais à gulosa.
+     * 
+     * @param tolerancia Amplitude relativa do ruído (não negativa)
+     * @throws IllegalArgumentException se o valor for negativo ou não numérico
+     */
+    public void setToleranciaMultiplasPartidas(double tolerancia) {
+        if (!(tolerancia >= 0)) {
+            throw new IllegalArgumentException("A tolerância não pode ser negativa");
+        }
+        this.toleranciaMultiplasPartidas = tolerancia;
+    }
+
+    public boolean isMinimizarViagens() {
+        return balanceador != null;
+    }
+
+    /**
+     * Ativa o pós-processamento que minimiza o número de viagens e equilibra as restantes.
+     * 
+     * A gulosa costuma terminar com viagens quase vazias; com esta opção, {@link #calcularPlano}
+     * e {@link #calcularRotas} passam o resultado pelo {@link BalanceadorViagens}, que tenta
+     * redistribuir os clientes das viagens mais leves até o limite inferior de viagens e depois
+     * equilibra carga e distância (aumento de distância total de no máximo 2%).
+     * 
+     * @param minimizarViagens true para ativar
+     */
+    public void setMinimizarViagens(boolean minimizarViagens) {
+        this.balanceador = minimizarViagens ? new BalanceadorViagens(provedorDistancia) : null;
     }
 
     /**
@@ -35,7 +190,7 @@ public class Roteirizador {
      * @param clientes Lista de clientes a serem atendidos
      * @param veiculo Veículo que realizará as entregas
      * @param central Ponto da central de distribuição
-     * @return Lista de Rotas calculadas (múltiplas viagens)
+     * @return Lista de Rotas calculadas (múltiplas viagens); imutável quando há cache
      * @throws RuntimeException se algum cliente for inviável (demanda > capacidade ou fora da autonomia)
      */
     public List<Rota> calcularRotas(List<Cliente> clientes, Veiculo veiculo, Ponto central) {
@@ -48,79 +203,706 @@ public class Roteirizador {
             return new ArrayList<>();
         }
 
+        if (cache == null) {
+            return calcularRotasSemCache(clientes, veiculo, central);
+        }
+
+        // Antes do cache: um cenário com coletas nunca pode receber rotas de outro cenário
+        rejeitarColetas(clientes);
+
+        // CACHE: cenário idêntico já calculado é devolvido sem recomputação
+        long impressaoDigital = impressaoDigital(clientes, veiculo, central);
+        List<Rota> rotasEmCache = cache.buscar(impressaoDigital);
+
+        if (rotasEmCache != null) {
+            return rotasEmCache;
+        }
+
+        return cache.armazenar(impressaoDigital, calcularPlano(clientes, veiculo, central));
+    }
+
+    /**
+     * Calcula os limites inferiores do cenário, para medir o gap das rotas.
+     * 
+     * Com cache, o limite fica guardado junto do plano do mesmo cenário (depois de
+     * {@link #calcularRotas(List, Veiculo, Ponto)}), e um acerto não refaz a árvore geradora
+     * mínima, que custa bem mais que devolver as rotas em cache.
+     * 
+     * @param clientes Lista de clientes
+     * @param veiculo Veículo (capacidade e autonomia)
+     * @param central Ponto da central de distribuição
+     * @return Limites do cenário
+     * @throws IllegalArgumentException se algum parâmetro for nulo
+     */
+    public LimiteInferior calcularLimiteInferior(List<Cliente> clientes, Veiculo veiculo, Ponto central) {
+        if (cache == null || clientes == null || veiculo == null || central == null) {
+            return LimiteInferior.calcular(clientes, veiculo, central);
+        }
+
+        long impressaoDigital = impressaoDigital(clientes, veiculo, central);
+        LimiteInferior limite = cache.buscarLimite(impressaoDigital);
+        if (limite == null) {
+            limite = LimiteInferior.calcular(clientes, veiculo, central);
+            cache.armazenarLimite(impressaoDigital, limite);
+        }
+        return limite;
+    }
+
+    /**
+     * Chave do cenário no cache, com as opções deste roteirizador.
+     */
+    private long impressaoDigital(List<Cliente> clientes, Veiculo veiculo, Ponto central) {
+        return CacheRotas.calcularImpressaoDigital(clientes, veiculo, central, vizinhosCandidatos,
+                                                   balanceador != null);
+    }
+
+    /**
+     * Executa a heurística gulosa de múltiplas viagens (entradas já validadas como não nulas).
+     * 
+     * @param clientes Lista de clientes a serem atendidos
+     * @param veiculo Veículo que realizará as entregas
+     * @param central Ponto da central de distribuição
+     * @return Lista de Rotas calculadas
+     */
+    private List<Rota> calcularRotasSemCache(List<Cliente> clientes, Veiculo veiculo, Ponto central) {
+        return new ArrayList<>(calcularPlano(clientes, veiculo, central).getRotas());
+    }
+
+    /**
+     * Calcula as viagens na representação compacta (vetores primitivos), sem usar o cache.
+     * 
+     * É a forma indicada para cenários muito grandes: o plano inteiro ocupa apenas alguns
+     * vetores, e as rotas de {@link PlanoRotas#getRotas()} são visões sobre eles.
+     * 
+     * @param clientes Lista de clientes a serem atendidos
+     * @param veiculo Veículo que realizará as entregas
+     * @param central Ponto da central de distribuição
+     * @return Plano compacto com todas as viagens
+     * @throws RuntimeException se algum cliente for inviável (demanda > capacidade ou fora da autonomia)
+     */
+    public PlanoRotas calcularPlano(List<Cliente> clientes, Veiculo veiculo, Ponto central) {
+        if (clientes == null || veiculo == null || central == null || clientes.isEmpty()) {
+            return new PlanoRotas.Construtor(clientes, 0).construir();
+        }
+
+        // Vincular o provedor ao cenário: índice 0 = central, i + 1 = clientes.get(i)
+        return calcularPlano(clientes, veiculo, central, provedorDistancia.vincular(central, clientes));
+    }
+
+    /**
+     * Calcula as viagens sobre uma tabela já vinculada ao cenário (clientes não vazios).
+     * 
+     * @param tabela Tabela de distâncias do cenário (índice 0 = central, i + 1 = clientes.get(i))
+     */
+    PlanoRotas calcularPlano(List<Cliente> clientes, Veiculo veiculo, Ponto central, TabelaDistancias tabela) {
+        PlanoRotas plano = construirPlano(clientes, veiculo, central, tabela);
+
+        if (balanceador != null && plano.getQuantidadeViagens() > 1) {
+            plano = balanceador.balancear(plano, tabela, veiculo);
+        }
+        return plano;
+    }
+
+    /**
+     * Calcula as viagens de um cenário guardado fora do heap ({@link TabelaClientes}).
+     * 
+     * A heurística lê coordenadas, demandas e prioridades direto da tabela, sem criar objetos
+     * Cliente; durante o cálculo só existem os vetores primitivos de trabalho, liberados ao
+     * fim. As viagens são as mesmas de {@link #calcularPlano(List, Veiculo, Ponto)} para a
+     * lista equivalente. O plano copia os registros das paradas, então continua válido depois
+     * que a tabela for liberada; as rotas de {@link PlanoRotas#getRotas()} criam os clientes
+     * sob demanda a partir dessa cópia. O cache não é utilizado.
+     * 
+     * @param clientes Tabela de clientes a serem atendidos
+     * @param veiculo Veículo que realizará as entregas
+     * @param central Ponto da central de distribuição
+     * @return Plano compacto com todas as viagens
+     * @throws RuntimeException se algum cliente for inviável (demanda > capacidade ou fora da autonomia)
+     */
+    public PlanoRotas calcularPlano(TabelaClientes clientes, Veiculo veiculo, Ponto central) {
+        if (clientes == null) {
+            return new PlanoRotas.Construtor((List<Cliente>) null, 0).construir();
+        }
+        if (veiculo == null || central == null || clientes.getQuantidade() == 0) {
+            return new PlanoRotas.Construtor(clientes, 0).construir();
+        }
+
+        TabelaDistancias tabela = provedorDistancia.vincular(central, clientes);
+        validarViabilidadeClientes(clientes, veiculo, tabela);
+
+        PlanoRotas.Construtor plano = new PlanoRotas.Construtor(clientes, clientes.getQuantidade());
+        Construcao construcao = Construcao.de(clientes, veiculo, central, tabela, vizinhosCandidatos);
+        while (!construcao.isConcluida()) {
+            construcao.proximaViagem(plano);
+        }
+
+        PlanoRotas resultado = plano.construir();
+        if (balanceador != null && resultado.getQuantidadeViagens() > 1) {
+            resultado = balanceador.balancear(resultado, tabela, veiculo);
+        }
+        return resultado;
+    }
+
+    /**
+     * Executa a heurística gulosa sobre uma tabela já vinculada ao cenário.
+     * 
+     * @param clientes Lista de clientes a serem atendidos (não vazia)
+     * @param veiculo Veículo que realizará as entregas
+     * @param central Ponto da central de distribuição
+     * @param tabela Tabela de distâncias do cenário
+     * @return Plano compacto com todas as viagens
+     * @throws RuntimeException se algum cliente for inviável
+     */
+    private PlanoRotas construirPlano(List<Cliente> clientes, Veiculo veiculo, Ponto central,
+                                      TabelaDistancias tabela) {
         // VALIDAÇÃO CRÍTICA: Verificar se todos os clientes são viáveis
-        validarViabilidadeClientes(clientes, veiculo, central);
+        validarViabilidadeClientes(clientes, veiculo, tabela);
 
-        // Lista de rotas (múltiplas viagens)
-        List<Rota> rotas = new ArrayList<>();
+        // Plano compacto: um único conjunto de vetores para todas as viagens
+        PlanoRotas.Construtor plano = new PlanoRotas.Construtor(clientes, clientes.size());
 
-        // Criar cópia da lista de clientes para não modificar a original
-        List<Cliente> naoVisitados = new ArrayList<>(clientes);
+        Construcao construcao = Construcao.de(clientes, veiculo, central, tabela, vizinhosCandidatos);
+        while (!construcao.isConcluida()) {
+            construcao.proximaViagem(plano);
+        }
 
-        // ORDENAÇÃO INICIAL: Ordenar por prioridade decrescente (REQUISITO)
-        Ordenacao.quickSort(naoVisitados);
+        return plano.construir();
+    }
 
-        // LOOP PRINCIPAL: Enquanto houver clientes não atendidos
-        while (!naoVisitados.isEmpty()) {
-            // Iniciar nova viagem
-            Rota rotaAtual = new Rota();
-            
+    /**
+     * Calcula as viagens sob demanda: cada viagem é entregue assim que o veículo volta à
+     * central, antes de as seguintes serem planejadas.
+     * 
+     * As viagens são as mesmas de {@link #calcularPlano(List, Veiculo, Ponto)} com o
+     * pós-processamento de {@link #setMinimizarViagens(boolean)} desativado (ele precisa do
+     * plano inteiro) e sem usar o cache. Cada rota emitida é independente das demais, então
+     * quem só exporta as viagens mantém em memória apenas a viagem corrente, além do estado
+     * da heurística. O fluxo é sequencial e preguiçoso: a viabilidade dos clientes é verificada
+     * nesta chamada, e cada viagem é calculada quando o consumidor a pede. O veículo informado
+     * é alterado durante o consumo, como em {@link #calcularRotas(List, Veiculo, Ponto)}.
+     * 
+     * @param clientes Lista de clientes a serem atendidos
+     * @param veiculo Veículo que realizará as entregas
+     * @param central Ponto da central de distribuição
+     * @return Fluxo ordenado das viagens
+     * @throws RuntimeException se algum cliente for inviável (demanda > capacidade ou fora da autonomia)
+     */
+    public Stream<Rota> calcularRotasEmFluxo(List<Cliente> clientes, Veiculo veiculo, Ponto central) {
+        if (clientes == null || veiculo == null || central == null || clientes.isEmpty()) {
+            return Stream.empty();
+        }
+
+        TabelaDistancias tabela = provedorDistancia.vincular(central, clientes);
+        validarViabilidadeClientes(clientes, veiculo, tabela);
+        Construcao construcao = Construcao.de(clientes, veiculo, central, tabela, vizinhosCandidatos);
+
+        Spliterator<Rota> viagens = new Spliterators.AbstractSpliterator<Rota>(
+                Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL) {
+            @Override
+            public boolean tryAdvance(Consumer<? super Rota> consumidor) {
+                if (construcao.isConcluida()) {
+                    return false;
+                }
+                // Um plano de uma única viagem por rota emitida: nada fica retido entre viagens
+                PlanoRotas.Construtor viagem = new PlanoRotas.Construtor(clientes, PARADAS_ESPERADAS_VIAGEM);
+                construcao.proximaViagem(viagem);
+                consumidor.accept(viagem.construir().getRotas().get(0));
+                return true;
+            }
+        };
+        return StreamSupport.stream(viagens, false);
+    }
+
+    /**
+     * Estado da heurística gulosa entre uma viagem e a seguinte.
+     * 
+     * Guarda os pendentes e as ordens auxiliares do cenário; cada chamada a
+     * {@link #proximaViagem(PlanoRotas.Construtor)} planeja uma viagem completa (da saída
+     * da central ao retorno) e a acrescenta ao construtor informado.
+     */
+    private static final class Construcao {
+        private final Veiculo veiculo;
+        private final Ponto central;
+        private final TabelaDistancias tabela;
+        private final double[] demandas;
+        private final ListaNaoVisitados naoVisitados;
+        private final int[] ordemPartida;
+        private final int[] ordemDemanda;
+        private final GrafoVizinhanca grafo;
+        private final BuscaPendentes busca;
+        private int proximaPartida;
+        private int menorDemanda;
+
+        /**
+         * @param quantidadeClientes Número total de clientes do cenário
+         * @param ordem Índices dos clientes válidos, em ordem decrescente de prioridade
+         * @param demandas Demanda de cada cliente por índice
+         * @param veiculo Veículo que realizará as entregas
+         * @param central Ponto da central de distribuição
+         * @param tabela Tabela de distâncias do cenário
+         * @param vizinhosCandidatos Vizinhos por cliente no grafo de candidatos (0 = sem grafo)
+         * @param construtorGrafo Constrói o grafo de candidatos para um dado k
+         */
+        Construcao(int quantidadeClientes, int[] ordem, double[] demandas, Veiculo veiculo, Ponto central,
+                   TabelaDistancias tabela, int vizinhosCandidatos, IntFunction<GrafoVizinhanca> construtorGrafo) {
+            this.veiculo = veiculo;
+            this.central = central;
+            this.tabela = tabela;
+            this.demandas = demandas;
+            int validos = ordem.length;
+
+            this.naoVisitados = new ListaNaoVisitados(ordem, quantidadeClientes);
+
+            // PARTIDAS DA CENTRAL: clientes por distância à central (empates mantêm a prioridade).
+            // No início de cada viagem o veículo está vazio e com autonomia cheia, e a validação
+            // garante que todo cliente cabe; o escolhido é o primeiro ainda pendente nesta ordem,
+            // o que evita uma varredura completa por viagem.
+            this.ordemPartida = ordenarPorDistanciaCentral(ordem, tabela, quantidadeClientes);
+
+            // MENOR DEMANDA PENDENTE: quando nem ela cabe, a viagem termina sem varrer os pendentes
+            this.ordemDemanda = ordem.clone();
+            Ordenacao.mergeSortIndices(ordemDemanda, demandas);
+
+            // GRAFO DE CANDIDATOS: só compensa quando há mais clientes do que vizinhos por cliente
+            this.grafo = (vizinhosCandidatos > 0 && validos > vizinhosCandidatos + 1)
+                ? construtorGrafo.apply(vizinhosCandidatos)
+                : null;
+
+            // BUSCA ESPACIAL EXATA: com distância Euclidiana, substitui a varredura completa
+            this.busca = (tabela instanceof ProvedorEuclidiano.TabelaEuclidiana
+                          && validos > MINIMO_CLIENTES_BUSCA_ESPACIAL)
+                ? new BuscaPendentes((ProvedorEuclidiano.TabelaEuclidiana) tabela, ordem, quantidadeClientes)
+                : null;
+        }
+
+        /**
+         * Estado inicial para uma lista de clientes (a lista original não é modificada).
+         */
+        static Construcao de(List<Cliente> clientes, Veiculo veiculo, Ponto central, TabelaDistancias tabela,
+                             int vizinhosCandidatos) {
+            // Índices dos clientes válidos
+            int[] ordem = new int[clientes.size()];
+            double[] demandas = new double[clientes.size()];
+            int validos = 0;
+
+            for (int i = 0; i < clientes.size(); i++) {
+                Cliente cliente = clientes.get(i);
+                if (cliente != null && cliente.getLocalizacao() != null) {
+                    ordem[validos++] = i;
+                    demandas[i] = cliente.getDemandaCarga();
+                }
+            }
+            ordem = Arrays.copyOf(ordem, validos);
+
+            // ORDENAÇÃO INICIAL: Ordenar por prioridade decrescente (REQUISITO)
+            Ordenacao.quickSortIndices(ordem, clientes);
+
+            return new Construcao(clientes.size(), ordem, demandas, veiculo, central, tabela, vizinhosCandidatos,
+                                  k -> ConstrutorGrafoVizinhanca.construir(clientes, k));
+        }
+
+        /**
+         * Estado inicial para uma tabela de clientes fora do heap (nenhum Cliente é criado).
+         */
+        static Construcao de(TabelaClientes clientes, Veiculo veiculo, Ponto central, TabelaDistancias tabela,
+                             int vizinhosCandidatos) {
+            int quantidade = clientes.getQuantidade();
+            int[] ordem = new int[quantidade];
+            double[] demandas = new double[quantidade];
+            int[] prioridades = new int[quantidade];
+            int validos = 0;
+
+            for (int i = 0; i < quantidade; i++) {
+                if (clientes.isPresente(i)) {
+                    ordem[validos++] = i;
+                    demandas[i] = clientes.getDemandaCarga(i);
+                    prioridades[i] = clientes.getPrioridade(i);
+                }
+            }
+            ordem = Arrays.copyOf(ordem, validos);
+
+            // ORDENAÇÃO INICIAL: Ordenar por prioridade decrescente (REQUISITO)
+            Ordenacao.quickSortIndices(ordem, prioridades);
+
+            return new Construcao(quantidade, ordem, demandas, veiculo, central, tabela, vizinhosCandidatos,
+                                  k -> ConstrutorGrafoVizinhanca.construir(coordenadas(clientes, true),
+                                                                           coordenadas(clientes, false), k));
+        }
+
+        boolean isConcluida() {
+            return naoVisitados.isEmpty();
+        }
+
+        /**
+         * Planeja a próxima viagem e a fecha no construtor (exige clientes pendentes).
+         */
+        void proximaViagem(PlanoRotas.Construtor plano) {
             // Resetar veículo para nova viagem
             veiculo.setCargaAtual(0.0);
             veiculo.setAutonomiaRestante(veiculo.getAutonomiaMaxima());
             veiculo.setLocalizacaoAtual(central);
             
-            Ponto localAtual = central;
+            int localAtual = 0;  // Índice da central na tabela
 
             // LOOP GULOSO: Processar clientes até que não haja mais candidatos viáveis nesta viagem
             while (!naoVisitados.isEmpty()) {
                 // Encontrar o próximo cliente mais próximo que satisfaz as restrições
-                Cliente proximoCliente = encontrarVizinhoMaisProximo(localAtual, naoVisitados, veiculo, central);
+                int indiceCliente;
+                if (localAtual == 0) {
+                    while (!naoVisitados.contem(ordemPartida[proximaPartida])) {
+                        proximaPartida++;
+                    }
+                    indiceCliente = ordemPartida[proximaPartida];
+                } else {
+                    while (!naoVisitados.contem(ordemDemanda[menorDemanda])) {
+                        menorDemanda++;
+                    }
+                    if (veiculo.getCargaAtual() + demandas[ordemDemanda[menorDemanda]] > veiculo.getCapacidadeMaxima()) {
+                        break;  // Nenhum cliente pendente cabe no veículo
+                    }
+                    indiceCliente = encontrarVizinhoMaisProximo(localAtual, naoVisitados, demandas,
+                                                                veiculo.getCargaAtual(),
+                                                                veiculo.getCapacidadeMaxima(),
+                                                                veiculo.getAutonomiaRestante(),
+                                                                tabela, grafo, busca);
+                }
 
                 // Se nenhum cliente for viável nesta viagem, encerrar e iniciar nova
-                if (proximoCliente == null) {
+                if (indiceCliente < 0) {
                     break;
                 }
 
                 // Calcular distância até o próximo cliente
-                double distanciaPercorrida = Distancia.calcularDistanciaEuclidiana(
-                    localAtual, 
-                    proximoCliente.getLocalizacao()
-                );
+                double distanciaPercorrida = tabela.distancia(localAtual, indiceCliente + 1);
 
-                // Adicionar cliente à rota
-                rotaAtual.adicionarCliente(proximoCliente);
+                // Adicionar parada à viagem (distância e carga acumuladas pelo plano)
+                plano.adicionarParada(indiceCliente, distanciaPercorrida, demandas[indiceCliente]);
 
                 // Atualizar veículo: aumentar carga e diminuir autonomia
-                veiculo.adicionarCarga(proximoCliente.getDemandaCarga());
+                veiculo.adicionarCarga(demandas[indiceCliente]);
                 veiculo.consumirAutonomia(distanciaPercorrida);
 
-                // Atualizar distância total da rota
-                rotaAtual.setDistanciaTotal(rotaAtual.getDistanciaTotal() + distanciaPercorrida);
-
                 // Atualizar localização atual
-                localAtual = proximoCliente.getLocalizacao();
+                localAtual = indiceCliente + 1;
 
-                // Remover cliente da lista de não visitados
-                naoVisitados.remove(proximoCliente);
+                // Remover cliente dos não visitados (O(1), preserva a ordem de prioridade)
+                naoVisitados.remover(indiceCliente);
+                if (busca != null) {
+                    busca.remover(indiceCliente);
+                }
             }
 
             // RETORNO À BASE: Calcular trajeto de volta para a central
-            if (!rotaAtual.getPontos().isEmpty()) {
-                double distanciaRetorno = Distancia.calcularDistanciaEuclidiana(localAtual, central);
+            if (localAtual != 0) {
+                double distanciaRetorno = tabela.distancia(localAtual, 0);
                 
                 // Atualizar autonomia do veículo com o retorno
                 veiculo.consumirAutonomia(distanciaRetorno);
                 
-                // Atualizar distância total da rota com o retorno
-                rotaAtual.setDistanciaTotal(rotaAtual.getDistanciaTotal() + distanciaRetorno);
+                // Encerrar a viagem no plano com o trecho de retorno
+                plano.fecharViagem(distanciaRetorno);
+            }
+        }
+    }
+
+    /**
+     * Inicia a otimização em modo "anytime": a solução gulosa fica disponível imediatamente
+     * e é melhorada em segundo plano até o orçamento de tempo acabar.
+     * 
+     * A melhoria começa por uma busca local (realocação e 2-opt restritos aos vizinhos mais
+     * próximos, ver {@link #setVizinhosCandidatos(int)}; sem candidatos configurados usa 10
+     * vizinhos) executada em uma thread própria; atingido o ótimo local, o tempo restante é
+     * usado pelo {@link OtimizadorALNS}, com uma busca paralela por núcleo. Cada melhoria é
+     * publicada como um novo plano imutável, que pode ser consultado ou recebido por ouvintes
+     * em {@link OtimizacaoContinua}. O cache de resultados não é utilizado neste modo.
+     * 
+     * @param clientes Lista de clientes a serem atendidos
+     * @param veiculo Veículo que realizará as entregas
+     * @param central Ponto da central de distribuição
+     * @param orcamentoMillis Tempo máximo de melhoria, em milissegundos
+     * @return Otimização em andamento, já com a solução gulosa
+     * @throws IllegalArgumentException se o orçamento for negativo
+     * @throws RuntimeException se algum cliente for inviável
+     */
+    public OtimizacaoContinua otimizarContinuamente(List<Cliente> clientes, Veiculo veiculo, Ponto central,
+                                                    long orcamentoMillis) {
+        return otimizarContinuamente(clientes, veiculo, central, orcamentoMillis, null, 0);
+    }
+
+    /**
+     * Otimização contínua com pontos de controle, que pode ser retomada após uma parada da JVM.
+     * 
+     * Se o arquivo existir e for do mesmo cenário, a otimização recomeça da solução gravada,
+     * na mesma fase, com o orçamento descontado do tempo já consumido (uma execução que
+     * terminou por prazo é devolvida sem nova melhoria) e com uma nova semente para o ALNS,
+     * derivada da anterior. Durante a execução, uma thread própria verifica a melhor solução
+     * a cada intervalo e grava o ponto de controle quando ela mudou ou quando o tempo consumido
+     * avançou um intervalo; a gravação lê apenas o plano imutável já publicado, sem pausar a
+     * otimização, e uma falha de escrita fica em
+     * {@link OtimizacaoContinua#getFalhaPontoControle()}. Ao terminar (prazo, ótimo local ou
+     * cancelamento) o estado final é gravado antes de a otimização ser dada como concluída.
+     * Os pesos dos operadores e a temperatura do ALNS não são gravados: na retomada a
+     * adaptação recomeça do zero (ver {@link PontoControle}).
+     * 
+     * @param clientes Lista de clientes a serem atendidos
+     * @param veiculo Veículo que realizará as entregas
+     * @param central Ponto da central de distribuição
+     * @param orcamentoMillis Tempo total de melhoria, somado entre retomadas, em milissegundos
+     * @param arquivoPontoControle Arquivo dos pontos de controle (null = sem pontos de controle)
+     * @param intervaloMillis Intervalo entre verificações para gravação
+     * @return Otimização em andamento
+     * @throws IllegalArgumentException se o orçamento for negativo, o intervalo não for positivo
+     *         ou o ponto de controle for de outro cenário
+     * @throws RuntimeException se algum cliente for inviável ou o ponto de controle não puder ser lido
+     */
+    public OtimizacaoContinua otimizarContinuamente(List<Cliente> clientes, Veiculo veiculo, Ponto central,
+                                                    long orcamentoMillis, Path arquivoPontoControle,
+                                                    long intervaloMillis) {
+        if (orcamentoMillis < 0) {
+            throw new IllegalArgumentException("O orçamento de tempo não pode ser negativo");
+        }
+        if (arquivoPontoControle != null && intervaloMillis <= 0) {
+            throw new IllegalArgumentException("O intervalo entre pontos de controle deve ser positivo");
+        }
+
+        long inicioNanos = System.nanoTime();
+
+        if (clientes == null || veiculo == null || central == null || clientes.isEmpty()) {
+            OtimizacaoContinua vazia = new OtimizacaoContinua(calcularPlano(clientes, veiculo, central));
+            vazia.concluir();
+            return vazia;
+        }
+
+        TabelaDistancias tabela = provedorDistancia.vincular(central, clientes);
+        double[] demandas = demandasDe(clientes);
+        PlanoRotas inicial = construirPlano(clientes, veiculo, central, tabela);
+
+        // RETOMADA: solução, fase e orçamento do último ponto de controle do mesmo cenário
+        long impressaoDigital = CacheRotas.calcularImpressaoDigital(clientes, veiculo, central);
+        PontoControle anterior = lerPontoControle(arquivoPontoControle, impressaoDigital);
+        OtimizadorALNS alns = new OtimizadorALNS(provedorDistancia);
+        long consumidoMillis = 0;
+        OtimizacaoContinua otimizacao;
+
+        if (anterior != null) {
+            PlanoRotas retomado = anterior.reconstruir(clientes, tabela, demandas);
+            if (retomado.getDistanciaTotal() < inicial.getDistanciaTotal()) {
+                inicial = retomado;
+            }
+            consumidoMillis = Math.min(orcamentoMillis, anterior.getTempoConsumidoMillis());
+            alns.setSemente(new SplittableRandom(anterior.getSemente()).nextLong());
+            otimizacao = new OtimizacaoContinua(inicial, anterior.getMelhorias());
+            otimizacao.setFase(anterior.getFase());
+        } else {
+            otimizacao = new OtimizacaoContinua(inicial);
+        }
+
+        long prazoNanos = inicioNanos + TimeUnit.MILLISECONDS.toNanos(orcamentoMillis - consumidoMillis);
+        GravadorPontoControle gravador = arquivoPontoControle == null ? null
+            : new GravadorPontoControle(arquivoPontoControle, impressaoDigital, alns.getSemente(),
+                                        otimizacao, consumidoMillis, inicioNanos);
 
-                // Adicionar rota à lista de rotas
-                rotas.add(rotaAtual);
+        int k = vizinhosCandidatos > 0 ? vizinhosCandidatos : VIZINHOS_BUSCA_LOCAL;
+        double capacidade = veiculo.getCapacidadeMaxima();
+        double autonomia = veiculo.getAutonomiaMaxima();
+        PlanoRotas partida = inicial;
+
+        otimizacao.iniciar(() -> {
+            if (gravador != null) {
+                gravador.iniciar(intervaloMillis);
             }
+            try {
+                SolucaoRotas solucao = SolucaoRotas.dePlano(partida, tabela, demandas, capacidade, autonomia);
+                GrafoVizinhanca grafo = ConstrutorGrafoVizinhanca.construir(clientes, k);
+                BuscaLocal busca = new BuscaLocal(solucao, grafo);
+
+                while (otimizacao.getFase() == PontoControle.FASE_BUSCA_LOCAL
+                       && !otimizacao.isCancelada() && System.nanoTime() < prazoNanos) {
+                    if (!busca.executarPassada(prazoNanos)) {
+                        break;  // Ótimo local: nenhum movimento melhora a solução
+                    }
+                    otimizacao.publicar(solucao.paraPlano(clientes));
+                }
+
+                // Tempo restante: ALNS a partir do ótimo local, até o prazo
+                if (!otimizacao.isCancelada() && System.nanoTime() < prazoNanos) {
+                    otimizacao.setFase(PontoControle.FASE_ALNS);
+                    SolucaoRotas melhor = alns.executar(
+                        solucao, grafo, Long.MAX_VALUE, prazoNanos, otimizacao::isCancelada,
+                        s -> otimizacao.publicar(s.paraPlano(clientes)));
+                    otimizacao.publicar(melhor.paraPlano(clientes));
+                }
+            } finally {
+                if (gravador != null) {
+                    gravador.encerrar();
+                }
+            }
+        });
+
+        return otimizacao;
+    }
+
+    /**
+     * Lê o ponto de controle de uma retomada.
+     * 
+     * @return Ponto de controle, ou null se não houver arquivo
+     * @throws IllegalArgumentException se o ponto de controle for de outro cenário
+     * @throws RuntimeException se o arquivo existir e não puder ser lido
+     */
+    private static PontoControle lerPontoControle(Path arquivo, long impressaoDigital) {
+        if (arquivo == null || !Files.exists(arquivo)) {
+            return null;
+        }
+        PontoControle ponto;
+        try {
+            ponto = PontoControle.ler(arquivo);
+        } catch (IOException e) {
+            throw new RuntimeException("Não foi possível ler o ponto de controle: " + e.getMessage(), e);
+        }
+        if (ponto.getImpressaoDigital() != impressaoDigital) {
+            throw new IllegalArgumentException("O ponto de controle " + arquivo + " é de outro cenário");
         }
+        return ponto;
+    }
 
-        return rotas;
+    /**
+     * Calcula as rotas pela melhor de várias construções gulosas aleatorizadas.
+     * 
+     * @param clientes Lista de clientes a serem atendidos
+     * @param veiculo Veículo que realizará as entregas
+     * @param central Ponto da central de distribuição
+     * @param partidas Número de construções (a primeira é a gulosa determinística)
+     * @param semente Semente das construções aleatorizadas
+     * @return Lista de Rotas da melhor construção
+     * @see #calcularPlanoMultiplasPartidas(List, Veiculo, Ponto, int, long)
+     */
+    public List<Rota> calcularRotasMultiplasPartidas(List<Cliente> clientes, Veiculo veiculo, Ponto central,
+                                                     int partidas, long semente) {
+        return new ArrayList<>(calcularPlanoMultiplasPartidas(clientes, veiculo, central, partidas, semente).getRotas());
+    }
+
+    /**
+     * Executa várias construções gulosas em paralelo e retorna a de menor distância total.
+     * 
+     * A partida 0 é a heurística gulosa normal ({@link #calcularPlano}); nas demais cada
+     * próximo cliente é escolhido com ruído nas distâncias (ver
+     * {@link #setToleranciaMultiplasPartidas(double)}) entre os vizinhos do grafo de
+     * candidatos (k = {@link #getVizinhosCandidatos()}, ou 10 se desativado).
+     * 
+     * As partidas são divididas em um número fixo de tarefas (8, ou menos se houver menos
+     * partidas aleatorizadas), executadas pelo pool de quem chama, cada uma com seus próprios
+     * vetores de trabalho (nada é compartilhado além dos dados do cenário). A divisão não
+     * depende da máquina; cada partida usa um gerador derivado da semente em ordem fixa e os
+     * empates são decididos pelo menor número de partida, então o resultado não depende do
+     * número de núcleos nem de threads.
+     * O cache de resultados não é utilizado neste modo.
+     * 
+     * @param clientes Lista de clientes a serem atendidos
+     * @param veiculo Veículo que realizará as entregas
+     * @param central Ponto da central de distribuição
+     * @param partidas Número de construções (a primeira é a gulosa determinística)
+     * @param semente Semente das construções aleatorizadas
+     * @return Plano compacto da melhor construção
+     * @throws IllegalArgumentException se o número de partidas não for positivo
+     * @throws RuntimeException se algum cliente for inviável
+     */
+    public PlanoRotas calcularPlanoMultiplasPartidas(List<Cliente> clientes, Veiculo veiculo, Ponto central,
+                                                     int partidas, long semente) {
+        if (partidas <= 0) {
+            throw new IllegalArgumentException("O número de partidas deve ser positivo");
+        }
+        if (clientes == null || veiculo == null || central == null || clientes.isEmpty()) {
+            return calcularPlano(clientes, veiculo, central);
+        }
+
+        TabelaDistancias tabela = provedorDistancia.vincular(central, clientes);
+        PlanoRotas guloso = construirPlano(clientes, veiculo, central, tabela);
+
+        int[] ordem = new int[clientes.size()];
+        int validos = 0;
+        for (int i = 0; i < clientes.size(); i++) {
+            Cliente cliente = clientes.get(i);
+            if (cliente != null && cliente.getLocalizacao() != null) {
+                ordem[validos++] = i;
+            }
+        }
+        ordem = Arrays.copyOf(ordem, validos);
+
+        if (partidas == 1 || validos < 2) {
+            return guloso;
+        }
+
+        // DADOS COMPARTILHADOS (somente leitura) por todas as threads de trabalho
+        double[] demandas = demandasDe(clientes);
+        Ordenacao.quickSortIndices(ordem, clientes);
+        int[] ordemDemanda = ordem.clone();
+        Ordenacao.mergeSortIndices(ordemDemanda, demandas);
+
+        int k = vizinhosCandidatos > 0 ? vizinhosCandidatos : VIZINHOS_BUSCA_LOCAL;
+        GulosoAleatorizado.Cenario cenario = new GulosoAleatorizado.Cenario(
+            tabela, demandas, ordem, ordenarPorDistanciaCentral(ordem, tabela, clientes.size()), ordemDemanda,
+            ConstrutorGrafoVizinhanca.construir(clientes, k),
+            veiculo.getCapacidadeMaxima(), veiculo.getAutonomiaMaxima(), toleranciaMultiplasPartidas,
+            tabela instanceof ProvedorEuclidiano.TabelaEuclidiana && validos > MINIMO_CLIENTES_BUSCA_ESPACIAL);
+
+        // Um gerador por partida, derivado em ordem fixa (independe da divisão entre threads)
+        SplittableRandom raiz = new SplittableRandom(semente);
+        SplittableRandom[] geradores = new SplittableRandom[partidas];
+        for (int p = 1; p < partidas; p++) {
+            geradores[p] = raiz.split();
+        }
+
+        int tarefas = Math.min(partidas - 1, TAREFAS_MULTIPLAS_PARTIDAS);
+        GulosoAleatorizado melhor = IntStream.range(0, tarefas).parallel()
+            .mapToObj(t -> {
+                GulosoAleatorizado estado = new GulosoAleatorizado(cenario);
+                for (int p = 1 + t; p < partidas; p += tarefas) {
+                    estado.executar(p, geradores[p]);
+                }
+                return estado;
+            })
+            .reduce((a, b) -> b.getMelhorDistancia() < a.getMelhorDistancia()
+                              || (b.getMelhorDistancia() == a.getMelhorDistancia()
+                                  && b.getMelhorPartida() < a.getMelhorPartida()) ? b : a)
+            .get();
+
+        PlanoRotas aleatorizado = melhor.melhorPlano(clientes);
+        return aleatorizado.getDistanciaTotal() < guloso.getDistanciaTotal() ? aleatorizado : guloso;
+    }
+
+    /**
+     * Índices dos clientes em ordem crescente de distância à central (estável: empates
+     * mantêm a ordem recebida).
+     */
+    private static int[] ordenarPorDistanciaCentral(int[] ordem, TabelaDistancias tabela, int quantidadeClientes) {
+        int[] ordemPartida = ordem.clone();
+        double[] distanciaCentral = new double[quantidadeClientes];
+        if (tabela instanceof ProvedorEuclidiano.TabelaEuclidiana) {
+            // Distâncias à central em lote (índice 0 da tabela é a própria central)
+            double[] distanciasTabela = new double[tabela.getTamanho()];
+            ((ProvedorEuclidiano.TabelaEuclidiana) tabela).distancias(0, distanciasTabela);
+            System.arraycopy(distanciasTabela, 1, distanciaCentral, 0, quantidadeClientes);
+        } else {
+            for (int indiceCliente : ordem) {
+                distanciaCentral[indiceCliente] = tabela.distancia(0, indiceCliente + 1);
+            }
+        }
+        Ordenacao.mergeSortIndices(ordemPartida, distanciaCentral);
+        return ordemPartida;
+    }
+
+    /**
+     * Demanda de cada cliente por índice (zero para clientes nulos ou sem localização).
+     */
+    private static double[] demandasDe(List<Cliente> clientes) {
+        double[] demandas = new double[clientes.size()];
+        for (int i = 0; i < clientes.size(); i++) {
+            Cliente cliente = clientes.get(i);
+            if (cliente != null && cliente.getLocalizacao() != null) {
+                demandas[i] = cliente.getDemandaCarga();
+            }
+        }
+        return demandas;
     }
 
     /**
@@ -147,10 +929,10 @@ public class Roteirizador {
      * 
      * @param clientes Lista de clientes a validar
      * @param veiculo Veículo com as restrições
-     * @param central Ponto da central
+     * @param tabela Tabela de distâncias do cenário
      * @throws RuntimeException se algum cliente for inviável
      */
-    private void validarViabilidadeClientes(List<Cliente> clientes, Veiculo veiculo, Ponto central) {
+    private void validarViabilidadeClientes(List<Cliente> clientes, Veiculo veiculo, TabelaDistancias tabela) {
         for (int i = 0; i < clientes.size(); i++) {
             Cliente cliente = clientes.get(i);
             
@@ -158,95 +940,200 @@ public class Roteirizador {
                 continue;
             }
 
-            // Validação 1: Demanda vs Capacidade
-            if (cliente.getDemandaCarga() > veiculo.getCapacidadeMaxima()) {
-                throw new RuntimeException(String.format(
-                    "CLIENTE INVIÁVEL: Cliente [%d] com demanda de %.2f kg excede a capacidade máxima do veículo (%.2f kg). " +
-                    "Impossível atender este cliente com o veículo atual.",
-                    i + 1,
-                    cliente.getDemandaCarga(),
-                    veiculo.getCapacidadeMaxima()
-                ));
+            // Validação 0: a heurística gulosa só entrega (a carga nunca sobe durante a viagem)
+            rejeitarColeta(i, cliente);
+
+            validarCliente(i, cliente.getDemandaCarga(), cliente.getLocalizacao().getX(),
+                           cliente.getLocalizacao().getY(), veiculo, tabela);
+        }
+    }
+
+    /**
+     * Rejeita cenários com coletas, que a heurística gulosa não atende.
+     * 
+     * @throws IllegalArgumentException se algum cliente tiver demanda de coleta
+     */
+    private static void rejeitarColetas(List<Cliente> clientes) {
+        for (int i = 0; i < clientes.size(); i++) {
+            Cliente cliente = clientes.get(i);
+            if (cliente != null && cliente.getLocalizacao() != null) {
+                rejeitarColeta(i, cliente);
             }
+        }
+    }
 
-            // Validação 2: Distância ida+volta vs Autonomia
-            double distanciaIdaVolta = 2 * Distancia.calcularDistanciaEuclidiana(
-                central, 
-                cliente.getLocalizacao()
-            );
+    private static void rejeitarColeta(int i, Cliente cliente) {
+        if (cliente.getDemandaColeta() > 0) {
+            throw new IllegalArgumentException(String.format(
+                "Cliente [%d] tem coleta de %.2f kg; rotas com coletas devem ser calculadas pelo " +
+                "RoteirizadorColetaEntrega.",
+                i + 1,
+                cliente.getDemandaColeta()
+            ));
+        }
+    }
 
-            if (distanciaIdaVolta > veiculo.getAutonomiaMaxima()) {
-                throw new RuntimeException(String.format(
-                    "CLIENTE INVIÁVEL: Cliente [%d] na posição (%.2f, %.2f) está a %.2f km da central. " +
-                    "A distância ida+volta (%.2f km) excede a autonomia máxima do veículo (%.2f km). " +
-                    "Impossível atender este cliente com o veículo atual.",
-                    i + 1,
-                    cliente.getLocalizacao().getX(),
-                    cliente.getLocalizacao().getY(),
-                    distanciaIdaVolta / 2,
-                    distanciaIdaVolta,
-                    veiculo.getAutonomiaMaxima()
-                ));
+    /**
+     * Valida os clientes de uma tabela fora do heap (mesmas regras e mensagens).
+     * 
+     * @param clientes Tabela de clientes a validar
+     * @param veiculo Veículo com as restrições
+     * @param tabela Tabela de distâncias do cenário
+     * @throws RuntimeException se algum cliente for inviável
+     */
+    private void validarViabilidadeClientes(TabelaClientes clientes, Veiculo veiculo, TabelaDistancias tabela) {
+        for (int i = 0; i < clientes.getQuantidade(); i++) {
+            if (clientes.isPresente(i)) {
+                validarCliente(i, clientes.getDemandaCarga(i), clientes.getX(i), clientes.getY(i), veiculo, tabela);
             }
         }
     }
 
+    /**
+     * Valida a demanda e a distância ida+volta de um cliente.
+     * 
+     * @throws RuntimeException se o cliente for inviável
+     */
+    private static void validarCliente(int i, double demandaCarga, double x, double y, Veiculo veiculo,
+                                       TabelaDistancias tabela) {
+        // Validação 1: Demanda vs Capacidade
+        if (demandaCarga > veiculo.getCapacidadeMaxima()) {
+            throw new ClienteInviavelException(String.format(
+                "CLIENTE INVIÁVEL: Cliente [%d] com demanda de %.2f kg excede a capacidade máxima do veículo (%.2f kg). " +
+                "Impossível atender este cliente com o veículo atual.",
+                i + 1,
+                demandaCarga,
+                veiculo.getCapacidadeMaxima()
+            ));
+        }
+
+        // Validação 2: Distância ida+volta vs Autonomia (ida e volta podem diferir na malha viária)
+        double distanciaIda = tabela.distancia(0, i + 1);
+        double distanciaIdaVolta = distanciaIda + tabela.distancia(i + 1, 0);
+
+        if (distanciaIdaVolta > veiculo.getAutonomiaMaxima()) {
+            throw new ClienteInviavelException(String.format(
+                "CLIENTE INVIÁVEL: Cliente [%d] na posição (%.2f, %.2f) está a %.2f km da central. " +
+                "A distância ida+volta (%.2f km) excede a autonomia máxima do veículo (%.2f km). " +
+                "Impossível atender este cliente com o veículo atual.",
+                i + 1,
+                x,
+                y,
+                distanciaIda,
+                distanciaIdaVolta,
+                veiculo.getAutonomiaMaxima()
+            ));
+        }
+    }
+
+    /**
+     * Coordenadas X (ou Y) dos clientes de uma tabela, NaN para os sem localização.
+     */
+    private static double[] coordenadas(TabelaClientes clientes, boolean eixoX) {
+        double[] valores = new double[clientes.getQuantidade()];
+        for (int i = 0; i < valores.length; i++) {
+            valores[i] = !clientes.isPresente(i) ? Double.NaN : eixoX ? clientes.getX(i) : clientes.getY(i);
+        }
+        return valores;
+    }
+
     /**
      * Encontra o vizinho mais próximo viável considerando restrições de capacidade e autonomia.
      * 
-     * Heurística Gulosa: Seleciona o cliente não visitado com menor distância Euclidiana
-     * em relação à localização atual, respeitando as seguintes restrições:
+     * Heurística Gulosa: Seleciona o cliente não visitado com menor distância em relação
+     * à localização atual, respeitando as seguintes restrições:
      * 
      * 1. Capacidade: A demanda do cliente deve couber na capacidade restante do veículo
      * 2. Autonomia: O veículo deve ter autonomia suficiente para ir até o cliente E retornar à central
      * 
-     * @param localAtual Localização atual (ponto de partida)
-     * @param naoVisitados Lista de clientes ainda não visitados
-     * @param veiculo Veículo que realizará a entrega
-     * @param central Ponto da central de distribuição (para cálculo de retorno)
-     * @return O cliente mais próximo que satisfaz todas as restrições, ou null se nenhum for viável
+     * Em caso de empate vence o cliente que aparece primeiro (maior prioridade).
+     * Com grafo de candidatos, a busca começa pelos k vizinhos do cliente atual e só percorre
+     * os demais se nenhum candidato for viável. Com distância Euclidiana esses demais são
+     * examinados pela busca espacial (mesmo resultado, sem percorrer todos os pendentes);
+     * caso contrário, pela varredura completa. O laço trabalha apenas com índices e vetores
+     * primitivos, sem alocar objetos.
+     * 
+     * @param localAtual Índice (na tabela) da localização atual
+     * @param naoVisitados Clientes ainda não visitados, em ordem de prioridade
+     * @param demandas Demanda de carga de cada cliente (por índice do cliente)
+     * @param cargaAtual Carga atual do veículo
+     * @param capacidadeMaxima Capacidade máxima do veículo
+     * @param autonomiaRestante Autonomia restante do veículo
+     * @param tabela Tabela de distâncias do cenário
+     * @param grafo Grafo de candidatos, ou null para não usar candidatos
+     * @param busca Busca espacial exata, ou null para usar a varredura completa
+     * @return Índice do cliente escolhido, ou -1 se nenhum for viável
      */
-    private Cliente encontrarVizinhoMaisProximo(Ponto localAtual, List<Cliente> naoVisitados, Veiculo veiculo, Ponto central) {
-        if (localAtual == null || naoVisitados == null || veiculo == null || central == null) {
-            return null;
+    static int encontrarVizinhoMaisProximo(int localAtual, ListaNaoVisitados naoVisitados, double[] demandas,
+                                           double cargaAtual, double capacidadeMaxima, double autonomiaRestante,
+                                           TabelaDistancias tabela, GrafoVizinhanca grafo, BuscaPendentes busca) {
+        // BUSCA RESTRITA: vizinhos pré-calculados do cliente atual (a central não está no grafo)
+        if (grafo != null && localAtual > 0) {
+            int clienteAtual = localAtual - 1;
+            int melhorCandidato = -1;
+            double menorDistancia = Double.MAX_VALUE;
+
+            for (int ordem = 0; ordem < grafo.getK(); ordem++) {
+                int candidato = grafo.vizinho(clienteAtual, ordem);
+
+                if (candidato == GrafoVizinhanca.SEM_VIZINHO) {
+                    break;
+                }
+                if (!naoVisitados.contem(candidato) || cargaAtual + demandas[candidato] > capacidadeMaxima) {
+                    continue;
+                }
+
+                double distanciaAteCandidato = tabela.distancia(localAtual, candidato + 1);
+                boolean maisProximo = distanciaAteCandidato < menorDistancia
+                    || (distanciaAteCandidato == menorDistancia && melhorCandidato >= 0
+                        && naoVisitados.posicaoNaOrdem(candidato) < naoVisitados.posicaoNaOrdem(melhorCandidato));
+
+                if (maisProximo
+                        && distanciaAteCandidato + tabela.distancia(candidato + 1, 0) <= autonomiaRestante) {
+                    menorDistancia = distanciaAteCandidato;
+                    melhorCandidato = candidato;
+                }
+            }
+
+            if (melhorCandidato >= 0) {
+                return melhorCandidato;
+            }
         }
 
-        if (naoVisitados.isEmpty()) {
-            return null;
+        // BUSCA ESPACIAL: anéis de células ao redor do local atual
+        if (busca != null) {
+            int encontrado = busca.buscar(localAtual, naoVisitados, demandas,
+                                          cargaAtual, capacidadeMaxima, autonomiaRestante);
+            if (encontrado != BuscaPendentes.DESISTIU) {
+                return encontrado;
+            }
         }
 
-        Cliente melhorCliente = null;
+        // BUSCA COMPLETA: todos os não visitados, em ordem de prioridade
+        int melhorCliente = -1;
         double menorDistancia = Double.MAX_VALUE;
 
-        for (Cliente cliente : naoVisitados) {
-            if (cliente == null || cliente.getLocalizacao() == null) {
+        for (int indiceCliente = naoVisitados.primeiro(); indiceCliente != ListaNaoVisitados.FIM;
+                indiceCliente = naoVisitados.proximo(indiceCliente)) {
+
+            // VALIDAÇÃO 1: Verificar se a demanda do cliente cabe no veículo
+            if (cargaAtual + demandas[indiceCliente] > capacidadeMaxima) {
                 continue;
             }
 
             // Calcular distância da localização atual até o cliente
-            double distanciaAteCliente = Distancia.calcularDistanciaEuclidiana(
-                localAtual, 
-                cliente.getLocalizacao()
-            );
-
-            // Calcular distância do cliente até a central (para retorno)
-            double distanciaClienteParaCentral = Distancia.calcularDistanciaEuclidiana(
-                cliente.getLocalizacao(), 
-                central
-            );
+            double distanciaAteCliente = tabela.distancia(localAtual, indiceCliente + 1);
 
-            // VALIDAÇÃO 1: Verificar se a demanda do cliente cabe no veículo
-            boolean capacidadeSuficiente = (veiculo.getCargaAtual() + cliente.getDemandaCarga()) 
-                                            <= veiculo.getCapacidadeMaxima();
+            if (distanciaAteCliente >= menorDistancia) {
+                continue;
+            }
 
             // VALIDAÇÃO 2: Verificar se há autonomia para ir até o cliente E voltar para a central
-            double autonomiaNecessaria = distanciaAteCliente + distanciaClienteParaCentral;
-            boolean autonomiaSuficiente = autonomiaNecessaria <= veiculo.getAutonomiaRestante();
+            double autonomiaNecessaria = distanciaAteCliente + tabela.distancia(indiceCliente + 1, 0);
 
-            // Se o cliente atende ambas as restrições e é o mais próximo até agora
-            if (capacidadeSuficiente && autonomiaSuficiente && distanciaAteCliente < menorDistancia) {
+            if (autonomiaNecessaria <= autonomiaRestante) {
                 menorDistancia = distanciaAteCliente;
-                melhorCliente = cliente;
+                melhorCliente = indiceCliente;
             }
         }
 
@@ -0,0 +1,550 @@
+package com.unifor.algorithm;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import com.unifor.model.Cliente;
+import com.unifor.model.PedidoColetaEntrega;
+import com.unifor.model.Ponto;
+import com.unifor.model.Rota;
+import com.unifor.model.Veiculo;
+import com.unifor.util.ProvedorDistancia;
+import com.unifor.util.ProvedorEuclidiano;
+import com.unifor.util.TabelaDistancias;
+
+/**
+ * Roteirização com coletas: clientes com entrega e/ou coleta (logística reversa) e pedidos
+ * de coleta e entrega pareadas.
+ *
+ * O {@link Roteirizador} assume que a carga só diminui ao longo da viagem, o que deixa de
+ * valer com coletas. Aqui cada viagem é construída por inserção mais barata: começa pelo
+ * pedido pendente mais distante da central e recebe, um a um, o pedido vizinho de menor
+ * custo de inserção que respeite capacidade e autonomia. A capacidade é checada sobre o
+ * perfil de carga da viagem ({@link PerfilCarga}) em O(1) por posição; a coleta de um par
+ * sempre precede a sua entrega na mesma viagem.
+ *
+ * Os candidatos de cada viagem são os pedidos com alguma parada entre os k vizinhos das
+ * paradas já inseridas, o que mantém o custo por viagem independente do total de pedidos.
+ * Quando nenhum deles cabe mais, a vizinhança é ampliada atravessando paradas já atendidas
+ * (busca em largura no grafo de vizinhos, limitada), para que a viagem não feche cedo só
+ * porque os arredores foram atendidos por viagens anteriores.
+ */
+public class RoteirizadorColetaEntrega {
+
+    // Vizinhos por parada considerados como candidatos à inserção
+    private static final int VIZINHOS_PADRAO = 10;
+
+    // Paradas percorridas, no máximo, ao procurar candidatos além da vizinhança imediata
+    private static final int LIMITE_EXPANSAO = 512;
+
+    private final ProvedorDistancia provedorDistancia;
+    private int vizinhos = VIZINHOS_PADRAO;
+
+    /**
+     * Construtor padrão (distância Euclidiana).
+     */
+    public RoteirizadorColetaEntrega() {
+        this(new ProvedorEuclidiano());
+    }
+
+    /**
+     * Construtor com provedor de distâncias.
+     *
+     * @param provedorDistancia Fonte das distâncias
+     * @throws IllegalArgumentException se o provedor for nulo
+     */
+    public RoteirizadorColetaEntrega(ProvedorDistancia provedorDistancia) {
+        if (provedorDistancia == null) {
+            throw new IllegalArgumentException("O provedor de distâncias não pode ser nulo");
+        }
+        this.provedorDistancia = provedorDistancia;
+    }
+
+    public ProvedorDistancia getProvedorDistancia() {
+        return provedorDistancia;
+    }
+
+    public int getVizinhos() {
+        return vizinhos;
+    }
+
+    /**
+     * Define quantos vizinhos de cada parada entram como candidatos à inserção.
+     *
+     * @param vizinhos Vizinhos por parada
+     * @throws IllegalArgumentException se o valor não for positivo
+     */
+    public void setVizinhos(int vizinhos) {
+        if (vizinhos <= 0) {
+            throw new IllegalArgumentException("O número de vizinhos deve ser positivo");
+        }
+        this.vizinhos = vizinhos;
+    }
+
+    /**
+     * Calcula as viagens que atendem todos os clientes e pedidos pareados.
+     *
+     * Cada rota lista as paradas na ordem de visita (a coleta de um pedido aparece como
+     * {@link PedidoColetaEntrega#getColeta()} e a entrega como
+     * {@link PedidoColetaEntrega#getEntrega()}), com a carga entregue, a carga recolhida
+     * e o pico de carga a bordo.
+     *
+     * @param clientes Clientes com entrega e/ou coleta (nulos são ignorados)
+     * @param pedidos Pedidos de coleta e entrega pareadas (pode ser vazia)
+     * @param veiculo Veículo que realizará as viagens
+     * @param central Ponto da central de distribuição
+     * @return Lista de rotas (múltiplas viagens)
+     * @throws RuntimeException se algum cliente ou pedido for inviável sozinho
+     */
+    public List<Rota> calcularRotas(List<Cliente> clientes, List<PedidoColetaEntrega> pedidos,
+                                    Veiculo veiculo, Ponto central) {
+        if (veiculo == null || central == null) {
+            return new ArrayList<>();
+        }
+
+        // Paradas: clientes válidos e, depois, coleta e entrega de cada pedido
+        List<Cliente> paradas = new ArrayList<>();
+        if (clientes != null) {
+            for (Cliente cliente : clientes) {
+                if (cliente != null && cliente.getLocalizacao() != null) {
+                    paradas.add(cliente);
+                }
+            }
+        }
+        int quantidadeClientes = paradas.size();
+        int quantidadePedidos = pedidos != null ? pedidos.size() : 0;
+        for (int p = 0; p < quantidadePedidos; p++) {
+            paradas.add(pedidos.get(p).getColeta());
+            paradas.add(pedidos.get(p).getEntrega());
+        }
+        if (paradas.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        Cenario cenario = new Cenario(paradas, quantidadeClientes, pedidos,
+                                      provedorDistancia.vincular(central, paradas),
+                                      veiculo.getCapacidadeMaxima(), veiculo.getAutonomiaMaxima());
+        cenario.validar();
+
+        return new Construcao(cenario, ConstrutorGrafoVizinhanca.construir(paradas, vizinhos)).executar();
+    }
+
+    /**
+     * Dados do cenário por parada (índice da parada = posição em {@code paradas}, nó = índice + 1).
+     */
+    private static final class Cenario {
+        final List<Cliente> paradas;
+        final int quantidadeClientes;
+        final int quantidadePedidos;
+        final TabelaDistancias tabela;
+        final double capacidade;
+        final double autonomia;
+
+        // Carga recebida da central, devolvida à central e variação do par em cada parada
+        final double[] entrega;
+        final double[] coleta;
+        final double[] variacaoPar;
+
+        Cenario(List<Cliente> paradas, int quantidadeClientes, List<PedidoColetaEntrega> pedidos,
+                TabelaDistancias tabela, double capacidade, double autonomia) {
+            this.paradas = paradas;
+            this.quantidadeClientes = quantidadeClientes;
+            this.quantidadePedidos = (paradas.size() - quantidadeClientes) / 2;
+            this.tabela = tabela;
+            this.capacidade = capacidade;
+            this.autonomia = autonomia;
+
+            int n = paradas.size();
+            this.entrega = new double[n];
+            this.coleta = new double[n];
+            this.variacaoPar = new double[n];
+            for (int s = 0; s < quantidadeClientes; s++) {
+                entrega[s] = paradas.get(s).getDemandaCarga();
+                coleta[s] = paradas.get(s).getDemandaColeta();
+            }
+            for (int p = 0; p < quantidadePedidos; p++) {
+                double carga = pedidos.get(p).getCarga();
+                variacaoPar[quantidadeClientes + 2 * p] = carga;
+                variacaoPar[quantidadeClientes + 2 * p + 1] = -carga;
+            }
+        }
+
+        int totalPedidos() {
+            return quantidadeClientes + quantidadePedidos;
+        }
+
+        boolean isPar(int pedido) {
+            return pedido >= quantidadeClientes;
+        }
+
+        /**
+         * Primeira parada do pedido (a coleta, no caso de um par).
+         */
+        int primeiraParada(int pedido) {
+            return pedido < quantidadeClientes ? pedido : quantidadeClientes + 2 * (pedido - quantidadeClientes);
+        }
+
+        int pedidoDaParada(int parada) {
+            return parada < quantidadeClientes ? parada : quantidadeClientes + (parada - quantidadeClientes) / 2;
+        }
+
+        double distancia(int origem, int destino) {
+            return tabela.distancia(origem, destino);
+        }
+
+        /**
+         * Verifica se cada pedido é viável sozinho em uma viagem.
+         */
+        void validar() {
+            for (int s = 0; s < quantidadeClientes; s++) {
+                double idaVolta = distancia(0, s + 1) + distancia(s + 1, 0);
+                if (Math.max(entrega[s], coleta[s]) > capacidade) {
+                    throw new ClienteInviavelException(String.format(
+                        "CLIENTE INVIÁVEL: Cliente [%d] com entrega de %.2f kg e coleta de %.2f kg excede a " +
+                        "capacidade máxima do veículo (%.2f kg).",
+                        s + 1, entrega[s], coleta[s], capacidade));
+                }
+                if (idaVolta > autonomia) {
+                    throw new ClienteInviavelException(String.format(
+                        "CLIENTE INVIÁVEL: Cliente [%d] exige %.2f km ida+volta, acima da autonomia máxima " +
+                        "do veículo (%.2f km).",
+                        s + 1, idaVolta, autonomia));
+                }
+            }
+
+            for (int p = 0; p < quantidadePedidos; p++) {
+                int no = quantidadeClientes + 2 * p + 1;
+                double circuito = distancia(0, no) + distancia(no, no + 1) + distancia(no + 1, 0);
+                if (variacaoPar[no - 1] > capacidade) {
+                    throw new ClienteInviavelException(String.format(
+                        "PEDIDO INVIÁVEL: Pedido [%d] com carga de %.2f kg excede a capacidade máxima do " +
+                        "veículo (%.2f kg).",
+                        p + 1, variacaoPar[no - 1], capacidade));
+                }
+                if (circuito > autonomia) {
+                    throw new ClienteInviavelException(String.format(
+                        "PEDIDO INVIÁVEL: Pedido [%d] exige %.2f km (central, coleta, entrega, central), " +
+                        "acima da autonomia máxima do veículo (%.2f km).",
+                        p + 1, circuito, autonomia));
+                }
+            }
+        }
+    }
+
+    /**
+     * Estado da construção das viagens (usado por uma única chamada).
+     */
+    private static final class Construcao {
+        private final Cenario cenario;
+        private final GrafoVizinhanca grafo;
+
+        private final boolean[] atendido;
+        private final int[] marcaCandidato;
+        private final int[] marcaVisita;
+        private final int[] fila;
+        private int visita;
+        private int[] candidatos = new int[64];
+        private int quantidadeCandidatos;
+
+        // Viagem em construção: paradas, variação de carga de cada uma e perfil
+        private int[] viagem = new int[16];
+        private double[] variacoes = new double[16];
+        private int tamanho;
+        private double distancia;
+        private double saida;
+        private final PerfilCarga perfil = new PerfilCarga();
+
+        // Melhor inserção da iteração atual
+        private double melhorCusto;
+        private int melhorPedido;
+        private int melhorColeta;
+        private int melhorEntrega;
+
+        Construcao(Cenario cenario, GrafoVizinhanca grafo) {
+            this.cenario = cenario;
+            this.grafo = grafo;
+            this.atendido = new boolean[cenario.totalPedidos()];
+            this.marcaCandidato = new int[cenario.totalPedidos()];
+            this.marcaVisita = new int[cenario.paradas.size()];
+            this.fila = new int[cenario.paradas.size()];
+        }
+
+        List<Rota> executar() {
+            int total = cenario.totalPedidos();
+
+            // Sementes: do pedido mais distante da central para o mais próximo
+            int[] ordem = new int[total];
+            double[] chaves = new double[total];
+            for (int r = 0; r < total; r++) {
+                int parada = cenario.primeiraParada(r);
+                double alcance = cenario.distancia(0, parada + 1);
+                if (cenario.isPar(r)) {
+                    alcance = Math.max(alcance, cenario.distancia(0, parada + 2));
+                }
+                ordem[r] = r;
+                chaves[r] = -alcance;
+            }
+            Ordenacao.mergeSortIndices(ordem, chaves);
+
+            List<Rota> rotas = new ArrayList<>();
+            int numeroViagem = 0;
+            for (int semente : ordem) {
+                if (atendido[semente]) {
+                    continue;
+                }
+
+                numeroViagem++;
+                iniciarViagem();
+                avaliar(semente);
+                do {
+                    inserirMelhor(numeroViagem);
+                    melhorPedido = -1;
+                    melhorCusto = Double.MAX_VALUE;
+                    avaliarCandidatos();
+                    if (melhorPedido < 0 && expandirCandidatos(numeroViagem)) {
+                        avaliarCandidatos();
+                    }
+                } while (melhorPedido >= 0);
+
+                rotas.add(fecharViagem());
+            }
+            return rotas;
+        }
+
+        private void avaliarCandidatos() {
+            for (int c = 0; c < quantidadeCandidatos; c++) {
+                int candidato = candidatos[c];
+                if (atendido[candidato] || !avaliar(candidato)) {
+                    // Atendido ou inviável: a viagem só fica mais cheia e mais longa, então sai da lista
+                    candidatos[c--] = candidatos[--quantidadeCandidatos];
+                }
+            }
+        }
+
+        /**
+         * Procura pedidos pendentes além dos vizinhos diretos, atravessando paradas atendidas.
+         *
+         * @return true se algum candidato novo foi encontrado
+         */
+        private boolean expandirCandidatos(int numeroViagem) {
+            visita++;
+            int inicio = 0;
+            int fim = 0;
+            for (int k = 0; k < tamanho; k++) {
+                marcaVisita[viagem[k]] = visita;
+                fila[fim++] = viagem[k];
+            }
+
+            int visitadas = 0;
+            int encontrados = 0;
+            while (inicio < fim && visitadas < LIMITE_EXPANSAO && encontrados < grafo.getK()) {
+                int parada = fila[inicio++];
+                for (int ordem = 0; ordem < grafo.getK(); ordem++) {
+                    int vizinho = grafo.vizinho(parada, ordem);
+                    if (vizinho == GrafoVizinhanca.SEM_VIZINHO) {
+                        break;
+                    }
+                    if (marcaVisita[vizinho] == visita) {
+                        continue;
+                    }
+                    marcaVisita[vizinho] = visita;
+                    visitadas++;
+
+                    int pedido = cenario.pedidoDaParada(vizinho);
+                    if (atendido[pedido]) {
+                        fila[fim++] = vizinho;
+                    } else if (marcaCandidato[pedido] != numeroViagem) {
+                        // Pedidos já descartados nesta viagem continuam marcados e não voltam
+                        adicionarCandidato(pedido, numeroViagem);
+                        encontrados++;
+                    }
+                }
+            }
+            return encontrados > 0;
+        }
+
+        private void iniciarViagem() {
+            tamanho = 0;
+            distancia = 0.0;
+            saida = 0.0;
+            quantidadeCandidatos = 0;
+            melhorPedido = -1;
+            melhorCusto = Double.MAX_VALUE;
+            perfil.recalcular(0.0, variacoes, 0);
+        }
+
+        /**
+         * Nó (na tabela) da k-ésima posição da viagem; 0 e tamanho + 1 são a central.
+         */
+        private int no(int k) {
+            return k == 0 || k > tamanho ? 0 : viagem[k - 1] + 1;
+        }
+
+        /**
+         * Avalia o pedido em todas as posições, guardando-o se for a inserção mais barata.
+         *
+         * @return false se o pedido não couber em nenhuma posição
+         */
+        private boolean avaliar(int pedido) {
+            return cenario.isPar(pedido) ? avaliarPar(pedido) : avaliarCliente(pedido);
+        }
+
+        private boolean avaliarCliente(int pedido) {
+            int parada = cenario.primeiraParada(pedido);
+            int noParada = parada + 1;
+            boolean viavel = false;
+
+            for (int k = 0; k <= tamanho; k++) {
+                if (!perfil.cabeParada(k, cenario.entrega[parada], cenario.coleta[parada], cenario.capacidade)) {
+                    continue;
+                }
+                int anterior = no(k);
+                int seguinte = no(k + 1);
+                double custo = cenario.distancia(anterior, noParada) + cenario.distancia(noParada, seguinte)
+                             - cenario.distancia(anterior, seguinte);
+                if (distancia + custo > cenario.autonomia) {
+                    continue;
+                }
+                viavel = true;
+                if (custo < melhorCusto) {
+                    guardar(custo, pedido, k, k);
+                }
+            }
+            return viavel;
+        }
+
+        private boolean avaliarPar(int pedido) {
+            int coleta = cenario.primeiraParada(pedido);
+            int noColeta = coleta + 1;
+            int noEntrega = coleta + 2;
+            double carga = cenario.variacaoPar[coleta];
+            boolean viavel = false;
+
+            for (int i = 0; i <= tamanho; i++) {
+                int limite = perfil.limiteEntrega(i, carga, cenario.capacidade);
+                if (limite < 0) {
+                    continue;
+                }
+
+                int anterior = no(i);
+                int seguinte = no(i + 1);
+                double base = cenario.distancia(anterior, seguinte);
+                double custoColeta = cenario.distancia(anterior, noColeta) + cenario.distancia(noColeta, seguinte)
+                                   - base;
+
+                for (int j = i; j <= limite; j++) {
+                    double custo;
+                    if (j == i) {
+                        // Coleta e entrega juntas no mesmo trecho
+                        custo = cenario.distancia(anterior, noColeta) + cenario.distancia(noColeta, noEntrega)
+                              + cenario.distancia(noEntrega, seguinte) - base;
+                    } else {
+                        int antesEntrega = no(j);
+                        int depoisEntrega = no(j + 1);
+                        custo = custoColeta + cenario.distancia(antesEntrega, noEntrega)
+                              + cenario.distancia(noEntrega, depoisEntrega)
+                              - cenario.distancia(antesEntrega, depoisEntrega);
+                    }
+                    if (distancia + custo > cenario.autonomia) {
+                        continue;
+                    }
+                    viavel = true;
+                    if (custo < melhorCusto) {
+                        guardar(custo, pedido, i, j);
+                    }
+                }
+            }
+            return viavel;
+        }
+
+        private void guardar(double custo, int pedido, int coleta, int entrega) {
+            melhorCusto = custo;
+            melhorPedido = pedido;
+            melhorColeta = coleta;
+            melhorEntrega = entrega;
+        }
+
+        /**
+         * Aplica a melhor inserção avaliada e acrescenta os vizinhos das novas paradas aos candidatos.
+         */
+        private void inserirMelhor(int numeroViagem) {
+            int pedido = melhorPedido;
+            int parada = cenario.primeiraParada(pedido);
+            atendido[pedido] = true;
+            distancia += melhorCusto;
+
+            if (cenario.isPar(pedido)) {
+                // A entrega entra primeiro para não deslocar a posição da coleta
+                inserirParada(melhorEntrega, parada + 1);
+                inserirParada(melhorColeta, parada);
+                adicionarVizinhos(parada, numeroViagem);
+                adicionarVizinhos(parada + 1, numeroViagem);
+            } else {
+                inserirParada(melhorColeta, parada);
+                saida += cenario.entrega[parada];
+                adicionarVizinhos(parada, numeroViagem);
+            }
+
+            perfil.recalcular(saida, variacoes, tamanho);
+        }
+
+        private void inserirParada(int posicao, int parada) {
+            if (tamanho == viagem.length) {
+                viagem = Arrays.copyOf(viagem, tamanho * 2);
+                variacoes = Arrays.copyOf(variacoes, tamanho * 2);
+            }
+            System.arraycopy(viagem, posicao, viagem, posicao + 1, tamanho - posicao);
+            System.arraycopy(variacoes, posicao, variacoes, posicao + 1, tamanho - posicao);
+            viagem[posicao] = parada;
+            variacoes[posicao] = cenario.coleta[parada] - cenario.entrega[parada] + cenario.variacaoPar[parada];
+            tamanho++;
+        }
+
+        private void adicionarVizinhos(int parada, int numeroViagem) {
+            for (int ordem = 0; ordem < grafo.getK(); ordem++) {
+                int vizinho = grafo.vizinho(parada, ordem);
+                if (vizinho == GrafoVizinhanca.SEM_VIZINHO) {
+                    break;
+                }
+                int pedido = cenario.pedidoDaParada(vizinho);
+                if (!atendido[pedido] && marcaCandidato[pedido] != numeroViagem) {
+                    adicionarCandidato(pedido, numeroViagem);
+                }
+            }
+        }
+
+        private void adicionarCandidato(int pedido, int numeroViagem) {
+            marcaCandidato[pedido] = numeroViagem;
+            if (quantidadeCandidatos == candidatos.length) {
+                candidatos = Arrays.copyOf(candidatos, quantidadeCandidatos * 2);
+            }
+            candidatos[quantidadeCandidatos++] = pedido;
+        }
+
+        private Rota fecharViagem() {
+            List<Cliente> pontos = new ArrayList<>(tamanho);
+            double total = 0.0;
+            double entregue = 0.0;
+            double recolhida = 0.0;
+            int anterior = 0;
+
+            for (int k = 0; k < tamanho; k++) {
+                int parada = viagem[k];
+                pontos.add(cenario.paradas.get(parada));
+                total += cenario.distancia(anterior, parada + 1);
+                anterior = parada + 1;
+
+                double par = cenario.variacaoPar[parada];
+                entregue += cenario.entrega[parada] + Math.max(0.0, -par);
+                recolhida += cenario.coleta[parada] + Math.max(0.0, par);
+            }
+            total += cenario.distancia(anterior, 0);
+
+            Rota rota = new Rota(pontos, total, entregue);
+            rota.setCargaRecolhida(recolhida);
+            rota.setCargaMaxima(perfil.getPico());
+            return rota;
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package com.unifor.algorithm;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import com.unifor.model.Central;
+import com.unifor.model.Cliente;
+import com.unifor.model.PlanoMultiplasCentrais;
+import com.unifor.model.PlanoRotas;
+import com.unifor.model.Ponto;
+import com.unifor.model.Veiculo;
+import com.unifor.util.ProvedorDistancia;
+import com.unifor.util.TabelaDistancias;
+
+/**
+ * Roteirização com várias centrais em locais arbitrários.
+ *
+ * Cada cliente é atribuído à central mais próxima, encontrada por uma {@link GradeUniforme}
+ * sobre as centrais (distância Euclidiana, como o grafo de vizinhança). Os clientes de cada
+ * central formam um subproblema independente, resolvido pelo {@link Roteirizador} informado
+ * com a central como ponto de partida; os subproblemas rodam em paralelo, um por central.
+ * A viabilidade de cada cliente (demanda e ida+volta dentro da autonomia) é verificada em
+ * relação à central atribuída.
+ */
+public class RoteirizadorMultiplasCentrais {
+
+    private final Roteirizador roteirizador;
+
+    /**
+     * Construtor padrão (Roteirizador com distância Euclidiana).
+     */
+    public RoteirizadorMultiplasCentrais() {
+        this(new Roteirizador());
+    }
+
+    /**
+     * Construtor com o roteirizador usado em cada central.
+     *
+     * As centrais são calculadas ao mesmo tempo pelo mesmo roteirizador, que só tem suas
+     * configurações lidas durante o cálculo; o cache dele não é usado.
+     *
+     * Cada central vincula o provedor de distâncias ao seu subconjunto de clientes, então o
+     * provedor precisa aceitar centrais e subconjuntos arbitrários
+     * ({@link ProvedorDistancia#isVinculoPorCoordenadas()}); uma matriz pré-calculada para
+     * um único cenário não serve.
+     *
+     * @param roteirizador Roteirizador configurado (provedor, vizinhos candidatos, etc.)
+     * @throws IllegalArgumentException se o roteirizador for nulo ou o provedor estiver preso a um cenário
+     */
+    public RoteirizadorMultiplasCentrais(Roteirizador roteirizador) {
+        if (roteirizador == null) {
+            throw new IllegalArgumentException("O roteirizador não pode ser nulo");
+        }
+        if (!roteirizador.getProvedorDistancia().isVinculoPorCoordenadas()) {
+            throw new IllegalArgumentException("O provedor de distâncias "
+                + roteirizador.getProvedorDistancia().getClass().getSimpleName()
+                + " vale só para um cenário fixo e não atende os subconjuntos de clientes de cada central");
+        }
+        this.roteirizador = roteirizador;
+    }
+
+    public Roteirizador getRoteirizador() {
+        return roteirizador;
+    }
+
+    /**
+     * Atribui cada cliente à central mais próxima (distância Euclidiana).
+     *
+     * @param clientes Lista de clientes
+     * @param centrais Lista de centrais (não vazia)
+     * @return Índice da central de cada cliente (-1 para clientes nulos ou sem localização)
+     * @throws IllegalArgumentException se não houver centrais ou alguma for nula
+     */
+    public static int[] atribuirCentrais(List<Cliente> clientes, List<Central> centrais) {
+        if (centrais == null || centrais.isEmpty()) {
+            throw new IllegalArgumentException("Informe ao menos uma central");
+        }
+
+        double[] x = new double[centrais.size()];
+        double[] y = new double[centrais.size()];
+        for (int c = 0; c < centrais.size(); c++) {
+            if (centrais.get(c) == null) {
+                throw new IllegalArgumentException("A central [" + (c + 1) + "] não pode ser nula");
+            }
+            x[c] = centrais.get(c).getLocalizacao().getX();
+            y[c] = centrais.get(c).getLocalizacao().getY();
+        }
+        GradeUniforme grade = new GradeUniforme(x, y);
+
+        // Consultas independentes: paralelas em cenários grandes
+        return IntStream.range(0, clientes.size()).parallel().map(i -> {
+            Cliente cliente = clientes.get(i);
+            if (cliente == null || cliente.getLocalizacao() == null) {
+                return -1;
+            }
+            return grade.buscarMaisProximo(cliente.getLocalizacao().getX(), cliente.getLocalizacao().getY());
+        }).toArray();
+    }
+
+    /**
+     * Calcula as viagens de todas as centrais.
+     *
+     * @param clientes Lista de clientes a serem atendidos
+     * @param centrais Centrais disponíveis
+     * @param veiculo Modelo de veículo (capacidade e autonomia); cada central usa uma cópia
+     * @return Um plano por central, na ordem das centrais
+     * @throws IllegalArgumentException se não houver centrais ou veículo
+     * @throws RuntimeException se algum cliente for inviável a partir da sua central
+     */
+    public PlanoMultiplasCentrais calcularPlanos(List<Cliente> clientes, List<Central> centrais, Veiculo veiculo) {
+        if (veiculo == null) {
+            throw new IllegalArgumentException("O veículo não pode ser nulo");
+        }
+        if (clientes == null) {
+            clientes = new ArrayList<>();
+        }
+
+        int[] centralDoCliente = atribuirCentrais(clientes, centrais);
+        int[][] indices = agruparPorCentral(centralDoCliente, centrais.size());
+
+        final List<Cliente> todos = clientes;
+        List<PlanoRotas> planos = IntStream.range(0, centrais.size()).parallel()
+            .mapToObj(c -> calcularCentral(todos, indices[c], centrais.get(c), veiculo))
+            .collect(Collectors.toList());
+
+        return new PlanoMultiplasCentrais(centrais, planos, indices, centralDoCliente);
+    }
+
+    /**
+     * Separa as posições dos clientes por central (contagem, sem ordenação).
+     */
+    private static int[][] agruparPorCentral(int[] centralDoCliente, int quantidadeCentrais) {
+        int[] contagem = new int[quantidadeCentrais];
+        for (int central : centralDoCliente) {
+            if (central >= 0) {
+                contagem[central]++;
+            }
+        }
+
+        int[][] indices = new int[quantidadeCentrais][];
+        for (int c = 0; c < quantidadeCentrais; c++) {
+            indices[c] = new int[contagem[c]];
+            contagem[c] = 0;
+        }
+        for (int i = 0; i < centralDoCliente.length; i++) {
+            int central = centralDoCliente[i];
+            if (central >= 0) {
+                indices[central][contagem[central]++] = i;
+            }
+        }
+        return indices;
+    }
+
+    /**
+     * Resolve o subproblema de uma central.
+     */
+    private PlanoRotas calcularCentral(List<Cliente> clientes, int[] indices, Central central, Veiculo modelo) {
+        List<Cliente> subconjunto = new ArrayList<>(indices.length);
+        for (int indice : indices) {
+            subconjunto.add(clientes.get(indice));
+        }
+
+        Ponto origem = central.getLocalizacao();
+        // O Roteirizador altera o estado do veículo durante o cálculo: uma cópia por central
+        Veiculo veiculo = new Veiculo(modelo.getCapacidadeMaxima(), modelo.getAutonomiaMaxima(),
+                                      origem, 0.0, modelo.getAutonomiaMaxima());
+        if (subconjunto.isEmpty()) {
+            return roteirizador.calcularPlano(subconjunto, veiculo, origem);
+        }
+
+        // Uma única tabela por central: a validação usa as mesmas distâncias do cálculo
+        TabelaDistancias tabela = roteirizador.getProvedorDistancia().vincular(origem, subconjunto);
+        validarViabilidade(subconjunto, indices, central, modelo, tabela);
+        return roteirizador.calcularPlano(subconjunto, veiculo, origem, tabela);
+    }
+
+    /**
+     * Verifica demanda e ida+volta de cada cliente em relação à central atribuída,
+     * informando a posição original do cliente e o nome da central.
+     */
+    private static void validarViabilidade(List<Cliente> subconjunto, int[] indices, Central central, Veiculo veiculo,
+                                           TabelaDistancias tabela) {
+        for (int i = 0; i < subconjunto.size(); i++) {
+            Cliente cliente = subconjunto.get(i);
+            if (cliente.getDemandaCarga() > veiculo.getCapacidadeMaxima()) {
+                throw new ClienteInviavelException(String.format(
+                    "CLIENTE INVIÁVEL: Cliente [%d] com demanda de %.2f kg excede a capacidade máxima do veículo (%.2f kg).",
+                    indices[i] + 1,
+                    cliente.getDemandaCarga(),
+                    veiculo.getCapacidadeMaxima()
+                ));
+            }
+
+            double distanciaIdaVolta = tabela.distancia(0, i + 1) + tabela.distancia(i + 1, 0);
+            if (distanciaIdaVolta > veiculo.getAutonomiaMaxima()) {
+                throw new ClienteInviavelException(String.format(
+                    "CLIENTE INVIÁVEL: Cliente [%d] na posição (%.2f, %.2f) exige %.2f km ida+volta até a " +
+                    "central mais próxima (%s), acima da autonomia máxima do veículo (%.2f km).",
+                    indices[i] + 1,
+                    cliente.getLocalizacao().getX(),
+                    cliente.getLocalizacao().getY(),
+                    distanciaIdaVolta,
+                    central.getNome(),
+                    veiculo.getAutonomiaMaxima()
+                ));
+            }
+        }
+    }
+}
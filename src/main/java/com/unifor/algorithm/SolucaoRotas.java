@@ -0,0 +1,422 @@
+package com.unifor.algorithm;
+
+import java.util.Arrays;
+import java.util.List;
+
+import com.unifor.model.Cliente;
+import com.unifor.model.PlanoRotas;
+import com.unifor.util.ProvedorEuclidiano;
+import com.unifor.util.TabelaDistancias;
+
+/**
+ * Solução mutável (viagens como vetores de índices) usada pelas buscas de melhoria.
+ *
+ * Cada viagem parte da central, visita seus clientes em ordem e volta à central; a solução
+ * mantém a carga e a distância de cada viagem e, para cada cliente, a viagem e a posição
+ * em que está. Assim as restrições de capacidade e autonomia de um movimento são checadas
+ * em O(1) a partir dos totais da viagem, sem percorrê-la.
+ *
+ * Convenção de índices igual à do {@link Roteirizador}: cliente i ocupa o índice i + 1 da
+ * tabela de distâncias e a central é o índice 0. Não é segura para uso concorrente.
+ */
+final class SolucaoRotas {
+
+    /** Viagem de um cliente que não está na solução. */
+    static final int FORA = -1;
+
+    private final TabelaDistancias tabela;
+    private final double[] demandas;
+    private final double capacidade;
+    private final double autonomia;
+    private final boolean simetrica;
+
+    private int[][] viagens;
+    private int[] tamanhos;
+    private double[] cargas;
+    private double[] distancias;
+    private int quantidadeViagens;
+
+    private final int[] viagemDe;
+    private final int[] posicaoDe;
+
+    /**
+     * Cria uma solução vazia (nenhum cliente atendido).
+     *
+     * @param tabela Tabela de distâncias do cenário
+     * @param demandas Demanda de cada cliente
+     * @param capacidade Capacidade máxima do veículo
+     * @param autonomia Autonomia máxima do veículo (limite de distância de cada viagem)
+     */
+    SolucaoRotas(TabelaDistancias tabela, double[] demandas, double capacidade, double autonomia) {
+        this.tabela = tabela;
+        this.demandas = demandas;
+        this.capacidade = capacidade;
+        this.autonomia = autonomia;
+        this.simetrica = tabela instanceof ProvedorEuclidiano.TabelaEuclidiana;
+        this.viagens = new int[16][];
+        this.tamanhos = new int[16];
+        this.cargas = new double[16];
+        this.distancias = new double[16];
+        this.viagemDe = new int[demandas.length];
+        this.posicaoDe = new int[demandas.length];
+        Arrays.fill(viagemDe, FORA);
+    }
+
+    /**
+     * Cria a solução correspondente a um plano compacto.
+     *
+     * @param plano Plano produzido pelo Roteirizador
+     * @param tabela Tabela de distâncias do mesmo cenário
+     * @param demandas Demanda de cada cliente
+     * @param capacidade Capacidade máxima do veículo
+     * @param autonomia Autonomia máxima do veículo
+     * @return Solução mutável com as mesmas viagens
+     */
+    static SolucaoRotas dePlano(PlanoRotas plano, TabelaDistancias tabela, double[] demandas,
+                                double capacidade, double autonomia) {
+        SolucaoRotas solucao = new SolucaoRotas(tabela, demandas, capacidade, autonomia);
+        for (int v = 0; v < plano.getQuantidadeViagens(); v++) {
+            int viagem = solucao.novaViagem();
+            for (int i = 0; i < plano.getTamanhoViagem(v); i++) {
+                solucao.inserir(viagem, i, plano.getIndiceCliente(v, i));
+            }
+        }
+        return solucao;
+    }
+
+    /**
+     * Retorna uma cópia independente desta solução.
+     *
+     * @return Cópia profunda
+     */
+    SolucaoRotas copiar() {
+        SolucaoRotas copia = new SolucaoRotas(tabela, demandas, capacidade, autonomia);
+        copia.garantirViagens(quantidadeViagens);
+        for (int v = 0; v < quantidadeViagens; v++) {
+            copia.viagens[v] = Arrays.copyOf(viagens[v], Math.max(4, tamanhos[v]));
+        }
+        System.arraycopy(tamanhos, 0, copia.tamanhos, 0, quantidadeViagens);
+        System.arraycopy(cargas, 0, copia.cargas, 0, quantidadeViagens);
+        System.arraycopy(distancias, 0, copia.distancias, 0, quantidadeViagens);
+        System.arraycopy(viagemDe, 0, copia.viagemDe, 0, viagemDe.length);
+        System.arraycopy(posicaoDe, 0, copia.posicaoDe, 0, posicaoDe.length);
+        copia.quantidadeViagens = quantidadeViagens;
+        return copia;
+    }
+
+    /**
+     * Converte a solução em um plano compacto (viagens vazias são descartadas).
+     *
+     * @param clientes Lista de clientes do cenário
+     * @return Plano de rotas
+     */
+    PlanoRotas paraPlano(List<Cliente> clientes) {
+        PlanoRotas.Construtor plano = new PlanoRotas.Construtor(clientes, demandas.length);
+        for (int v = 0; v < quantidadeViagens; v++) {
+            int anterior = 0;
+            for (int i = 0; i < tamanhos[v]; i++) {
+                int cliente = viagens[v][i];
+                plano.adicionarParada(cliente, tabela.distancia(anterior, cliente + 1), demandas[cliente]);
+                anterior = cliente + 1;
+            }
+            plano.fecharViagem(tabela.distancia(anterior, 0));
+        }
+        return plano.construir();
+    }
+
+    TabelaDistancias getTabela() {
+        return tabela;
+    }
+
+    double getDemanda(int cliente) {
+        return demandas[cliente];
+    }
+
+    int getQuantidadeClientes() {
+        return demandas.length;
+    }
+
+    double getCapacidade() {
+        return capacidade;
+    }
+
+    double getAutonomia() {
+        return autonomia;
+    }
+
+    int getQuantidadeViagens() {
+        return quantidadeViagens;
+    }
+
+    int getTamanho(int viagem) {
+        return tamanhos[viagem];
+    }
+
+    int getCliente(int viagem, int posicao) {
+        return viagens[viagem][posicao];
+    }
+
+    double getCarga(int viagem) {
+        return cargas[viagem];
+    }
+
+    double getDistancia(int viagem) {
+        return distancias[viagem];
+    }
+
+    /**
+     * Retorna a viagem em que o cliente está.
+     *
+     * @param cliente Índice do cliente
+     * @return Índice da viagem, ou {@link #FORA}
+     */
+    int getViagem(int cliente) {
+        return viagemDe[cliente];
+    }
+
+    int getPosicao(int cliente) {
+        return posicaoDe[cliente];
+    }
+
+    /**
+     * Soma das distâncias de todas as viagens.
+     *
+     * @return Distância total da solução
+     */
+    double getDistanciaTotal() {
+        double total = 0.0;
+        for (int v = 0; v < quantidadeViagens; v++) {
+            total += distancias[v];
+        }
+        return total;
+    }
+
+    /**
+     * Retorna o índice na tabela do local em uma posição da viagem; posições fora da viagem
+     * (-1 e tamanho) correspondem à central.
+     *
+     * @param viagem Índice da viagem
+     * @param posicao Posição (-1 a tamanho)
+     * @return Índice do local na tabela
+     */
+    int local(int viagem, int posicao) {
+        return (posicao < 0 || posicao >= tamanhos[viagem]) ? 0 : viagens[viagem][posicao] + 1;
+    }
+
+    double distancia(int origem, int destino) {
+        return tabela.distancia(origem, destino);
+    }
+
+    /**
+     * Abre uma viagem vazia no fim da solução.
+     *
+     * @return Índice da nova viagem
+     */
+    int novaViagem() {
+        garantirViagens(quantidadeViagens + 1);
+        viagens[quantidadeViagens] = new int[4];
+        tamanhos[quantidadeViagens] = 0;
+        cargas[quantidadeViagens] = 0.0;
+        distancias[quantidadeViagens] = 0.0;
+        return quantidadeViagens++;
+    }
+
+    /**
+     * Verifica se a demanda do cliente cabe na carga restante da viagem.
+     */
+    boolean cabe(int viagem, int cliente) {
+        return cargas[viagem] + demandas[cliente] <= capacidade;
+    }
+
+    /**
+     * Acréscimo de distância ao inserir o cliente na posição informada da viagem.
+     *
+     * @param viagem Índice da viagem
+     * @param posicao Posição de inserção (0 a tamanho)
+     * @param cliente Índice do cliente
+     * @return Aumento da distância da viagem
+     */
+    double custoInsercao(int viagem, int posicao, int cliente) {
+        int anterior = local(viagem, posicao - 1);
+        int seguinte = local(viagem, posicao);
+        int no = cliente + 1;
+        return tabela.distancia(anterior, no) + tabela.distancia(no, seguinte)
+             - tabela.distancia(anterior, seguinte);
+    }
+
+    /**
+     * Redução de distância ao retirar o cliente da sua viagem.
+     *
+     * @param cliente Índice do cliente (deve estar na solução)
+     * @return Distância economizada
+     */
+    double ganhoRemocao(int cliente) {
+        int viagem = viagemDe[cliente];
+        int posicao = posicaoDe[cliente];
+        int anterior = local(viagem, posicao - 1);
+        int seguinte = local(viagem, posicao + 1);
+        int no = cliente + 1;
+        return tabela.distancia(anterior, no) + tabela.distancia(no, seguinte)
+             - tabela.distancia(anterior, seguinte);
+    }
+
+    /**
+     * Insere o cliente na posição informada, atualizando carga e distância da viagem.
+     *
+     * @param viagem Índice da viagem
+     * @param posicao Posição de inserção (0 a tamanho)
+     * @param cliente Índice do cliente (fora da solução)
+     */
+    void inserir(int viagem, int posicao, int cliente) {
+        double acrescimo = custoInsercao(viagem, posicao, cliente);
+        int tamanho = tamanhos[viagem];
+        if (tamanho == viagens[viagem].length) {
+            viagens[viagem] = Arrays.copyOf(viagens[viagem], tamanho * 2);
+        }
+
+        int[] paradas = viagens[viagem];
+        System.arraycopy(paradas, posicao, paradas, posicao + 1, tamanho - posicao);
+        paradas[posicao] = cliente;
+        tamanhos[viagem] = tamanho + 1;
+        for (int i = posicao; i <= tamanho; i++) {
+            posicaoDe[paradas[i]] = i;
+        }
+
+        viagemDe[cliente] = viagem;
+        cargas[viagem] += demandas[cliente];
+        distancias[viagem] += acrescimo;
+    }
+
+    /**
+     * Retira o cliente da sua viagem (a viagem pode ficar vazia).
+     *
+     * @param cliente Índice do cliente (deve estar na solução)
+     */
+    void remover(int cliente) {
+        int viagem = viagemDe[cliente];
+        int posicao = posicaoDe[cliente];
+        double ganho = ganhoRemocao(cliente);
+
+        int[] paradas = viagens[viagem];
+        int tamanho = tamanhos[viagem] - 1;
+        System.arraycopy(paradas, posicao + 1, paradas, posicao, tamanho - posicao);
+        tamanhos[viagem] = tamanho;
+        for (int i = posicao; i < tamanho; i++) {
+            posicaoDe[paradas[i]] = i;
+        }
+
+        viagemDe[cliente] = FORA;
+        cargas[viagem] -= demandas[cliente];
+        // Viagem vazia volta a zero exatamente (sem resíduo de arredondamento)
+        distancias[viagem] = tamanho == 0 ? 0.0 : distancias[viagem] - ganho;
+        if (tamanho == 0) {
+            cargas[viagem] = 0.0;
+        }
+    }
+
+    /**
+     * Variação de distância ao inverter o trecho [inicio, fim] da viagem (movimento 2-opt).
+     *
+     * Com distâncias simétricas só as duas arestas das pontas mudam; caso contrário o
+     * sentido de todos os trechos internos também é recalculado.
+     *
+     * @param viagem Índice da viagem
+     * @param inicio Primeira posição do trecho
+     * @param fim Última posição do trecho
+     * @return Variação da distância da viagem (negativa = melhoria)
+     */
+    double deltaInversao(int viagem, int inicio, int fim) {
+        int anterior = local(viagem, inicio - 1);
+        int seguinte = local(viagem, fim + 1);
+        int primeiro = local(viagem, inicio);
+        int ultimo = local(viagem, fim);
+
+        double delta = tabela.distancia(anterior, ultimo) + tabela.distancia(primeiro, seguinte)
+                     - tabela.distancia(anterior, primeiro) - tabela.distancia(ultimo, seguinte);
+
+        if (!simetrica) {
+            for (int i = inicio; i < fim; i++) {
+                int a = local(viagem, i);
+                int b = local(viagem, i + 1);
+                delta += tabela.distancia(b, a) - tabela.distancia(a, b);
+            }
+        }
+        return delta;
+    }
+
+    /**
+     * Inverte o trecho [inicio, fim] da viagem.
+     *
+     * @param viagem Índice da viagem
+     * @param inicio Primeira posição do trecho
+     * @param fim Última posição do trecho
+     */
+    void inverter(int viagem, int inicio, int fim) {
+        distancias[viagem] += deltaInversao(viagem, inicio, fim);
+
+        int[] paradas = viagens[viagem];
+        for (int i = inicio, j = fim; i < j; i++, j--) {
+            int temp = paradas[i];
+            paradas[i] = paradas[j];
+            paradas[j] = temp;
+        }
+        for (int i = inicio; i <= fim; i++) {
+            posicaoDe[paradas[i]] = i;
+        }
+    }
+
+    /**
+     * Recalcula a distância da viagem do zero (elimina o erro acumulado pelos deltas).
+     *
+     * @param viagem Índice da viagem
+     */
+    void recalcularDistancia(int viagem) {
+        double total = 0.0;
+        int anterior = 0;
+        for (int i = 0; i < tamanhos[viagem]; i++) {
+            int no = viagens[viagem][i] + 1;
+            total += tabela.distancia(anterior, no);
+            anterior = no;
+        }
+        distancias[viagem] = tamanhos[viagem] == 0 ? 0.0 : total + tabela.distancia(anterior, 0);
+    }
+
+    /**
+     * Remove as viagens vazias, renumerando as demais na mesma ordem.
+     */
+    void compactar() {
+        int destino = 0;
+        for (int v = 0; v < quantidadeViagens; v++) {
+            if (tamanhos[v] == 0) {
+                continue;
+            }
+            if (destino != v) {
+                viagens[destino] = viagens[v];
+                tamanhos[destino] = tamanhos[v];
+                cargas[destino] = cargas[v];
+                distancias[destino] = distancias[v];
+                for (int i = 0; i < tamanhos[destino]; i++) {
+                    viagemDe[viagens[destino][i]] = destino;
+                }
+            }
+            destino++;
+        }
+        for (int v = destino; v < quantidadeViagens; v++) {
+            viagens[v] = null;
+        }
+        quantidadeViagens = destino;
+    }
+
+    /**
+     * Garante espaço para a quantidade informada de viagens.
+     */
+    private void garantirViagens(int quantidade) {
+        if (quantidade > viagens.length) {
+            int novaCapacidade = Math.max(quantidade, viagens.length * 2);
+            viagens = Arrays.copyOf(viagens, novaCapacidade);
+            tamanhos = Arrays.copyOf(tamanhos, novaCapacidade);
+            cargas = Arrays.copyOf(cargas, novaCapacidade);
+            distancias = Arrays.copyOf(distancias, novaCapacidade);
+        }
+    }
+}
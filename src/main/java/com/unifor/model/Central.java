@@ -1,7 +1,7 @@
 package com.unifor.model;
 
 /**
- * Representa a central de distribuição (depósito) localizada na origem (0, 0).
+ * Representa a central de distribuição (depósito), localizada na origem (0, 0) por padrão.
  */
 public class Central {
     private final Ponto localizacao;
@@ -25,6 +25,21 @@ public class Central {
         this.nome = nome;
     }
 
+    /**
+     * Construtor com nome e localização (cenários com várias centrais).
+     * 
+     * @param nome Nome da central
+     * @param localizacao Localização da central
+     * @throws IllegalArgumentException se a localização for nula
+     */
+    public Central(String nome, Ponto localizacao) {
+        if (localizacao == null) {
+            throw new IllegalArgumentException("A localização da central não pode ser nula");
+        }
+        this.localizacao = localizacao;
+        this.nome = nome;
+    }
+
     public Ponto getLocalizacao() {
         return localizacao;
     }
@@ -4,10 +4,14 @@ import java.util.Objects;
 
 /**
  * Representa um cliente com localização, demanda de carga e prioridade.
+ * 
+ * Além da entrega (carga que sai da central), o cliente pode ter uma coleta: carga
+ * recolhida no local e levada de volta à central no fim da viagem (logística reversa).
  */
 public class Cliente {
     private Ponto localizacao;
     private double demandaCarga;
+    private double demandaColeta;
     private int prioridade;
 
     /**
@@ -29,6 +33,19 @@ public class Cliente {
         this.prioridade = prioridade;
     }
 
+    /**
+     * Construtor com entrega e coleta no mesmo cliente.
+     * 
+     * @param localizacao Localização do cliente
+     * @param demandaCarga Carga entregue ao cliente (sai da central)
+     * @param demandaColeta Carga recolhida no cliente (volta à central)
+     * @param prioridade Prioridade do cliente (maior valor = maior prioridade)
+     */
+    public Cliente(Ponto localizacao, double demandaCarga, double demandaColeta, int prioridade) {
+        this(localizacao, demandaCarga, prioridade);
+        this.demandaColeta = demandaColeta;
+    }
+
     public Ponto getLocalizacao() {
         return localizacao;
     }
@@ -45,6 +62,14 @@ public class Cliente {
         this.demandaCarga = demandaCarga;
     }
 
+    public double getDemandaColeta() {
+        return demandaColeta;
+    }
+
+    public void setDemandaColeta(double demandaColeta) {
+        this.demandaColeta = demandaColeta;
+    }
+
     public int getPrioridade() {
         return prioridade;
     }
@@ -58,6 +83,7 @@ public class Cliente {
         return "Cliente{" +
                 "localizacao=" + localizacao +
                 ", demandaCarga=" + demandaCarga +
+                ", demandaColeta=" + demandaColeta +
                 ", prioridade=" + prioridade +
                 '}';
     }
@@ -68,12 +94,13 @@ public class Cliente {
         if (o == null || getClass() != o.getClass()) return false;
         Cliente cliente = (Cliente) o;
         return Double.compare(cliente.demandaCarga, demandaCarga) == 0 &&
+                Double.compare(cliente.demandaColeta, demandaColeta) == 0 &&
                 prioridade == cliente.prioridade &&
                 Objects.equals(localizacao, cliente.localizacao);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(localizacao, demandaCarga, prioridade);
+        return Objects.hash(localizacao, demandaCarga, demandaColeta, prioridade);
     }
 }
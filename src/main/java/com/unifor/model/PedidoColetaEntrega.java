@@ -0,0 +1,71 @@
+package com.unifor.model;
+
+/**
+ * Pedido de coleta e entrega pareadas: a carga é recolhida em um ponto e entregue em outro,
+ * sem passar pela central.
+ *
+ * As duas paradas são representadas por clientes próprios (sem entrega nem coleta de
+ * central), que aparecem nas rotas como quaisquer outras paradas. A coleta precisa vir
+ * antes da entrega, e as duas na mesma viagem.
+ */
+public class PedidoColetaEntrega {
+    private final Cliente coleta;
+    private final Cliente entrega;
+    private final double carga;
+
+    /**
+     * Construtor com parâmetros.
+     *
+     * @param origem Local onde a carga é recolhida
+     * @param destino Local onde a carga é entregue
+     * @param carga Carga transportada da origem ao destino
+     * @param prioridade Prioridade do pedido (maior valor = maior prioridade)
+     * @throws IllegalArgumentException se algum local for nulo ou a carga for negativa
+     */
+    public PedidoColetaEntrega(Ponto origem, Ponto destino, double carga, int prioridade) {
+        if (origem == null || destino == null) {
+            throw new IllegalArgumentException("Os locais de coleta e entrega não podem ser nulos");
+        }
+        if (!(carga >= 0)) {
+            throw new IllegalArgumentException("A carga do pedido não pode ser negativa");
+        }
+        this.coleta = new Cliente(origem, 0.0, prioridade);
+        this.entrega = new Cliente(destino, 0.0, prioridade);
+        this.carga = carga;
+    }
+
+    /**
+     * Retorna a parada de coleta (aparece nas rotas antes da entrega).
+     *
+     * @return Cliente que representa a origem
+     */
+    public Cliente getColeta() {
+        return coleta;
+    }
+
+    /**
+     * Retorna a parada de entrega.
+     *
+     * @return Cliente que representa o destino
+     */
+    public Cliente getEntrega() {
+        return entrega;
+    }
+
+    public double getCarga() {
+        return carga;
+    }
+
+    public int getPrioridade() {
+        return coleta.getPrioridade();
+    }
+
+    @Override
+    public String toString() {
+        return "PedidoColetaEntrega{" +
+                "origem=" + coleta.getLocalizacao() +
+                ", destino=" + entrega.getLocalizacao() +
+                ", carga=" + carga +
+                '}';
+    }
+}
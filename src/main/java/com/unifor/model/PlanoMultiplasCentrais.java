@@ -0,0 +1,114 @@
+package com.unifor.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Resultado da roteirização com várias centrais: um {@link PlanoRotas} por central.
+ *
+ * Cada plano se refere à sublista de clientes atribuídos à sua central (os índices das
+ * paradas são posições nessa sublista); {@link #getIndiceOriginal(int, int)} converte
+ * para a posição na lista original.
+ */
+public class PlanoMultiplasCentrais {
+
+    private final List<Central> centrais;
+    private final List<PlanoRotas> planos;
+    private final int[][] indicesOriginais;
+    private final int[] centralDoCliente;
+
+    /**
+     * Construtor com parâmetros.
+     *
+     * @param centrais Centrais, na ordem dos planos
+     * @param planos Plano de cada central
+     * @param indicesOriginais Para cada central, a posição original de cada cliente da sublista
+     * @param centralDoCliente Central atribuída a cada cliente da lista original (-1 = ignorado)
+     */
+    public PlanoMultiplasCentrais(List<Central> centrais, List<PlanoRotas> planos,
+                                  int[][] indicesOriginais, int[] centralDoCliente) {
+        this.centrais = Collections.unmodifiableList(new ArrayList<>(centrais));
+        this.planos = Collections.unmodifiableList(new ArrayList<>(planos));
+        this.indicesOriginais = indicesOriginais;
+        this.centralDoCliente = centralDoCliente;
+    }
+
+    public List<Central> getCentrais() {
+        return centrais;
+    }
+
+    public int getQuantidadeCentrais() {
+        return centrais.size();
+    }
+
+    /**
+     * Retorna o plano de uma central.
+     *
+     * @param central Índice da central
+     * @return Plano com as viagens que partem dessa central
+     */
+    public PlanoRotas getPlano(int central) {
+        return planos.get(central);
+    }
+
+    /**
+     * Retorna a central atribuída a um cliente.
+     *
+     * @param cliente Posição do cliente na lista original
+     * @return Índice da central, ou -1 se o cliente foi ignorado (nulo ou sem localização)
+     */
+    public int getCentralDoCliente(int cliente) {
+        return centralDoCliente[cliente];
+    }
+
+    /**
+     * Converte o índice de um cliente no plano de uma central para a posição original.
+     *
+     * @param central Índice da central
+     * @param indiceNoPlano Índice do cliente na sublista da central
+     * @return Posição na lista original de clientes
+     */
+    public int getIndiceOriginal(int central, int indiceNoPlano) {
+        return indicesOriginais[central][indiceNoPlano];
+    }
+
+    /**
+     * Retorna o número total de viagens (todas as centrais).
+     *
+     * @return Número de viagens
+     */
+    public int getQuantidadeViagens() {
+        int total = 0;
+        for (PlanoRotas plano : planos) {
+            total += plano.getQuantidadeViagens();
+        }
+        return total;
+    }
+
+    /**
+     * Retorna a distância total percorrida (todas as centrais).
+     *
+     * @return Distância total
+     */
+    public double getDistanciaTotal() {
+        double total = 0.0;
+        for (PlanoRotas plano : planos) {
+            total += plano.getDistanciaTotal();
+        }
+        return total;
+    }
+
+    /**
+     * Retorna todas as viagens, agrupadas por central na ordem das centrais.
+     *
+     * @return Lista de rotas (visões sobre os planos)
+     */
+    public List<Rota> getRotas() {
+        List<Rota> rotas = new ArrayList<>(getQuantidadeViagens());
+        for (PlanoRotas plano : planos) {
+            rotas.addAll(plano.getRotas());
+        }
+        return rotas;
+    }
+}
@@ -0,0 +1,411 @@
+package com.unifor.model;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Representação compacta de um plano de entregas (todas as viagens de um dia).
+ *
+ * Em vez de um objeto por parada, o plano guarda as paradas de todas as viagens em
+ * poucos vetores primitivos paralelos:
+ * - paradas: índice de cada cliente atendido (posição na lista original de clientes)
+ * - distanciaTrecho: distância do local anterior até a parada
+ * - distanciaAcumulada / cargaAcumulada: totais da viagem até a parada (inclusive)
+ * - inicioViagem: posição da primeira parada de cada viagem
+ * - distanciaRetorno: trecho de volta à central de cada viagem
+ *
+ * Cada {@link Rota} produzida por {@link #getRotas()} é uma visão preguiçosa sobre uma
+ * viagem deste plano; nenhuma estrutura por parada é criada até que alguém a peça.
+ *
+ * Os clientes das paradas são copiados na construção do plano (referências de uma lista,
+ * ou os campos primitivos de uma {@link TabelaClientes}), então alterar a lista ou liberar
+ * a tabela depois não muda as rotas.
+ */
+public class PlanoRotas {
+
+    private final int quantidadeClientes;  // -1 = plano sem lista de clientes
+    private final int[] paradas;
+    private final double[] distanciaTrecho;
+    private final double[] distanciaAcumulada;
+    private final double[] cargaAcumulada;
+    private final int[] inicioViagem;
+    private final double[] distanciaRetorno;
+    private final int quantidadeViagens;
+
+    // Cópia dos clientes, alinhada com as paradas: referências (lista) ou campos (tabela)
+    private final Cliente[] clientesParada;
+    private final double[] xParada;
+    private final double[] yParada;
+    private final double[] demandaParada;
+    private final int[] prioridadeParada;
+
+    private List<Cliente> clientes;
+    private List<Rota> rotas;
+
+    /**
+     * Construtor privado: use {@link Construtor}.
+     */
+    private PlanoRotas(Construtor construtor) {
+        int quantidadeParadas = construtor.quantidadeParadas;
+        this.quantidadeViagens = construtor.quantidadeViagens;
+        // Com a capacidade esperada correta os vetores são reaproveitados sem cópia
+        this.paradas = construtor.paradas.length == quantidadeParadas
+            ? construtor.paradas : Arrays.copyOf(construtor.paradas, quantidadeParadas);
+        this.distanciaTrecho = ajustar(construtor.distanciaTrecho, quantidadeParadas);
+        this.distanciaAcumulada = ajustar(construtor.distanciaAcumulada, quantidadeParadas);
+        this.cargaAcumulada = ajustar(construtor.cargaAcumulada, quantidadeParadas);
+        this.inicioViagem = Arrays.copyOf(construtor.inicioViagem, quantidadeViagens + 1);
+        this.distanciaRetorno = ajustar(construtor.distanciaRetorno, quantidadeViagens);
+
+        TabelaClientes tabela = construtor.tabela;
+        if (tabela != null) {
+            // Só os registros usados pelo plano, sem criar objetos Cliente
+            this.quantidadeClientes = tabela.getQuantidade();
+            this.clientesParada = null;
+            this.xParada = new double[quantidadeParadas];
+            this.yParada = new double[quantidadeParadas];
+            this.demandaParada = new double[quantidadeParadas];
+            this.prioridadeParada = new int[quantidadeParadas];
+            for (int p = 0; p < quantidadeParadas; p++) {
+                int indice = paradas[p];
+                xParada[p] = tabela.getX(indice);
+                yParada[p] = tabela.getY(indice);
+                demandaParada[p] = tabela.getDemandaCarga(indice);
+                prioridadeParada[p] = tabela.getPrioridade(indice);
+            }
+        } else {
+            List<Cliente> origem = construtor.clientes;
+            this.quantidadeClientes = origem == null ? -1 : origem.size();
+            this.clientesParada = new Cliente[quantidadeParadas];
+            for (int p = 0; p < quantidadeParadas; p++) {
+                clientesParada[p] = origem.get(paradas[p]);
+            }
+            this.xParada = null;
+            this.yParada = null;
+            this.demandaParada = null;
+            this.prioridadeParada = null;
+        }
+    }
+
+    /**
+     * Retorna o vetor com exatamente o tamanho informado, copiando apenas se necessário.
+     */
+    private static double[] ajustar(double[] vetor, int tamanho) {
+        return vetor.length == tamanho ? vetor : Arrays.copyOf(vetor, tamanho);
+    }
+
+    /**
+     * Retorna os clientes aos quais os índices das paradas se referem, como copiados na
+     * construção do plano.
+     *
+     * A lista tem o tamanho da original; as posições de clientes que não estão em nenhuma
+     * parada (nulos, sem localização ou fora de uma viagem isolada) valem null.
+     *
+     * @return Lista somente leitura de clientes, ou null se o plano foi construído sem lista
+     */
+    public synchronized List<Cliente> getClientes() {
+        if (clientes == null && quantidadeClientes >= 0) {
+            int[] posicao = new int[quantidadeClientes];
+            Arrays.fill(posicao, -1);
+            for (int p = 0; p < paradas.length; p++) {
+                posicao[paradas[p]] = p;
+            }
+
+            clientes = new AbstractList<Cliente>() {
+                @Override
+                public Cliente get(int i) {
+                    if (i < 0 || i >= posicao.length) {
+                        throw new IndexOutOfBoundsException("Cliente " + i + " fora do plano (tamanho " + posicao.length + ")");
+                    }
+                    return posicao[i] < 0 ? null : clienteParada(posicao[i]);
+                }
+
+                @Override
+                public int size() {
+                    return posicao.length;
+                }
+            };
+        }
+        return clientes;
+    }
+
+    /**
+     * Cliente da parada na posição p (criado a partir da cópia, no caminho da tabela).
+     */
+    private Cliente clienteParada(int p) {
+        if (clientesParada != null) {
+            return clientesParada[p];
+        }
+        return new Cliente(new Ponto(xParada[p], yParada[p]), demandaParada[p], prioridadeParada[p]);
+    }
+
+    public int getQuantidadeViagens() {
+        return quantidadeViagens;
+    }
+
+    public int getQuantidadeParadas() {
+        return paradas.length;
+    }
+
+    /**
+     * Retorna o número de paradas de uma viagem.
+     *
+     * @param viagem Índice da viagem
+     * @return Número de clientes atendidos na viagem
+     */
+    public int getTamanhoViagem(int viagem) {
+        return inicioViagem[viagem + 1] - inicioViagem[viagem];
+    }
+
+    /**
+     * Retorna o índice (na lista original) do i-ésimo cliente de uma viagem.
+     *
+     * @param viagem Índice da viagem
+     * @param i Posição da parada na viagem
+     * @return Índice do cliente
+     */
+    public int getIndiceCliente(int viagem, int i) {
+        return paradas[inicioViagem[viagem] + i];
+    }
+
+    public double getDistanciaTrecho(int viagem, int i) {
+        return distanciaTrecho[inicioViagem[viagem] + i];
+    }
+
+    public double getDistanciaAcumulada(int viagem, int i) {
+        return distanciaAcumulada[inicioViagem[viagem] + i];
+    }
+
+    public double getCargaAcumulada(int viagem, int i) {
+        return cargaAcumulada[inicioViagem[viagem] + i];
+    }
+
+    public double getDistanciaRetorno(int viagem) {
+        return distanciaRetorno[viagem];
+    }
+
+    /**
+     * Retorna a distância total de uma viagem (ida pelos clientes + retorno à central).
+     *
+     * @param viagem Índice da viagem
+     * @return Distância total da viagem
+     */
+    public double getDistanciaViagem(int viagem) {
+        int tamanho = getTamanhoViagem(viagem);
+        double ida = tamanho > 0 ? distanciaAcumulada[inicioViagem[viagem] + tamanho - 1] : 0.0;
+        return ida + distanciaRetorno[viagem];
+    }
+
+    /**
+     * Retorna a distância total do plano (soma de todas as viagens).
+     *
+     * @return Distância total percorrida
+     */
+    public double getDistanciaTotal() {
+        double total = 0.0;
+        for (int v = 0; v < quantidadeViagens; v++) {
+            total += getDistanciaViagem(v);
+        }
+        return total;
+    }
+
+    /**
+     * Retorna a carga total entregue em uma viagem.
+     *
+     * @param viagem Índice da viagem
+     * @return Carga total da viagem
+     */
+    public double getCargaViagem(int viagem) {
+        int tamanho = getTamanhoViagem(viagem);
+        return tamanho > 0 ? cargaAcumulada[inicioViagem[viagem] + tamanho - 1] : 0.0;
+    }
+
+    /**
+     * Retorna as viagens do plano como rotas (uma visão por viagem, criadas uma única vez).
+     *
+     * @return Lista imutável de rotas
+     */
+    public synchronized List<Rota> getRotas() {
+        if (rotas == null) {
+            rotas = criarRotas();
+        }
+        return rotas;
+    }
+
+    /**
+     * Cria novas visões das viagens, independentes das devolvidas por {@link #getRotas()}.
+     *
+     * Alterações feitas em uma rota recebida (que a desvinculam do plano) não afetam as
+     * visões criadas por outras chamadas: serve para quem entrega o mesmo plano a vários
+     * consumidores, como o {@link com.unifor.algorithm.CacheRotas}.
+     *
+     * @return Lista imutável de rotas novas
+     */
+    public List<Rota> criarRotas() {
+        List<Rota> visoes = new ArrayList<>(quantidadeViagens);
+        for (int v = 0; v < quantidadeViagens; v++) {
+            visoes.add(new Rota(this, v));
+        }
+        return Collections.unmodifiableList(visoes);
+    }
+
+    /**
+     * Retorna uma visão somente leitura dos clientes de uma viagem, sem copiar dados.
+     *
+     * @param viagem Índice da viagem
+     * @return Lista de clientes na ordem de atendimento
+     */
+    List<Cliente> getClientesViagem(int viagem) {
+        final int inicio = inicioViagem[viagem];
+        final int tamanho = getTamanhoViagem(viagem);
+
+        return new AbstractList<Cliente>() {
+            @Override
+            public Cliente get(int i) {
+                if (i < 0 || i >= tamanho) {
+                    throw new IndexOutOfBoundsException("Parada " + i + " fora da viagem (tamanho " + tamanho + ")");
+                }
+                return clienteParada(inicio + i);
+            }
+
+            @Override
+            public int size() {
+                return tamanho;
+            }
+        };
+    }
+
+    /**
+     * Construtor incremental do plano: as paradas são acrescentadas viagem a viagem.
+     *
+     * Os vetores internos crescem por duplicação; informando a quantidade esperada de paradas
+     * (normalmente o número de clientes) nenhuma realocação acontece.
+     */
+    public static class Construtor {
+        private final List<Cliente> clientes;
+        private final TabelaClientes tabela;
+
+        private int[] paradas;
+        private double[] distanciaTrecho;
+        private double[] distanciaAcumulada;
+        private double[] cargaAcumulada;
+        private int quantidadeParadas;
+
+        private int[] inicioViagem;
+        private double[] distanciaRetorno;
+        private int quantidadeViagens;
+
+        // Totais da viagem em construção
+        private double distanciaViagem;
+        private double cargaViagem;
+
+        /**
+         * Construtor com capacidade inicial.
+         *
+         * @param clientes Lista de clientes à qual os índices se referem
+         * @param paradasEsperadas Número esperado de paradas no plano
+         */
+        public Construtor(List<Cliente> clientes, int paradasEsperadas) {
+            this(clientes, null, paradasEsperadas);
+        }
+
+        /**
+         * Construtor sobre uma tabela fora do heap: o plano copia só os registros das paradas,
+         * e continua válido depois que a tabela for liberada.
+         *
+         * @param tabela Tabela de clientes à qual os índices se referem
+         * @param paradasEsperadas Número esperado de paradas no plano
+         */
+        public Construtor(TabelaClientes tabela, int paradasEsperadas) {
+            this(null, tabela, paradasEsperadas);
+        }
+
+        private Construtor(List<Cliente> clientes, TabelaClientes tabela, int paradasEsperadas) {
+            int capacidade = Math.max(1, paradasEsperadas);
+            this.clientes = clientes;
+            this.tabela = tabela;
+            this.paradas = new int[capacidade];
+            this.distanciaTrecho = new double[capacidade];
+            this.distanciaAcumulada = new double[capacidade];
+            this.cargaAcumulada = new double[capacidade];
+            this.inicioViagem = new int[16];
+            this.distanciaRetorno = new double[15];
+        }
+
+        /**
+         * Acrescenta uma parada à viagem em construção.
+         *
+         * @param indiceCliente Índice do cliente na lista original
+         * @param trecho Distância do local anterior até o cliente
+         * @param carga Carga entregue ao cliente
+         * @return Este construtor
+         */
+        public Construtor adicionarParada(int indiceCliente, double trecho, double carga) {
+            if (quantidadeParadas == paradas.length) {
+                int novaCapacidade = paradas.length * 2;
+                paradas = Arrays.copyOf(paradas, novaCapacidade);
+                distanciaTrecho = Arrays.copyOf(distanciaTrecho, novaCapacidade);
+                distanciaAcumulada = Arrays.copyOf(distanciaAcumulada, novaCapacidade);
+                cargaAcumulada = Arrays.copyOf(cargaAcumulada, novaCapacidade);
+            }
+
+            distanciaViagem += trecho;
+            cargaViagem += carga;
+
+            paradas[quantidadeParadas] = indiceCliente;
+            distanciaTrecho[quantidadeParadas] = trecho;
+            distanciaAcumulada[quantidadeParadas] = distanciaViagem;
+            cargaAcumulada[quantidadeParadas] = cargaViagem;
+            quantidadeParadas++;
+            return this;
+        }
+
+        /**
+         * Encerra a viagem em construção com o trecho de retorno à central.
+         *
+         * Viagens sem paradas são descartadas.
+         *
+         * @param retorno Distância do último cliente até a central
+         * @return Este construtor
+         */
+        public Construtor fecharViagem(double retorno) {
+            if (quantidadeParadas > inicioViagem[quantidadeViagens]) {
+                if (quantidadeViagens + 1 == inicioViagem.length) {
+                    inicioViagem = Arrays.copyOf(inicioViagem, inicioViagem.length * 2);
+                    distanciaRetorno = Arrays.copyOf(distanciaRetorno, inicioViagem.length - 1);
+                }
+                distanciaRetorno[quantidadeViagens] = retorno;
+                quantidadeViagens++;
+                inicioViagem[quantidadeViagens] = quantidadeParadas;
+            }
+
+            distanciaViagem = 0.0;
+            cargaViagem = 0.0;
+            return this;
+        }
+
+        /**
+         * Retorna a distância acumulada da viagem em construção (sem o retorno).
+         *
+         * @return Distância percorrida até a última parada
+         */
+        public double getDistanciaViagemAtual() {
+            return distanciaViagem;
+        }
+
+        /**
+         * Finaliza o plano. Paradas de uma viagem não fechada são descartadas.
+         * O plano pode reaproveitar os vetores internos, então o construtor não deve
+         * ser utilizado depois desta chamada.
+         *
+         * @return Plano de rotas imutável
+         */
+        public PlanoRotas construir() {
+            quantidadeParadas = inicioViagem[quantidadeViagens];
+            return new PlanoRotas(this);
+        }
+    }
+}
@@ -5,11 +5,26 @@ import java.util.List;
 
 /**
  * Representa uma rota de entrega com pontos de parada, distância total e carga coletada.
+ * 
+ * Por compatibilidade, "carga total coletada" é a carga entregue aos clientes. Rotas com
+ * coletas (logística reversa ou pedidos de coleta e entrega) informam também a carga
+ * recolhida e o pico de carga a bordo, que é o que a capacidade do veículo limita.
+ * 
+ * Rotas produzidas pelo Roteirizador são visões preguiçosas sobre um {@link PlanoRotas}:
+ * a lista de clientes, os trechos e os acumulados são lidos dos vetores do plano sem cópia.
+ * Qualquer alteração (adicionar/remover cliente, setPontos) desvincula a rota do plano,
+ * copiando os clientes para uma lista própria.
  */
 public class Rota {
     private List<Cliente> pontos;
     private double distanciaTotal;
     private double cargaTotalColetada;
+    private double cargaRecolhida;
+    private double cargaMaxima = Double.NaN;
+
+    // Visão sobre o plano compacto (null quando a rota é independente)
+    private PlanoRotas plano;
+    private int viagem;
 
     /**
      * Construtor padrão.
@@ -33,14 +48,114 @@ public class Rota {
         this.cargaTotalColetada = cargaTotalColetada;
     }
 
+    /**
+     * Construtor de visão sobre uma viagem de um plano compacto.
+     * 
+     * @param plano Plano de rotas
+     * @param viagem Índice da viagem no plano
+     */
+    Rota(PlanoRotas plano, int viagem) {
+        this.plano = plano;
+        this.viagem = viagem;
+        this.distanciaTotal = plano.getDistanciaViagem(viagem);
+        this.cargaTotalColetada = plano.getCargaViagem(viagem);
+    }
+
+    /**
+     * Retorna os clientes da rota na ordem de atendimento.
+     * 
+     * Para rotas vinculadas a um plano, a lista é uma visão somente leitura criada sob demanda.
+     * 
+     * @return Lista de clientes
+     */
     public List<Cliente> getPontos() {
+        if (pontos == null && plano != null) {
+            pontos = plano.getClientesViagem(viagem);
+        }
         return pontos;
     }
 
     public void setPontos(List<Cliente> pontos) {
+        this.plano = null;
         this.pontos = pontos;
     }
 
+    /**
+     * Retorna o plano compacto sobre o qual esta rota é uma visão.
+     * 
+     * @return Plano de rotas, ou null se a rota for independente
+     */
+    public PlanoRotas getPlano() {
+        return plano;
+    }
+
+    /**
+     * Retorna o índice desta rota (viagem) dentro do plano.
+     * 
+     * @return Índice da viagem, ou -1 se a rota for independente
+     */
+    public int getIndiceViagem() {
+        return plano != null ? viagem : -1;
+    }
+
+    /**
+     * Retorna o índice, na lista original de clientes, do i-ésimo cliente da rota.
+     * 
+     * @param i Posição do cliente na rota
+     * @return Índice do cliente, ou -1 se a rota for independente
+     */
+    public int getIndiceCliente(int i) {
+        return plano != null ? plano.getIndiceCliente(viagem, i) : -1;
+    }
+
+    /**
+     * Retorna a distância percorrida do local anterior até o i-ésimo cliente da rota
+     * (o local anterior do primeiro cliente é a central).
+     * 
+     * @param i Posição do cliente na rota
+     * @return Distância do trecho, ou NaN se a rota for independente
+     */
+    public double getDistanciaTrecho(int i) {
+        return plano != null ? plano.getDistanciaTrecho(viagem, i) : Double.NaN;
+    }
+
+    /**
+     * Retorna a distância percorrida desde a central até o i-ésimo cliente da rota.
+     * 
+     * @param i Posição do cliente na rota
+     * @return Distância acumulada, ou NaN se a rota for independente
+     */
+    public double getDistanciaAcumulada(int i) {
+        return plano != null ? plano.getDistanciaAcumulada(viagem, i) : Double.NaN;
+    }
+
+    /**
+     * Retorna a carga entregue desde a saída da central até o i-ésimo cliente (inclusive).
+     * 
+     * @param i Posição do cliente na rota
+     * @return Carga acumulada
+     */
+    public double getCargaAcumulada(int i) {
+        if (plano != null) {
+            return plano.getCargaAcumulada(viagem, i);
+        }
+
+        double carga = 0.0;
+        for (int j = 0; j <= i; j++) {
+            carga += pontos.get(j).getDemandaCarga();
+        }
+        return carga;
+    }
+
+    /**
+     * Retorna a distância do último cliente de volta à central.
+     * 
+     * @return Distância de retorno, ou NaN se a rota for independente
+     */
+    public double getDistanciaRetorno() {
+        return plano != null ? plano.getDistanciaRetorno(viagem) : Double.NaN;
+    }
+
     public double getDistanciaTotal() {
         return distanciaTotal;
     }
@@ -57,6 +172,34 @@ public class Rota {
         this.cargaTotalColetada = cargaTotalColetada;
     }
 
+    /**
+     * Retorna a carga recolhida ao longo da rota (coletas dos clientes e dos pedidos pareados).
+     * 
+     * @return Carga recolhida (0 em rotas só de entrega)
+     */
+    public double getCargaRecolhida() {
+        return cargaRecolhida;
+    }
+
+    public void setCargaRecolhida(double cargaRecolhida) {
+        this.cargaRecolhida = cargaRecolhida;
+    }
+
+    /**
+     * Retorna a maior carga a bordo em qualquer ponto da rota.
+     * 
+     * Em rotas só de entrega o pico é a saída da central, igual à carga entregue.
+     * 
+     * @return Pico de carga
+     */
+    public double getCargaMaxima() {
+        return Double.isNaN(cargaMaxima) ? cargaTotalColetada : cargaMaxima;
+    }
+
+    public void setCargaMaxima(double cargaMaxima) {
+        this.cargaMaxima = cargaMaxima;
+    }
+
     /**
      * Adiciona um cliente à rota.
      * 
@@ -64,6 +207,7 @@ public class Rota {
      */
     public void adicionarCliente(Cliente cliente) {
         if (cliente != null) {
+            desvincularDoPlano();
             this.pontos.add(cliente);
             this.cargaTotalColetada += cliente.getDemandaCarga();
         }
@@ -76,6 +220,7 @@ public class Rota {
      * @return true se o cliente foi removido, false caso contrário
      */
     public boolean removerCliente(Cliente cliente) {
+        desvincularDoPlano();
         if (cliente != null && this.pontos.remove(cliente)) {
             this.cargaTotalColetada -= cliente.getDemandaCarga();
             return true;
@@ -89,13 +234,23 @@ public class Rota {
      * @return Número de clientes
      */
     public int getNumeroClientes() {
-        return pontos.size();
+        return plano != null ? plano.getTamanhoViagem(viagem) : pontos.size();
+    }
+
+    /**
+     * Copia os clientes do plano para uma lista própria, permitindo alterações na rota.
+     */
+    private void desvincularDoPlano() {
+        if (plano != null) {
+            this.pontos = new ArrayList<>(getPontos());
+            this.plano = null;
+        }
     }
 
     @Override
     public String toString() {
         return "Rota{" +
-                "numeroClientes=" + pontos.size() +
+                "numeroClientes=" + getNumeroClientes() +
                 ", distanciaTotal=" + distanciaTotal +
                 ", cargaTotalColetada=" + cargaTotalColetada +
                 '}';
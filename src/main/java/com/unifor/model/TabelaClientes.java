@@ -0,0 +1,256 @@
+package com.unifor.model;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Tabela de clientes fora do heap Java, para cenários com milhões de clientes.
+ *
+ * Uma lista de objetos {@link Cliente} custa algumas centenas de bytes por cliente (o
+ * cliente, o {@link Ponto} e as referências) e, com dezenas de milhões deles, cada coleta
+ * completa precisa percorrê-los. Aqui cada cliente ocupa um registro de 32 bytes em
+ * buffers diretos, que o coletor de lixo não percorre:
+ * - double x, double y: localização
+ * - double: demanda de carga
+ * - int: prioridade
+ * - int: 1 se o cliente tem localização, 0 caso contrário (ignorado pelo Roteirizador)
+ *
+ * Como um ByteBuffer endereça no máximo 2 GB, os registros ficam em segmentos de 2^20
+ * clientes (32 MB), alocados à medida que a tabela cresce. O índice de cada cliente segue
+ * a convenção das listas: o cliente i corresponde ao índice i + 1 das tabelas de distâncias.
+ *
+ * A memória é liberada em {@link #close()}, sem esperar pelo coletor de lixo; depois disso
+ * qualquer acesso lança IllegalStateException. Escritas não são seguras entre threads;
+ * leituras concorrentes depois do preenchimento, sim. Os planos calculados a partir da
+ * tabela ({@link com.unifor.algorithm.Roteirizador#calcularPlano(TabelaClientes, Veiculo, Ponto)})
+ * guardam cópias das paradas e não dependem dela depois de prontos.
+ */
+public final class TabelaClientes implements AutoCloseable {
+
+    private static final int TAMANHO_REGISTRO = 32;
+    private static final int DESLOCAMENTO_Y = 8;
+    private static final int DESLOCAMENTO_DEMANDA = 16;
+    private static final int DESLOCAMENTO_PRIORIDADE = 24;
+    private static final int DESLOCAMENTO_PRESENTE = 28;
+
+    private static final int BITS_SEGMENTO = 20;
+    private static final int CLIENTES_POR_SEGMENTO = 1 << BITS_SEGMENTO;
+    private static final int MASCARA_SEGMENTO = CLIENTES_POR_SEGMENTO - 1;
+
+    // Liberação imediata de buffers diretos (sun.misc.Unsafe.invokeCleaner, módulo jdk.unsupported);
+    // null se indisponível, e então a memória volta ao sistema quando o buffer for coletado
+    private static final MethodHandle LIBERAR_BUFFER = localizarLiberacao();
+
+    private final int capacidade;
+    // volatile: uma thread que lê depois de close() em outra vê a tabela liberada
+    private volatile ByteBuffer[] segmentos;
+    private int quantidade;
+
+    /**
+     * Cria uma tabela vazia.
+     *
+     * @param capacidade Número máximo de clientes
+     * @throws IllegalArgumentException se a capacidade for negativa
+     */
+    public TabelaClientes(int capacidade) {
+        if (capacidade < 0) {
+            throw new IllegalArgumentException("A capacidade não pode ser negativa");
+        }
+        this.capacidade = capacidade;
+        this.segmentos = new ByteBuffer[(int) (((long) capacidade + MASCARA_SEGMENTO) >>> BITS_SEGMENTO)];
+    }
+
+    /**
+     * Copia uma lista de clientes para uma nova tabela (mesmos índices).
+     *
+     * Clientes nulos ou sem localização ocupam sua posição, marcados como sem localização.
+     *
+     * @param clientes Lista de clientes
+     * @return Tabela com os clientes da lista
+     * @throws IllegalArgumentException se a lista for nula
+     */
+    public static TabelaClientes de(List<Cliente> clientes) {
+        if (clientes == null) {
+            throw new IllegalArgumentException("A lista de clientes não pode ser nula");
+        }
+        TabelaClientes tabela = new TabelaClientes(clientes.size());
+        for (Cliente cliente : clientes) {
+            if (cliente == null) {
+                tabela.gravar(0, 0, 0, 0, false);
+            } else if (cliente.getLocalizacao() == null) {
+                tabela.gravar(0, 0, cliente.getDemandaCarga(), cliente.getPrioridade(), false);
+            } else {
+                tabela.gravar(cliente.getLocalizacao().getX(), cliente.getLocalizacao().getY(),
+                              cliente.getDemandaCarga(), cliente.getPrioridade(), true);
+            }
+        }
+        return tabela;
+    }
+
+    /**
+     * Acrescenta um cliente ao fim da tabela.
+     *
+     * @param x Coordenada X da localização
+     * @param y Coordenada Y da localização
+     * @param demandaCarga Demanda de carga
+     * @param prioridade Prioridade (maior = atendido antes)
+     * @return Índice do cliente
+     * @throws IllegalStateException se a tabela estiver cheia ou já liberada
+     */
+    public int adicionar(double x, double y, double demandaCarga, int prioridade) {
+        return gravar(x, y, demandaCarga, prioridade, true);
+    }
+
+    private int gravar(double x, double y, double demandaCarga, int prioridade, boolean presente) {
+        ByteBuffer[] atuais = segmentosAbertos();
+        if (quantidade == capacidade) {
+            throw new IllegalStateException("A tabela de clientes está cheia (capacidade " + capacidade + ")");
+        }
+
+        int indice = quantidade;
+        int s = indice >>> BITS_SEGMENTO;
+        if (atuais[s] == null) {
+            int clientes = Math.min(CLIENTES_POR_SEGMENTO, capacidade - (s << BITS_SEGMENTO));
+            atuais[s] = ByteBuffer.allocateDirect(clientes * TAMANHO_REGISTRO).order(ByteOrder.nativeOrder());
+        }
+
+        int posicao = (indice & MASCARA_SEGMENTO) * TAMANHO_REGISTRO;
+        atuais[s].putDouble(posicao, x)
+                 .putDouble(posicao + DESLOCAMENTO_Y, y)
+                 .putDouble(posicao + DESLOCAMENTO_DEMANDA, demandaCarga)
+                 .putInt(posicao + DESLOCAMENTO_PRIORIDADE, prioridade)
+                 .putInt(posicao + DESLOCAMENTO_PRESENTE, presente ? 1 : 0);
+        quantidade++;
+        return indice;
+    }
+
+    public int getQuantidade() {
+        return quantidade;
+    }
+
+    public int getCapacidade() {
+        return capacidade;
+    }
+
+    /**
+     * Indica se o cliente tem localização (clientes sem localização são ignorados na roteirização).
+     *
+     * @param indice Índice do cliente
+     * @return true se o cliente tem localização
+     */
+    public boolean isPresente(int indice) {
+        return segmento(indice).getInt(posicao(indice) + DESLOCAMENTO_PRESENTE) != 0;
+    }
+
+    public double getX(int indice) {
+        return segmento(indice).getDouble(posicao(indice));
+    }
+
+    public double getY(int indice) {
+        return segmento(indice).getDouble(posicao(indice) + DESLOCAMENTO_Y);
+    }
+
+    public double getDemandaCarga(int indice) {
+        return segmento(indice).getDouble(posicao(indice) + DESLOCAMENTO_DEMANDA);
+    }
+
+    public int getPrioridade(int indice) {
+        return segmento(indice).getInt(posicao(indice) + DESLOCAMENTO_PRIORIDADE);
+    }
+
+    /**
+     * Retorna uma visão somente leitura da tabela como lista de clientes.
+     *
+     * Cada {@link List#get(int)} cria um novo {@link Cliente} com os dados do registro (null
+     * para clientes sem localização): serve para consumidores que esperam uma lista, como as
+     * rotas de um {@link PlanoRotas}, sem materializar a tabela inteira. A visão lê a tabela
+     * a cada acesso e deixa de funcionar depois de {@link #close()}.
+     *
+     * @return Visão de lista sobre a tabela
+     */
+    public List<Cliente> comoLista() {
+        return new VisaoLista();
+    }
+
+    /**
+     * Libera a memória da tabela. Chamadas repetidas não têm efeito.
+     *
+     * Só deve ser chamado depois que todas as leituras (inclusive por {@link #comoLista()} e
+     * cálculos em andamento) terminarem: leituras iniciadas depois recebem IllegalStateException,
+     * mas uma leitura em curso em outra thread acessaria memória já devolvida ao sistema.
+     */
+    @Override
+    public void close() {
+        ByteBuffer[] liberados = segmentos;
+        segmentos = null;
+        if (liberados == null || LIBERAR_BUFFER == null) {
+            return;
+        }
+        for (ByteBuffer segmento : liberados) {
+            if (segmento != null) {
+                try {
+                    LIBERAR_BUFFER.invokeExact(segmento);
+                } catch (Throwable e) {
+                    throw new IllegalStateException("Falha ao liberar a tabela de clientes", e);
+                }
+            }
+        }
+    }
+
+    private ByteBuffer segmento(int indice) {
+        if (indice < 0 || indice >= quantidade) {
+            throw new IndexOutOfBoundsException("Cliente " + indice + " fora da tabela (quantidade " + quantidade + ")");
+        }
+        return segmentosAbertos()[indice >>> BITS_SEGMENTO];
+    }
+
+    private ByteBuffer[] segmentosAbertos() {
+        ByteBuffer[] atuais = segmentos;
+        if (atuais == null) {
+            throw new IllegalStateException("A tabela de clientes já foi liberada");
+        }
+        return atuais;
+    }
+
+    private static int posicao(int indice) {
+        return (indice & MASCARA_SEGMENTO) * TAMANHO_REGISTRO;
+    }
+
+    private static MethodHandle localizarLiberacao() {
+        try {
+            Class<?> classeUnsafe = Class.forName("sun.misc.Unsafe");
+            Field instancia = classeUnsafe.getDeclaredField("theUnsafe");
+            instancia.setAccessible(true);
+            return MethodHandles.lookup()
+                .findVirtual(classeUnsafe, "invokeCleaner", MethodType.methodType(void.class, ByteBuffer.class))
+                .bindTo(instancia.get(null));
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Visão de lista que cria os clientes sob demanda.
+     */
+    private final class VisaoLista extends AbstractList<Cliente> implements RandomAccess {
+        @Override
+        public Cliente get(int indice) {
+            if (!isPresente(indice)) {
+                return null;
+            }
+            return new Cliente(new Ponto(getX(indice), getY(indice)), getDemandaCarga(indice), getPrioridade(indice));
+        }
+
+        @Override
+        public int size() {
+            return quantidade;
+        }
+    }
+}
@@ -0,0 +1,227 @@
+package com.unifor.servico;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import com.unifor.algorithm.CacheRotas;
+import com.unifor.algorithm.LimiteInferior;
+import com.unifor.algorithm.Roteirizador;
+import com.unifor.model.Cliente;
+import com.unifor.model.Ponto;
+import com.unifor.model.Rota;
+import com.unifor.model.Veiculo;
+import com.unifor.util.Json;
+
+/**
+ * Conversão entre o JSON do serviço e o modelo do roteirizador.
+ *
+ * Formato de um cenário:
+ * <pre>
+ * {
+ *   "central": {"x": 0, "y": 0},
+ *   "veiculo": {"capacidade": 1000, "autonomia": 500},
+ *   "clientes": [{"x": 10, "y": 20, "demanda": 30, "prioridade": 5}, ...],
+ *   "opcoes": {"vizinhosCandidatos": 10, "minimizarViagens": false}
+ * }
+ * </pre>
+ * "central" (padrão: origem), "prioridade" (padrão: 0) e "opcoes" são opcionais.
+ * Coordenadas precisam ser finitas, demandas finitas e não negativas, capacidade e autonomia
+ * finitas e positivas; "vizinhosCandidatos" é limitado a 64 (o grafo de candidatos ocupa
+ * memória proporcional a clientes × vizinhos).
+ */
+final class CenarioJson {
+
+    // Maior número de vizinhos candidatos aceito de uma requisição
+    static final int VIZINHOS_MAXIMOS = 64;
+
+    final List<Cliente> clientes;
+    final Veiculo veiculo;
+    final Ponto central;
+    final int vizinhosCandidatos;
+    final boolean minimizarViagens;
+
+    private CenarioJson(List<Cliente> clientes, Veiculo veiculo, Ponto central,
+                        int vizinhosCandidatos, boolean minimizarViagens) {
+        this.clientes = clientes;
+        this.veiculo = veiculo;
+        this.central = central;
+        this.vizinhosCandidatos = vizinhosCandidatos;
+        this.minimizarViagens = minimizarViagens;
+    }
+
+    /**
+     * Converte um objeto JSON em cenário.
+     *
+     * @param valor Objeto lido por {@link Json#ler(String)}
+     * @return Cenário pronto para roteirizar
+     * @throws IllegalArgumentException se faltar algum campo obrigatório ou algum valor for inválido
+     */
+    static CenarioJson ler(Object valor) {
+        if (!(valor instanceof Map)) {
+            throw new IllegalArgumentException("O cenário deve ser um objeto JSON");
+        }
+        Map<?, ?> json = (Map<?, ?>) valor;
+
+        Ponto central = new Ponto(0.0, 0.0);
+        if (json.get("central") != null) {
+            Map<?, ?> objeto = Json.objeto(json, "central");
+            central = new Ponto(finito(objeto, "x", "central"), finito(objeto, "y", "central"));
+        }
+
+        Map<?, ?> dadosVeiculo = Json.objeto(json, "veiculo");
+        double capacidade = positivo(dadosVeiculo, "capacidade");
+        double autonomia = positivo(dadosVeiculo, "autonomia");
+        Veiculo veiculo = new Veiculo(capacidade, autonomia, central, 0.0, autonomia);
+
+        List<?> dadosClientes = Json.vetor(json, "clientes");
+        List<Cliente> clientes = new ArrayList<>(dadosClientes.size());
+        for (int i = 0; i < dadosClientes.size(); i++) {
+            Object item = dadosClientes.get(i);
+            if (!(item instanceof Map)) {
+                throw new IllegalArgumentException("Cada cliente deve ser um objeto JSON");
+            }
+            Map<?, ?> cliente = (Map<?, ?>) item;
+            String nome = "cliente [" + (i + 1) + "]";
+            double demanda = finito(cliente, "demanda", nome);
+            if (demanda < 0) {
+                throw new IllegalArgumentException("A demanda do " + nome + " não pode ser negativa");
+            }
+            clientes.add(new Cliente(new Ponto(finito(cliente, "x", nome), finito(cliente, "y", nome)),
+                                     demanda, inteiro(cliente, "prioridade", 0, nome)));
+        }
+
+        int vizinhos = 0;
+        boolean minimizar = false;
+        if (json.get("opcoes") != null) {
+            Map<?, ?> opcoes = Json.objeto(json, "opcoes");
+            vizinhos = inteiro(opcoes, "vizinhosCandidatos", 0, "opcoes");
+            if (vizinhos < 0) {
+                throw new IllegalArgumentException("O número de vizinhos candidatos não pode ser negativo");
+            }
+            vizinhos = Math.min(vizinhos, VIZINHOS_MAXIMOS);
+            minimizar = Boolean.TRUE.equals(opcoes.get("minimizarViagens"));
+        }
+
+        return new CenarioJson(clientes, veiculo, central, vizinhos, minimizar);
+    }
+
+    /**
+     * Lê um campo numérico obrigatório e finito (rejeita, por exemplo, 1e999).
+     */
+    private static double finito(Map<?, ?> objeto, String campo, String dono) {
+        double valor = Json.numero(objeto, campo);
+        if (!Double.isFinite(valor)) {
+            throw new IllegalArgumentException("O campo \"" + campo + "\" do " + dono + " deve ser um número finito");
+        }
+        return valor;
+    }
+
+    private static double positivo(Map<?, ?> veiculo, String campo) {
+        double valor = finito(veiculo, campo, "veículo");
+        if (valor <= 0) {
+            throw new IllegalArgumentException("O campo \"" + campo + "\" do veículo deve ser positivo");
+        }
+        return valor;
+    }
+
+    /**
+     * Lê um campo inteiro opcional (sem parte fracionária e dentro do intervalo de int).
+     */
+    private static int inteiro(Map<?, ?> objeto, String campo, int padrao, String dono) {
+        double valor = Json.numero(objeto, campo, padrao);
+        if (valor != Math.rint(valor) || valor < Integer.MIN_VALUE || valor > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("O campo \"" + campo + "\" de " + dono + " deve ser um número inteiro");
+        }
+        return (int) valor;
+    }
+
+    /**
+     * Calcula as rotas do cenário.
+     *
+     * @param cache Cache compartilhado pelo serviço
+     * @return Rotas calculadas
+     * @throws RuntimeException se algum cliente for inviável
+     */
+    List<Rota> roteirizar(CacheRotas cache) {
+        return roteirizador(cache).calcularRotas(clientes, veiculo, central);
+    }
+
+    /**
+     * Calcula os limites inferiores do cenário, para o gap do resultado.
+     *
+     * @param cache Cache compartilhado pelo serviço (o limite fica junto do plano do cenário), ou null
+     * @return Limites do cenário
+     */
+    LimiteInferior limiteInferior(CacheRotas cache) {
+        return roteirizador(cache).calcularLimiteInferior(clientes, veiculo, central);
+    }
+
+    private Roteirizador roteirizador(CacheRotas cache) {
+        Roteirizador roteirizador = new Roteirizador(cache);
+        roteirizador.setVizinhosCandidatos(vizinhosCandidatos);
+        roteirizador.setMinimizarViagens(minimizarViagens);
+        return roteirizador;
+    }
+
+    /**
+     * Escreve o resultado de um cenário.
+     *
+     * Formato: {"distanciaTotal": d, "viagens": [{"clientes": [i, ...], "distancia": d, "carga": c}, ...]},
+     * com os índices dos clientes na ordem em que vieram no cenário.
+     *
+     * @param destino Destino da escrita
+     * @param rotas Rotas calculadas
+     * @param millis Tempo de cálculo em milissegundos
+     */
+    static void escreverResultado(StringBuilder destino, List<Rota> rotas, double millis) {
+        escreverResultado(destino, rotas, millis, null);
+    }
+
+    /**
+     * Escreve o resultado de um cenário com a qualidade da solução: acrescenta
+     * "limiteInferior" (distância) e "gapPercentual" depois de "distanciaTotal".
+     *
+     * @param destino Destino da escrita
+     * @param rotas Rotas calculadas
+     * @param millis Tempo de cálculo em milissegundos
+     * @param limite Limites inferiores do cenário (null = sem gap)
+     */
+    static void escreverResultado(StringBuilder destino, List<Rota> rotas, double millis, LimiteInferior limite) {
+        double distanciaTotal = 0.0;
+        for (Rota rota : rotas) {
+            distanciaTotal += rota.getDistanciaTotal();
+        }
+
+        destino.append("{\"distanciaTotal\":");
+        Json.escreverNumero(destino, distanciaTotal);
+        if (limite != null) {
+            destino.append(",\"limiteInferior\":");
+            Json.escreverNumero(destino, limite.getDistancia());
+            destino.append(",\"gapPercentual\":");
+            Json.escreverNumero(destino, Math.round(limite.gapPercentual(distanciaTotal) * 100.0) / 100.0);
+        }
+        destino.append(",\"tempoMs\":");
+        Json.escreverNumero(destino, Math.round(millis * 1000.0) / 1000.0);
+        destino.append(",\"viagens\":[");
+        for (int v = 0; v < rotas.size(); v++) {
+            Rota rota = rotas.get(v);
+            if (v > 0) {
+                destino.append(',');
+            }
+            destino.append("{\"clientes\":[");
+            for (int i = 0; i < rota.getNumeroClientes(); i++) {
+                if (i > 0) {
+                    destino.append(',');
+                }
+                destino.append(rota.getIndiceCliente(i));
+            }
+            destino.append("],\"distancia\":");
+            Json.escreverNumero(destino, rota.getDistanciaTotal());
+            destino.append(",\"carga\":");
+            Json.escreverNumero(destino, rota.getCargaTotalColetada());
+            destino.append('}');
+        }
+        destino.append("]}");
+    }
+}
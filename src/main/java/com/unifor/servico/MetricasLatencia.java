@@ -0,0 +1,107 @@
+package com.unifor.servico;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histograma de latências com percentis, seguro para registro concorrente sem travas.
+ *
+ * As latências (em microssegundos) caem em faixas logarítmicas: cada potência de 2 é
+ * dividida em 8 subfaixas, o que limita o erro relativo de qualquer percentil a 12,5%
+ * com um vetor fixo de poucas centenas de contadores, seja qual for o volume registrado.
+ */
+final class MetricasLatencia {
+
+    // Subfaixas por potência de 2 (2^3 = 8)
+    private static final int BITS_SUBFAIXA = 3;
+    private static final int SUBFAIXAS = 1 << BITS_SUBFAIXA;
+
+    // Cobre até 2^42 µs (~50 dias)
+    private static final int FAIXAS = (42 + 1) * SUBFAIXAS;
+
+    private final AtomicLongArray contagens = new AtomicLongArray(FAIXAS);
+    private final LongAdder total = new LongAdder();
+    private final LongAdder somaMicros = new LongAdder();
+    private final AtomicLong maximoMicros = new AtomicLong();
+
+    /**
+     * Registra uma latência.
+     *
+     * @param nanos Latência em nanossegundos
+     */
+    void registrar(long nanos) {
+        long micros = Math.max(0, nanos / 1000);
+        contagens.incrementAndGet(faixa(micros));
+        total.increment();
+        somaMicros.add(micros);
+        maximoMicros.accumulateAndGet(micros, Math::max);
+    }
+
+    long getQuantidade() {
+        return total.sum();
+    }
+
+    double getMediaMillis() {
+        long quantidade = total.sum();
+        return quantidade == 0 ? 0.0 : somaMicros.sum() / 1000.0 / quantidade;
+    }
+
+    double getMaximoMillis() {
+        return maximoMicros.get() / 1000.0;
+    }
+
+    /**
+     * Retorna o percentil informado (limite superior da faixa que o contém).
+     *
+     * @param percentil Percentil entre 0 e 100
+     * @return Latência em milissegundos (0 sem registros)
+     */
+    double getPercentilMillis(double percentil) {
+        long[] copia = new long[FAIXAS];
+        long quantidade = 0;
+        for (int i = 0; i < FAIXAS; i++) {
+            copia[i] = contagens.get(i);
+            quantidade += copia[i];
+        }
+        if (quantidade == 0) {
+            return 0.0;
+        }
+
+        long alvo = Math.max(1, (long) Math.ceil(quantidade * percentil / 100.0));
+        long acumulado = 0;
+        for (int i = 0; i < FAIXAS; i++) {
+            acumulado += copia[i];
+            if (acumulado >= alvo) {
+                return Math.min(limiteSuperior(i), maximoMicros.get()) / 1000.0;
+            }
+        }
+        return maximoMicros.get() / 1000.0;
+    }
+
+    /**
+     * Faixa de um valor: 8 × expoente + 3 bits seguintes ao bit mais alto.
+     */
+    private static int faixa(long micros) {
+        if (micros < SUBFAIXAS) {
+            return (int) micros;
+        }
+        int expoente = 63 - Long.numberOfLeadingZeros(micros);
+        int subfaixa = (int) (micros >>> (expoente - BITS_SUBFAIXA)) & (SUBFAIXAS - 1);
+        int indice = (expoente - BITS_SUBFAIXA + 1) * SUBFAIXAS + subfaixa;
+        return Math.min(FAIXAS - 1, indice);
+    }
+
+    /**
+     * Maior valor (em µs) que cai na faixa informada.
+     */
+    private static long limiteSuperior(int faixa) {
+        if (faixa < SUBFAIXAS) {
+            return faixa;
+        }
+        int expoente = faixa / SUBFAIXAS + BITS_SUBFAIXA - 1;
+        int subfaixa = faixa % SUBFAIXAS;
+        long inicio = (1L << expoente) + ((long) subfaixa << (expoente - BITS_SUBFAIXA));
+        return inicio + (1L << (expoente - BITS_SUBFAIXA)) - 1;
+    }
+}
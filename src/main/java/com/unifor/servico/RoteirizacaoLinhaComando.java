@@ -0,0 +1,143 @@
+package com.unifor.servico;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+import com.unifor.algorithm.ClienteInviavelException;
+import com.unifor.model.Cliente;
+import com.unifor.model.Rota;
+import com.unifor.util.GeradorCenarios;
+import com.unifor.util.Json;
+
+/**
+ * Ponto de entrada sem interface gráfica para jobs curtos (um cenário, uma central).
+ *
+ * Lê um cenário JSON (formato em {@link CenarioJson}) de um arquivo ou da entrada padrão e
+ * escreve o resultado JSON na saída padrão. Esta classe e tudo o que ela usa ficam fora de
+ * com.unifor.view e do AWT/Swing, para que a JVM carregue apenas as classes do cálculo.
+ *
+ * Com --treino N, roteiriza N cenários sintéticos pelo mesmo caminho (JSON, cálculo e
+ * escrita do resultado) sem produzir saída: é a execução de treino usada pelo perfil
+ * "appcds" do pom.xml para gerar o arquivo de Class Data Sharing da aplicação.
+ *
+ * Uso: RoteirizacaoLinhaComando [arquivo.json | -] | --treino N
+ *
+ * Códigos de saída: 0 em caso de sucesso; 1 para cenário inválido ou cliente inviável (com
+ * {"erro": ...} na saída padrão); 2 para argumentos inválidos; 3 para falha interna (com o
+ * rastreamento da exceção na saída de erro).
+ */
+public final class RoteirizacaoLinhaComando {
+
+    // Códigos de saída
+    private static final int SAIDA_ENTRADA_INVALIDA = 1;
+    private static final int SAIDA_USO_INVALIDO = 2;
+    private static final int SAIDA_FALHA_INTERNA = 3;
+
+    // Tamanhos dos cenários da execução de treino (pequenos, como os jobs por central)
+    private static final int[] TAMANHOS_TREINO = {50, 500, 2000};
+
+    /**
+     * Construtor privado para evitar instanciação.
+     */
+    private RoteirizacaoLinhaComando() {
+        throw new UnsupportedOperationException("Classe utilitária não pode ser instanciada");
+    }
+
+    public static void main(String[] args) throws IOException {
+        System.setProperty("java.awt.headless", "true");
+
+        if (args.length == 2 && "--treino".equals(args[0])) {
+            treinar(Integer.parseInt(args[1]));
+            return;
+        }
+        if (args.length > 1) {
+            System.err.println("Uso: RoteirizacaoLinhaComando [arquivo.json | -] | --treino N");
+            System.exit(SAIDA_USO_INVALIDO);
+        }
+
+        String entrada = args.length == 0 || "-".equals(args[0]) ? ler(System.in) : ler(Paths.get(args[0]));
+
+        PrintStream saida = new PrintStream(System.out, false, StandardCharsets.UTF_8);
+        try {
+            saida.println(roteirizar(entrada));
+        } catch (ClienteInviavelException | IllegalArgumentException e) {
+            // Formato inválido ou cliente inviável
+            saida.println(Json.escreverTexto(new StringBuilder("{\"erro\":"), e.getMessage()).append('}'));
+            saida.flush();
+            System.exit(SAIDA_ENTRADA_INVALIDA);
+        } catch (RuntimeException e) {
+            // Falha interna: não é culpa do cenário, então vai com o rastreamento para stderr
+            saida.flush();
+            e.printStackTrace();
+            System.exit(SAIDA_FALHA_INTERNA);
+        }
+        saida.flush();
+    }
+
+    /**
+     * Roteiriza um cenário JSON e devolve o resultado JSON.
+     */
+    static String roteirizar(String json) {
+        CenarioJson cenario = CenarioJson.ler(Json.ler(json));
+        long inicio = System.nanoTime();
+        List<Rota> rotas = cenario.roteirizar(null);
+        StringBuilder resultado = new StringBuilder();
+        CenarioJson.escreverResultado(resultado, rotas, (System.nanoTime() - inicio) / 1_000_000.0,
+                                      cenario.limiteInferior(null));
+        return resultado.toString();
+    }
+
+    /**
+     * Execução de treino: percorre o caminho completo de um job com cenários sintéticos.
+     */
+    private static void treinar(int rodadas) throws IOException {
+        // Os cenários passam por um arquivo, como nos jobs reais, para incluir a leitura no treino
+        Path arquivo = Files.createTempFile("cenario-treino", ".json");
+        try {
+            for (int r = 0; r < rodadas; r++) {
+                for (int tamanho : TAMANHOS_TREINO) {
+                    List<Cliente> clientes = new GeradorCenarios(r + 1).gerar(tamanho);
+                    Files.write(arquivo, cenarioJson(clientes, r % 2 == 0 ? 0 : 10).getBytes(StandardCharsets.UTF_8));
+                    roteirizar(ler(arquivo));
+                }
+            }
+        } finally {
+            Files.deleteIfExists(arquivo);
+        }
+    }
+
+    /**
+     * Monta o JSON de um cenário sintético (veículo dimensionado para o raio do gerador).
+     */
+    private static String cenarioJson(List<Cliente> clientes, int vizinhosCandidatos) {
+        StringBuilder json = new StringBuilder("{\"veiculo\":{\"capacidade\":1000,\"autonomia\":500},\"clientes\":[");
+        for (int i = 0; i < clientes.size(); i++) {
+            Cliente cliente = clientes.get(i);
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"x\":");
+            Json.escreverNumero(json, cliente.getLocalizacao().getX());
+            json.append(",\"y\":");
+            Json.escreverNumero(json, cliente.getLocalizacao().getY());
+            json.append(",\"demanda\":");
+            Json.escreverNumero(json, cliente.getDemandaCarga());
+            json.append(",\"prioridade\":").append(cliente.getPrioridade()).append('}');
+        }
+        return json.append("],\"opcoes\":{\"vizinhosCandidatos\":").append(vizinhosCandidatos).append("}}").toString();
+    }
+
+    private static String ler(Path arquivo) throws IOException {
+        return new String(Files.readAllBytes(arquivo), StandardCharsets.UTF_8);
+    }
+
+    private static String ler(InputStream entrada) throws IOException {
+        return new String(entrada.readAllBytes(), StandardCharsets.UTF_8);
+    }
+}
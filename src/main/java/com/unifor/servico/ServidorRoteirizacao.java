@@ -0,0 +1,425 @@
+package com.unifor.servico;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import com.unifor.algorithm.CacheRotas;
+import com.unifor.algorithm.ClienteInviavelException;
+import com.unifor.algorithm.Roteirizador;
+import com.unifor.model.Cliente;
+import com.unifor.model.Ponto;
+import com.unifor.model.Rota;
+import com.unifor.model.Veiculo;
+import com.unifor.util.GeradorCenarios;
+import com.unifor.util.Json;
+
+/**
+ * Serviço HTTP/JSON de roteirização, para uso contínuo por outros sistemas.
+ *
+ * Um processo de longa duração evita pagar a partida da JVM e a compilação JIT a cada
+ * plano: o serviço aquece o roteirizador na inicialização e as requisições seguintes já
+ * encontram o código compilado. Endpoints:
+ *
+ * - POST /rotas: um cenário (formato em {@link CenarioJson}) e devolve as viagens;
+ * - POST /rotas/lote: {"cenarios": [...]} e devolve {"resultados": [...]} na mesma ordem,
+ *   ocupando uma única vaga na fila (cenários inválidos ou inviáveis viram {"erro": "..."});
+ * - GET /metrics: contadores, ocupação da fila e percentis de latência;
+ * - GET /saude: verificação simples de disponibilidade.
+ *
+ * Qualquer outro caminho (inclusive extensões como /rotasx) responde 404.
+ *
+ * O cálculo roda em um conjunto fixo de threads com fila limitada. Cada requisição de
+ * roteirização reserva uma vaga (threads + fila) antes de ler o corpo; sem vaga ela é
+ * recusada na hora com 503 e Retry-After, sem ler nem interpretar o cenário, em vez de
+ * acumular trabalho sem limite (contrapressão). As conexões que esperam por uma thread de
+ * conexão também são limitadas; acima do limite a conexão é fechada sem resposta. Erros de
+ * formato respondem 400, clientes inviáveis 422 e falhas internas 500.
+ */
+public class ServidorRoteirizacao {
+
+    public static final int PORTA_PADRAO = 8080;
+
+    // Limite do corpo de uma requisição (cenários de ~100 mil clientes cabem com folga)
+    private static final int TAMANHO_MAXIMO_CORPO = 32 * 1024 * 1024;
+
+    // Cenário sintético do aquecimento
+    private static final int CLIENTES_AQUECIMENTO = 2000;
+
+    // Conexões aguardando uma thread de conexão, por thread de conexão
+    private static final int CONEXOES_EM_ESPERA_POR_THREAD = 4;
+
+    private final HttpServer servidor;
+    private final ThreadPoolExecutor trabalhadores;
+    private final ThreadPoolExecutor conexoes;
+    private final Semaphore vagas;
+    private final CacheRotas cache = new CacheRotas(64);
+
+    private final MetricasLatencia latencias = new MetricasLatencia();
+    private final LongAdder requisicoes = new LongAdder();
+    private final LongAdder rejeitadas = new LongAdder();
+    private final LongAdder erros = new LongAdder();
+
+    /**
+     * Cria o serviço (ainda sem aceitar conexões; veja {@link #iniciar()}).
+     *
+     * @param porta Porta TCP (0 = escolhida pelo sistema)
+     * @param threads Cálculos simultâneos
+     * @param capacidadeFila Cálculos aguardando além dos que estão em execução
+     * @throws IOException se a porta não puder ser aberta
+     * @throws IllegalArgumentException se threads ou capacidade da fila não forem positivos
+     */
+    public ServidorRoteirizacao(int porta, int threads, int capacidadeFila) throws IOException {
+        if (threads <= 0 || capacidadeFila <= 0) {
+            throw new IllegalArgumentException("O número de threads e a capacidade da fila devem ser positivos");
+        }
+
+        this.trabalhadores = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                                                    new ArrayBlockingQueue<>(capacidadeFila),
+                                                    fabricaThreads("roteirizacao"),
+                                                    new ThreadPoolExecutor.AbortPolicy());
+        this.vagas = new Semaphore(threads + capacidadeFila);
+
+        // Conexões suficientes para ocupar todas as vagas e ainda responder 503 às demais;
+        // com a espera cheia o HttpServer fecha a conexão recusada
+        int threadsConexao = threads + capacidadeFila + 2;
+        this.conexoes = new ThreadPoolExecutor(threadsConexao, threadsConexao, 0L, TimeUnit.MILLISECONDS,
+                                               new ArrayBlockingQueue<>(CONEXOES_EM_ESPERA_POR_THREAD * threadsConexao),
+                                               fabricaThreads("conexao"), new ThreadPoolExecutor.AbortPolicy());
+
+        this.servidor = HttpServer.create(new InetSocketAddress(porta), 0);
+        servidor.setExecutor(conexoes);
+        servidor.createContext("/rotas/lote", troca -> atender(troca, "POST", this::calcularLote));
+        servidor.createContext("/rotas", troca -> atender(troca, "POST", this::calcularCenario));
+        servidor.createContext("/metrics", troca -> atender(troca, "GET", corpo -> metricas()));
+        servidor.createContext("/saude", troca -> atender(troca, "GET", corpo -> "{\"status\":\"ok\"}"));
+    }
+
+    /**
+     * Passa a aceitar conexões.
+     */
+    public void iniciar() {
+        servidor.start();
+    }
+
+    /**
+     * Encerra o serviço, aguardando os cálculos em andamento.
+     *
+     * @param segundos Tempo máximo de espera
+     */
+    public void parar(int segundos) {
+        servidor.stop(segundos);
+        trabalhadores.shutdown();
+        try {
+            trabalhadores.awaitTermination(segundos, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        conexoes.shutdownNow();
+    }
+
+    public int getPorta() {
+        return servidor.getAddress().getPort();
+    }
+
+    /**
+     * Executa o roteirizador algumas vezes em um cenário sintético, para que o JIT compile
+     * os caminhos quentes antes da primeira requisição real.
+     *
+     * @param rodadas Número de execuções (0 desativa)
+     */
+    public void aquecer(int rodadas) {
+        List<Cliente> clientes = new GeradorCenarios(1).gerar(CLIENTES_AQUECIMENTO);
+        Ponto central = new Ponto(0.0, 0.0);
+        for (int i = 0; i < rodadas; i++) {
+            Roteirizador roteirizador = new Roteirizador();
+            // Alterna os caminhos: varredura exata e grafo de candidatos
+            roteirizador.setVizinhosCandidatos(i % 2 == 0 ? 0 : 10);
+            roteirizador.calcularPlano(clientes, new Veiculo(1000.0, 500.0, central, 0.0, 500.0), central);
+        }
+        // Também o caminho da conversão JSON
+        StringBuilder saida = new StringBuilder();
+        CenarioJson.escreverResultado(saida, new Roteirizador().calcularRotas(
+            clientes.subList(0, 100), new Veiculo(1000.0, 500.0, central, 0.0, 500.0), central), 0.0);
+    }
+
+    /**
+     * Trabalho de um endpoint: recebe o corpo e devolve o JSON de resposta.
+     */
+    @FunctionalInterface
+    private interface Tratador {
+        String tratar(String corpo) throws Exception;
+    }
+
+    /**
+     * Resposta HTTP com código diferente de 200.
+     */
+    private static final class RespostaErro extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+        final int codigo;
+
+        RespostaErro(int codigo, String mensagem) {
+            super(mensagem);
+            this.codigo = codigo;
+        }
+    }
+
+    private void atender(HttpExchange troca, String metodo, Tratador tratador) throws IOException {
+        long inicio = System.nanoTime();
+        boolean roteirizacao = "POST".equals(metodo);
+        int codigo = 200;
+        String resposta;
+        boolean vagaReservada = false;
+        boolean recurso = troca.getRequestURI().getPath().equals(troca.getHttpContext().getPath());
+
+        try {
+            // Os contextos do HttpServer casam por prefixo: /rotasx não é /rotas
+            if (!recurso) {
+                throw new RespostaErro(404, "Recurso não encontrado: " + troca.getRequestURI().getPath());
+            }
+            if (!metodo.equals(troca.getRequestMethod())) {
+                throw new RespostaErro(405, "Método não permitido: use " + metodo);
+            }
+            if (roteirizacao) {
+                requisicoes.increment();
+                // Contrapressão antes de ler e interpretar o corpo
+                vagaReservada = vagas.tryAcquire();
+                if (!vagaReservada) {
+                    throw new RespostaErro(503, "Serviço ocupado: fila de cálculos cheia, tente novamente");
+                }
+            }
+            resposta = tratador.tratar(roteirizacao ? lerCorpo(troca) : null);
+        } catch (RespostaErro e) {
+            codigo = e.codigo;
+            resposta = erro(e.getMessage());
+        } catch (IllegalArgumentException e) {
+            codigo = 400;
+            resposta = erro(e.getMessage());
+        } catch (ClienteInviavelException e) {
+            codigo = 422;
+            resposta = erro(e.getMessage());
+        } catch (Exception e) {
+            // Falha interna: não é um problema do cenário enviado
+            codigo = 500;
+            resposta = erro("Erro interno: " + e);
+        } finally {
+            if (vagaReservada) {
+                vagas.release();
+            }
+        }
+
+        if ((codigo == 503 && roteirizacao && !vagaReservada) || !recurso) {
+            descartarCorpo(troca);
+        }
+        if (codigo == 503) {
+            rejeitadas.increment();
+            troca.getResponseHeaders().set("Retry-After", "1");
+        } else if (codigo != 200) {
+            erros.increment();
+        }
+        responder(troca, codigo, resposta);
+
+        if (roteirizacao && codigo == 200) {
+            latencias.registrar(System.nanoTime() - inicio);
+        }
+    }
+
+    private String calcularCenario(String corpo) throws Exception {
+        CenarioJson cenario = CenarioJson.ler(Json.ler(corpo));
+        return executar(() -> {
+            long inicio = System.nanoTime();
+            List<Rota> rotas = cenario.roteirizar(cache);
+            StringBuilder saida = new StringBuilder();
+            CenarioJson.escreverResultado(saida, rotas, (System.nanoTime() - inicio) / 1_000_000.0,
+                                          cenario.limiteInferior(cache));
+            return saida.toString();
+        });
+    }
+
+    private String calcularLote(String corpo) throws Exception {
+        Object json = Json.ler(corpo);
+        if (!(json instanceof Map)) {
+            throw new IllegalArgumentException("O lote deve ser um objeto JSON com o campo \"cenarios\"");
+        }
+        List<?> cenarios = Json.vetor((Map<?, ?>) json, "cenarios");
+
+        return executar(() -> {
+            StringBuilder saida = new StringBuilder("{\"resultados\":[");
+            for (int i = 0; i < cenarios.size(); i++) {
+                if (i > 0) {
+                    saida.append(',');
+                }
+                long inicio = System.nanoTime();
+                try {
+                    // Lido dentro do try: um cenário inválido vira o seu próprio {"erro"}
+                    CenarioJson cenario = CenarioJson.ler(cenarios.get(i));
+                    List<Rota> rotas = cenario.roteirizar(cache);
+                    CenarioJson.escreverResultado(saida, rotas, (System.nanoTime() - inicio) / 1_000_000.0,
+                                                  cenario.limiteInferior(cache));
+                } catch (ClienteInviavelException | IllegalArgumentException e) {
+                    saida.append(erro(e.getMessage()));
+                }
+            }
+            return saida.append("]}").toString();
+        });
+    }
+
+    /**
+     * Submete o cálculo às threads de trabalho e aguarda o resultado.
+     *
+     * @throws RespostaErro 503 se a fila estiver cheia
+     */
+    private String executar(Callable<String> calculo) throws Exception {
+        Future<String> futuro;
+        try {
+            futuro = trabalhadores.submit(calculo);
+        } catch (RejectedExecutionException e) {
+            throw new RespostaErro(503, "Serviço ocupado: fila de cálculos cheia, tente novamente");
+        }
+
+        try {
+            return futuro.get();
+        } catch (ExecutionException e) {
+            Throwable causa = e.getCause();
+            if (causa instanceof Exception) {
+                throw (Exception) causa;
+            }
+            throw e;
+        }
+    }
+
+    private String metricas() {
+        StringBuilder saida = new StringBuilder("{");
+        saida.append("\"requisicoes\":").append(requisicoes.sum());
+        saida.append(",\"rejeitadas\":").append(rejeitadas.sum());
+        saida.append(",\"erros\":").append(erros.sum());
+        saida.append(",\"emExecucao\":").append(trabalhadores.getActiveCount());
+        saida.append(",\"naFila\":").append(trabalhadores.getQueue().size());
+        saida.append(",\"capacidadeFila\":").append(trabalhadores.getQueue().size()
+                                                    + trabalhadores.getQueue().remainingCapacity());
+
+        saida.append(",\"latenciaMs\":{\"quantidade\":").append(latencias.getQuantidade());
+        saida.append(",\"media\":");
+        Json.escreverNumero(saida, latencias.getMediaMillis());
+        double[] percentis = {50, 90, 99, 99.9};
+        String[] nomes = {"p50", "p90", "p99", "p999"};
+        for (int i = 0; i < percentis.length; i++) {
+            saida.append(",\"").append(nomes[i]).append("\":");
+            Json.escreverNumero(saida, latencias.getPercentilMillis(percentis[i]));
+        }
+        saida.append(",\"max\":");
+        Json.escreverNumero(saida, latencias.getMaximoMillis());
+        saida.append('}');
+
+        saida.append(",\"cache\":{\"acertos\":").append(cache.getAcertos());
+        saida.append(",\"falhas\":").append(cache.getFalhas()).append('}');
+        return saida.append('}').toString();
+    }
+
+    private static String lerCorpo(HttpExchange troca) throws IOException {
+        String tamanho = troca.getRequestHeaders().getFirst("Content-Length");
+        if (tamanho != null && Long.parseLong(tamanho) > TAMANHO_MAXIMO_CORPO) {
+            throw new RespostaErro(413, "Corpo da requisição acima de " + TAMANHO_MAXIMO_CORPO + " bytes");
+        }
+        try (InputStream entrada = troca.getRequestBody()) {
+            byte[] bytes = entrada.readNBytes(TAMANHO_MAXIMO_CORPO + 1);
+            if (bytes.length > TAMANHO_MAXIMO_CORPO) {
+                throw new RespostaErro(413, "Corpo da requisição acima de " + TAMANHO_MAXIMO_CORPO + " bytes");
+            }
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * Consome o corpo de uma requisição recusada sem guardá-lo nem interpretá-lo, para que o
+     * cliente receba o 503 em vez de uma conexão interrompida no meio do envio.
+     */
+    private static void descartarCorpo(HttpExchange troca) {
+        byte[] descarte = new byte[8192];
+        long restante = TAMANHO_MAXIMO_CORPO;
+        try (InputStream entrada = troca.getRequestBody()) {
+            int lidos;
+            while (restante > 0 && (lidos = entrada.read(descarte, 0, (int) Math.min(descarte.length, restante))) > 0) {
+                restante -= lidos;
+            }
+        } catch (IOException e) {
+            // Cliente desistiu do envio: a conexão será fechada ao responder
+        }
+    }
+
+    private static void responder(HttpExchange troca, int codigo, String json) throws IOException {
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        troca.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        troca.sendResponseHeaders(codigo, bytes.length);
+        try (OutputStream saida = troca.getResponseBody()) {
+            saida.write(bytes);
+        }
+    }
+
+    private static String erro(String mensagem) {
+        return Json.escreverTexto(new StringBuilder("{\"erro\":"), mensagem).append('}').toString();
+    }
+
+    private static ThreadFactory fabricaThreads(String prefixo) {
+        AtomicInteger contador = new AtomicInteger();
+        return tarefa -> {
+            Thread thread = new Thread(tarefa, prefixo + "-" + contador.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Inicia o serviço pela linha de comando.
+     *
+     * Opções: --porta N (padrão 8080), --threads N (padrão: núcleos disponíveis),
+     * --fila N (padrão: 4 × threads), --aquecimento N (rodadas, padrão 10).
+     *
+     * @param args Argumentos da linha de comando
+     * @throws IOException se a porta não puder ser aberta
+     */
+    public static void main(String[] args) throws IOException {
+        int porta = PORTA_PADRAO;
+        int threads = Runtime.getRuntime().availableProcessors();
+        int fila = -1;
+        int aquecimento = 10;
+
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            int valor = Integer.parseInt(args[i + 1]);
+            switch (args[i]) {
+                case "--porta": porta = valor; break;
+                case "--threads": threads = valor; break;
+                case "--fila": fila = valor; break;
+                case "--aquecimento": aquecimento = valor; break;
+                default: throw new IllegalArgumentException("Opção desconhecida: " + args[i]);
+            }
+        }
+
+        ServidorRoteirizacao servico = new ServidorRoteirizacao(porta, threads, fila > 0 ? fila : 4 * threads);
+
+        long inicio = System.nanoTime();
+        servico.aquecer(aquecimento);
+        System.out.printf("Aquecimento: %d rodada(s) em %.0f ms%n", aquecimento, (System.nanoTime() - inicio) / 1e6);
+
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> servico.parar(5), "parada-servico"));
+        servico.iniciar();
+        System.out.printf("Serviço de roteirização ouvindo na porta %d%n", servico.getPorta());
+    }
+}
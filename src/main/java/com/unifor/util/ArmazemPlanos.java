@@ -0,0 +1,538 @@
+package com.unifor.util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.zip.CRC32;
+
+import com.unifor.model.Cliente;
+import com.unifor.model.PlanoRotas;
+import com.unifor.model.Ponto;
+import com.unifor.model.Veiculo;
+
+/**
+ * Histórico persistente de planos de entrega, indexado por central e data.
+ *
+ * Os planos são acrescentados (nunca reescritos) a arquivos de segmento mapeados em memória
+ * em um diretório. Cada registro guarda o cenário (central, veículo, clientes) e as viagens
+ * com os trechos já calculados, então um plano lido é idêntico ao gravado, qualquer que seja
+ * o provedor de distâncias. Ao abrir, apenas os cabeçalhos dos registros são percorridos para
+ * montar o índice; o conteúdo de um plano só é lido quando ele é pedido, direto da posição
+ * do registro. Gravar de novo a mesma central e data substitui o plano no índice.
+ *
+ * Formato de um registro (little-endian, alinhado em 8 bytes):
+ * - int: número mágico 0x53554450 ("SUDP"), escrito por último (o registro só passa a
+ *   existir depois de completo)
+ * - int: tamanho do registro em bytes
+ * - int: CRC-32 do corpo
+ * - int: data (dias desde 1970-01-01)
+ * - corpo: nome da central (short + UTF-8), central (x, y), veículo (capacidade, autonomia),
+ *   clientes (x, y, demanda, coleta, prioridade; x NaN = cliente nulo), viagens (paradas e
+ *   retorno) e paradas (índice do cliente e trecho)
+ *
+ * Segmentos já encerrados são gravados em disco antes de se abrir o seguinte; por isso o CRC
+ * é conferido apenas no último segmento, onde uma interrupção pode ter deixado um registro
+ * incompleto (que é descartado na abertura).
+ *
+ * Um diretório só pode estar aberto por um histórico de cada vez (neste ou em outro processo):
+ * a abertura trava o arquivo "armazem.lock" até {@link #close()} e falha se ele já estiver
+ * travado, porque dois históricos gravariam registros por cima um do outro.
+ */
+public final class ArmazemPlanos implements Closeable {
+
+    private static final int NUMERO_MAGICO = 0x53554450;
+    private static final int TAMANHO_CABECALHO = 16;
+
+    // Segmentos de 64 MB (um plano maior que isso ganha um segmento do seu tamanho)
+    private static final long TAMANHO_SEGMENTO = 64L * 1024 * 1024;
+
+    private static final String PREFIXO_SEGMENTO = "planos-";
+    private static final String SUFIXO_SEGMENTO = ".seg";
+    private static final String ARQUIVO_TRAVA = "armazem.lock";
+
+    // Bytes por cliente, viagem e parada no corpo do registro
+    private static final int BYTES_CLIENTE = 4 * Double.BYTES + Integer.BYTES;
+    private static final int BYTES_VIAGEM = Integer.BYTES + Double.BYTES;
+    private static final int BYTES_PARADA = Integer.BYTES + Double.BYTES;
+
+    private final Path diretorio;
+    private final FileChannel canalTrava;
+    private final FileLock trava;
+    private final List<MappedByteBuffer> segmentos = new ArrayList<>();
+
+    // Central -> data (dia) -> posição do registro (segmento << 32 | deslocamento)
+    private final Map<String, TreeMap<Integer, Long>> indice = new HashMap<>();
+    private int quantidadePlanos;
+
+    // Próxima posição livre no último segmento
+    private int fimSegmentoAtual;
+    private boolean fechado;
+
+    /**
+     * Construtor privado: use {@link #abrir(Path)}.
+     */
+    private ArmazemPlanos(Path diretorio, FileChannel canalTrava, FileLock trava) {
+        this.diretorio = diretorio;
+        this.canalTrava = canalTrava;
+        this.trava = trava;
+    }
+
+    /**
+     * Abre (ou cria) o histórico de planos de um diretório.
+     *
+     * @param diretorio Diretório dos segmentos (criado se não existir)
+     * @return Histórico pronto para consulta e gravação
+     * @throws IOException se os segmentos não puderem ser lidos ou o diretório já estiver aberto
+     *         por outro histórico
+     */
+    public static ArmazemPlanos abrir(Path diretorio) throws IOException {
+        Files.createDirectories(diretorio);
+        FileChannel canal = FileChannel.open(diretorio.resolve(ARQUIVO_TRAVA),
+                                             StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        FileLock trava;
+        try {
+            trava = canal.tryLock();
+        } catch (OverlappingFileLockException e) {
+            // Travado por outro histórico neste mesmo processo
+            trava = null;
+        } catch (IOException e) {
+            canal.close();
+            throw e;
+        }
+        if (trava == null) {
+            canal.close();
+            throw new IOException("O histórico de planos já está aberto (neste ou em outro processo): " + diretorio);
+        }
+
+        ArmazemPlanos armazem = new ArmazemPlanos(diretorio, canal, trava);
+        try {
+            armazem.carregarSegmentos();
+        } catch (IOException | RuntimeException e) {
+            armazem.close();
+            throw e;
+        }
+        return armazem;
+    }
+
+    /**
+     * Mapeia os segmentos existentes e monta o índice.
+     */
+    private void carregarSegmentos() throws IOException {
+        TreeSet<Path> arquivos = new TreeSet<>();
+        try (DirectoryStream<Path> lista = Files.newDirectoryStream(diretorio,
+                PREFIXO_SEGMENTO + "*" + SUFIXO_SEGMENTO)) {
+            for (Path arquivo : lista) {
+                arquivos.add(arquivo);
+            }
+        }
+
+        int numero = 0;
+        for (Path arquivo : arquivos) {
+            if (!arquivo.getFileName().toString().equals(nomeSegmento(numero))) {
+                throw new IOException("Segmento fora de sequência no histórico de planos: " + arquivo);
+            }
+            boolean ultimo = numero == arquivos.size() - 1;
+            segmentos.add(mapear(arquivo, Files.size(arquivo)));
+            fimSegmentoAtual = indexarSegmento(numero, ultimo);
+            numero++;
+        }
+    }
+
+    /**
+     * Grava o plano de uma central em uma data.
+     *
+     * @param central Nome da central
+     * @param data Data do plano
+     * @param localizacaoCentral Localização da central
+     * @param veiculo Veículo do plano (capacidade e autonomia)
+     * @param plano Plano calculado (os clientes gravados são os de {@link PlanoRotas#getClientes()})
+     * @throws IOException se o segmento não puder ser criado ou gravado
+     * @throws IllegalArgumentException se algum parâmetro for nulo ou o nome for longo demais
+     */
+    public synchronized void gravar(String central, LocalDate data, Ponto localizacaoCentral,
+                                    Veiculo veiculo, PlanoRotas plano) throws IOException {
+        verificarAberto();
+        if (central == null || data == null || localizacaoCentral == null || veiculo == null || plano == null) {
+            throw new IllegalArgumentException("Central, data, localização, veículo e plano são obrigatórios");
+        }
+        byte[] nome = central.getBytes(StandardCharsets.UTF_8);
+        if (nome.length > Short.MAX_VALUE) {
+            throw new IllegalArgumentException("Nome da central longo demais: " + nome.length + " bytes");
+        }
+
+        List<Cliente> clientes = plano.getClientes() != null ? plano.getClientes() : Collections.emptyList();
+        long tamanhoCorpo = Short.BYTES + nome.length + 4L * Double.BYTES + Integer.BYTES
+                            + (long) clientes.size() * BYTES_CLIENTE + 2L * Integer.BYTES
+                            + (long) plano.getQuantidadeViagens() * BYTES_VIAGEM
+                            + (long) plano.getQuantidadeParadas() * BYTES_PARADA;
+        long tamanhoRegistro = alinhar(TAMANHO_CABECALHO + tamanhoCorpo);
+        if (tamanhoRegistro > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Plano grande demais para um registro: " + tamanhoRegistro + " bytes");
+        }
+
+        MappedByteBuffer segmento = reservar((int) tamanhoRegistro);
+        int inicio = fimSegmentoAtual;
+        int p = inicio + TAMANHO_CABECALHO;
+
+        // CORPO: cenário e viagens
+        segmento.putShort(p, (short) nome.length);
+        p += Short.BYTES;
+        segmento.put(p, nome);
+        p += nome.length;
+        segmento.putDouble(p, localizacaoCentral.getX());
+        segmento.putDouble(p + 8, localizacaoCentral.getY());
+        segmento.putDouble(p + 16, veiculo.getCapacidadeMaxima());
+        segmento.putDouble(p + 24, veiculo.getAutonomiaMaxima());
+        p += 4 * Double.BYTES;
+
+        segmento.putInt(p, clientes.size());
+        p += Integer.BYTES;
+        for (Cliente cliente : clientes) {
+            boolean valido = cliente != null && cliente.getLocalizacao() != null;
+            segmento.putDouble(p, valido ? cliente.getLocalizacao().getX() : Double.NaN);
+            segmento.putDouble(p + 8, valido ? cliente.getLocalizacao().getY() : Double.NaN);
+            segmento.putDouble(p + 16, valido ? cliente.getDemandaCarga() : 0.0);
+            segmento.putDouble(p + 24, valido ? cliente.getDemandaColeta() : 0.0);
+            segmento.putInt(p + 32, valido ? cliente.getPrioridade() : 0);
+            p += BYTES_CLIENTE;
+        }
+
+        segmento.putInt(p, plano.getQuantidadeViagens());
+        segmento.putInt(p + 4, plano.getQuantidadeParadas());
+        p += 2 * Integer.BYTES;
+        for (int v = 0; v < plano.getQuantidadeViagens(); v++) {
+            segmento.putInt(p, plano.getTamanhoViagem(v));
+            segmento.putDouble(p + 4, plano.getDistanciaRetorno(v));
+            p += BYTES_VIAGEM;
+        }
+        for (int v = 0; v < plano.getQuantidadeViagens(); v++) {
+            for (int i = 0; i < plano.getTamanhoViagem(v); i++) {
+                segmento.putInt(p, plano.getIndiceCliente(v, i));
+                segmento.putDouble(p + 4, plano.getDistanciaTrecho(v, i));
+                p += BYTES_PARADA;
+            }
+        }
+
+        // CABEÇALHO: o número mágico por último, depois do corpo completo
+        segmento.putInt(inicio + 4, (int) tamanhoRegistro);
+        // O CRC inclui o alinhamento final, que está sempre zerado (área nunca usada do segmento)
+        segmento.putInt(inicio + 8, crc(segmento, inicio + TAMANHO_CABECALHO, inicio + (int) tamanhoRegistro));
+        segmento.putInt(inicio + 12, (int) data.toEpochDay());
+        segmento.putInt(inicio, NUMERO_MAGICO);
+        segmento.force(inicio, (int) tamanhoRegistro);
+
+        indexar(central, (int) data.toEpochDay(), segmentos.size() - 1, inicio);
+        fimSegmentoAtual = inicio + (int) tamanhoRegistro;
+    }
+
+    /**
+     * Lê o plano de uma central em uma data.
+     *
+     * @param central Nome da central
+     * @param data Data do plano
+     * @return Plano gravado por último para a central e data, ou null se não houver
+     */
+    public synchronized PlanoArmazenado ler(String central, LocalDate data) {
+        verificarAberto();
+        TreeMap<Integer, Long> datas = indice.get(central);
+        Long posicao = datas != null ? datas.get((int) data.toEpochDay()) : null;
+        return posicao != null ? decodificar(posicao) : null;
+    }
+
+    /**
+     * Lista as datas com plano de uma central em um intervalo.
+     *
+     * @param central Nome da central
+     * @param inicio Primeira data (inclusive)
+     * @param fim Última data (inclusive)
+     * @return Datas em ordem crescente
+     */
+    public synchronized List<LocalDate> listarDatas(String central, LocalDate inicio, LocalDate fim) {
+        verificarAberto();
+        List<LocalDate> resultado = new ArrayList<>();
+        TreeMap<Integer, Long> datas = indice.get(central);
+        if (datas != null && !inicio.isAfter(fim)) {
+            NavigableMap<Integer, Long> intervalo = datas.subMap((int) inicio.toEpochDay(), true,
+                                                                 (int) fim.toEpochDay(), true);
+            for (int dia : intervalo.keySet()) {
+                resultado.add(LocalDate.ofEpochDay(dia));
+            }
+        }
+        return resultado;
+    }
+
+    /**
+     * Retorna os nomes das centrais com algum plano gravado.
+     *
+     * @return Nomes em ordem alfabética
+     */
+    public synchronized Set<String> getCentrais() {
+        verificarAberto();
+        return Collections.unmodifiableSet(new TreeSet<>(indice.keySet()));
+    }
+
+    /**
+     * Retorna o número de planos consultáveis (um por central e data).
+     *
+     * @return Quantidade de planos no índice
+     */
+    public synchronized int getQuantidadePlanos() {
+        return quantidadePlanos;
+    }
+
+    public Path getDiretorio() {
+        return diretorio;
+    }
+
+    /**
+     * Grava o segmento atual em disco, libera a trava do diretório e encerra o histórico.
+     *
+     * Os mapeamentos são liberados pelo coletor de lixo; depois desta chamada o histórico
+     * não aceita consultas nem gravações.
+     */
+    @Override
+    public synchronized void close() {
+        if (!fechado && !segmentos.isEmpty()) {
+            segmentos.get(segmentos.size() - 1).force();
+        }
+        segmentos.clear();
+        indice.clear();
+        if (!fechado) {
+            fechado = true;
+            try {
+                trava.release();
+                canalTrava.close();
+            } catch (IOException e) {
+                throw new IllegalStateException("Falha ao liberar a trava do histórico de planos", e);
+            }
+        }
+    }
+
+    /**
+     * Plano lido do histórico, com o cenário em que foi calculado.
+     */
+    public static final class PlanoArmazenado {
+        private final String central;
+        private final LocalDate data;
+        private final Ponto localizacaoCentral;
+        private final double capacidadeVeiculo;
+        private final double autonomiaVeiculo;
+        private final PlanoRotas plano;
+
+        private PlanoArmazenado(String central, LocalDate data, Ponto localizacaoCentral,
+                                double capacidadeVeiculo, double autonomiaVeiculo, PlanoRotas plano) {
+            this.central = central;
+            this.data = data;
+            this.localizacaoCentral = localizacaoCentral;
+            this.capacidadeVeiculo = capacidadeVeiculo;
+            this.autonomiaVeiculo = autonomiaVeiculo;
+            this.plano = plano;
+        }
+
+        public String getCentral() {
+            return central;
+        }
+
+        public LocalDate getData() {
+            return data;
+        }
+
+        public Ponto getLocalizacaoCentral() {
+            return localizacaoCentral;
+        }
+
+        public double getCapacidadeVeiculo() {
+            return capacidadeVeiculo;
+        }
+
+        public double getAutonomiaVeiculo() {
+            return autonomiaVeiculo;
+        }
+
+        /**
+         * Retorna os clientes do cenário (a mesma lista de {@link PlanoRotas#getClientes()}).
+         *
+         * @return Clientes, com null nas posições de clientes nulos na gravação
+         */
+        public List<Cliente> getClientes() {
+            return plano.getClientes();
+        }
+
+        public PlanoRotas getPlano() {
+            return plano;
+        }
+    }
+
+    /**
+     * Reconstrói um plano a partir do seu registro.
+     */
+    private PlanoArmazenado decodificar(long posicao) {
+        MappedByteBuffer segmento = segmentos.get((int) (posicao >>> 32));
+        int inicio = (int) posicao;
+        int p = inicio + TAMANHO_CABECALHO;
+
+        LocalDate data = LocalDate.ofEpochDay(segmento.getInt(inicio + 12));
+        String central = lerNome(segmento, p);
+        p += Short.BYTES + segmento.getShort(p);
+
+        Ponto localizacao = new Ponto(segmento.getDouble(p), segmento.getDouble(p + 8));
+        double capacidade = segmento.getDouble(p + 16);
+        double autonomia = segmento.getDouble(p + 24);
+        p += 4 * Double.BYTES;
+
+        int quantidadeClientes = segmento.getInt(p);
+        p += Integer.BYTES;
+        List<Cliente> clientes = new ArrayList<>(quantidadeClientes);
+        for (int i = 0; i < quantidadeClientes; i++) {
+            double x = segmento.getDouble(p);
+            if (Double.isNaN(x)) {
+                clientes.add(null);
+            } else {
+                clientes.add(new Cliente(new Ponto(x, segmento.getDouble(p + 8)), segmento.getDouble(p + 16),
+                                         segmento.getDouble(p + 24), segmento.getInt(p + 32)));
+            }
+            p += BYTES_CLIENTE;
+        }
+
+        int quantidadeViagens = segmento.getInt(p);
+        int quantidadeParadas = segmento.getInt(p + 4);
+        p += 2 * Integer.BYTES;
+        int inicioViagens = p;
+        int parada = inicioViagens + quantidadeViagens * BYTES_VIAGEM;
+
+        PlanoRotas.Construtor construtor = new PlanoRotas.Construtor(clientes, quantidadeParadas);
+        for (int v = 0; v < quantidadeViagens; v++) {
+            int tamanho = segmento.getInt(inicioViagens + v * BYTES_VIAGEM);
+            for (int i = 0; i < tamanho; i++) {
+                int indice = segmento.getInt(parada);
+                Cliente cliente = clientes.get(indice);
+                construtor.adicionarParada(indice, segmento.getDouble(parada + 4),
+                                           cliente != null ? cliente.getDemandaCarga() : 0.0);
+                parada += BYTES_PARADA;
+            }
+            construtor.fecharViagem(segmento.getDouble(inicioViagens + v * BYTES_VIAGEM + 4));
+        }
+
+        return new PlanoArmazenado(central, data, localizacao, capacidade, autonomia, construtor.construir());
+    }
+
+    /**
+     * Percorre os cabeçalhos de um segmento e acrescenta os registros ao índice.
+     *
+     * @return Posição logo após o último registro válido
+     */
+    private int indexarSegmento(int numero, boolean ultimo) {
+        MappedByteBuffer segmento = segmentos.get(numero);
+        int p = 0;
+
+        while (p + TAMANHO_CABECALHO <= segmento.capacity() && segmento.getInt(p) == NUMERO_MAGICO) {
+            int tamanho = segmento.getInt(p + 4);
+            if (tamanho < TAMANHO_CABECALHO || tamanho > segmento.capacity() - p
+                    || (ultimo && crc(segmento, p + TAMANHO_CABECALHO, p + tamanho) != segmento.getInt(p + 8))) {
+                break;
+            }
+            indexar(lerNome(segmento, p + TAMANHO_CABECALHO), segmento.getInt(p + 12), numero, p);
+            p += tamanho;
+        }
+
+        if (ultimo && p + TAMANHO_CABECALHO <= segmento.capacity() && segmento.getInt(p) != 0) {
+            // Registro incompleto de uma gravação interrompida: zerar o resto do segmento
+            for (int i = p; i < segmento.capacity(); i++) {
+                segmento.put(i, (byte) 0);
+            }
+            segmento.force();
+        }
+        return p;
+    }
+
+    private void indexar(String central, int dia, int segmento, int deslocamento) {
+        Long anterior = indice.computeIfAbsent(central, c -> new TreeMap<>())
+                              .put(dia, ((long) segmento << 32) | deslocamento);
+        if (anterior == null) {
+            quantidadePlanos++;
+        }
+    }
+
+    /**
+     * Garante espaço para um registro, abrindo um novo segmento se o atual não comportar.
+     */
+    private MappedByteBuffer reservar(int tamanhoRegistro) throws IOException {
+        if (!segmentos.isEmpty()) {
+            MappedByteBuffer atual = segmentos.get(segmentos.size() - 1);
+            if (atual.capacity() - fimSegmentoAtual >= tamanhoRegistro) {
+                return atual;
+            }
+            // Segmento encerrado: tudo em disco antes de seguir para o próximo
+            atual.force();
+        }
+
+        Path arquivo = diretorio.resolve(nomeSegmento(segmentos.size()));
+        MappedByteBuffer novo = mapear(arquivo, Math.max(TAMANHO_SEGMENTO, tamanhoRegistro));
+        segmentos.add(novo);
+        fimSegmentoAtual = 0;
+        return novo;
+    }
+
+    /**
+     * Mapeia um segmento para leitura e escrita, criando o arquivo com o tamanho informado.
+     */
+    private static MappedByteBuffer mapear(Path arquivo, long tamanho) throws IOException {
+        try (RandomAccessFile acesso = new RandomAccessFile(arquivo.toFile(), "rw")) {
+            if (acesso.length() < tamanho) {
+                acesso.setLength(tamanho);
+            }
+            MappedByteBuffer buffer = acesso.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, tamanho);
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            return buffer;
+        }
+    }
+
+    private static String lerNome(MappedByteBuffer segmento, int posicao) {
+        byte[] nome = new byte[segmento.getShort(posicao)];
+        segmento.get(posicao + Short.BYTES, nome);
+        return new String(nome, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * CRC-32 dos bytes [inicio, fim) do segmento.
+     */
+    private static int crc(MappedByteBuffer segmento, int inicio, int fim) {
+        CRC32 crc = new CRC32();
+        crc.update(segmento.slice(inicio, fim - inicio));
+        return (int) crc.getValue();
+    }
+
+    private static long alinhar(long tamanho) {
+        return (tamanho + 7) & ~7L;
+    }
+
+    private static String nomeSegmento(int numero) {
+        return String.format("%s%06d%s", PREFIXO_SEGMENTO, numero, SUFIXO_SEGMENTO);
+    }
+
+    private void verificarAberto() {
+        if (fechado) {
+            throw new IllegalStateException("O histórico de planos já foi fechado");
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.unifor.util;
+
+/**
+ * Distâncias Euclidianas em lote, de uma origem para um bloco de pontos em estrutura de
+ * arrays (coordenadas x e y em vetores separados).
+ *
+ * Quando o módulo jdk.incubator.vector está disponível (JVM iniciada com
+ * --add-modules jdk.incubator.vector), os cálculos usam a Vector API e processam tantos
+ * pontos por instrução quanto o processador permitir (4 com AVX2, 8 com AVX-512); caso
+ * contrário, o mesmo laço roda de forma escalar. Os resultados são idênticos nos dois
+ * caminhos: a raiz quadrada vetorial é arredondada como {@link Math#sqrt(double)} e as
+ * operações seguem a mesma ordem de {@link Distancia#calcularDistanciaEuclidiana}.
+ *
+ * O módulo não é carregado por padrão: a compilação, os testes (surefire) e o perfil jmh
+ * já o passam, mas qualquer outra execução (java -jar, treino do AppCDS, serviço HTTP,
+ * interface gráfica) precisa incluir --add-modules jdk.incubator.vector na linha de comando
+ * para usar o caminho vetorial.
+ */
+public final class DistanciasLote {
+
+    // O caminho vetorial fica em outra classe, carregada apenas se o módulo estiver presente
+    private static final boolean VETORIAL = ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+
+    /**
+     * Construtor privado para evitar instanciação.
+     */
+    private DistanciasLote() {
+        throw new UnsupportedOperationException("Classe utilitária não pode ser instanciada");
+    }
+
+    /**
+     * Indica se os cálculos usam a Vector API.
+     *
+     * @return true se o módulo jdk.incubator.vector foi carregado pela JVM
+     */
+    public static boolean isVetorial() {
+        return VETORIAL;
+    }
+
+    /**
+     * Calcula as distâncias da origem a cada ponto do intervalo [inicio, fim).
+     *
+     * @param ox Coordenada x da origem
+     * @param oy Coordenada y da origem
+     * @param x Coordenadas x dos pontos
+     * @param y Coordenadas y dos pontos
+     * @param inicio Primeiro ponto (inclusive)
+     * @param fim Último ponto (exclusive)
+     * @param destino Recebe a distância de cada ponto, na mesma posição
+     */
+    public static void distancias(double ox, double oy, double[] x, double[] y, int inicio, int fim,
+                                  double[] destino) {
+        if (VETORIAL) {
+            DistanciasLoteVetorial.distancias(ox, oy, x, y, inicio, fim, destino);
+        } else {
+            distanciasEscalar(ox, oy, x, y, inicio, fim, destino);
+        }
+    }
+
+    /**
+     * Encontra, no intervalo [inicio, fim), o ponto mais próximo da origem que satisfaz as
+     * restrições de capacidade e autonomia:
+     * - demandas[i] <= folgaCarga
+     * - distância até o ponto + retornos[i] <= autonomiaRestante
+     *
+     * A comparação entre pontos usa o quadrado da distância, de modo que a raiz quadrada só
+     * é calculada (para a restrição de autonomia) nos pontos que melhoram a escolha atual.
+     * Para excluir um ponto da busca (ex.: cliente já atendido), basta que sua demanda seja
+     * {@link Double#POSITIVE_INFINITY}. Empates ficam com o menor índice.
+     *
+     * Por ora este núcleo só é exercitado pelos benchmarks (DistanciasLoteBenchmark): a
+     * heurística gulosa percorre os pendentes em lista encadeada na ordem de prioridade,
+     * não em um bloco contíguo, e compara {@code carga + demanda} com a capacidade, o que
+     * pode arredondar diferente da folga usada aqui. Usá-lo no laço de roteirização exige
+     * manter os pendentes em vetores na ordem de prioridade sem mudar as rotas produzidas.
+     *
+     * @param ox Coordenada x da origem
+     * @param oy Coordenada y da origem
+     * @param x Coordenadas x dos pontos
+     * @param y Coordenadas y dos pontos
+     * @param demandas Demanda de cada ponto
+     * @param retornos Distância de cada ponto de volta à central
+     * @param inicio Primeiro ponto (inclusive)
+     * @param fim Último ponto (exclusive)
+     * @param folgaCarga Capacidade ainda livre no veículo
+     * @param autonomiaRestante Autonomia restante do veículo
+     * @return Índice do ponto escolhido, ou -1 se nenhum for viável
+     */
+    public static int maisProximoViavel(double ox, double oy, double[] x, double[] y, double[] demandas,
+                                        double[] retornos, int inicio, int fim,
+                                        double folgaCarga, double autonomiaRestante) {
+        if (VETORIAL) {
+            return DistanciasLoteVetorial.maisProximoViavel(ox, oy, x, y, demandas, retornos, inicio, fim,
+                                                            folgaCarga, autonomiaRestante);
+        }
+        return maisProximoViavelEscalar(ox, oy, x, y, demandas, retornos, inicio, fim,
+                                        folgaCarga, autonomiaRestante);
+    }
+
+    static void distanciasEscalar(double ox, double oy, double[] x, double[] y, int inicio, int fim,
+                                  double[] destino) {
+        for (int i = inicio; i < fim; i++) {
+            destino[i] = Distancia.calcularDistanciaEuclidiana(ox, oy, x[i], y[i]);
+        }
+    }
+
+    static int maisProximoViavelEscalar(double ox, double oy, double[] x, double[] y, double[] demandas,
+                                        double[] retornos, int inicio, int fim,
+                                        double folgaCarga, double autonomiaRestante) {
+        return maisProximoViavelEscalar(ox, oy, x, y, demandas, retornos, inicio, fim,
+                                        folgaCarga, autonomiaRestante, Double.POSITIVE_INFINITY);
+    }
+
+    /**
+     * Versão escalar que só aceita pontos com quadrado da distância abaixo de um limite
+     * (usada também para o resto dos blocos no caminho vetorial).
+     */
+    static int maisProximoViavelEscalar(double ox, double oy, double[] x, double[] y, double[] demandas,
+                                        double[] retornos, int inicio, int fim,
+                                        double folgaCarga, double autonomiaRestante, double limiteQuadrado) {
+        int melhor = -1;
+        double menorQuadrado = limiteQuadrado;
+
+        for (int i = inicio; i < fim; i++) {
+            double deltaX = x[i] - ox;
+            double deltaY = y[i] - oy;
+            double quadrado = deltaX * deltaX + deltaY * deltaY;
+
+            // A raiz quadrada só é calculada para quem melhora a escolha atual
+            if (demandas[i] <= folgaCarga && quadrado < menorQuadrado
+                && Math.sqrt(quadrado) + retornos[i] <= autonomiaRestante) {
+                menorQuadrado = quadrado;
+                melhor = i;
+            }
+        }
+        return melhor;
+    }
+}
@@ -0,0 +1,91 @@
+package com.unifor.util;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Caminho vetorial de {@link DistanciasLote} (Vector API, módulo incubado).
+ *
+ * Só é referenciada depois de {@link DistanciasLote} confirmar que o módulo
+ * jdk.incubator.vector está carregado; sem ele, esta classe nunca é carregada.
+ * Cada bloco ocupa a largura preferida do processador; o resto do intervalo que não
+ * completa um bloco é tratado pelo laço escalar.
+ */
+final class DistanciasLoteVetorial {
+
+    private static final VectorSpecies<Double> ESPECIE = DoubleVector.SPECIES_PREFERRED;
+
+
+    /**
+     * Construtor privado para evitar instanciação.
+     */
+    private DistanciasLoteVetorial() {
+        throw new UnsupportedOperationException("Classe utilitária não pode ser instanciada");
+    }
+
+    static void distancias(double ox, double oy, double[] x, double[] y, int inicio, int fim, double[] destino) {
+        DoubleVector origemX = DoubleVector.broadcast(ESPECIE, ox);
+        DoubleVector origemY = DoubleVector.broadcast(ESPECIE, oy);
+        int i = inicio;
+        int limite = inicio + ESPECIE.loopBound(fim - inicio);
+
+        for (; i < limite; i += ESPECIE.length()) {
+            quadradosBloco(origemX, origemY, x, y, i).lanewise(VectorOperators.SQRT).intoArray(destino, i);
+        }
+        DistanciasLote.distanciasEscalar(ox, oy, x, y, i, fim, destino);
+    }
+
+    static int maisProximoViavel(double ox, double oy, double[] x, double[] y, double[] demandas,
+                                 double[] retornos, int inicio, int fim,
+                                 double folgaCarga, double autonomiaRestante) {
+        DoubleVector origemX = DoubleVector.broadcast(ESPECIE, ox);
+        DoubleVector origemY = DoubleVector.broadcast(ESPECIE, oy);
+        DoubleVector infinito = DoubleVector.broadcast(ESPECIE, Double.POSITIVE_INFINITY);
+        int melhor = -1;
+        double menorQuadrado = Double.POSITIVE_INFINITY;
+        int i = inicio;
+        int limite = inicio + ESPECIE.loopBound(fim - inicio);
+
+        for (; i < limite; i += ESPECIE.length()) {
+            DoubleVector quadrado = quadradosBloco(origemX, origemY, x, y, i);
+
+            // Máscara de capacidade e de melhora sobre a escolha atual (sem raiz quadrada)
+            VectorMask<Double> candidatos = DoubleVector.fromArray(ESPECIE, demandas, i)
+                .compare(VectorOperators.LE, folgaCarga)
+                .and(quadrado.compare(VectorOperators.LT, menorQuadrado));
+            if (!candidatos.anyTrue()) {
+                continue;
+            }
+
+            // Máscara de autonomia, só nos blocos que podem melhorar a escolha
+            candidatos = candidatos.and(quadrado.lanewise(VectorOperators.SQRT)
+                .add(DoubleVector.fromArray(ESPECIE, retornos, i))
+                .compare(VectorOperators.LE, autonomiaRestante));
+            if (!candidatos.anyTrue()) {
+                continue;
+            }
+
+            // Primeira faixa com o menor valor: empates ficam com o menor índice
+            DoubleVector viaveis = infinito.blend(quadrado, candidatos);
+            menorQuadrado = viaveis.reduceLanes(VectorOperators.MIN);
+            melhor = i + viaveis.compare(VectorOperators.EQ, menorQuadrado).firstTrue();
+        }
+
+        int resto = DistanciasLote.maisProximoViavelEscalar(ox, oy, x, y, demandas, retornos, i, fim,
+                                                            folgaCarga, autonomiaRestante, menorQuadrado);
+        return resto >= 0 ? resto : melhor;
+    }
+
+    /**
+     * Quadrados das distâncias da origem aos pontos do bloco que começa em i (multiplicação
+     * e soma separadas, sem FMA, para arredondar como o caminho escalar).
+     */
+    private static DoubleVector quadradosBloco(DoubleVector origemX, DoubleVector origemY,
+                                               double[] x, double[] y, int i) {
+        DoubleVector deltaX = DoubleVector.fromArray(ESPECIE, x, i).sub(origemX);
+        DoubleVector deltaY = DoubleVector.fromArray(ESPECIE, y, i).sub(origemY);
+        return deltaX.mul(deltaX).add(deltaY.mul(deltaY));
+    }
+}
@@ -0,0 +1,252 @@
+package com.unifor.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+import com.unifor.model.Cliente;
+import com.unifor.model.Ponto;
+
+/**
+ * Gerador de cenários urbanos (listas de clientes) reprodutível e paralelo.
+ *
+ * Layouts suportados:
+ * - UNIFORME: clientes espalhados uniformemente (por área) em um disco
+ * - GAUSSIANA: densidade concentrada no centro, decaindo como uma normal
+ * - AGRUPADA: bairros (agrupamentos gaussianos) com centros sorteados no disco
+ *
+ * A geração é dividida em blocos de tamanho fixo; cada bloco recebe seu próprio
+ * {@link SplittableRandom}, derivado da semente por {@code split()} em ordem fixa.
+ * Assim o mesmo (semente, quantidade, configuração) produz sempre os mesmos clientes,
+ * independentemente de quantas threads executem os blocos.
+ */
+public class GeradorCenarios {
+
+    /**
+     * Distribuição espacial dos clientes.
+     */
+    public enum Distribuicao {
+        UNIFORME,
+        GAUSSIANA,
+        AGRUPADA
+    }
+
+    // Clientes por bloco de geração (a divisão não depende do número de threads)
+    private static final int TAMANHO_BLOCO = 1 << 16;
+
+    private final long semente;
+    private Distribuicao distribuicao = Distribuicao.UNIFORME;
+    private Ponto centro = new Ponto(0.0, 0.0);
+    private double raio = 100.0;
+    private int quantidadeAgrupamentos = 8;
+    private double dispersaoAgrupamento = 0.08;  // Desvio de cada bairro, em fração do raio
+    private double demandaMinima = 10.0;
+    private double demandaMaxima = 50.0;
+    private int prioridadeMinima = 1;
+    private int prioridadeMaxima = 10;
+
+    /**
+     * Cria um gerador com distribuição uniforme em um disco de raio 100 ao redor da origem.
+     *
+     * @param semente Semente que determina todo o cenário
+     */
+    public GeradorCenarios(long semente) {
+        this.semente = semente;
+    }
+
+    /**
+     * Gera a lista de clientes.
+     *
+     * @param quantidade Número de clientes
+     * @return Lista mutável com os clientes gerados
+     * @throws IllegalArgumentException se a quantidade for negativa
+     */
+    public List<Cliente> gerar(int quantidade) {
+        if (quantidade < 0) {
+            throw new IllegalArgumentException("A quantidade de clientes não pode ser negativa");
+        }
+
+        SplittableRandom raiz = new SplittableRandom(semente);
+
+        // Centros dos bairros vêm primeiro da raiz, para não dependerem dos blocos
+        double[] centrosX = new double[quantidadeAgrupamentos];
+        double[] centrosY = new double[quantidadeAgrupamentos];
+        if (distribuicao == Distribuicao.AGRUPADA) {
+            double[] ponto = new double[2];
+            for (int c = 0; c < quantidadeAgrupamentos; c++) {
+                sortearNoDisco(raiz, raio, ponto);
+                centrosX[c] = centro.getX() + ponto[0];
+                centrosY[c] = centro.getY() + ponto[1];
+            }
+        }
+
+        int blocos = (quantidade + TAMANHO_BLOCO - 1) / TAMANHO_BLOCO;
+        SplittableRandom[] geradores = new SplittableRandom[blocos];
+        for (int b = 0; b < blocos; b++) {
+            geradores[b] = raiz.split();
+        }
+
+        Cliente[] clientes = new Cliente[quantidade];
+
+        IntStream.range(0, blocos).parallel().forEach(b -> {
+            SplittableRandom aleatorio = geradores[b];
+            double[] ponto = new double[2];
+            int fim = Math.min(quantidade, (b + 1) * TAMANHO_BLOCO);
+
+            for (int i = b * TAMANHO_BLOCO; i < fim; i++) {
+                sortearPosicao(aleatorio, centrosX, centrosY, ponto);
+
+                double demanda = demandaMinima + aleatorio.nextDouble() * (demandaMaxima - demandaMinima);
+                int prioridade = aleatorio.nextInt(prioridadeMinima, prioridadeMaxima + 1);
+
+                clientes[i] = new Cliente(new Ponto(ponto[0], ponto[1]), demanda, prioridade);
+            }
+        });
+
+        return new ArrayList<>(Arrays.asList(clientes));
+    }
+
+    /**
+     * Sorteia a posição de um cliente segundo a distribuição configurada.
+     */
+    private void sortearPosicao(SplittableRandom aleatorio, double[] centrosX, double[] centrosY,
+                                double[] destino) {
+        switch (distribuicao) {
+            case GAUSSIANA:
+                // Em 2D, P(R <= 3 desvios) = 1 - e^(-4,5): ~98,9% dos clientes dentro do raio
+                double desvio = raio / 3.0;
+                destino[0] = centro.getX() + gaussiana(aleatorio) * desvio;
+                destino[1] = centro.getY() + gaussiana(aleatorio) * desvio;
+                break;
+
+            case AGRUPADA:
+                int c = aleatorio.nextInt(centrosX.length);
+                double dispersao = raio * dispersaoAgrupamento;
+                destino[0] = centrosX[c] + gaussiana(aleatorio) * dispersao;
+                destino[1] = centrosY[c] + gaussiana(aleatorio) * dispersao;
+                break;
+
+            case UNIFORME:
+            default:
+                sortearNoDisco(aleatorio, raio, destino);
+                destino[0] += centro.getX();
+                destino[1] += centro.getY();
+                break;
+        }
+    }
+
+    /**
+     * Sorteia um ponto uniformemente distribuído (por área) em um disco centrado na origem.
+     */
+    private static void sortearNoDisco(SplittableRandom aleatorio, double raio, double[] destino) {
+        double angulo = aleatorio.nextDouble() * 2 * Math.PI;
+        double r = raio * Math.sqrt(aleatorio.nextDouble());
+        destino[0] = r * Math.cos(angulo);
+        destino[1] = r * Math.sin(angulo);
+    }
+
+    /**
+     * Normal padrão pelo método polar de Marsaglia (SplittableRandom não oferece nextGaussian).
+     */
+    private static double gaussiana(SplittableRandom aleatorio) {
+        double u, v, s;
+        do {
+            u = 2.0 * aleatorio.nextDouble() - 1.0;
+            v = 2.0 * aleatorio.nextDouble() - 1.0;
+            s = u * u + v * v;
+        } while (s >= 1.0 || s == 0.0);
+        return u * Math.sqrt(-2.0 * Math.log(s) / s);
+    }
+
+    public long getSemente() {
+        return semente;
+    }
+
+    public Distribuicao getDistribuicao() {
+        return distribuicao;
+    }
+
+    public void setDistribuicao(Distribuicao distribuicao) {
+        if (distribuicao == null) {
+            throw new IllegalArgumentException("A distribuição não pode ser nula");
+        }
+        this.distribuicao = distribuicao;
+    }
+
+    public Ponto getCentro() {
+        return centro;
+    }
+
+    public void setCentro(Ponto centro) {
+        if (centro == null) {
+            throw new IllegalArgumentException("O centro não pode ser nulo");
+        }
+        this.centro = centro;
+    }
+
+    public double getRaio() {
+        return raio;
+    }
+
+    public void setRaio(double raio) {
+        if (!(raio > 0)) {
+            throw new IllegalArgumentException("O raio deve ser positivo");
+        }
+        this.raio = raio;
+    }
+
+    public int getQuantidadeAgrupamentos() {
+        return quantidadeAgrupamentos;
+    }
+
+    /**
+     * Define os bairros da distribuição agrupada.
+     *
+     * @param quantidade Número de bairros
+     * @param dispersao Desvio padrão de cada bairro, em fração do raio
+     */
+    public void setAgrupamentos(int quantidade, double dispersao) {
+        if (quantidade <= 0) {
+            throw new IllegalArgumentException("A quantidade de agrupamentos deve ser positiva");
+        }
+        if (!(dispersao > 0)) {
+            throw new IllegalArgumentException("A dispersão dos agrupamentos deve ser positiva");
+        }
+        this.quantidadeAgrupamentos = quantidade;
+        this.dispersaoAgrupamento = dispersao;
+    }
+
+    public double getDispersaoAgrupamento() {
+        return dispersaoAgrupamento;
+    }
+
+    /**
+     * Define o intervalo das demandas sorteadas.
+     *
+     * @param minima Demanda mínima
+     * @param maxima Demanda máxima
+     */
+    public void setDemanda(double minima, double maxima) {
+        if (minima < 0 || maxima < minima) {
+            throw new IllegalArgumentException("Intervalo de demanda inválido");
+        }
+        this.demandaMinima = minima;
+        this.demandaMaxima = maxima;
+    }
+
+    /**
+     * Define o intervalo (inclusivo) das prioridades sorteadas.
+     *
+     * @param minima Prioridade mínima
+     * @param maxima Prioridade máxima
+     */
+    public void setPrioridade(int minima, int maxima) {
+        if (maxima < minima) {
+            throw new IllegalArgumentException("Intervalo de prioridade inválido");
+        }
+        this.prioridadeMinima = minima;
+        this.prioridadeMaxima = maxima;
+    }
+}
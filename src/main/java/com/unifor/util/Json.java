@@ -0,0 +1,338 @@
+package com.unifor.util;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Leitura e escrita de JSON sem dependências externas.
+ *
+ * A leitura produz {@link Map} (objetos, na ordem das chaves), {@link List} (vetores),
+ * {@link Double} (números), {@link String}, {@link Boolean} e null. A escrita é feita
+ * direto em um {@link StringBuilder} pelos métodos de escape e formatação de números.
+ */
+public final class Json {
+
+    // Profundidade máxima de aninhamento aceita na leitura (evita estouro de pilha)
+    private static final int PROFUNDIDADE_MAXIMA = 64;
+
+    /**
+     * Construtor privado para evitar instanciação.
+     */
+    private Json() {
+        throw new UnsupportedOperationException("Classe utilitária não pode ser instanciada");
+    }
+
+    /**
+     * Lê um documento JSON completo.
+     *
+     * @param texto Documento JSON
+     * @return Valor lido (Map, List, Double, String, Boolean ou null)
+     * @throws IllegalArgumentException se o texto não for JSON válido
+     */
+    public static Object ler(String texto) {
+        if (texto == null) {
+            throw new IllegalArgumentException("O documento JSON não pode ser nulo");
+        }
+        Leitor leitor = new Leitor(texto);
+        Object valor = leitor.lerValor(0);
+        leitor.pularEspacos();
+        if (leitor.posicao != texto.length()) {
+            throw leitor.erro("conteúdo após o fim do documento");
+        }
+        return valor;
+    }
+
+    /**
+     * Acrescenta uma string JSON (entre aspas, com escapes) ao destino.
+     *
+     * @param destino Destino da escrita
+     * @param valor Texto a escrever (null vira null)
+     * @return O próprio destino
+     */
+    public static StringBuilder escreverTexto(StringBuilder destino, String valor) {
+        if (valor == null) {
+            return destino.append("null");
+        }
+        destino.append('"');
+        for (int i = 0; i < valor.length(); i++) {
+            char c = valor.charAt(i);
+            switch (c) {
+                case '"': destino.append("\\\""); break;
+                case '\\': destino.append("\\\\"); break;
+                case '\n': destino.append("\\n"); break;
+                case '\r': destino.append("\\r"); break;
+                case '\t': destino.append("\\t"); break;
+                default:
+                    if (c < 0x20) {
+                        destino.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        destino.append(c);
+                    }
+            }
+        }
+        return destino.append('"');
+    }
+
+    /**
+     * Acrescenta um número JSON ao destino (NaN e infinitos viram null).
+     *
+     * @param destino Destino da escrita
+     * @param valor Número a escrever
+     * @return O próprio destino
+     */
+    public static StringBuilder escreverNumero(StringBuilder destino, double valor) {
+        if (Double.isNaN(valor) || Double.isInfinite(valor)) {
+            return destino.append("null");
+        }
+        if (valor == Math.rint(valor) && Math.abs(valor) < 1e15) {
+            return destino.append((long) valor);
+        }
+        return destino.append(valor);
+    }
+
+    /**
+     * Lê um campo numérico obrigatório de um objeto.
+     *
+     * @param objeto Objeto JSON
+     * @param campo Nome do campo
+     * @return Valor do campo
+     * @throws IllegalArgumentException se o campo faltar ou não for número
+     */
+    public static double numero(Map<?, ?> objeto, String campo) {
+        Object valor = objeto.get(campo);
+        if (!(valor instanceof Double)) {
+            throw new IllegalArgumentException("Campo numérico obrigatório ausente: " + campo);
+        }
+        return (Double) valor;
+    }
+
+    /**
+     * Lê um campo numérico opcional de um objeto.
+     *
+     * @param objeto Objeto JSON
+     * @param campo Nome do campo
+     * @param padrao Valor quando o campo não existe
+     * @return Valor do campo ou o padrão
+     * @throws IllegalArgumentException se o campo existir e não for número
+     */
+    public static double numero(Map<?, ?> objeto, String campo, double padrao) {
+        return objeto.get(campo) == null ? padrao : numero(objeto, campo);
+    }
+
+    /**
+     * Lê um campo de objeto obrigatório.
+     *
+     * @throws IllegalArgumentException se o campo faltar ou não for objeto
+     */
+    public static Map<?, ?> objeto(Map<?, ?> objeto, String campo) {
+        Object valor = objeto.get(campo);
+        if (!(valor instanceof Map)) {
+            throw new IllegalArgumentException("Campo de objeto obrigatório ausente: " + campo);
+        }
+        return (Map<?, ?>) valor;
+    }
+
+    /**
+     * Lê um campo de vetor obrigatório.
+     *
+     * @throws IllegalArgumentException se o campo faltar ou não for vetor
+     */
+    public static List<?> vetor(Map<?, ?> objeto, String campo) {
+        Object valor = objeto.get(campo);
+        if (!(valor instanceof List)) {
+            throw new IllegalArgumentException("Campo de vetor obrigatório ausente: " + campo);
+        }
+        return (List<?>) valor;
+    }
+
+    /**
+     * Analisador descendente recursivo sobre o texto do documento.
+     */
+    private static final class Leitor {
+        private final String texto;
+        private int posicao;
+
+        Leitor(String texto) {
+            this.texto = texto;
+        }
+
+        Object lerValor(int profundidade) {
+            if (profundidade > PROFUNDIDADE_MAXIMA) {
+                throw erro("aninhamento acima de " + PROFUNDIDADE_MAXIMA + " níveis");
+            }
+            pularEspacos();
+            if (posicao >= texto.length()) {
+                throw erro("fim inesperado do documento");
+            }
+
+            char c = texto.charAt(posicao);
+            switch (c) {
+                case '{': return lerObjeto(profundidade);
+                case '[': return lerVetor(profundidade);
+                case '"': return lerTexto();
+                case 't': esperar("true"); return Boolean.TRUE;
+                case 'f': esperar("false"); return Boolean.FALSE;
+                case 'n': esperar("null"); return null;
+                default:
+                    if (c == '-' || (c >= '0' && c <= '9')) {
+                        return lerNumero();
+                    }
+                    throw erro("caractere inesperado '" + c + "'");
+            }
+        }
+
+        private Map<String, Object> lerObjeto(int profundidade) {
+            Map<String, Object> objeto = new LinkedHashMap<>();
+            posicao++;
+            pularEspacos();
+            if (consumir('}')) {
+                return objeto;
+            }
+            do {
+                pularEspacos();
+                if (posicao >= texto.length() || texto.charAt(posicao) != '"') {
+                    throw erro("esperado nome de campo");
+                }
+                String chave = lerTexto();
+                pularEspacos();
+                if (!consumir(':')) {
+                    throw erro("esperado ':'");
+                }
+                objeto.put(chave, lerValor(profundidade + 1));
+                pularEspacos();
+            } while (consumir(','));
+
+            if (!consumir('}')) {
+                throw erro("esperado ',' ou '}'");
+            }
+            return objeto;
+        }
+
+        private List<Object> lerVetor(int profundidade) {
+            List<Object> vetor = new ArrayList<>();
+            posicao++;
+            pularEspacos();
+            if (consumir(']')) {
+                return vetor;
+            }
+            do {
+                vetor.add(lerValor(profundidade + 1));
+                pularEspacos();
+            } while (consumir(','));
+
+            if (!consumir(']')) {
+                throw erro("esperado ',' ou ']'");
+            }
+            return vetor;
+        }
+
+        private String lerTexto() {
+            posicao++;
+            StringBuilder valor = null;
+            int inicio = posicao;
+
+            while (posicao < texto.length()) {
+                char c = texto.charAt(posicao);
+                if (c == '"') {
+                    String trecho = texto.substring(inicio, posicao++);
+                    return valor == null ? trecho : valor.append(trecho).toString();
+                }
+                if (c < 0x20) {
+                    throw erro("caractere de controle dentro de texto");
+                }
+                if (c != '\\') {
+                    posicao++;
+                    continue;
+                }
+
+                // Escape: acumular o que veio antes e decodificar
+                if (valor == null) {
+                    valor = new StringBuilder();
+                }
+                valor.append(texto, inicio, posicao);
+                if (posicao + 1 >= texto.length()) {
+                    throw erro("escape incompleto");
+                }
+                char escape = texto.charAt(posicao + 1);
+                posicao += 2;
+                switch (escape) {
+                    case '"': valor.append('"'); break;
+                    case '\\': valor.append('\\'); break;
+                    case '/': valor.append('/'); break;
+                    case 'b': valor.append('\b'); break;
+                    case 'f': valor.append('\f'); break;
+                    case 'n': valor.append('\n'); break;
+                    case 'r': valor.append('\r'); break;
+                    case 't': valor.append('\t'); break;
+                    case 'u':
+                        if (posicao + 4 > texto.length()) {
+                            throw erro("escape \\u incompleto");
+                        }
+                        try {
+                            valor.append((char) Integer.parseInt(texto.substring(posicao, posicao + 4), 16));
+                        } catch (NumberFormatException e) {
+                            throw erro("escape \\u inválido");
+                        }
+                        posicao += 4;
+                        break;
+                    default:
+                        throw erro("escape inválido '\\" + escape + "'");
+                }
+                inicio = posicao;
+            }
+            throw erro("texto não terminado");
+        }
+
+        private Double lerNumero() {
+            int inicio = posicao;
+            if (texto.charAt(posicao) == '-') {
+                posicao++;
+            }
+            while (posicao < texto.length()) {
+                char c = texto.charAt(posicao);
+                if ((c >= '0' && c <= '9') || c == '.' || c == 'e' || c == 'E' || c == '+' || c == '-') {
+                    posicao++;
+                } else {
+                    break;
+                }
+            }
+            try {
+                return Double.valueOf(texto.substring(inicio, posicao));
+            } catch (NumberFormatException e) {
+                posicao = inicio;
+                throw erro("número inválido");
+            }
+        }
+
+        private void esperar(String literal) {
+            if (!texto.startsWith(literal, posicao)) {
+                throw erro("esperado '" + literal + "'");
+            }
+            posicao += literal.length();
+        }
+
+        private boolean consumir(char c) {
+            if (posicao < texto.length() && texto.charAt(posicao) == c) {
+                posicao++;
+                return true;
+            }
+            return false;
+        }
+
+        void pularEspacos() {
+            while (posicao < texto.length()) {
+                char c = texto.charAt(posicao);
+                if (c != ' ' && c != '\n' && c != '\r' && c != '\t') {
+                    break;
+                }
+                posicao++;
+            }
+        }
+
+        IllegalArgumentException erro(String mensagem) {
+            return new IllegalArgumentException("JSON inválido na posição " + posicao + ": " + mensagem);
+        }
+    }
+}
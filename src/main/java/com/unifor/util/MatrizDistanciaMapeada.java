@@ -0,0 +1,169 @@
+package com.unifor.util;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import com.unifor.model.Cliente;
+import com.unifor.model.Ponto;
+
+/**
+ * Matriz de distâncias pré-calculada (ex.: distâncias reais da malha viária) lida de um
+ * arquivo mapeado em memória.
+ *
+ * Os valores ficam fora do heap Java: o sistema operacional carrega as páginas do arquivo
+ * sob demanda, então matrizes de vários GB (ex.: 20.000 locais = 1,6 GB) não pressionam o
+ * coletor de lixo. Como um MappedByteBuffer endereça no máximo 2 GB, o arquivo é mapeado
+ * em segmentos de 1 GB.
+ *
+ * Formato do arquivo (little-endian):
+ * - int: número mágico 0x5355444D ("SUDM")
+ * - int: número de locais n (índice 0 = central, i + 1 = cliente i)
+ * - n × n floats: matriz linha a linha (distância de linha para coluna)
+ */
+public class MatrizDistanciaMapeada implements ProvedorDistancia, TabelaDistancias {
+
+    private static final int NUMERO_MAGICO = 0x5355444D;
+    private static final int TAMANHO_CABECALHO = 8;
+
+    // Segmentos de 2^30 bytes: múltiplos de 4, então nenhum float fica dividido entre dois
+    private static final int BITS_SEGMENTO = 30;
+    private static final long TAMANHO_SEGMENTO = 1L << BITS_SEGMENTO;
+    private static final long MASCARA_SEGMENTO = TAMANHO_SEGMENTO - 1;
+
+    private final int tamanho;
+    private final MappedByteBuffer[] segmentos;
+
+    /**
+     * Construtor privado: use {@link #abrir(Path)}.
+     */
+    private MatrizDistanciaMapeada(int tamanho, MappedByteBuffer[] segmentos) {
+        this.tamanho = tamanho;
+        this.segmentos = segmentos;
+    }
+
+    /**
+     * Abre (somente leitura) um arquivo de matriz de distâncias.
+     *
+     * @param arquivo Caminho do arquivo
+     * @return Matriz mapeada em memória
+     * @throws IOException se o arquivo não puder ser lido ou estiver em formato inválido
+     */
+    public static MatrizDistanciaMapeada abrir(Path arquivo) throws IOException {
+        try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.READ)) {
+            ByteBuffer cabecalho = ByteBuffer.allocate(TAMANHO_CABECALHO).order(ByteOrder.LITTLE_ENDIAN);
+
+            while (cabecalho.hasRemaining()) {
+                if (canal.read(cabecalho) < 0) {
+                    throw new IOException("Arquivo de matriz truncado: " + arquivo);
+                }
+            }
+            cabecalho.flip();
+
+            if (cabecalho.getInt() != NUMERO_MAGICO) {
+                throw new IOException("Arquivo não é uma matriz de distâncias: " + arquivo);
+            }
+
+            int tamanho = cabecalho.getInt();
+            long tamanhoEsperado = TAMANHO_CABECALHO + (long) tamanho * tamanho * Float.BYTES;
+
+            if (tamanho <= 0 || canal.size() < tamanhoEsperado) {
+                throw new IOException(String.format(
+                    "Matriz de distâncias inválida: %d locais exigem %d bytes, arquivo possui %d",
+                    tamanho, tamanhoEsperado, canal.size()));
+            }
+
+            // Mapear o arquivo inteiro em segmentos (o mapeamento continua válido após fechar o canal)
+            int quantidadeSegmentos = (int) ((tamanhoEsperado + TAMANHO_SEGMENTO - 1) >>> BITS_SEGMENTO);
+            MappedByteBuffer[] segmentos = new MappedByteBuffer[quantidadeSegmentos];
+
+            for (int s = 0; s < quantidadeSegmentos; s++) {
+                long inicio = (long) s << BITS_SEGMENTO;
+                long comprimento = Math.min(TAMANHO_SEGMENTO, tamanhoEsperado - inicio);
+                segmentos[s] = canal.map(FileChannel.MapMode.READ_ONLY, inicio, comprimento);
+                segmentos[s].order(ByteOrder.LITTLE_ENDIAN);
+            }
+
+            return new MatrizDistanciaMapeada(tamanho, segmentos);
+        }
+    }
+
+    /**
+     * Grava uma tabela de distâncias no formato lido por {@link #abrir(Path)}.
+     *
+     * A gravação é feita linha a linha, sem manter a matriz inteira em memória.
+     *
+     * @param arquivo Caminho do arquivo de destino (sobrescrito se existir)
+     * @param tabela Tabela de distâncias de origem
+     * @throws IOException se ocorrer erro de escrita
+     */
+    public static void gravar(Path arquivo, TabelaDistancias tabela) throws IOException {
+        int tamanho = tabela.getTamanho();
+
+        try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(Math.max(TAMANHO_CABECALHO, tamanho * Float.BYTES))
+                                          .order(ByteOrder.LITTLE_ENDIAN);
+
+            buffer.putInt(NUMERO_MAGICO).putInt(tamanho).flip();
+            escreverTudo(canal, buffer);
+
+            for (int origem = 0; origem < tamanho; origem++) {
+                buffer.clear();
+                for (int destino = 0; destino < tamanho; destino++) {
+                    buffer.putFloat((float) tabela.distancia(origem, destino));
+                }
+                buffer.flip();
+                escreverTudo(canal, buffer);
+            }
+        }
+    }
+
+    /**
+     * Escreve todo o conteúdo restante do buffer no canal.
+     */
+    private static void escreverTudo(FileChannel canal, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            canal.write(buffer);
+        }
+    }
+
+    /**
+     * Vincula a matriz ao cenário, verificando se as dimensões são compatíveis.
+     *
+     * A ordem dos clientes deve ser a mesma utilizada para gerar o arquivo.
+     */
+    @Override
+    public TabelaDistancias vincular(Ponto central, List<Cliente> clientes) {
+        if (clientes.size() + 1 != tamanho) {
+            throw new IllegalArgumentException(String.format(
+                "A matriz de distâncias possui %d locais, mas o cenário possui %d (central + %d clientes)",
+                tamanho, clientes.size() + 1, clientes.size()));
+        }
+        return this;
+    }
+
+    /**
+     * A matriz vale só para a central e a ordem de clientes com que foi gerada.
+     */
+    @Override
+    public boolean isVinculoPorCoordenadas() {
+        return false;
+    }
+
+    @Override
+    public int getTamanho() {
+        return tamanho;
+    }
+
+    @Override
+    public double distancia(int origem, int destino) {
+        long posicao = TAMANHO_CABECALHO + ((long) origem * tamanho + destino) * Float.BYTES;
+        return segmentos[(int) (posicao >>> BITS_SEGMENTO)].getFloat((int) (posicao & MASCARA_SEGMENTO));
+    }
+}
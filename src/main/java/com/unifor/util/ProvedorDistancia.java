@@ -0,0 +1,55 @@
+package com.unifor.util;
+
+import java.util.List;
+
+import com.unifor.model.Cliente;
+import com.unifor.model.Ponto;
+import com.unifor.model.TabelaClientes;
+
+/**
+ * Fonte de distâncias utilizada pelo Roteirizador.
+ * 
+ * Permite trocar a distância Euclidiana por distâncias reais (malha viária) sem alterar
+ * a heurística: o provedor é vinculado a um cenário e devolve uma tabela indexada.
+ */
+public interface ProvedorDistancia {
+
+    /**
+     * Vincula o provedor a um cenário, produzindo a tabela de distâncias correspondente.
+     * 
+     * @param central Ponto da central de distribuição (índice 0 da tabela)
+     * @param clientes Lista de clientes (cliente i corresponde ao índice i + 1)
+     * @return Tabela de distâncias do cenário
+     * @throws IllegalArgumentException se o provedor não puder atender o cenário
+     */
+    TabelaDistancias vincular(Ponto central, List<Cliente> clientes);
+
+    /**
+     * Vincula o provedor a um cenário guardado fora do heap.
+     * 
+     * A implementação padrão usa a visão de lista da tabela, que cria cada cliente sob
+     * demanda; provedores que só precisam de coordenadas devem lê-las direto da tabela.
+     * 
+     * @param central Ponto da central de distribuição (índice 0 da tabela)
+     * @param clientes Tabela de clientes (cliente i corresponde ao índice i + 1)
+     * @return Tabela de distâncias do cenário
+     * @throws IllegalArgumentException se o provedor não puder atender o cenário
+     */
+    default TabelaDistancias vincular(Ponto central, TabelaClientes clientes) {
+        return vincular(central, clientes.comoLista());
+    }
+
+    /**
+     * Indica se o provedor atende qualquer central e qualquer lista de clientes, calculando
+     * as distâncias a partir dos pontos informados.
+     * 
+     * Provedores presos a um cenário fixo (ex.: uma matriz gerada para uma central e uma
+     * ordem de clientes) devem retornar false: eles não servem para subconjuntos de clientes
+     * nem para outras centrais, como na roteirização com várias centrais.
+     * 
+     * @return true se {@link #vincular(Ponto, List)} aceita centrais e subconjuntos arbitrários
+     */
+    default boolean isVinculoPorCoordenadas() {
+        return true;
+    }
+}
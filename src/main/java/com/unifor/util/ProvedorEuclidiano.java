@@ -0,0 +1,100 @@
+package com.unifor.util;
+
+import java.util.List;
+
+import com.unifor.model.Cliente;
+import com.unifor.model.Ponto;
+import com.unifor.model.TabelaClientes;
+
+/**
+ * Provedor de distâncias Euclidianas (linha reta), comportamento padrão do Roteirizador.
+ * 
+ * As coordenadas são copiadas para vetores primitivos no momento do vínculo, de modo que
+ * cada consulta é apenas aritmética sobre arrays, sem acessar objetos Ponto.
+ */
+public class ProvedorEuclidiano implements ProvedorDistancia {
+
+    @Override
+    public TabelaDistancias vincular(Ponto central, List<Cliente> clientes) {
+        int tamanho = clientes.size() + 1;
+        double[] x = new double[tamanho];
+        double[] y = new double[tamanho];
+
+        x[0] = central.getX();
+        y[0] = central.getY();
+
+        for (int i = 0; i < clientes.size(); i++) {
+            Cliente cliente = clientes.get(i);
+
+            // Clientes sem localização ficam na central (o Roteirizador os ignora)
+            Ponto local = (cliente != null && cliente.getLocalizacao() != null)
+                ? cliente.getLocalizacao() : central;
+            x[i + 1] = local.getX();
+            y[i + 1] = local.getY();
+        }
+
+        return new TabelaEuclidiana(x, y);
+    }
+
+    @Override
+    public TabelaDistancias vincular(Ponto central, TabelaClientes clientes) {
+        int tamanho = clientes.getQuantidade() + 1;
+        double[] x = new double[tamanho];
+        double[] y = new double[tamanho];
+
+        x[0] = central.getX();
+        y[0] = central.getY();
+
+        for (int i = 0; i < clientes.getQuantidade(); i++) {
+            // Clientes sem localização ficam na central (o Roteirizador os ignora)
+            boolean presente = clientes.isPresente(i);
+            x[i + 1] = presente ? clientes.getX(i) : central.getX();
+            y[i + 1] = presente ? clientes.getY(i) : central.getY();
+        }
+
+        return new TabelaEuclidiana(x, y);
+    }
+
+    /**
+     * Tabela Euclidiana sobre coordenadas em estrutura de arrays.
+     */
+    public static final class TabelaEuclidiana implements TabelaDistancias {
+        private final double[] x;
+        private final double[] y;
+
+        private TabelaEuclidiana(double[] x, double[] y) {
+            this.x = x;
+            this.y = y;
+        }
+
+        @Override
+        public int getTamanho() {
+            return x.length;
+        }
+
+        @Override
+        public double distancia(int origem, int destino) {
+            return Distancia.calcularDistanciaEuclidiana(x[origem], y[origem], x[destino], y[destino]);
+        }
+
+        /**
+         * Calcula de uma vez as distâncias de um local a todos os locais da tabela
+         * (em lote, ver {@link DistanciasLote}). Cada valor é idêntico ao de
+         * {@link #distancia(int, int)}.
+         *
+         * @param origem Índice do local de origem
+         * @param destino Recebe em destino[j] a distância de origem até j (tamanho mínimo: {@link #getTamanho()})
+         */
+        public void distancias(int origem, double[] destino) {
+            DistanciasLote.distancias(x[origem], y[origem], x, y, 0, x.length, destino);
+        }
+
+        public double getX(int indice) {
+            return x[indice];
+        }
+
+        public double getY(int indice) {
+            return y[indice];
+        }
+    }
+}
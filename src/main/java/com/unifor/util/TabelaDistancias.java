@@ -0,0 +1,27 @@
+package com.unifor.util;
+
+/**
+ * Tabela de distâncias de um cenário, acessada por índice de local.
+ * 
+ * Convenção de índices: o índice 0 é a central de distribuição e o índice i + 1
+ * corresponde ao cliente de posição i na lista recebida pelo provedor.
+ * As consultas não devem alocar objetos, pois são feitas dentro do laço guloso.
+ */
+public interface TabelaDistancias {
+
+    /**
+     * Retorna o número de locais da tabela (clientes + central).
+     * 
+     * @return Número de locais
+     */
+    int getTamanho();
+
+    /**
+     * Retorna a distância do local de origem ao local de destino.
+     * 
+     * @param origem Índice do local de origem
+     * @param destino Índice do local de destino
+     * @return Distância entre os locais
+     */
+    double distancia(int origem, int destino);
+}
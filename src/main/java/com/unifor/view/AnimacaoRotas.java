@@ -0,0 +1,121 @@
+package com.unifor.view;
+
+import java.util.List;
+
+import com.unifor.model.Cliente;
+import com.unifor.model.Ponto;
+import com.unifor.model.Rota;
+
+/**
+ * Trajetos das viagens preparados para a animação do mapa.
+ *
+ * Cada viagem vira um caminho fechado central → clientes → central, guardado em vetores
+ * primitivos contíguos (coordenadas e distância acumulada de cada vértice). Todas as
+ * viagens partem juntas e avançam à mesma velocidade; a posição de um veículo em um
+ * instante é obtida por busca binária na distância acumulada, sem alocar objetos.
+ */
+final class AnimacaoRotas {
+
+    private final int quantidadeViagens;
+
+    // Vértices da viagem v em [inicio[v], inicio[v + 1])
+    private final int[] inicio;
+    private final double[] x;
+    private final double[] y;
+    private final double[] acumulado;
+
+    private final double maiorDistancia;
+
+    /**
+     * Prepara os trajetos das viagens.
+     *
+     * @param rotas Viagens calculadas
+     * @param central Ponto de partida e retorno de todas as viagens
+     */
+    AnimacaoRotas(List<Rota> rotas, Ponto central) {
+        this.quantidadeViagens = rotas.size();
+        this.inicio = new int[quantidadeViagens + 1];
+
+        int vertices = 0;
+        for (int v = 0; v < quantidadeViagens; v++) {
+            inicio[v] = vertices;
+            vertices += rotas.get(v).getPontos().size() + 2;
+        }
+        inicio[quantidadeViagens] = vertices;
+
+        this.x = new double[vertices];
+        this.y = new double[vertices];
+        this.acumulado = new double[vertices];
+
+        double maior = 0.0;
+        for (int v = 0; v < quantidadeViagens; v++) {
+            List<Cliente> pontos = rotas.get(v).getPontos();
+            int p = inicio[v];
+
+            x[p] = central.getX();
+            y[p] = central.getY();
+            acumulado[p] = 0.0;
+
+            for (int i = 0; i < pontos.size(); i++) {
+                Ponto loc = pontos.get(i).getLocalizacao();
+                acrescentar(p + i + 1, loc.getX(), loc.getY());
+            }
+            acrescentar(inicio[v + 1] - 1, central.getX(), central.getY());
+
+            maior = Math.max(maior, acumulado[inicio[v + 1] - 1]);
+        }
+        this.maiorDistancia = maior;
+    }
+
+    private void acrescentar(int p, double px, double py) {
+        x[p] = px;
+        y[p] = py;
+        acumulado[p] = acumulado[p - 1] + Math.hypot(px - x[p - 1], py - y[p - 1]);
+    }
+
+    int getQuantidadeViagens() {
+        return quantidadeViagens;
+    }
+
+    /**
+     * Retorna a distância da viagem mais longa (duração de um ciclo completo da animação).
+     */
+    double getMaiorDistancia() {
+        return maiorDistancia;
+    }
+
+    /**
+     * Calcula a posição do veículo de uma viagem após percorrer a distância informada.
+     * Viagens já concluídas permanecem na central.
+     *
+     * @param viagem Índice da viagem
+     * @param distancia Distância percorrida desde a partida
+     * @param destino Vetor de saída: destino[0] = x, destino[1] = y
+     */
+    void posicao(int viagem, double distancia, double[] destino) {
+        int primeiro = inicio[viagem];
+        int ultimo = inicio[viagem + 1] - 1;
+
+        if (distancia >= acumulado[ultimo]) {
+            destino[0] = x[ultimo];
+            destino[1] = y[ultimo];
+            return;
+        }
+
+        // Maior vértice com acumulado <= distância
+        int baixo = primeiro, alto = ultimo;
+        while (baixo < alto) {
+            int meio = (baixo + alto + 1) >>> 1;
+            if (acumulado[meio] <= distancia) {
+                baixo = meio;
+            } else {
+                alto = meio - 1;
+            }
+        }
+
+        double trecho = acumulado[baixo + 1] - acumulado[baixo];
+        double t = trecho > 0 ? (distancia - acumulado[baixo]) / trecho : 0.0;
+        destino[0] = x[baixo] + (x[baixo + 1] - x[baixo]) * t;
+        destino[1] = y[baixo] + (y[baixo + 1] - y[baixo]) * t;
+    }
+}
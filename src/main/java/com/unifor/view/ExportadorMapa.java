@@ -0,0 +1,196 @@
+package com.unifor.view;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import javax.imageio.ImageIO;
+
+import com.unifor.model.Cliente;
+import com.unifor.model.Ponto;
+import com.unifor.model.Rota;
+
+/**
+ * Exporta o desenho do mapa para imagens PNG sem precisar de tela.
+ *
+ * Reaproveita exatamente o desenho do {@link PainelMapa} (grid, rotas, clientes, legenda e
+ * estatísticas), renderizando em um {@link BufferedImage}. Funciona com
+ * {@code -Djava.awt.headless=true} e pode exportar muitos cenários em paralelo: cada tarefa
+ * usa a sua própria instância do painel, sem estado compartilhado entre threads.
+ */
+public class ExportadorMapa {
+
+    /**
+     * Construtor privado para evitar instanciação.
+     */
+    private ExportadorMapa() {
+        throw new UnsupportedOperationException("Classe utilitária não pode ser instanciada");
+    }
+
+    /**
+     * Renderiza um cenário em uma imagem.
+     *
+     * @param central Localização da central
+     * @param clientes Lista de clientes
+     * @param rotas Rotas calculadas (pode ser nula ou vazia)
+     * @param largura Largura da imagem em pixels
+     * @param altura Altura da imagem em pixels
+     * @return Imagem RGB com o mapa desenhado
+     * @throws IllegalArgumentException se as dimensões não forem positivas
+     */
+    public static BufferedImage renderizar(Ponto central, List<Cliente> clientes, List<Rota> rotas,
+                                           int largura, int altura) {
+        if (largura <= 0 || altura <= 0) {
+            throw new IllegalArgumentException("As dimensões da imagem devem ser positivas");
+        }
+
+        PainelMapa painel = new PainelMapa();
+        painel.setSize(largura, altura);
+        painel.setCentral(central);
+        painel.setClientes(clientes);
+        painel.setRotas(rotas);
+
+        BufferedImage imagem = new BufferedImage(largura, altura, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g2d = imagem.createGraphics();
+        try {
+            painel.renderizar(g2d);
+        } finally {
+            g2d.dispose();
+        }
+        return imagem;
+    }
+
+    /**
+     * Renderiza um cenário e grava o resultado em um arquivo PNG.
+     *
+     * @param central Localização da central
+     * @param clientes Lista de clientes
+     * @param rotas Rotas calculadas (pode ser nula ou vazia)
+     * @param largura Largura da imagem em pixels
+     * @param altura Altura da imagem em pixels
+     * @param destino Arquivo PNG de saída
+     * @throws IOException se ocorrer erro de escrita
+     */
+    public static void exportarPng(Ponto central, List<Cliente> clientes, List<Rota> rotas,
+                                   int largura, int altura, Path destino) throws IOException {
+        BufferedImage imagem = renderizar(central, clientes, rotas, largura, altura);
+        if (!ImageIO.write(imagem, "png", destino.toFile())) {
+            throw new IOException("Nenhum codificador PNG disponível");
+        }
+    }
+
+    /**
+     * Exporta vários cenários em paralelo, um arquivo {@code <nome>.png} por cenário.
+     *
+     * @param cenarios Cenários a exportar
+     * @param diretorio Diretório de saída (criado se não existir)
+     * @param largura Largura das imagens em pixels
+     * @param altura Altura das imagens em pixels
+     * @param threads Número de threads de renderização
+     * @return Arquivos gerados, na mesma ordem dos cenários
+     * @throws IOException se algum arquivo não puder ser gravado
+     * @throws IllegalArgumentException se o número de threads não for positivo
+     */
+    public static List<Path> exportarLote(List<Cenario> cenarios, Path diretorio,
+                                          int largura, int altura, int threads) throws IOException {
+        if (threads <= 0) {
+            throw new IllegalArgumentException("O número de threads deve ser positivo");
+        }
+
+        Files.createDirectories(diretorio);
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Path>> tarefas = new ArrayList<>(cenarios.size());
+            for (Cenario cenario : cenarios) {
+                tarefas.add(executor.submit(() -> {
+                    Path destino = diretorio.resolve(cenario.getNome() + ".png");
+                    exportarPng(cenario.getCentral(), cenario.getClientes(), cenario.getRotas(),
+                                largura, altura, destino);
+                    return destino;
+                }));
+            }
+
+            List<Path> arquivos = new ArrayList<>(tarefas.size());
+            for (Future<Path> tarefa : tarefas) {
+                arquivos.add(aguardar(tarefa));
+            }
+            return arquivos;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Aguarda uma tarefa de exportação, repassando a exceção original em caso de falha.
+     */
+    private static Path aguardar(Future<Path> tarefa) throws IOException {
+        try {
+            return tarefa.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Exportação interrompida", e);
+        } catch (ExecutionException e) {
+            Throwable causa = e.getCause();
+            if (causa instanceof IOException) {
+                throw (IOException) causa;
+            }
+            if (causa instanceof RuntimeException) {
+                throw (RuntimeException) causa;
+            }
+            throw new IOException("Falha ao exportar cenário", causa);
+        }
+    }
+
+    /**
+     * Cenário a exportar: nome do arquivo, central, clientes e rotas.
+     */
+    public static final class Cenario {
+        private final String nome;
+        private final Ponto central;
+        private final List<Cliente> clientes;
+        private final List<Rota> rotas;
+
+        /**
+         * Construtor completo.
+         *
+         * @param nome Nome do arquivo de saída (sem extensão)
+         * @param central Localização da central
+         * @param clientes Lista de clientes
+         * @param rotas Rotas calculadas (pode ser nula)
+         */
+        public Cenario(String nome, Ponto central, List<Cliente> clientes, List<Rota> rotas) {
+            if (nome == null || nome.isEmpty()) {
+                throw new IllegalArgumentException("O nome do cenário não pode ser vazio");
+            }
+            this.nome = nome;
+            this.central = central;
+            this.clientes = clientes;
+            this.rotas = rotas;
+        }
+
+        public String getNome() {
+            return nome;
+        }
+
+        public Ponto getCentral() {
+            return central;
+        }
+
+        public List<Cliente> getClientes() {
+            return clientes;
+        }
+
+        public List<Rota> getRotas() {
+            return rotas;
+        }
+    }
+}
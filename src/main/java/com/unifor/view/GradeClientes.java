@@ -0,0 +1,248 @@
+package com.unifor.view;
+
+import java.util.List;
+
+import com.unifor.model.Cliente;
+import com.unifor.model.Ponto;
+
+/**
+ * Índice espacial dos clientes usado pela renderização do mapa.
+ *
+ * Divide o retângulo do mundo em uma grade de lado potência de 2 (nível 0) e guarda, para
+ * cada célula, os índices dos clientes que ela contém (formato CSR). Sobre essa grade é
+ * montada uma pirâmide de contagens: cada nível soma blocos 2×2 do nível anterior.
+ *
+ * Com isso o painel descobre quais clientes estão visíveis e quantos são sem percorrer a
+ * lista inteira, e desenha agregados de densidade no nível cujo tamanho de célula em
+ * pixels é adequado ao zoom atual.
+ */
+final class GradeClientes {
+
+    // Lado máximo da grade do nível 0 (1024 × 1024 células)
+    private static final int LADO_MAXIMO = 1024;
+
+    private final double minX;
+    private final double minY;
+    private final double largura;
+    private final double altura;
+    private final int quantidadeClientes;
+    private final int ladoBase;
+
+    // Pirâmide de contagens: contagens[nivel][linha * lado + coluna]
+    private final int[][] contagens;
+    private final int[] contagemMaxima;
+
+    // Nível 0 em formato CSR: clientes da célula c em indices[inicio[c] .. inicio[c + 1])
+    private final int[] inicio;
+    private final int[] indices;
+
+    /**
+     * Constrói o índice para os clientes dentro do retângulo informado.
+     * Clientes fora do retângulo são associados à célula da borda mais próxima.
+     *
+     * @param clientes Lista de clientes
+     * @param minX Menor X do mundo
+     * @param minY Menor Y do mundo
+     * @param largura Largura do mundo
+     * @param altura Altura do mundo
+     */
+    GradeClientes(List<Cliente> clientes, double minX, double minY, double largura, double altura) {
+        this.minX = minX;
+        this.minY = minY;
+        this.largura = largura > 0 ? largura : 1.0;
+        this.altura = altura > 0 ? altura : 1.0;
+        this.quantidadeClientes = clientes.size();
+
+        // Cerca de um cliente por célula no nível 0, limitado a LADO_MAXIMO
+        int lado = 1;
+        while (lado < LADO_MAXIMO && (long) lado * lado < quantidadeClientes) {
+            lado <<= 1;
+        }
+
+        this.ladoBase = lado;
+        int niveis = Integer.numberOfTrailingZeros(lado) + 1;
+        this.contagens = new int[niveis][];
+        this.contagemMaxima = new int[niveis];
+
+        int[] base = new int[lado * lado];
+        int[] celulaDoCliente = new int[quantidadeClientes];
+
+        for (int i = 0; i < quantidadeClientes; i++) {
+            Cliente cliente = clientes.get(i);
+            if (cliente == null || cliente.getLocalizacao() == null) {
+                celulaDoCliente[i] = -1;
+                continue;
+            }
+            Ponto loc = cliente.getLocalizacao();
+            int celula = linhaNoLado(loc.getY(), lado) * lado + colunaNoLado(loc.getX(), lado);
+            celulaDoCliente[i] = celula;
+            base[celula]++;
+        }
+
+        // CSR do nível 0
+        this.inicio = new int[lado * lado + 1];
+        for (int c = 0; c < lado * lado; c++) {
+            inicio[c + 1] = inicio[c] + base[c];
+        }
+        this.indices = new int[inicio[lado * lado]];
+        int[] proxima = new int[lado * lado];
+        System.arraycopy(inicio, 0, proxima, 0, lado * lado);
+        for (int i = 0; i < quantidadeClientes; i++) {
+            if (celulaDoCliente[i] >= 0) {
+                indices[proxima[celulaDoCliente[i]]++] = i;
+            }
+        }
+
+        // Pirâmide de contagens
+        contagens[0] = base;
+        contagemMaxima[0] = maximo(base);
+        for (int nivel = 1; nivel < niveis; nivel++) {
+            int ladoAnterior = lado >> (nivel - 1);
+            int ladoNivel = ladoAnterior >> 1;
+            int[] anterior = contagens[nivel - 1];
+            int[] atual = new int[ladoNivel * ladoNivel];
+
+            for (int y = 0; y < ladoNivel; y++) {
+                for (int x = 0; x < ladoNivel; x++) {
+                    int a = (2 * y) * ladoAnterior + 2 * x;
+                    atual[y * ladoNivel + x] = anterior[a] + anterior[a + 1]
+                        + anterior[a + ladoAnterior] + anterior[a + ladoAnterior + 1];
+                }
+            }
+            contagens[nivel] = atual;
+            contagemMaxima[nivel] = maximo(atual);
+        }
+    }
+
+    private static int maximo(int[] valores) {
+        int maior = 0;
+        for (int v : valores) {
+            maior = Math.max(maior, v);
+        }
+        return maior;
+    }
+
+    int getQuantidadeClientes() {
+        return quantidadeClientes;
+    }
+
+    int getNiveis() {
+        return contagens.length;
+    }
+
+    /**
+     * Retorna o número de células por lado em um nível.
+     */
+    int getLado(int nivel) {
+        return ladoBase >> nivel;
+    }
+
+    double getLarguraCelula(int nivel) {
+        return largura / getLado(nivel);
+    }
+
+    double getAlturaCelula(int nivel) {
+        return altura / getLado(nivel);
+    }
+
+    double getMinX() {
+        return minX;
+    }
+
+    double getMinY() {
+        return minY;
+    }
+
+    int getContagem(int nivel, int coluna, int linha) {
+        return contagens[nivel][linha * getLado(nivel) + coluna];
+    }
+
+    int getContagemMaxima(int nivel) {
+        return contagemMaxima[nivel];
+    }
+
+    /**
+     * Converte uma coordenada X do mundo na coluna correspondente (limitada à grade).
+     */
+    int coluna(double x, int nivel) {
+        return colunaNoLado(x, getLado(nivel));
+    }
+
+    /**
+     * Converte uma coordenada Y do mundo na linha correspondente (limitada à grade).
+     */
+    int linha(double y, int nivel) {
+        return linhaNoLado(y, getLado(nivel));
+    }
+
+    private int colunaNoLado(double x, int lado) {
+        int c = (int) Math.floor((x - minX) / largura * lado);
+        return Math.max(0, Math.min(lado - 1, c));
+    }
+
+    private int linhaNoLado(double y, int lado) {
+        int l = (int) Math.floor((y - minY) / altura * lado);
+        return Math.max(0, Math.min(lado - 1, l));
+    }
+
+    /**
+     * Posição inicial (em {@link #getCliente(int)}) dos clientes de uma célula do nível 0.
+     */
+    int getInicioCelula(int coluna, int linha) {
+        return inicio[linha * ladoBase + coluna];
+    }
+
+    /**
+     * Posição final (exclusiva) dos clientes de uma célula do nível 0.
+     */
+    int getFimCelula(int coluna, int linha) {
+        return inicio[linha * ladoBase + coluna + 1];
+    }
+
+    int getCliente(int posicao) {
+        return indices[posicao];
+    }
+
+    /**
+     * Escolhe o nível mais detalhado cujas células tenham pelo menos o tamanho mínimo em pixels.
+     *
+     * @param escala Pixels por unidade do mundo
+     * @param tamanhoMinimoPixels Lado mínimo da célula em pixels
+     * @return Nível escolhido
+     */
+    int escolherNivel(double escala, double tamanhoMinimoPixels) {
+        for (int nivel = 0; nivel < getNiveis(); nivel++) {
+            double lado = Math.min(getLarguraCelula(nivel), getAlturaCelula(nivel)) * escala;
+            if (lado >= tamanhoMinimoPixels) {
+                return nivel;
+            }
+        }
+        return getNiveis() - 1;
+    }
+
+    /**
+     * Estima quantos clientes estão dentro de um retângulo do mundo, somando as células que o
+     * tocam em um nível onde isso exige poucas células (o valor pode exceder o exato nas bordas).
+     *
+     * @return Número aproximado (por excesso) de clientes visíveis
+     */
+    int estimarClientesNoRetangulo(double x0, double y0, double x1, double y1, int celulasMaximas) {
+        int nivel = 0;
+        while (nivel < getNiveis() - 1) {
+            long colunas = coluna(x1, nivel) - coluna(x0, nivel) + 1L;
+            long linhas = linha(y1, nivel) - linha(y0, nivel) + 1L;
+            if (colunas * linhas <= celulasMaximas) {
+                break;
+            }
+            nivel++;
+        }
+
+        int total = 0;
+        for (int l = linha(y0, nivel); l <= linha(y1, nivel); l++) {
+            for (int c = coluna(x0, nivel); c <= coluna(x1, nivel); c++) {
+                total += getContagem(nivel, c, l);
+            }
+        }
+        return total;
+    }
+}
@@ -8,12 +8,17 @@ import java.awt.Font;
 import java.awt.GridBagConstraints;
 import java.awt.GridBagLayout;
 import java.awt.Insets;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Random;
 
 import javax.swing.BorderFactory;
 import javax.swing.JButton;
+import javax.swing.JCheckBox;
+import javax.swing.JComboBox;
 import javax.swing.JFrame;
 import javax.swing.JLabel;
 import javax.swing.JOptionPane;
@@ -25,12 +30,16 @@ import javax.swing.SpinnerNumberModel;
 import javax.swing.SwingUtilities;
 import javax.swing.UIManager;
 
+import com.unifor.algorithm.CacheRotas;
+import com.unifor.algorithm.LimiteInferior;
 import com.unifor.algorithm.Roteirizador;
 import com.unifor.model.Central;
 import com.unifor.model.Cliente;
 import com.unifor.model.Ponto;
 import com.unifor.model.Rota;
 import com.unifor.model.Veiculo;
+import com.unifor.util.ArmazemPlanos;
+import com.unifor.util.GeradorCenarios;
 
 /**
  * Janela principal da aplicação de roteirização com interface gráfica.
@@ -43,8 +52,12 @@ public class MainFrame extends JFrame {
     // Componentes da interface
     private PainelMapa painelMapa;
     private JSpinner spinnerQuantidade;
+    private JComboBox<GeradorCenarios.Distribuicao> comboDistribuicao;
+    private JCheckBox chkMinimizarViagens;
     private JButton btnGerarCenario;
     private JButton btnCalcularRota;
+    private JButton btnAnimar;
+    private JButton btnSalvarHistorico;
     private JButton btnLimpar;
     private JTextArea areaLog;
     
@@ -54,11 +67,19 @@ public class MainFrame extends JFrame {
     private Veiculo veiculo;
     private List<Rota> rotasCalculadas;  // ALTERADO: Agora suporta múltiplas rotas
     
+    // Cache de resultados: recalcular o mesmo cenário não executa a heurística de novo
+    private final CacheRotas cacheRotas = new CacheRotas(TAMANHO_CACHE_ROTAS);
+    
     // Configurações padrão
     private static final int QUANTIDADE_PADRAO = 20;
     private static final double RAIO_GERACAO = 100.0;
     private static final double CAPACIDADE_VEICULO = 1000.0;
     private static final double AUTONOMIA_VEICULO = 500.0;
+    private static final int TAMANHO_CACHE_ROTAS = 16;
+    
+    // Diretório do histórico de planos
+    private static final Path DIRETORIO_HISTORICO =
+        Paths.get(System.getProperty("user.home"), ".smart-urban-delivery", "planos");
     
     /**
      * Construtor da janela principal.
@@ -174,10 +195,35 @@ public class MainFrame extends JFrame {
         spinnerQuantidade.setForeground(Color.WHITE);
         painel.add(spinnerQuantidade, gbc);
         
+        gbc.gridx = 0;
+        gbc.gridy++;
+        
+        // Label distribuição espacial
+        JLabel lblDistribuicao = new JLabel("Distribuição:");
+        lblDistribuicao.setFont(new Font("Arial", Font.PLAIN, 12));
+        lblDistribuicao.setForeground(Color.WHITE);
+        painel.add(lblDistribuicao, gbc);
+        
+        gbc.gridx = 1;
+        
+        // Combo distribuição (uniforme, gaussiana, agrupada)
+        comboDistribuicao = new JComboBox<>(GeradorCenarios.Distribuicao.values());
+        comboDistribuicao.setFont(new Font("Arial", Font.PLAIN, 12));
+        painel.add(comboDistribuicao, gbc);
+        
         gbc.gridx = 0;
         gbc.gridy++;
         gbc.gridwidth = 2;
         
+        // Pós-processamento: menos viagens, com carga e distância equilibradas
+        chkMinimizarViagens = new JCheckBox("Minimizar e equilibrar viagens");
+        chkMinimizarViagens.setFont(new Font("Arial", Font.PLAIN, 12));
+        chkMinimizarViagens.setForeground(Color.WHITE);
+        chkMinimizarViagens.setOpaque(false);
+        painel.add(chkMinimizarViagens, gbc);
+        
+        gbc.gridy++;
+        
         // Botão Gerar Cenário
         btnGerarCenario = new JButton("Gerar Cenário");
         btnGerarCenario.setFont(new Font("Arial", Font.BOLD, 13));
@@ -203,6 +249,32 @@ public class MainFrame extends JFrame {
         
         gbc.gridy++;
         
+        // Botão Animar Rotas
+        btnAnimar = new JButton("Animar Rotas");
+        btnAnimar.setFont(new Font("Arial", Font.BOLD, 13));
+        btnAnimar.setBackground(new Color(123, 31, 162));
+        btnAnimar.setForeground(Color.WHITE);
+        btnAnimar.setFocusPainted(false);
+        btnAnimar.setBorderPainted(false);
+        btnAnimar.setBorder(BorderFactory.createEmptyBorder(10, 15, 10, 15));
+        btnAnimar.setEnabled(false);
+        painel.add(btnAnimar, gbc);
+        
+        gbc.gridy++;
+        
+        // Botão Salvar no Histórico
+        btnSalvarHistorico = new JButton("Salvar no Histórico");
+        btnSalvarHistorico.setFont(new Font("Arial", Font.BOLD, 13));
+        btnSalvarHistorico.setBackground(new Color(0, 121, 107));
+        btnSalvarHistorico.setForeground(Color.WHITE);
+        btnSalvarHistorico.setFocusPainted(false);
+        btnSalvarHistorico.setBorderPainted(false);
+        btnSalvarHistorico.setBorder(BorderFactory.createEmptyBorder(10, 15, 10, 15));
+        btnSalvarHistorico.setEnabled(false);
+        painel.add(btnSalvarHistorico, gbc);
+        
+        gbc.gridy++;
+        
         // Botão Limpar
         btnLimpar = new JButton("Limpar Tudo");
         btnLimpar.setFont(new Font("Arial", Font.BOLD, 13));
@@ -263,6 +335,12 @@ public class MainFrame extends JFrame {
         // Evento: Calcular Rota
         btnCalcularRota.addActionListener(e -> calcularRota());
         
+        // Evento: Animar / parar animação das viagens
+        btnAnimar.addActionListener(e -> alternarAnimacao());
+        
+        // Evento: Salvar o plano atual no histórico
+        btnSalvarHistorico.addActionListener(e -> salvarNoHistorico());
+        
         // Evento: Limpar
         btnLimpar.addActionListener(e -> limparTudo());
     }
@@ -276,48 +354,34 @@ public class MainFrame extends JFrame {
             
             // Limpar dados anteriores
             clientes.clear();
-            rotasCalculadas.clear();
+            rotasCalculadas = new ArrayList<>();  // a lista vinda do cache é imutável
             painelMapa.limparTudo();
             
-            // Gerar clientes aleatórios
-            Random random = new Random();
-            
-            for (int i = 0; i < quantidade; i++) {
-                // Coordenadas aleatórias ao redor da central
-                double angulo = random.nextDouble() * 2 * Math.PI;
-                double raio = random.nextDouble() * RAIO_GERACAO;
-                
-                double x = raio * Math.cos(angulo);
-                double y = raio * Math.sin(angulo);
-                
-                Ponto localizacao = new Ponto(x, y);
-                
-                // Demanda aleatória entre 10 e 50
-                double demanda = 10 + random.nextDouble() * 40;
-                
-                // Prioridade aleatória entre 1 e 10
-                int prioridade = 1 + random.nextInt(10);
-                
-                Cliente cliente = new Cliente(localizacao, demanda, prioridade);
-                clientes.add(cliente);
-            }
+            // Gerar clientes aleatórios (nova semente a cada cenário)
+            GeradorCenarios gerador = new GeradorCenarios(System.nanoTime());
+            gerador.setDistribuicao((GeradorCenarios.Distribuicao) comboDistribuicao.getSelectedItem());
+            gerador.setCentro(central.getLocalizacao());
+            gerador.setRaio(RAIO_GERACAO);
+            clientes.addAll(gerador.gerar(quantidade));
             
             // Atualizar mapa
             painelMapa.setClientes(clientes);
             
             // Habilitar botão de calcular rota
             btnCalcularRota.setEnabled(true);
+            atualizarBotaoAnimar();
             
             // Atualizar log
             areaLog.setText(String.format(
                 "✅ Cenário gerado com sucesso!\n\n" +
                 "📊 Estatísticas:\n" +
                 "- Clientes: %d\n" +
-                "- Área de cobertura: %.0f unidades\n" +
+                "- Área de cobertura: %.0f unidades (%s)\n" +
                 "- Central: (%.1f, %.1f)\n\n" +
                 "Pronto para calcular a rota!",
                 quantidade,
                 RAIO_GERACAO,
+                gerador.getDistribuicao().name().toLowerCase(),
                 central.getLocalizacao().getX(),
                 central.getLocalizacao().getY()
             ));
@@ -352,7 +416,8 @@ public class MainFrame extends JFrame {
             long tempoInicio = System.nanoTime();
             
             // Executar algoritmo de roteirização (NOVO: múltiplas rotas)
-            Roteirizador roteirizador = new Roteirizador();
+            Roteirizador roteirizador = new Roteirizador(cacheRotas);
+            roteirizador.setMinimizarViagens(chkMinimizarViagens.isSelected());
             rotasCalculadas = roteirizador.calcularRotas(clientes, veiculo, central.getLocalizacao());
             
             long tempoFim = System.nanoTime();
@@ -360,6 +425,7 @@ public class MainFrame extends JFrame {
             
             // Atualizar mapa (NOVO: setRotas em vez de setRota)
             painelMapa.setRotas(rotasCalculadas);
+            atualizarBotaoAnimar();
             
             // Gerar relatório
             gerarRelatorio(tempoExecucao);
@@ -380,6 +446,51 @@ public class MainFrame extends JFrame {
         }
     }
     
+    /**
+     * Inicia ou interrompe a reprodução animada das viagens no mapa.
+     */
+    private void alternarAnimacao() {
+        if (painelMapa.isAnimando()) {
+            painelMapa.pararAnimacao();
+        } else {
+            painelMapa.iniciarAnimacao();
+        }
+        atualizarBotaoAnimar();
+    }
+    
+    /**
+     * Sincroniza o texto e o estado do botão de animação com o mapa.
+     */
+    private void atualizarBotaoAnimar() {
+        btnAnimar.setEnabled(rotasCalculadas != null && !rotasCalculadas.isEmpty());
+        btnAnimar.setText(painelMapa.isAnimando() ? "Parar Animação" : "Animar Rotas");
+        btnSalvarHistorico.setEnabled(rotasCalculadas != null && !rotasCalculadas.isEmpty()
+                                      && rotasCalculadas.get(0).getPlano() != null);
+    }
+    
+    /**
+     * Grava o plano calculado no histórico persistente, com a data de hoje.
+     */
+    private void salvarNoHistorico() {
+        if (rotasCalculadas == null || rotasCalculadas.isEmpty() || rotasCalculadas.get(0).getPlano() == null) {
+            return;
+        }
+        
+        try (ArmazemPlanos historico = ArmazemPlanos.abrir(DIRETORIO_HISTORICO)) {
+            historico.gravar(central.getNome(), LocalDate.now(), central.getLocalizacao(), veiculo,
+                             rotasCalculadas.get(0).getPlano());
+            areaLog.append(String.format("\n💾 Plano salvo no histórico (%s, %s)\n" +
+                                         "   %d plano(s) em %s\n",
+                                         central.getNome(), LocalDate.now(),
+                                         historico.getQuantidadePlanos(), DIRETORIO_HISTORICO));
+        } catch (IOException ex) {
+            JOptionPane.showMessageDialog(this,
+                "Erro ao salvar no histórico: " + ex.getMessage(),
+                "Erro",
+                JOptionPane.ERROR_MESSAGE);
+        }
+    }
+    
     /**
      * Gera e exibe o relatório detalhado da execução.
      * REFATORADO: Agora soma as distâncias e cargas de TODAS as viagens.
@@ -397,7 +508,7 @@ public class MainFrame extends JFrame {
         double cargaTotal = 0;
         
         for (Rota rota : rotasCalculadas) {
-            clientesAtendidos += rota.getPontos().size();
+            clientesAtendidos += rota.getNumeroClientes();
             distanciaTotal += rota.getDistanciaTotal();
             cargaTotal += rota.getCargaTotalColetada();
         }
@@ -407,14 +518,20 @@ public class MainFrame extends JFrame {
         double percentualAtendimento = (clientesTotais > 0) ? 
             (clientesAtendidos * 100.0 / clientesTotais) : 0;
         
+        // Limites inferiores de qualquer solução (qualidade do plano)
+        LimiteInferior limite = LimiteInferior.calcular(clientes, veiculo, central.getLocalizacao());
+        
         StringBuilder relatorio = new StringBuilder();
         relatorio.append("🎯 ROTAS CALCULADAS COM SUCESSO!\n");
         relatorio.append("═══════════════════════════════\n\n");
         
         relatorio.append("⏱️ DESEMPENHO:\n");
-        relatorio.append(String.format("- Tempo de execução: %.2f ms\n\n", tempoExecucao));
+        relatorio.append(String.format("- Tempo de execução: %.2f ms\n", tempoExecucao));
+        relatorio.append(String.format("- Cache: %d acerto(s) | %d falha(s) | %d remoção(ões)\n\n",
+            cacheRotas.getAcertos(), cacheRotas.getFalhas(), cacheRotas.getRemocoes()));
         
-        relatorio.append("🚚 VIAGENS REALIZADAS: ").append(numeroViagens).append("\n");
+        relatorio.append("🚚 VIAGENS REALIZADAS: ").append(numeroViagens);
+        relatorio.append(String.format(" (mínimo possível: %d)\n", limite.getViagens()));
         relatorio.append("───────────────────────────────\n");
         
         // Detalhes de cada viagem
@@ -422,7 +539,7 @@ public class MainFrame extends JFrame {
             Rota rota = rotasCalculadas.get(i);
             relatorio.append(String.format("  Viagem %d: %d cliente(s) | %.2f km | %.2f kg\n",
                 i + 1,
-                rota.getPontos().size(),
+                rota.getNumeroClientes(),
                 rota.getDistanciaTotal(),
                 rota.getCargaTotalColetada()));
         }
@@ -451,6 +568,12 @@ public class MainFrame extends JFrame {
             double clientesPorViagem = (double) clientesAtendidos / numeroViagens;
             relatorio.append(String.format("- Média clientes/viagem: %.1f\n", clientesPorViagem));
         }
+        relatorio.append(String.format("- Ocupação média da capacidade: %.1f%%\n",
+            cargaTotal * 100.0 / (numeroViagens * CAPACIDADE_VEICULO)));
+        relatorio.append(String.format("- Limite inferior de distância: %.2f (árvore geradora %.2f | radial %.2f)\n",
+            limite.getDistancia(), limite.getArvoreGeradora(), limite.getRadial()));
+        relatorio.append(String.format("- Gap em relação ao limite: %.1f%%\n",
+            limite.gapPercentual(distanciaTotal)));
         
         // Verificar se todos foram atendidos
         if (clientesAtendidos == clientesTotais) {
@@ -469,9 +592,10 @@ public class MainFrame extends JFrame {
      */
     private void limparTudo() {
         clientes.clear();
-        rotasCalculadas.clear();
+        rotasCalculadas = new ArrayList<>();
         painelMapa.limparTudo();
         btnCalcularRota.setEnabled(false);
+        atualizarBotaoAnimar();
         
         areaLog.setText("✨ Tudo limpo!\n\n" +
                        "Gere um novo cenário para começar.");
@@ -6,14 +6,19 @@ import java.awt.Font;
 import java.awt.Graphics;
 import java.awt.Graphics2D;
 import java.awt.Point;
+import java.awt.Rectangle;
 import java.awt.RenderingHints;
-import java.awt.geom.Ellipse2D;
-import java.awt.geom.Line2D;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.awt.event.MouseWheelEvent;
+import java.awt.geom.AffineTransform;
 import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
 import java.util.ArrayList;
 import java.util.List;
 
 import javax.swing.JPanel;
+import javax.swing.Timer;
 
 import com.unifor.model.Cliente;
 import com.unifor.model.Ponto;
@@ -29,6 +34,21 @@ import com.unifor.model.Rota;
  * - World Space: Coordenadas do domínio (ex: 0-100 ou -50 a 50)
  * - Screen Space: Pixels da tela com origem no canto superior esquerdo
  * - Transformação: Inclui escala, translação e inversão do eixo Y
+ *
+ * Navegação: roda do mouse aproxima/afasta em torno do cursor, arrastar move o mapa e
+ * duplo clique volta ao enquadramento automático.
+ *
+ * Nível de detalhe: só o que cai na área visível é desenhado. Quando há clientes demais
+ * na tela para distingui-los, eles são agregados em um mapa de densidade (ver
+ * {@link GradeClientes}); rótulos, setas e números de sequência só aparecem quando há
+ * pixels suficientes para serem legíveis. Assim o custo de cada quadro depende da área
+ * visível, e não do tamanho do cenário.
+ *
+ * Camada estática e animação: tudo o que não se move (grid, rotas, clientes, legenda) é
+ * desenhado uma vez em uma imagem fora da tela, refeita só quando os dados, o zoom, o
+ * deslocamento ou o tamanho mudam. Na reprodução animada das viagens um
+ * {@link javax.swing.Timer} avança os veículos e pede repaint apenas das regiões que eles
+ * ocupavam e passam a ocupar; cada quadro copia a camada e desenha só os marcadores.
  */
 public class PainelMapa extends JPanel {
     
@@ -40,6 +60,23 @@ public class PainelMapa extends JPanel {
     private static final int TAMANHO_CLIENTE = 12;      // Diâmetro dos círculos dos clientes
     private static final int TAMANHO_FONTE_LABEL = 10;  // Tamanho da fonte das labels
     
+    // Nível de detalhe
+    private static final int LIMITE_CLIENTES_INDIVIDUAIS = 4000; // Acima disso: mapa de densidade
+    private static final int LIMITE_ROTULOS = 300;               // Clientes visíveis com rótulo
+    private static final int TAMANHO_CELULA_DENSIDADE = 6;       // Lado mínimo da célula agregada (px)
+    private static final int COMPRIMENTO_MINIMO_SETA = 40;       // Trecho mínimo com seta/número (px)
+    private static final int CELULAS_ESTIMATIVA = 4096;          // Células somadas para estimar visíveis
+    
+    // Zoom
+    private static final double FATOR_ZOOM = 1.2;       // Por clique da roda do mouse
+    private static final double ZOOM_MINIMO = 0.25;
+    private static final double ZOOM_MAXIMO = 10000.0;
+    
+    // Animação
+    private static final int INTERVALO_QUADRO_MS = 16;          // ~60 quadros por segundo
+    private static final double DURACAO_ANIMACAO_PADRAO = 10.0; // Segundos por ciclo
+    private static final int TAMANHO_VEICULO = 14;              // Diâmetro do marcador (px)
+    
     // Cores - Tema Escuro Moderno
     private static final Color COR_CENTRAL = new Color(64, 156, 255);      // Azul brilhante
     private static final Color COR_CLIENTE = new Color(255, 107, 107);     // Vermelho coral
@@ -63,6 +100,32 @@ public class PainelMapa extends JPanel {
         new Color(0, 191, 255)     // Azul céu (Viagem 10)
     };
     
+    // Traços reutilizados em todos os quadros
+    private static final BasicStroke TRACO_ROTA = new BasicStroke(4, BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND);
+    private static final BasicStroke TRACO_RETORNO = new BasicStroke(4, BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND,
+                                                                     1.0f, new float[] {12.0f, 8.0f}, 0.0f);
+    private static final BasicStroke TRACO_SETA = new BasicStroke(2);
+    private static final BasicStroke TRACO_CLIENTE = new BasicStroke(1.5f);
+    private static final BasicStroke TRACO_VEICULO = new BasicStroke(2);
+    private static final Color COR_ESTRELA = new Color(255, 200, 0);
+    private static final Font FONTE_LABEL = new Font("Arial", Font.PLAIN, TAMANHO_FONTE_LABEL);
+    private static final Font FONTE_SEQUENCIA = new Font("Arial", Font.BOLD, 10);
+    private static final Font FONTE_VIAGEM = new Font("Arial", Font.BOLD, 9);
+    
+    // Paleta do mapa de densidade (do menos para o mais denso)
+    private static final Color[] CORES_DENSIDADE = new Color[32];
+    
+    // Cor de cada prioridade usual (1 a 10), calculada uma única vez
+    private static final Color[] CORES_PRIORIDADE = new Color[11];
+    static {
+        for (int p = 0; p < CORES_PRIORIDADE.length; p++) {
+            CORES_PRIORIDADE[p] = calcularCorCliente(p);
+        }
+        for (int i = 0; i < CORES_DENSIDADE.length; i++) {
+            CORES_DENSIDADE[i] = calcularCorDensidade((float) i / (CORES_DENSIDADE.length - 1));
+        }
+    }
+    
     // Dados do modelo
     private Ponto central;
     private List<Cliente> clientes;
@@ -74,6 +137,34 @@ public class PainelMapa extends JPanel {
     private double scale;                    // Fator de escala (pixels por unidade do mundo)
     private double offsetX, offsetY;         // Deslocamento para centralização
     
+    // Navegação: zoom multiplica a escala automática; pan desloca a imagem (pixels)
+    private double zoom = 1.0;
+    private double panX, panY;
+    private Point inicioArraste;
+    
+    // Limites do mundo e índice espacial, recalculados só quando os dados mudam
+    private boolean limitesValidos;
+    private GradeClientes grade;
+    
+    // Modo usado no último quadro (exibido nas estatísticas)
+    private boolean modoDensidade;
+    
+    // Camada estática em cache e transformação com que foi desenhada
+    private BufferedImage camada;
+    private boolean camadaSuja = true;
+    private int camadaLargura, camadaAltura;
+    private double camadaEscala, camadaOffsetX, camadaOffsetY;
+    private double camadaFatorX, camadaFatorY;
+    
+    // Reprodução animada: posição atual (no mundo) do veículo de cada viagem
+    private Timer temporizador;
+    private AnimacaoRotas animacao;
+    private long inicioAnimacao;
+    private double duracaoAnimacao = DURACAO_ANIMACAO_PADRAO;
+    private double[] veiculoX;
+    private double[] veiculoY;
+    private final double[] posicao = new double[2];
+    
     /**
      * Construtor padrão.
      */
@@ -82,6 +173,11 @@ public class PainelMapa extends JPanel {
         this.clientes = new ArrayList<>();
         this.rotas = new ArrayList<>();
         setBackground(COR_FUNDO);
+        
+        NavegacaoMouse navegacao = new NavegacaoMouse();
+        addMouseListener(navegacao);
+        addMouseMotionListener(navegacao);
+        addMouseWheelListener(navegacao);
     }
     
     /**
@@ -91,6 +187,8 @@ public class PainelMapa extends JPanel {
      */
     public void setCentral(Ponto central) {
         this.central = central;
+        pararAnimacao();
+        invalidarLimites();
         repaint();
     }
     
@@ -101,6 +199,7 @@ public class PainelMapa extends JPanel {
      */
     public void setClientes(List<Cliente> clientes) {
         this.clientes = clientes != null ? clientes : new ArrayList<>();
+        invalidarLimites();
         repaint();
     }
     
@@ -111,6 +210,8 @@ public class PainelMapa extends JPanel {
      */
     public void setRotas(List<Rota> rotas) {
         this.rotas = rotas != null ? rotas : new ArrayList<>();
+        pararAnimacao();
+        camadaSuja = true;
         repaint();
     }
     
@@ -126,6 +227,8 @@ public class PainelMapa extends JPanel {
         if (rota != null) {
             this.rotas.add(rota);
         }
+        pararAnimacao();
+        camadaSuja = true;
         repaint();
     }
     
@@ -133,7 +236,9 @@ public class PainelMapa extends JPanel {
      * Limpa o mapa (remove rotas mas mantém clientes).
      */
     public void limparRota() {
-        this.rotas.clear();
+        this.rotas = new ArrayList<>();
+        pararAnimacao();
+        camadaSuja = true;
         repaint();
     }
     
@@ -142,10 +247,124 @@ public class PainelMapa extends JPanel {
      */
     public void limparTudo() {
         this.clientes.clear();
-        this.rotas.clear();
+        this.rotas = new ArrayList<>();  // a lista recebida pode ser imutável (cache)
+        pararAnimacao();
+        invalidarLimites();
+        restaurarEnquadramento();
+    }
+    
+    /**
+     * Volta ao enquadramento automático (sem zoom nem deslocamento).
+     */
+    public void restaurarEnquadramento() {
+        zoom = 1.0;
+        panX = 0.0;
+        panY = 0.0;
         repaint();
     }
     
+    public double getZoom() {
+        return zoom;
+    }
+    
+    /**
+     * Marca os limites do mundo e o índice espacial para recálculo no próximo quadro.
+     */
+    private void invalidarLimites() {
+        limitesValidos = false;
+        grade = null;
+        camadaSuja = true;
+    }
+    
+    /**
+     * Inicia (ou reinicia) a reprodução animada das viagens atuais.
+     * Sem rotas calculadas, nada acontece.
+     */
+    public void iniciarAnimacao() {
+        if (rotas == null || rotas.isEmpty()) {
+            return;
+        }
+        
+        animacao = new AnimacaoRotas(rotas, central);
+        veiculoX = new double[animacao.getQuantidadeViagens()];
+        veiculoY = new double[animacao.getQuantidadeViagens()];
+        for (int v = 0; v < veiculoX.length; v++) {
+            veiculoX[v] = central.getX();
+            veiculoY[v] = central.getY();
+        }
+        inicioAnimacao = System.nanoTime();
+        
+        if (temporizador == null) {
+            temporizador = new Timer(INTERVALO_QUADRO_MS, e -> avancarAnimacao());
+            temporizador.setCoalesce(true);  // Não acumular quadros atrasados
+        }
+        temporizador.start();
+        repaint();
+    }
+    
+    /**
+     * Interrompe a reprodução animada e remove os marcadores dos veículos.
+     */
+    public void pararAnimacao() {
+        if (temporizador != null) {
+            temporizador.stop();
+        }
+        if (animacao != null) {
+            animacao = null;
+            repaint();
+        }
+    }
+    
+    public boolean isAnimando() {
+        return animacao != null;
+    }
+    
+    /**
+     * Define quanto tempo leva um ciclo da animação (a viagem mais longa, de ida e volta).
+     * 
+     * @param segundos Duração em segundos
+     * @throws IllegalArgumentException se a duração não for positiva
+     */
+    public void setDuracaoAnimacao(double segundos) {
+        if (!(segundos > 0)) {
+            throw new IllegalArgumentException("A duração da animação deve ser positiva");
+        }
+        this.duracaoAnimacao = segundos;
+    }
+    
+    /**
+     * Avança os veículos para o instante atual e pede repaint só das regiões alteradas
+     * (posição antiga, para apagar, e posição nova de cada marcador que mudou de pixel).
+     */
+    private void avancarAnimacao() {
+        if (animacao == null) {
+            return;
+        }
+        
+        double segundos = (System.nanoTime() - inicioAnimacao) / 1_000_000_000.0;
+        double fracao = (segundos % duracaoAnimacao) / duracaoAnimacao;
+        double distancia = fracao * animacao.getMaiorDistancia();
+        
+        for (int v = 0; v < veiculoX.length; v++) {
+            animacao.posicao(v, distancia, posicao);
+            
+            int xAntes = telaX(veiculoX[v]), yAntes = telaY(veiculoY[v]);
+            int xDepois = telaX(posicao[0]), yDepois = telaY(posicao[1]);
+            veiculoX[v] = posicao[0];
+            veiculoY[v] = posicao[1];
+            
+            if (xAntes != xDepois || yAntes != yDepois) {
+                repaintVeiculo(xAntes, yAntes);
+                repaintVeiculo(xDepois, yDepois);
+            }
+        }
+    }
+    
+    private void repaintVeiculo(int x, int y) {
+        int margem = TAMANHO_VEICULO / 2 + 2;
+        repaint(x - margem, y - margem, 2 * margem, 2 * margem);
+    }
+    
     /**
      * Calcula os limites do mundo (bounding box) baseado em todos os pontos.
      * Atualiza: minX, maxX, minY, maxY, worldWidth, worldHeight
@@ -159,6 +378,7 @@ public class PainelMapa extends JPanel {
         
         // Expandir limites incluindo todos os clientes
         for (Cliente cliente : clientes) {
+            if (cliente == null || cliente.getLocalizacao() == null) continue;
             Ponto loc = cliente.getLocalizacao();
             minX = Math.min(minX, loc.getX());
             maxX = Math.max(maxX, loc.getX());
@@ -186,23 +406,32 @@ public class PainelMapa extends JPanel {
         
         worldWidth = maxX - minX;
         worldHeight = maxY - minY;
+        
+        // O índice espacial cobre exatamente o mundo visível no enquadramento automático
+        grade = new GradeClientes(clientes, minX, minY, worldWidth, worldHeight);
+        limitesValidos = true;
+        camadaSuja = true;
     }
     
     /**
      * Calcula o fator de escala e os offsets para a transformação World-to-Screen.
      * Deve ser chamado sempre que o painel for redimensionado ou os dados mudarem.
+     * Os limites do mundo só são recalculados quando os dados mudaram; o zoom e o
+     * deslocamento do usuário são aplicados sobre o enquadramento automático.
      */
     private void calcularTransformacao() {
         // Se não houver clientes, usar valores padrão
         if (clientes.isEmpty()) {
-            scale = 5.0;
-            offsetX = getWidth() / 2.0;
-            offsetY = getHeight() / 2.0;
+            scale = 5.0 * zoom;
+            offsetX = getWidth() / 2.0 + panX;
+            offsetY = getHeight() / 2.0 + panY;
             return;
         }
         
-        // Calcular limites do mundo
-        calcularLimitesMundo();
+        // Calcular limites do mundo (lista alterada externamente também invalida)
+        if (!limitesValidos || grade == null || grade.getQuantidadeClientes() != clientes.size()) {
+            calcularLimitesMundo();
+        }
         
         // Calcular área disponível na tela (descontando padding)
         int larguraTela = getWidth() - 2 * PADDING;
@@ -226,6 +455,11 @@ public class PainelMapa extends JPanel {
         // Offset Y: centraliza verticalmente + inverte eixo Y
         // (em Swing, Y=0 é no topo; queremos Y crescendo para cima)
         offsetY = getHeight() - PADDING - (alturaTela - worldHeight * scale) / 2.0;
+        
+        // Aplicar navegação do usuário
+        scale *= zoom;
+        offsetX += panX;
+        offsetY += panY;
     }
     
     /**
@@ -240,26 +474,72 @@ public class PainelMapa extends JPanel {
         // screenX = offsetX + (worldX - minX) * scale
         // screenY = offsetY - (worldY - minY) * scale  (note o MENOS para inverter Y)
         
-        int screenX = (int) (offsetX + (mundo.getX() - minX) * scale);
-        int screenY = (int) (offsetY - (mundo.getY() - minY) * scale);
-        
-        return new Point(screenX, screenY);
+        return new Point(telaX(mundo.getX()), telaY(mundo.getY()));
+    }
+    
+    /**
+     * Coordenada X da tela para um X do mundo (sem alocar objetos).
+     */
+    private int telaX(double x) {
+        return (int) (offsetX + (x - minX) * scale);
+    }
+    
+    /**
+     * Coordenada Y da tela para um Y do mundo (sem alocar objetos).
+     */
+    private int telaY(double y) {
+        return (int) (offsetY - (y - minY) * scale);
+    }
+    
+    /**
+     * Coordenada X do mundo correspondente a um X da tela (transformação inversa).
+     */
+    private double mundoX(double telaX) {
+        return minX + (telaX - offsetX) / scale;
+    }
+    
+    /**
+     * Coordenada Y do mundo correspondente a um Y da tela (transformação inversa).
+     */
+    private double mundoY(double telaY) {
+        return minY + (offsetY - telaY) / scale;
     }
     
     @Override
     protected void paintComponent(Graphics g) {
         super.paintComponent(g);
         
-        // Configurar Graphics2D com alta qualidade de renderização
         Graphics2D g2d = (Graphics2D) g;
+        
+        // PASSO 1: Calcular transformação de coordenadas
+        calcularTransformacao();
+        
+        // PASSO 2: Copiar a camada estática (redesenhada só se algo mudou)
+        atualizarCamada(g2d.getTransform());
+        g2d.drawImage(camada, 0, 0, getWidth(), getHeight(), null);
+        
+        // PASSO 3: Veículos em movimento por cima de tudo
+        if (animacao != null) {
+            desenharVeiculos(g2d);
+        }
+    }
+    
+    /**
+     * Desenha a cena completa (sem os veículos animados) em um contexto gráfico.
+     * 
+     * @param g2d Contexto gráfico
+     */
+    private void desenharCena(Graphics2D g2d) {
+        // Configurar Graphics2D com alta qualidade de renderização
         g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
         g2d.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
         g2d.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
         
-        // PASSO 1: Calcular transformação de coordenadas
-        calcularTransformacao();
+        // Fundo
+        g2d.setColor(COR_FUNDO);
+        g2d.fillRect(0, 0, getWidth(), getHeight());
         
-        // PASSO 2: Desenhar elementos na ordem correta (de trás para frente)
+        // Desenhar elementos na ordem correta (de trás para frente)
         desenharGrid(g2d);
         desenharEixos(g2d);
         
@@ -277,6 +557,91 @@ public class PainelMapa extends JPanel {
         desenharEstatisticas(g2d);
     }
     
+    /**
+     * Desenha a cena completa, no tamanho atual do painel, em um contexto fora da tela.
+     * Não depende de janela nem de thread de eventos: usado pela exportação headless
+     * ({@link ExportadorMapa}), com uma instância do painel por thread.
+     * 
+     * @param g2d Contexto gráfico de destino (ex.: de um BufferedImage)
+     */
+    void renderizar(Graphics2D g2d) {
+        calcularTransformacao();
+        desenharCena(g2d);
+    }
+    
+    /**
+     * Redesenha a camada estática se os dados, a transformação ou o tamanho mudaram.
+     * A imagem acompanha a escala do dispositivo (telas HiDPI) para não perder nitidez.
+     * 
+     * @param dispositivo Transformação do contexto de destino
+     */
+    private void atualizarCamada(AffineTransform dispositivo) {
+        int largura = Math.max(1, getWidth());
+        int altura = Math.max(1, getHeight());
+        double fatorX = dispositivo.getScaleX();
+        double fatorY = dispositivo.getScaleY();
+        
+        boolean valida = camada != null && !camadaSuja
+            && camadaLargura == largura && camadaAltura == altura
+            && camadaEscala == scale && camadaOffsetX == offsetX && camadaOffsetY == offsetY
+            && camadaFatorX == fatorX && camadaFatorY == fatorY;
+        if (valida) {
+            return;
+        }
+        
+        int pixelsX = (int) Math.ceil(largura * fatorX);
+        int pixelsY = (int) Math.ceil(altura * fatorY);
+        if (camada == null || camada.getWidth() != pixelsX || camada.getHeight() != pixelsY) {
+            camada = new BufferedImage(pixelsX, pixelsY, BufferedImage.TYPE_INT_RGB);
+        }
+        
+        Graphics2D g2d = camada.createGraphics();
+        try {
+            g2d.scale(fatorX, fatorY);
+            desenharCena(g2d);
+        } finally {
+            g2d.dispose();
+        }
+        
+        camadaSuja = false;
+        camadaLargura = largura;
+        camadaAltura = altura;
+        camadaEscala = scale;
+        camadaOffsetX = offsetX;
+        camadaOffsetY = offsetY;
+        camadaFatorX = fatorX;
+        camadaFatorY = fatorY;
+    }
+    
+    /**
+     * Desenha o marcador do veículo de cada viagem na posição atual da animação.
+     * Marcadores fora da região de repaint são ignorados.
+     * 
+     * @param g2d Contexto gráfico
+     */
+    private void desenharVeiculos(Graphics2D g2d) {
+        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g2d.setStroke(TRACO_VEICULO);
+        
+        Rectangle recorte = g2d.getClipBounds();
+        int raio = TAMANHO_VEICULO / 2;
+        
+        for (int v = 0; v < veiculoX.length; v++) {
+            int x = telaX(veiculoX[v]);
+            int y = telaY(veiculoY[v]);
+            
+            if (recorte != null && !recorte.intersects(x - raio - 1, y - raio - 1,
+                                                        TAMANHO_VEICULO + 2, TAMANHO_VEICULO + 2)) {
+                continue;
+            }
+            
+            g2d.setColor(CORES_VIAGENS[v % CORES_VIAGENS.length]);
+            g2d.fillOval(x - raio, y - raio, TAMANHO_VEICULO, TAMANHO_VEICULO);
+            g2d.setColor(Color.WHITE);
+            g2d.drawOval(x - raio, y - raio, TAMANHO_VEICULO, TAMANHO_VEICULO);
+        }
+    }
+    
     /**
      * Desenha um grid sutil de fundo para referência espacial.
      * 
@@ -313,14 +678,10 @@ public class PainelMapa extends JPanel {
         g2d.setStroke(new BasicStroke(2));
         
         // Eixo X (horizontal passando por Y=0 do mundo)
-        Point esquerda = worldToScreen(new Ponto(minX, 0));
-        Point direita = worldToScreen(new Ponto(maxX, 0));
-        g2d.drawLine(esquerda.x, esquerda.y, direita.x, direita.y);
+        g2d.drawLine(telaX(minX), telaY(0), telaX(maxX), telaY(0));
         
         // Eixo Y (vertical passando por X=0 do mundo)
-        Point baixo = worldToScreen(new Ponto(0, minY));
-        Point cima = worldToScreen(new Ponto(0, maxY));
-        g2d.drawLine(baixo.x, baixo.y, cima.x, cima.y);
+        g2d.drawLine(telaX(0), telaY(minY), telaX(0), telaY(maxY));
     }
     
     /**
@@ -359,57 +720,157 @@ public class PainelMapa extends JPanel {
     }
     
     /**
-     * Desenha os clientes como círculos coloridos com labels.
+     * Desenha os clientes visíveis.
+     *
+     * Se a quantidade estimada na tela for pequena, cada cliente é desenhado como um círculo
+     * (com label e prioridade quando couberem); caso contrário a área visível é desenhada
+     * como mapa de densidade, no nível da grade cujas células tenham alguns pixels de lado.
      * 
      * @param g2d Contexto gráfico
      */
     private void desenharClientes(Graphics2D g2d) {
-        g2d.setFont(new Font("Arial", Font.PLAIN, TAMANHO_FONTE_LABEL));
+        modoDensidade = false;
+        if (clientes.isEmpty() || grade == null) return;
         
-        for (int i = 0; i < clientes.size(); i++) {
-            Cliente cliente = clientes.get(i);
-            Ponto loc = cliente.getLocalizacao();
-            Point screen = worldToScreen(loc);
-            
-            // Desenhar círculo preenchido
-            Ellipse2D circulo = new Ellipse2D.Double(
-                screen.x - TAMANHO_CLIENTE / 2.0,
-                screen.y - TAMANHO_CLIENTE / 2.0,
-                TAMANHO_CLIENTE,
-                TAMANHO_CLIENTE
-            );
-            
-            // Cor baseada em prioridade (clientes de alta prioridade mais intensos)
-            int prioridade = cliente.getPrioridade();
-            Color corCliente;
-            
-            if (prioridade >= 8) {
-                corCliente = COR_CLIENTE_PRIORITARIO; // Laranja forte para alta prioridade
-            } else {
-                // Gradiente de vermelho baseado na prioridade
-                int intensidade = Math.max(0, Math.min(255, 107 + (prioridade - 5) * 20));
-                corCliente = new Color(255, intensidade, intensidade);
+        // Retângulo visível no mundo (com folga do tamanho de um cliente)
+        double folga = TAMANHO_CLIENTE / scale;
+        double x0 = mundoX(0) - folga;
+        double x1 = mundoX(getWidth()) + folga;
+        double y0 = mundoY(getHeight()) - folga;
+        double y1 = mundoY(0) + folga;
+        
+        if (x1 < grade.getMinX() || y1 < grade.getMinY()
+                || x0 > grade.getMinX() + worldWidth || y0 > grade.getMinY() + worldHeight) {
+            return;  // Nenhum cliente na tela
+        }
+        
+        int visiveis = grade.estimarClientesNoRetangulo(x0, y0, x1, y1, CELULAS_ESTIMATIVA);
+        
+        if (visiveis > LIMITE_CLIENTES_INDIVIDUAIS) {
+            modoDensidade = true;
+            desenharDensidade(g2d, x0, y0, x1, y1);
+            return;
+        }
+        
+        boolean rotulos = visiveis <= LIMITE_ROTULOS;
+        g2d.setFont(FONTE_LABEL);
+        g2d.setStroke(TRACO_CLIENTE);
+        
+        int c0 = grade.coluna(x0, 0), c1 = grade.coluna(x1, 0);
+        int l0 = grade.linha(y0, 0), l1 = grade.linha(y1, 0);
+        
+        for (int l = l0; l <= l1; l++) {
+            for (int c = c0; c <= c1; c++) {
+                for (int p = grade.getInicioCelula(c, l); p < grade.getFimCelula(c, l); p++) {
+                    int i = grade.getCliente(p);
+                    desenharCliente(g2d, clientes.get(i), i, rotulos);
+                }
             }
+        }
+    }
+    
+    /**
+     * Desenha um cliente como círculo colorido, opcionalmente com label e prioridade.
+     */
+    private void desenharCliente(Graphics2D g2d, Cliente cliente, int indice, boolean rotulos) {
+        Ponto loc = cliente.getLocalizacao();
+        int sx = telaX(loc.getX());
+        int sy = telaY(loc.getY());
+        int raio = TAMANHO_CLIENTE / 2;
+        
+        // Cor baseada em prioridade (clientes de alta prioridade mais intensos)
+        int prioridade = cliente.getPrioridade();
+        g2d.setColor(corCliente(prioridade));
+        g2d.fillOval(sx - raio, sy - raio, TAMANHO_CLIENTE, TAMANHO_CLIENTE);
+        
+        // Desenhar borda
+        g2d.setColor(Color.WHITE);
+        g2d.drawOval(sx - raio, sy - raio, TAMANHO_CLIENTE, TAMANHO_CLIENTE);
+        
+        if (!rotulos) return;
+        
+        // Desenhar label com ID do cliente
+        g2d.setColor(COR_TEXTO);
+        g2d.drawString("C" + (indice + 1), sx + raio + 5, sy + 4);
+        
+        // Mostrar prioridade se for alta
+        if (prioridade >= 7) {
+            g2d.setColor(COR_ESTRELA);
+            g2d.drawString("★" + prioridade, sx + raio + 5, sy + 15);
+        }
+    }
+    
+    /**
+     * Desenha as células visíveis da grade com cor proporcional ao logaritmo da densidade.
+     */
+    private void desenharDensidade(Graphics2D g2d, double x0, double y0, double x1, double y1) {
+        int nivel = grade.escolherNivel(scale, TAMANHO_CELULA_DENSIDADE);
+        double larguraCelula = grade.getLarguraCelula(nivel);
+        double alturaCelula = grade.getAlturaCelula(nivel);
+        double logMaximo = Math.log1p(Math.max(1, grade.getContagemMaxima(nivel)));
+        
+        int c0 = grade.coluna(x0, nivel), c1 = grade.coluna(x1, nivel);
+        int l0 = grade.linha(y0, nivel), l1 = grade.linha(y1, nivel);
+        
+        Object antialias = g2d.getRenderingHint(RenderingHints.KEY_ANTIALIASING);
+        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_OFF);
+        
+        for (int l = l0; l <= l1; l++) {
+            double wy = grade.getMinY() + l * alturaCelula;
+            int topo = telaY(wy + alturaCelula);
+            int base = telaY(wy);
             
-            g2d.setColor(corCliente);
-            g2d.fill(circulo);
-            
-            // Desenhar borda
-            g2d.setColor(Color.WHITE);
-            g2d.setStroke(new BasicStroke(1.5f));
-            g2d.draw(circulo);
-            
-            // Desenhar label com ID do cliente
-            g2d.setColor(COR_TEXTO);
-            String label = String.format("C%d", i + 1);
-            g2d.drawString(label, screen.x + TAMANHO_CLIENTE / 2 + 5, screen.y + 4);
-            
-            // Mostrar prioridade se for alta
-            if (prioridade >= 7) {
-                g2d.setColor(new Color(255, 200, 0));
-                g2d.drawString("★" + prioridade, screen.x + TAMANHO_CLIENTE / 2 + 5, screen.y + 15);
+            for (int c = c0; c <= c1; c++) {
+                int contagem = grade.getContagem(nivel, c, l);
+                if (contagem == 0) continue;
+                
+                double wx = grade.getMinX() + c * larguraCelula;
+                int esquerda = telaX(wx);
+                int direita = telaX(wx + larguraCelula);
+                
+                // Intensidade 0..1 em escala logarítmica (poucos clientes ainda visíveis)
+                float intensidade = (float) (Math.log1p(contagem) / logMaximo);
+                g2d.setColor(corDensidade(intensidade));
+                g2d.fillRect(esquerda, topo, Math.max(1, direita - esquerda), Math.max(1, base - topo));
             }
         }
+        
+        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, antialias);
+    }
+    
+    /**
+     * Retorna a cor de um cliente conforme sua prioridade.
+     */
+    private static Color corCliente(int prioridade) {
+        if (prioridade >= 0 && prioridade < CORES_PRIORIDADE.length) {
+            return CORES_PRIORIDADE[prioridade];
+        }
+        return calcularCorCliente(prioridade);
+    }
+    
+    private static Color calcularCorCliente(int prioridade) {
+        if (prioridade >= 8) {
+            return COR_CLIENTE_PRIORITARIO; // Laranja forte para alta prioridade
+        }
+        // Gradiente de vermelho baseado na prioridade
+        int intensidade = Math.max(0, Math.min(255, 107 + (prioridade - 5) * 20));
+        return new Color(255, intensidade, intensidade);
+    }
+    
+    private static Color corDensidade(float intensidade) {
+        int i = Math.round(Math.max(0f, Math.min(1f, intensidade)) * (CORES_DENSIDADE.length - 1));
+        return CORES_DENSIDADE[i];
+    }
+    
+    /**
+     * Cor do mapa de densidade: do fundo até o vermelho coral dos clientes.
+     */
+    private static Color calcularCorDensidade(float intensidade) {
+        float t = 0.25f + 0.75f * intensidade;
+        int r = (int) (COR_FUNDO.getRed() + (COR_CLIENTE.getRed() - COR_FUNDO.getRed()) * t);
+        int g = (int) (COR_FUNDO.getGreen() + (COR_CLIENTE.getGreen() - COR_FUNDO.getGreen()) * t);
+        int b = (int) (COR_FUNDO.getBlue() + (COR_CLIENTE.getBlue() - COR_FUNDO.getBlue()) * t);
+        return new Color(r, g, b);
     }
     
     /**
@@ -423,6 +884,12 @@ public class PainelMapa extends JPanel {
             return;
         }
         
+        int largura = getWidth();
+        int altura = getHeight();
+        int comprimentoMinimo2 = COMPRIMENTO_MINIMO_SETA * COMPRIMENTO_MINIMO_SETA;
+        int centralX = telaX(central.getX());
+        int centralY = telaY(central.getY());
+        
         int contadorGlobal = 1; // Contador global de sequência entre todas as viagens
         
         for (int viagemIndex = 0; viagemIndex < rotas.size(); viagemIndex++) {
@@ -437,71 +904,71 @@ public class PainelMapa extends JPanel {
             Color corViagem = CORES_VIAGENS[viagemIndex % CORES_VIAGENS.length];
             Color corRetorno = escurecerCor(corViagem, 0.6f);
             
-            // Configurar linha mais grossa para a rota
-            g2d.setStroke(new BasicStroke(4, BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND));
-            
             // Desenhar linha da central ao primeiro cliente e entre clientes
-            Ponto pontoAtual = central;
+            // (a projeção do fim de um trecho é reaproveitada como início do seguinte)
+            int x2 = centralX;
+            int y2 = centralY;
             
-            for (int i = 0; i < pontosRota.size(); i++) {
-                Cliente cliente = pontosRota.get(i);
-                Ponto proximoPonto = cliente.getLocalizacao();
+            for (int i = 0; i < pontosRota.size(); i++, contadorGlobal++) {
+                Ponto loc = pontosRota.get(i).getLocalizacao();
                 
-                Point screen1 = worldToScreen(pontoAtual);
-                Point screen2 = worldToScreen(proximoPonto);
+                int x1 = x2, y1 = y2;
+                x2 = telaX(loc.getX());
+                y2 = telaY(loc.getY());
+                
+                // Trechos fora da tela ou menores que um pixel não são desenhados
+                if (foraDaTela(x1, y1, x2, y2, largura, altura) || (x1 == x2 && y1 == y2)) {
+                    continue;
+                }
                 
                 // Cor da linha para esta viagem
                 g2d.setColor(corViagem);
-                g2d.setStroke(new BasicStroke(4, BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND));
-                
-                Line2D linha = new Line2D.Double(screen1.x, screen1.y, screen2.x, screen2.y);
-                g2d.draw(linha);
-                
-                // Desenhar seta indicando direção
-                desenharSeta(g2d, screen1.x, screen1.y, screen2.x, screen2.y, corViagem);
+                g2d.setStroke(TRACO_ROTA);
+                g2d.drawLine(x1, y1, x2, y2);
                 
-                // Desenhar número da sequência global
-                int mx = (screen1.x + screen2.x) / 2;
-                int my = (screen1.y + screen2.y) / 2;
-                g2d.setColor(Color.WHITE);
-                g2d.setFont(new Font("Arial", Font.BOLD, 10));
-                g2d.drawString(String.valueOf(contadorGlobal), mx - 5, my - 5);
-                
-                pontoAtual = proximoPonto;
-                contadorGlobal++;
+                // Seta e número da sequência global só em trechos longos o bastante
+                int dx = x2 - x1, dy = y2 - y1;
+                if (dx * dx + dy * dy >= comprimentoMinimo2) {
+                    desenharSeta(g2d, x1, y1, x2, y2, corViagem);
+                    
+                    g2d.setColor(Color.WHITE);
+                    g2d.setFont(FONTE_SEQUENCIA);
+                    g2d.drawString(String.valueOf(contadorGlobal), (x1 + x2) / 2 - 5, (y1 + y2) / 2 - 5);
+                }
             }
             
             // Desenhar linha de retorno à central (cor mais escura e tracejada)
-            if (!pontosRota.isEmpty()) {
-                Ponto ultimoPonto = pontosRota.get(pontosRota.size() - 1).getLocalizacao();
-                
-                Point screen1 = worldToScreen(ultimoPonto);
-                Point screen2 = worldToScreen(central);
-                
-                // Cor mais escura para retorno
-                g2d.setColor(corRetorno);
-                
-                // Linha tracejada para o retorno
-                float[] tracejado = {12.0f, 8.0f};
-                g2d.setStroke(new BasicStroke(4, BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND, 
-                                              1.0f, tracejado, 0.0f));
-                
-                Line2D linha = new Line2D.Double(screen1.x, screen1.y, screen2.x, screen2.y);
-                g2d.draw(linha);
-                
+            int x1 = x2, y1 = y2;  // Último cliente da viagem
+            if (foraDaTela(x1, y1, centralX, centralY, largura, altura)) {
+                continue;
+            }
+            
+            g2d.setColor(corRetorno);
+            g2d.setStroke(TRACO_RETORNO);
+            g2d.drawLine(x1, y1, centralX, centralY);
+            
+            int dx = centralX - x1, dy = centralY - y1;
+            if (dx * dx + dy * dy >= comprimentoMinimo2) {
                 // Desenhar seta de retorno
-                desenharSeta(g2d, screen1.x, screen1.y, screen2.x, screen2.y, corRetorno);
+                desenharSeta(g2d, x1, y1, centralX, centralY, corRetorno);
                 
                 // Indicador de viagem
-                int mx = (screen1.x + screen2.x) / 2;
-                int my = (screen1.y + screen2.y) / 2;
                 g2d.setColor(Color.WHITE);
-                g2d.setFont(new Font("Arial", Font.BOLD, 9));
-                g2d.drawString("V" + (viagemIndex + 1), mx + 10, my);
+                g2d.setFont(FONTE_VIAGEM);
+                g2d.drawString("V" + (viagemIndex + 1), (x1 + centralX) / 2 + 10, (y1 + centralY) / 2);
             }
         }
     }
     
+    /**
+     * Verifica se um segmento está inteiramente de um mesmo lado fora da tela.
+     * (Teste conservador: segmentos que cruzam um canto são desenhados e recortados pelo Swing.)
+     */
+    private static boolean foraDaTela(int x1, int y1, int x2, int y2, int largura, int altura) {
+        return (x1 < 0 && x2 < 0) || (y1 < 0 && y2 < 0)
+            || (x1 > largura && x2 > largura) || (y1 > altura && y2 > altura);
+    }
+    
     /**
      * Escurece uma cor multiplicando seus componentes RGB por um fator.
      * 
@@ -545,7 +1012,7 @@ public class PainelMapa extends JPanel {
         int ya2 = (int) (my - tamanhoSeta * Math.sin(angulo + anguloSeta));
         
         g2d.setColor(cor);
-        g2d.setStroke(new BasicStroke(2));
+        g2d.setStroke(TRACO_SETA);
         g2d.drawLine((int) mx, (int) my, xa1, ya1);
         g2d.drawLine((int) mx, (int) my, xa2, ya2);
     }
@@ -643,9 +1110,7 @@ public class PainelMapa extends JPanel {
             double cargaTotal = 0;
             
             for (Rota rota : rotas) {
-                if (rota.getPontos() != null) {
-                    totalAtendidos += rota.getPontos().size();
-                }
+                totalAtendidos += rota.getNumeroClientes();
                 distanciaTotal += rota.getDistanciaTotal();
                 cargaTotal += rota.getCargaTotalColetada();
             }
@@ -669,6 +1134,56 @@ public class PainelMapa extends JPanel {
         g2d.drawString(String.format("Escala: %.2fx", scale), x, y);
         y += espacamento;
         
+        g2d.drawString(String.format("Zoom: %.1fx | %s", zoom, modoDensidade ? "densidade" : "clientes"), x, y);
+        y += espacamento;
+        
         g2d.drawString(String.format("Mundo: %.1f × %.1f", worldWidth, worldHeight), x, y);
     }
+    
+    /**
+     * Trata zoom (roda do mouse, em torno do cursor), arraste e duplo clique (reset).
+     */
+    private class NavegacaoMouse extends MouseAdapter {
+        
+        @Override
+        public void mouseWheelMoved(MouseWheelEvent e) {
+            double fator = Math.pow(FATOR_ZOOM, -e.getPreciseWheelRotation());
+            double novoZoom = Math.max(ZOOM_MINIMO, Math.min(ZOOM_MAXIMO, zoom * fator));
+            fator = novoZoom / zoom;
+            if (fator == 1.0) return;
+            
+            // Manter fixo o ponto do mundo sob o cursor:
+            // offset' = cursor - (cursor - offset) * fator (X); análogo em Y com eixo invertido
+            panX += (e.getX() - offsetX) * (1.0 - fator);
+            panY += (e.getY() - offsetY) * (1.0 - fator);
+            zoom = novoZoom;
+            repaint();
+        }
+        
+        @Override
+        public void mousePressed(MouseEvent e) {
+            inicioArraste = e.getPoint();
+        }
+        
+        @Override
+        public void mouseDragged(MouseEvent e) {
+            if (inicioArraste == null) return;
+            panX += e.getX() - inicioArraste.x;
+            panY += e.getY() - inicioArraste.y;
+            inicioArraste = e.getPoint();
+            repaint();
+        }
+        
+        @Override
+        public void mouseReleased(MouseEvent e) {
+            inicioArraste = null;
+        }
+        
+        @Override
+        public void mouseClicked(MouseEvent e) {
+            if (e.getClickCount() == 2) {
+                restaurarEnquadramento();
+            }
+        }
+    }
 }
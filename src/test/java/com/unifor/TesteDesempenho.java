@@ -21,7 +21,7 @@ import com.unifor.model.Veiculo;
  */
 public class TesteDesempenho {
     
-    private static final Random random = new Random(42); // Seed fixa para reprodutibilidade
+    private static final long SEMENTE = 42; // Seed fixa para reprodutibilidade
     private static final double RAIO_GERACAO = 100.0;
     private static final int REPETICOES = 5; // Número de execuções por tamanho para média
     
@@ -70,8 +70,7 @@ public class TesteDesempenho {
         System.out.println();
         System.out.println("N,Tempo_Medio_ms,Tempo_Min_ms,Tempo_Max_ms,Desvio_Padrao_ms");
         
-        // Regerar dados em formato CSV
-        random.setSeed(42); // Reset da seed para mesmos dados
+        // Regerar dados em formato CSV (mesma seed = mesmos cenários)
         for (int n : tamanhos) {
             ResultadoTeste resultado = executarTeste(n);
             System.out.printf("%d,%.2f,%.2f,%.2f,%.2f%n",
@@ -99,7 +98,7 @@ public class TesteDesempenho {
         
         for (int rep = 0; rep < REPETICOES; rep++) {
             // Gerar cenário de teste
-            List<Cliente> clientes = gerarClientes(n);
+            List<Cliente> clientes = gerarClientes(n, rep);
             Central central = new Central("Central Teste");
             Veiculo veiculo = criarVeiculoInfinito();
             Roteirizador roteirizador = new Roteirizador();
@@ -119,11 +118,14 @@ public class TesteDesempenho {
     
     /**
      * Gera uma lista de clientes com coordenadas e prioridades aleatórias.
+     * Cada repetição usa uma seed derivada da seed fixa, então as tabelas são reprodutíveis.
      * 
      * @param quantidade Número de clientes a gerar
+     * @param repeticao Índice da repetição
      * @return Lista de clientes gerados
      */
-    private static List<Cliente> gerarClientes(int quantidade) {
+    private static List<Cliente> gerarClientes(int quantidade, int repeticao) {
+        Random random = new Random(SEMENTE + repeticao);
         List<Cliente> clientes = new ArrayList<>();
         
         for (int i = 0; i < quantidade; i++) {
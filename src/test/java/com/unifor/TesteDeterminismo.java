@@ -0,0 +1,113 @@
+package com.unifor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import com.unifor.algorithm.OtimizadorALNS;
+import com.unifor.algorithm.Roteirizador;
+import com.unifor.model.Cliente;
+import com.unifor.model.Ponto;
+import com.unifor.model.Rota;
+import com.unifor.model.Veiculo;
+import com.unifor.util.GeradorCenarios;
+
+/**
+ * Testes de reprodutibilidade dos caminhos paralelos.
+ *
+ * Cada cálculo roda dentro de um ForkJoinPool com 1, 4 e 32 threads (os streams paralelos
+ * usam o pool de quem os chama) e as rotas precisam sair idênticas bit a bit: mesmos
+ * clientes, na mesma ordem, com as mesmas distâncias e cargas.
+ */
+public class TesteDeterminismo {
+
+    private static final int[] THREADS = {1, 4, 32};
+
+    private static final int CLIENTES = 1_000;
+
+    // Mais partidas que tarefas (8): cada tarefa executa várias, em qualquer thread do pool
+    private static final int PARTIDAS = 24;
+    private static final Ponto CENTRAL = new Ponto(0.0, 0.0);
+
+    private static List<Cliente> clientes;
+
+    @BeforeAll
+    static void gerarCenario() {
+        clientes = new GeradorCenarios(2024L).gerar(CLIENTES);
+    }
+
+    @Test
+    void multiplasPartidasIndependemDoNumeroDeThreads() throws Exception {
+        List<String> referencia = null;
+        for (int threads : THREADS) {
+            List<String> rotas = descrever(executarComThreads(threads, () ->
+                new Roteirizador().calcularRotasMultiplasPartidas(clientes, criarVeiculo(), CENTRAL, PARTIDAS, 7L)));
+
+            if (referencia == null) {
+                referencia = rotas;
+            } else {
+                assertEquals(referencia, rotas, "Rotas diferentes com " + threads + " threads");
+            }
+        }
+    }
+
+    @Test
+    void alnsDeterministicoIndependeDoNumeroDeThreads() throws Exception {
+        List<Rota> iniciais = new Roteirizador().calcularRotas(clientes, criarVeiculo(), CENTRAL);
+
+        List<String> referencia = null;
+        for (int threads : THREADS) {
+            List<String> rotas = descrever(executarComThreads(threads, () -> {
+                OtimizadorALNS otimizador = new OtimizadorALNS();
+                otimizador.setDeterministico(true);
+                otimizador.setIteracoes(1_000);
+                otimizador.setSemente(11L);
+                return otimizador.otimizar(iniciais, criarVeiculo(), CENTRAL);
+            }));
+
+            if (referencia == null) {
+                referencia = rotas;
+            } else {
+                assertEquals(referencia, rotas, "Rotas diferentes com " + threads + " threads");
+            }
+        }
+    }
+
+    // ===== MÉTODOS AUXILIARES =====
+
+    private static List<Rota> executarComThreads(int threads, Callable<List<Rota>> calculo) throws Exception {
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            return pool.submit(calculo).get();
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Descreve cada viagem pelos índices dos clientes e pelos bits da distância e da carga.
+     */
+    private static List<String> descrever(List<Rota> rotas) {
+        List<String> descricao = new ArrayList<>(rotas.size());
+        for (Rota rota : rotas) {
+            StringBuilder viagem = new StringBuilder();
+            for (int i = 0; i < rota.getNumeroClientes(); i++) {
+                viagem.append(rota.getIndiceCliente(i)).append(',');
+            }
+            viagem.append('|').append(Double.doubleToLongBits(rota.getDistanciaTotal()))
+                  .append('|').append(Double.doubleToLongBits(rota.getCargaTotalColetada()));
+            descricao.add(viagem.toString());
+        }
+        return descricao;
+    }
+
+    private static Veiculo criarVeiculo() {
+        return new Veiculo(1000.0, 500.0, CENTRAL, 0.0, 500.0);
+    }
+}
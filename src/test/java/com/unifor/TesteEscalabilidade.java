@@ -0,0 +1,217 @@
+package com.unifor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import com.unifor.algorithm.Ordenacao;
+import com.unifor.algorithm.Roteirizador;
+import com.unifor.model.Cliente;
+import com.unifor.model.Ponto;
+import com.unifor.model.Rota;
+import com.unifor.model.Veiculo;
+import com.unifor.util.GeradorCenarios;
+
+/**
+ * Testes de regressão de desempenho (complexidade empírica).
+ *
+ * Em vez de limites absolutos de tempo, que dependem da máquina, cada teste mede o tempo
+ * para N e para 2N e verifica a razão entre eles: um algoritmo O(n log n) fica perto de 2,
+ * e uma regressão quadrática dá cerca de 4 e reprova o build. O melhor de várias medições
+ * (após aquecimento do JIT) é usado para reduzir o ruído.
+ *
+ * As alocações são medidas pelo contador por thread da JVM
+ * ({@code com.sun.management.ThreadMXBean#getThreadAllocatedBytes}) e comparadas com um
+ * orçamento em bytes por cliente: cópias de listas dentro do laço guloso estouram o orçamento.
+ */
+@Tag("desempenho")
+public class TesteEscalabilidade {
+
+    // Razão máxima aceita entre os tempos de 2N e N (linear ≈ 2, quadrático ≈ 4)
+    private static final double RAZAO_MAXIMA = 3.0;
+
+    private static final int AQUECIMENTO = 3;
+    private static final int MEDICOES = 5;
+
+    private static final int CLIENTES_ROTEIRIZACAO = 20_000;
+    private static final int CLIENTES_ORDENACAO = 200_000;
+
+    // Orçamentos de alocação
+    private static final long BYTES_POR_CLIENTE_ROTEIRIZACAO = 512;
+    private static final long BYTES_POR_CLIENTE_ORDENACAO_INDICES = 16;
+    private static final long BYTES_FIXOS_ORDENACAO_LISTA = 64 * 1024;
+
+    private static final Ponto CENTRAL = new Ponto(0.0, 0.0);
+
+    private static List<Cliente> clientesN;
+    private static List<Cliente> clientes2N;
+
+    @BeforeAll
+    static void gerarCenarios() {
+        clientesN = gerarClientes(CLIENTES_ROTEIRIZACAO);
+        clientes2N = gerarClientes(2 * CLIENTES_ROTEIRIZACAO);
+    }
+
+    @Test
+    void calcularRotasEscalaQuaseLinear() {
+        double razao = razaoDeTempos(
+            () -> new Roteirizador().calcularRotas(clientesN, criarVeiculo(), CENTRAL),
+            () -> new Roteirizador().calcularRotas(clientes2N, criarVeiculo(), CENTRAL));
+
+        assertTrue(razao < RAZAO_MAXIMA,
+            String.format("calcularRotas: tempo(2N)/tempo(N) = %.2f (limite %.1f)", razao, RAZAO_MAXIMA));
+    }
+
+    @Test
+    void calcularRotasComCandidatosEscalaQuaseLinear() {
+        Roteirizador roteirizador = new Roteirizador();
+        roteirizador.setVizinhosCandidatos(10);
+
+        double razao = razaoDeTempos(
+            () -> roteirizador.calcularRotas(clientesN, criarVeiculo(), CENTRAL),
+            () -> roteirizador.calcularRotas(clientes2N, criarVeiculo(), CENTRAL));
+
+        assertTrue(razao < RAZAO_MAXIMA,
+            String.format("calcularRotas (k = 10): tempo(2N)/tempo(N) = %.2f (limite %.1f)", razao, RAZAO_MAXIMA));
+    }
+
+    @Test
+    void quickSortEscalaQuaseLinear() {
+        List<Cliente> n = gerarClientes(CLIENTES_ORDENACAO);
+        List<Cliente> dobro = gerarClientes(2 * CLIENTES_ORDENACAO);
+
+        // Cada medição ordena uma cópia nova (entrada já ordenada seria outro cenário)
+        double razao = razaoDeTempos(
+            () -> Ordenacao.quickSort(new ArrayList<>(n)),
+            () -> Ordenacao.quickSort(new ArrayList<>(dobro)));
+
+        assertTrue(razao < RAZAO_MAXIMA,
+            String.format("quickSort: tempo(2N)/tempo(N) = %.2f (limite %.1f)", razao, RAZAO_MAXIMA));
+    }
+
+    @Test
+    void quickSortIndicesEscalaQuaseLinear() {
+        List<Cliente> n = gerarClientes(CLIENTES_ORDENACAO);
+        List<Cliente> dobro = gerarClientes(2 * CLIENTES_ORDENACAO);
+
+        double razao = razaoDeTempos(
+            () -> Ordenacao.quickSortIndices(identidade(n.size()), n),
+            () -> Ordenacao.quickSortIndices(identidade(dobro.size()), dobro));
+
+        assertTrue(razao < RAZAO_MAXIMA,
+            String.format("quickSortIndices: tempo(2N)/tempo(N) = %.2f (limite %.1f)", razao, RAZAO_MAXIMA));
+    }
+
+    @Test
+    void quickSortOrdenaPorPrioridadeDecrescente() {
+        List<Cliente> clientes = gerarClientes(CLIENTES_ORDENACAO);
+        Ordenacao.quickSort(clientes);
+
+        for (int i = 1; i < clientes.size(); i++) {
+            assertTrue(clientes.get(i - 1).getPrioridade() >= clientes.get(i).getPrioridade(),
+                "Lista fora de ordem na posição " + i);
+        }
+    }
+
+    @Test
+    void calcularRotasAtendeTodosOsClientes() {
+        List<Rota> rotas = new Roteirizador().calcularRotas(clientesN, criarVeiculo(), CENTRAL);
+        int atendidos = 0;
+        for (Rota rota : rotas) {
+            atendidos += rota.getNumeroClientes();
+        }
+        assertEquals(clientesN.size(), atendidos);
+    }
+
+    @Test
+    void calcularRotasRespeitaOrcamentoDeAlocacao() {
+        Roteirizador roteirizador = new Roteirizador();
+        roteirizador.calcularRotas(clientesN, criarVeiculo(), CENTRAL);  // aquecimento
+
+        long bytes = bytesAlocados(() -> roteirizador.calcularRotas(clientes2N, criarVeiculo(), CENTRAL));
+        long orcamento = BYTES_POR_CLIENTE_ROTEIRIZACAO * clientes2N.size();
+
+        assertTrue(bytes <= orcamento,
+            String.format("calcularRotas alocou %,d bytes para %,d clientes (orçamento %,d)",
+                          bytes, clientes2N.size(), orcamento));
+    }
+
+    @Test
+    void ordenacaoRespeitaOrcamentoDeAlocacao() {
+        List<Cliente> clientes = gerarClientes(CLIENTES_ORDENACAO);
+        List<Cliente> copia = new ArrayList<>(clientes);
+        int[] indices = identidade(clientes.size());
+
+        long bytesIndices = bytesAlocados(() -> Ordenacao.quickSortIndices(indices, clientes));
+        long bytesLista = bytesAlocados(() -> Ordenacao.quickSort(copia));
+
+        assertTrue(bytesIndices <= BYTES_POR_CLIENTE_ORDENACAO_INDICES * clientes.size(),
+            String.format("quickSortIndices alocou %,d bytes para %,d clientes", bytesIndices, clientes.size()));
+        assertTrue(bytesLista <= BYTES_FIXOS_ORDENACAO_LISTA,
+            String.format("quickSort alocou %,d bytes (deveria ordenar no lugar)", bytesLista));
+        assertEquals(clientes.size(), copia.size());
+    }
+
+    /**
+     * Mede o melhor tempo de cada tarefa (após aquecimento) e retorna tempo(dobro) / tempo(n).
+     */
+    private static double razaoDeTempos(Runnable n, Runnable dobro) {
+        for (int i = 0; i < AQUECIMENTO; i++) {
+            n.run();
+            dobro.run();
+        }
+        return (double) melhorTempo(dobro) / melhorTempo(n);
+    }
+
+    private static long melhorTempo(Runnable tarefa) {
+        long melhor = Long.MAX_VALUE;
+        for (int i = 0; i < MEDICOES; i++) {
+            long inicio = System.nanoTime();
+            tarefa.run();
+            melhor = Math.min(melhor, System.nanoTime() - inicio);
+        }
+        return Math.max(1, melhor);
+    }
+
+    /**
+     * Bytes alocados pela thread atual durante a tarefa.
+     */
+    private static long bytesAlocados(Runnable tarefa) {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        assumeTrue(bean instanceof com.sun.management.ThreadMXBean,
+                   "JVM sem medição de alocação por thread");
+
+        com.sun.management.ThreadMXBean medidor = (com.sun.management.ThreadMXBean) bean;
+        assumeTrue(medidor.isThreadAllocatedMemorySupported() && medidor.isThreadAllocatedMemoryEnabled(),
+                   "Medição de alocação por thread desabilitada");
+
+        long id = Thread.currentThread().getId();
+        long antes = medidor.getThreadAllocatedBytes(id);
+        tarefa.run();
+        return medidor.getThreadAllocatedBytes(id) - antes;
+    }
+
+    private static List<Cliente> gerarClientes(int quantidade) {
+        return new GeradorCenarios(42).gerar(quantidade);
+    }
+
+    private static int[] identidade(int tamanho) {
+        int[] indices = new int[tamanho];
+        for (int i = 0; i < tamanho; i++) {
+            indices[i] = i;
+        }
+        return indices;
+    }
+
+    private static Veiculo criarVeiculo() {
+        return new Veiculo(1000.0, 500.0, CENTRAL, 0.0, 500.0);
+    }
+}
@@ -0,0 +1,121 @@
+package com.unifor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.unifor.algorithm.CacheRotas;
+import com.unifor.algorithm.Roteirizador;
+import com.unifor.model.Cliente;
+import com.unifor.model.Ponto;
+import com.unifor.model.Rota;
+import com.unifor.model.Veiculo;
+import com.unifor.util.GeradorCenarios;
+
+/**
+ * Testes de isolamento dos resultados: as rotas devolvidas não podem mudar por alterações
+ * feitas depois pelo chamador, nem na lista de clientes de entrada nem em outro resultado,
+ * e um acerto do cache só pode devolver rotas do mesmo cenário.
+ */
+public class TesteImutabilidade {
+
+    private static final int CLIENTES = 300;
+    private static final Ponto CENTRAL = new Ponto(0.0, 0.0);
+
+    @Test
+    void rotasNaoMudamQuandoAListaDeClientesMuda() {
+        List<Cliente> clientes = new ArrayList<>(new GeradorCenarios(7L).gerar(CLIENTES));
+        List<Rota> rotas = new Roteirizador().calcularRotas(clientes, criarVeiculo(), CENTRAL);
+        List<String> antes = descrever(rotas);
+
+        substituirClientes(clientes);
+
+        assertEquals(antes, descrever(rotas));
+    }
+
+    @Test
+    void acertoDoCacheNaoVeAlteracoesNaListaOriginal() {
+        List<Cliente> cenario = new GeradorCenarios(7L).gerar(CLIENTES);
+        List<Cliente> primeiraLista = new ArrayList<>(cenario);
+        Roteirizador roteirizador = new Roteirizador(new CacheRotas(4));
+
+        List<String> calculadas = descrever(roteirizador.calcularRotas(primeiraLista, criarVeiculo(), CENTRAL));
+        substituirClientes(primeiraLista);
+
+        // Mesmo cenário, em outra lista: acerto do cache
+        List<String> doCache = descrever(roteirizador.calcularRotas(new ArrayList<>(cenario), criarVeiculo(), CENTRAL));
+        assertEquals(1, roteirizador.getCache().getAcertos());
+        assertEquals(calculadas, doCache);
+    }
+
+    @Test
+    void alterarRotaRecebidaNaoAfetaOutrosAcertos() {
+        List<Cliente> clientes = new GeradorCenarios(7L).gerar(CLIENTES);
+        Roteirizador roteirizador = new Roteirizador(new CacheRotas(4));
+
+        List<Rota> primeiras = roteirizador.calcularRotas(clientes, criarVeiculo(), CENTRAL);
+        List<String> calculadas = descrever(primeiras);
+        primeiras.get(0).adicionarCliente(new Cliente(new Ponto(-50.0, -50.0), 1.0, 1));
+        primeiras.get(0).setDistanciaTotal(-1.0);
+
+        List<String> doCache = descrever(roteirizador.calcularRotas(clientes, criarVeiculo(), CENTRAL));
+        assertEquals(1, roteirizador.getCache().getAcertos());
+        assertEquals(calculadas, doCache);
+    }
+
+    @Test
+    void cenarioComColetaNaoRecebeRotasDoCache() {
+        List<Cliente> entregas = new GeradorCenarios(7L).gerar(CLIENTES);
+        Roteirizador roteirizador = new Roteirizador(new CacheRotas(4));
+        roteirizador.calcularRotas(entregas, criarVeiculo(), CENTRAL);
+
+        // Mesmo cenário, mas com uma coleta: não pode ser confundido com o de entregas
+        List<Cliente> comColeta = new ArrayList<>(entregas);
+        Cliente primeiro = comColeta.get(0);
+        comColeta.set(0, new Cliente(primeiro.getLocalizacao(), primeiro.getDemandaCarga(), 5.0,
+                                     primeiro.getPrioridade()));
+
+        assertThrows(IllegalArgumentException.class,
+                     () -> roteirizador.calcularRotas(comColeta, criarVeiculo(), CENTRAL));
+        assertEquals(0, roteirizador.getCache().getAcertos());
+    }
+
+    // ===== MÉTODOS AUXILIARES =====
+
+    /**
+     * Troca todos os clientes da lista por clientes de outro cenário.
+     */
+    private static void substituirClientes(List<Cliente> clientes) {
+        for (int i = 0; i < clientes.size(); i++) {
+            clientes.set(i, new Cliente(new Ponto(-50.0 + i * 0.01, -50.0), 1.0, 1));
+        }
+    }
+
+    /**
+     * Descreve cada viagem pelas coordenadas e demandas dos clientes, distância e carga.
+     */
+    private static List<String> descrever(List<Rota> rotas) {
+        List<String> descricao = new ArrayList<>(rotas.size());
+        for (Rota rota : rotas) {
+            StringBuilder viagem = new StringBuilder();
+            for (Cliente cliente : rota.getPontos()) {
+                viagem.append(cliente.getLocalizacao().getX()).append(';')
+                      .append(cliente.getLocalizacao().getY()).append(';')
+                      .append(cliente.getDemandaCarga()).append(',');
+            }
+            viagem.append('|').append(rota.getNumeroClientes())
+                  .append('|').append(rota.getDistanciaTotal())
+                  .append('|').append(rota.getCargaTotalColetada());
+            descricao.add(viagem.toString());
+        }
+        return descricao;
+    }
+
+    private static Veiculo criarVeiculo() {
+        return new Veiculo(1000.0, 500.0, CENTRAL, 0.0, 500.0);
+    }
+}